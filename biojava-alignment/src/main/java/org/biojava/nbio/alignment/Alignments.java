@@ -23,6 +23,7 @@
 
 package org.biojava.nbio.alignment;
 
+import org.biojava.nbio.alignment.routines.StripedSmithWaterman;
 import org.biojava.nbio.alignment.template.*;
 import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
 import org.biojava.nbio.core.alignment.template.Profile;
@@ -36,12 +37,19 @@ import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.CompoundSet;
 import org.biojava.nbio.core.sequence.template.Sequence;
 import org.biojava.nbio.core.util.ConcurrencyTools;
+import org.biojava.nbio.phylo.DistanceMatrixCalculator;
+import org.biojava.nbio.phylo.Kmers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 /**
@@ -68,9 +76,9 @@ public class Alignments {
 	 */
 	public enum PairwiseSequenceAlignerType {
 		GLOBAL,              // Needleman-Wunsch/Gotoh
-		GLOBAL_LINEAR_SPACE, // Guan-Uberbacher
+		GLOBAL_LINEAR_SPACE, // Needleman-Wunsch/Gotoh in linear space (Myers-Miller)
 		LOCAL,               // Smith-Waterman/Gotoh
-		LOCAL_LINEAR_SPACE   // Smith-Waterman/Gotoh with smart traceback at each maximum
+		LOCAL_LINEAR_SPACE   // Smith-Waterman/Gotoh in linear space (Myers-Miller)
 	}
 
 	/**
@@ -80,10 +88,10 @@ public class Alignments {
 		GLOBAL,
 		GLOBAL_IDENTITIES,   // similar to CLUSTALW and CLUSTALW2
 		GLOBAL_SIMILARITIES,
-		LOCAL,
+		LOCAL,               // Smith-Waterman score only, striped (Farrar)
 		LOCAL_IDENTITIES,
 		LOCAL_SIMILARITIES,
-		KMERS,               // similar to CLUSTAL and MUSCLE
+		KMERS,               // alignment-free, similar to CLUSTAL and MUSCLE
 		WU_MANBER            // similar to KALIGN
 	}
 
@@ -141,7 +149,9 @@ public class Alignments {
 	 * @param <S> each {@link Sequence} of the {@link List} is of type S
 	 * @param <C> each element of a {@link Sequence} is a {@link Compound} of type C
 	 * @param sequences the {@link List} of {@link Sequence}s to align
-	 * @param settings optional settings that adjust the alignment
+	 * @param settings optional settings that adjust the alignment: a {@link PairwiseSequenceScorerType},
+	 *     {@link GapPenalty}, {@link SubstitutionMatrix}, {@link ProfileProfileAlignerType} or an
+	 *     {@link ExecutorService} to run the alignment on instead of the shared thread pool
 	 * @return multiple sequence alignment {@link Profile}
 	 */
 	public static <S extends Sequence<C>, C extends Compound> Profile<S, C> getMultipleSequenceAlignment(
@@ -166,6 +176,7 @@ public class Alignments {
 
 		}
 		ProfileProfileAlignerType pa = ProfileProfileAlignerType.GLOBAL;
+		ExecutorService executor = null;
 		for (Object o : settings) {
 			if (o instanceof PairwiseSequenceScorerType) {
 				ps = (PairwiseSequenceScorerType) o;
@@ -181,19 +192,25 @@ public class Alignments {
 				subMatrix = temp;
 			} else if (o instanceof ProfileProfileAlignerType) {
 				pa = (ProfileProfileAlignerType) o;
+			} else if (o instanceof ExecutorService) {
+				executor = (ExecutorService) o;
 			}
 		}
 
-		// stage 1: pairwise similarity calculation
-		List<PairwiseSequenceScorer<S, C>> scorers = getAllPairsScorers(sequences, ps, gapPenalty, subMatrix);
-		runPairwiseScorers(scorers);
-
-		// stage 2: hierarchical clustering into a guide tree
-		GuideTree<S, C> tree = new GuideTree<>(sequences, scorers);
-		scorers = null;
+		// stages 1 and 2: pairwise similarity calculation and hierarchical clustering into a guide tree
+		GuideTree<S, C> tree;
+		if (ps == PairwiseSequenceScorerType.KMERS) {
+			// alignment-free distances, without a scorer per pair
+			tree = new GuideTree<>(sequences, DistanceMatrixCalculator.kmerDistance(sequences,
+					Kmers.getDefaultLength(cs)));
+		} else {
+			List<PairwiseSequenceScorer<S, C>> scorers = getAllPairsScorers(sequences, ps, gapPenalty, subMatrix);
+			runPairwiseScorers(scorers, executor);
+			tree = new GuideTree<>(sequences, scorers);
+		}
 
 		// stage 3: progressive alignment
-		Profile<S, C> msa = getProgressiveAlignment(tree, pa, gapPenalty, subMatrix);
+		Profile<S, C> msa = getProgressiveAlignment(tree, pa, gapPenalty, subMatrix, executor);
 
 		// TODO stage 4: refinement
 		return msa;
@@ -257,9 +274,26 @@ public class Alignments {
 			List<S> sequences, PairwiseSequenceScorerType type, GapPenalty gapPenalty,
 			SubstitutionMatrix<C> subMatrix) {
 		List<PairwiseSequenceScorer<S, C>> allPairs = new ArrayList<>();
+		if (type == PairwiseSequenceScorerType.KMERS) {
+			// k-mer scores share the k-mers of each sequence
+			List<long[]> kmers = new ArrayList<>();
+			for (S s : sequences) {
+				kmers.add(Kmers.getKmers(s, Kmers.getDefaultLength(s.getCompoundSet())));
+			}
+			for (int i = 0; i < sequences.size(); i++) {
+				for (int j = i+1; j < sequences.size(); j++) {
+					allPairs.add(new KmerScorer<>(sequences.get(i), kmers.get(i), sequences.get(j), kmers.get(j)));
+				}
+			}
+			return allPairs;
+		}
 		for (int i = 0; i < sequences.size(); i++) {
+			// local scores share the query profile of each query
+			StripedSmithWaterman<C> profile = (type == PairwiseSequenceScorerType.LOCAL && i + 1 < sequences.size())
+					? new StripedSmithWaterman<>(sequences.get(i), gapPenalty, subMatrix) : null;
 			for (int j = i+1; j < sequences.size(); j++) {
-				allPairs.add(getPairwiseScorer(sequences.get(i), sequences.get(j), type, gapPenalty, subMatrix));
+				allPairs.add(profile != null ? new SmithWatermanScorer<>(sequences.get(i), sequences.get(j), profile)
+						: getPairwiseScorer(sequences.get(i), sequences.get(j), type, gapPenalty, subMatrix));
 			}
 		}
 		return allPairs;
@@ -267,8 +301,9 @@ public class Alignments {
 
 	/**
 	 * Factory method which computes a sequence pair score for all {@link Sequence} pairs in the given {@link List}.
-	 * This method runs the scorings in parallel by submitting all of the scorings to the shared thread pool of the
-	 * {@link ConcurrencyTools} utility.
+	 * This method runs the scorings in parallel, in tiles of pairs on the common {@link java.util.concurrent.ForkJoinPool},
+	 * without creating a scorer for every pair up front; see {@link AllPairsScorer} for other pools, outputs and
+	 * progress reports.
 	 *
 	 * @param <S> each {@link Sequence} of a pair is of type S
 	 * @param <C> each element of a {@link Sequence} is a {@link Compound} of type C
@@ -280,7 +315,7 @@ public class Alignments {
 	 */
 	public static <S extends Sequence<C>, C extends Compound> double[] getAllPairsScores( List<S> sequences,
 			PairwiseSequenceScorerType type, GapPenalty gapPenalty, SubstitutionMatrix<C> subMatrix) {
-		return runPairwiseScorers(getAllPairsScorers(sequences, type, gapPenalty, subMatrix));
+		return new AllPairsScorer<>(sequences, type, gapPenalty, subMatrix).score();
 	}
 
 	/**
@@ -295,7 +330,7 @@ public class Alignments {
 		for (Future<E> f : futures) {
 			// TODO when added to ConcurrencyTools, log completions and exceptions instead of printing stack traces
 			try {
-				list.add(f.get());
+				list.add(ConcurrencyTools.get(f));
 			} catch (InterruptedException e) {
 				logger.error("Interrupted Exception: ", e);
 			} catch (ExecutionException e) {
@@ -330,10 +365,13 @@ public class Alignments {
 		case LOCAL:
 			return new SmithWaterman<>(query, target, gapPenalty, subMatrix);
 		case GLOBAL_LINEAR_SPACE:
+			NeedlemanWunsch<S, C> global = new NeedlemanWunsch<>(query, target, gapPenalty, subMatrix);
+			global.setLinearSpace(true);
+			return global;
 		case LOCAL_LINEAR_SPACE:
-			// TODO other alignment options (Myers-Miller, Thompson)
-			throw new UnsupportedOperationException(Alignments.class.getSimpleName() + " does not yet support " +
-					type + " alignment");
+			SmithWaterman<S, C> local = new SmithWaterman<>(query, target, gapPenalty, subMatrix);
+			local.setLinearSpace(true);
+			return local;
 		}
 	}
 
@@ -380,7 +418,7 @@ public class Alignments {
 			return new FractionalSimilarityScorer<>(getPairwiseAligner(query, target,
 					PairwiseSequenceAlignerType.GLOBAL, gapPenalty, subMatrix));
 		case LOCAL:
-			return getPairwiseAligner(query, target, PairwiseSequenceAlignerType.LOCAL, gapPenalty, subMatrix);
+			return new SmithWatermanScorer<>(query, target, gapPenalty, subMatrix);
 		case LOCAL_IDENTITIES:
 			return new FractionalIdentityScorer<>(getPairwiseAligner(query, target,
 					PairwiseSequenceAlignerType.LOCAL, gapPenalty, subMatrix));
@@ -388,6 +426,7 @@ public class Alignments {
 			return new FractionalSimilarityScorer<>(getPairwiseAligner(query, target,
 					PairwiseSequenceAlignerType.LOCAL, gapPenalty, subMatrix));
 		case KMERS:
+			return new KmerScorer<>(query, target);
 		case WU_MANBER:
 			// TODO other scoring options
 			throw new UnsupportedOperationException(Alignments.class.getSimpleName() + " does not yet support " +
@@ -535,8 +574,8 @@ public class Alignments {
 
 	/**
 	 * Factory method to run the profile-profile alignments of a progressive multiple sequence alignment concurrently.
-	 * This method runs the alignments in parallel by submitting all of the alignment tasks to the shared thread pool
-	 * of the {@link ConcurrencyTools} utility.
+	 * This method runs the alignments in parallel on the shared thread pool of the {@link ConcurrencyTools} utility,
+	 * each one as soon as the alignments of its children are complete.
 	 *
 	 * @param <S> each {@link Sequence} of the {@link Profile} pair is of type S
 	 * @param <C> each element of an {@link AlignedSequence} is a {@link Compound} of type C
@@ -548,6 +587,27 @@ public class Alignments {
 	 */
 	public static <S extends Sequence<C>, C extends Compound> Profile<S, C> getProgressiveAlignment(GuideTree<S, C> tree,
 			ProfileProfileAlignerType type, GapPenalty gapPenalty, SubstitutionMatrix<C> subMatrix) {
+		return getProgressiveAlignment(tree, type, gapPenalty, subMatrix, null);
+	}
+
+	/**
+	 * Factory method to run the profile-profile alignments of a progressive multiple sequence alignment concurrently
+	 * on the given executor.  The guide tree is run as a graph of dependent tasks: the alignment of each inner node
+	 * is submitted once the alignments of both its children are complete, so pool threads never wait for one another
+	 * and independent subtrees are aligned in parallel.
+	 *
+	 * @param <S> each {@link Sequence} of the {@link Profile} pair is of type S
+	 * @param <C> each element of an {@link AlignedSequence} is a {@link Compound} of type C
+	 * @param tree guide tree to follow aligning profiles from leaves to root
+	 * @param type chosen type from list of profile-profile alignment routines
+	 * @param gapPenalty the gap penalties used during alignment
+	 * @param subMatrix the set of substitution scores used during alignment
+	 * @param executor executor to run the alignments, or null for the shared thread pool
+	 * @return multiple sequence alignment
+	 */
+	public static <S extends Sequence<C>, C extends Compound> Profile<S, C> getProgressiveAlignment(GuideTree<S, C> tree,
+			ProfileProfileAlignerType type, GapPenalty gapPenalty, SubstitutionMatrix<C> subMatrix,
+			ExecutorService executor) {
 
 		// find inner nodes in post-order traversal of tree (each leaf node has a single sequence profile)
 		List<GuideTreeNode<S, C>> innerNodes = new ArrayList<>();
@@ -557,25 +617,26 @@ public class Alignments {
 			}
 		}
 
-		// submit alignment tasks to the shared thread pool
+		// schedule each alignment when the profiles of both children are aligned, so that no task waits for another
+		Executor pool = (executor != null) ? executor : ConcurrencyTools.getThreadPool();
+		Map<GuideTreeNode<S, C>, CompletableFuture<ProfilePair<S, C>>> futures = new HashMap<>();
 		int i = 1, all = innerNodes.size();
 		for (GuideTreeNode<S, C> n : innerNodes) {
-			Profile<S, C> p1 = n.getChild1().getProfile(), p2 = n.getChild2().getProfile();
-			Future<ProfilePair<S, C>> pf1 = n.getChild1().getProfileFuture(), pf2 = n.getChild2().getProfileFuture();
-			ProfileProfileAligner<S, C> aligner =
-					(p1 != null) ? ((p2 != null) ? getProfileProfileAligner(p1, p2, type, gapPenalty, subMatrix) :
-							getProfileProfileAligner(p1, pf2, type, gapPenalty, subMatrix)) :
-					((p2 != null) ? getProfileProfileAligner(pf1, p2, type, gapPenalty, subMatrix) :
-							getProfileProfileAligner(pf1, pf2, type, gapPenalty, subMatrix));
-			n.setProfileFuture(ConcurrencyTools.submit(new CallableProfileProfileAligner<>(aligner), String.format(
-					"Aligning pair %d of %d", i++, all)));
+			String message = String.format("Aligning pair %d of %d", i++, all);
+			CompletableFuture<ProfilePair<S, C>> future = getProfileFuture(n.getChild1(), futures).thenCombineAsync(
+					getProfileFuture(n.getChild2(), futures), (p1, p2) -> {
+						logger.debug(message);
+						return getProfileProfileAligner(p1, p2, type, gapPenalty, subMatrix).getPair();
+					}, pool);
+			futures.put(n, future);
+			n.setProfileFuture(future);
 		}
 
 		// retrieve the alignment results
 		for (GuideTreeNode<S, C> n : innerNodes) {
 			// TODO when added to ConcurrencyTools, log completions and exceptions instead of printing stack traces
 			try {
-				n.setProfile(n.getProfileFuture().get());
+				n.setProfile(ConcurrencyTools.get(n.getProfileFuture()));
 			} catch (InterruptedException e) {
 				logger.error("Interrupted Exception: ", e);
 			} catch (ExecutionException e) {
@@ -587,6 +648,14 @@ public class Alignments {
 		return tree.getRoot().getProfile();
 	}
 
+	// helper method which returns the profile of a node of the guide tree once aligned
+	private static <S extends Sequence<C>, C extends Compound> CompletableFuture<? extends Profile<S, C>>
+			getProfileFuture(GuideTreeNode<S, C> node,
+			Map<GuideTreeNode<S, C>, CompletableFuture<ProfilePair<S, C>>> futures) {
+		Profile<S, C> profile = node.getProfile();
+		return (profile != null) ? CompletableFuture.completedFuture(profile) : futures.get(node);
+	}
+
 	/**
 	 * Factory method to run a list of alignments concurrently.  This method runs the alignments in parallel by
 	 * submitting all of the alignment tasks to the shared thread pool of the {@link ConcurrencyTools} utility.
@@ -618,10 +687,24 @@ public class Alignments {
 	 */
 	public static <S extends Sequence<C>, C extends Compound> double[] runPairwiseScorers(
 			List<PairwiseSequenceScorer<S, C>> scorers) {
+		return runPairwiseScorers(scorers, null);
+	}
+
+	/**
+	 * Factory method to run a list of scorers concurrently on the given executor.
+	 *
+	 * @param <S> each {@link Sequence} of an alignment pair is of type S
+	 * @param <C> each element of an {@link AlignedSequence} is a {@link Compound} of type C
+	 * @param scorers list of scorers to run
+	 * @param executor executor to run the scorers, or null for the shared thread pool
+	 * @return list of score results from running scorers
+	 */
+	public static <S extends Sequence<C>, C extends Compound> double[] runPairwiseScorers(
+			List<PairwiseSequenceScorer<S, C>> scorers, ExecutorService executor) {
 		int n = 1, all = scorers.size();
 		List<Future<Double>> futures = new ArrayList<>();
 		for (PairwiseSequenceScorer<S, C> scorer : scorers) {
-			futures.add(ConcurrencyTools.submit(new CallablePairwiseSequenceScorer<>(scorer),
+			futures.add(ConcurrencyTools.submit(executor, new CallablePairwiseSequenceScorer<>(scorer),
 					String.format("Scoring pair %d of %d", n++, all)));
 		}
 		List<Double> results = getListFromFutures(futures);
@@ -0,0 +1,284 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.Alignments.PairwiseSequenceScorerType;
+import org.biojava.nbio.alignment.routines.StripedSmithWaterman;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.phylo.Kmers;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the score of every pair of a list of sequences without creating all the scorers up front.  The upper
+ * triangle of the pair matrix is split into square tiles of {@link #getTileSize()} sequences on each side, which are
+ * scored in parallel on a {@link ForkJoinPool}; each tile creates the scorers of its pairs one at a time.  Memory
+ * therefore does not grow with the number of pairs, beyond the output.
+ * <p>
+ * Scores are written in the order of {@link Alignments#getAllPairsScores}: pair (i, j) with i &lt; j is at
+ * {@link #getIndex(int, int, int)}.  The output is either a double array or a {@link DoubleBuffer}, which may be a
+ * view of a memory mapped file for lists of sequences too large for the heap.
+ *
+ * @param <S> each {@link Sequence} of a pair is of type S
+ * @param <C> each element of a {@link Sequence} is a {@link Compound} of type C
+ * @since 5.3.1
+ */
+public class AllPairsScorer<S extends Sequence<C>, C extends Compound> {
+
+	/**
+	 * Receives the progress of a scoring run.  It is called from the scoring threads, after each tile.
+	 */
+	public interface ProgressListener {
+
+		/**
+		 * Reports the number of pairs scored so far.
+		 *
+		 * @param scored the number of pairs scored
+		 * @param total the number of pairs to score
+		 */
+		void progress(long scored, long total);
+
+	}
+
+	/** The default number of sequences on each side of a tile */
+	public static final int DEFAULT_TILE_SIZE = 32;
+
+	private final List<S> sequences;
+	private final PairwiseSequenceScorerType type;
+	private final GapPenalty gapPenalty;
+	private final SubstitutionMatrix<C> subMatrix;
+
+	private int tileSize = DEFAULT_TILE_SIZE;
+	private ForkJoinPool pool;
+	private ProgressListener progressListener;
+
+	/**
+	 * Prepares to score all pairs of the given sequences.
+	 *
+	 * @param sequences the {@link List} of {@link Sequence}s to score
+	 * @param type chosen type from list of pairwise sequence scoring routines
+	 * @param gapPenalty the gap penalties used during alignment
+	 * @param subMatrix the set of substitution scores used during alignment
+	 */
+	public AllPairsScorer(List<S> sequences, PairwiseSequenceScorerType type, GapPenalty gapPenalty,
+			SubstitutionMatrix<C> subMatrix) {
+		this.sequences = sequences;
+		this.type = type;
+		this.gapPenalty = gapPenalty;
+		this.subMatrix = subMatrix;
+	}
+
+	/**
+	 * Returns the number of pairs of the given number of sequences.
+	 *
+	 * @param sequences the number of sequences
+	 * @return the number of pairs
+	 */
+	public static long getNumberOfPairs(int sequences) {
+		return (long) sequences * (sequences - 1) / 2;
+	}
+
+	/**
+	 * Returns the index of the score of a pair in the output.
+	 *
+	 * @param i index of the first sequence of the pair
+	 * @param j index of the second sequence of the pair, greater than i
+	 * @param sequences the number of sequences
+	 * @return the index of the score of the pair
+	 */
+	public static long getIndex(int i, int j, int sequences) {
+		return (long) i * sequences - (long) i * (i + 1) / 2 + (j - i - 1);
+	}
+
+	/**
+	 * Returns the number of sequences on each side of a tile.
+	 *
+	 * @return the tile size
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Sets the number of sequences on each side of a tile, which is the unit of work of a thread.
+	 *
+	 * @param tileSize the tile size
+	 */
+	public void setTileSize(int tileSize) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+		}
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Returns the pool the tiles are scored on, by default the common pool.
+	 *
+	 * @return the pool
+	 */
+	public ForkJoinPool getPool() {
+		return pool == null ? ForkJoinPool.commonPool() : pool;
+	}
+
+	/**
+	 * Sets the pool the tiles are scored on.
+	 *
+	 * @param pool the pool, or null for the common pool
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the listener receiving the progress of scoring runs.
+	 *
+	 * @param progressListener the listener, or null for none
+	 */
+	public void setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+
+	/**
+	 * Scores all pairs.
+	 *
+	 * @return the scores of all pairs
+	 */
+	public double[] score() {
+		long pairs = getNumberOfPairs(sequences.size());
+		if (pairs > Integer.MAX_VALUE) {
+			throw new IllegalStateException(pairs + " pairs do not fit in an array, score to a buffer instead");
+		}
+		double[] scores = new double[(int) pairs];
+		score(scores);
+		return scores;
+	}
+
+	/**
+	 * Scores all pairs into the given array.
+	 *
+	 * @param scores the array to write the scores to, of at least {@link #getNumberOfPairs(int)} elements
+	 */
+	public void score(double[] scores) {
+		score(DoubleBuffer.wrap(scores));
+	}
+
+	/**
+	 * Scores all pairs into the given buffer, at the absolute index of each pair.
+	 *
+	 * @param scores the buffer to write the scores to, of at least {@link #getNumberOfPairs(int)} elements
+	 */
+	public void score(DoubleBuffer scores) {
+		int n = sequences.size();
+		long total = getNumberOfPairs(n);
+		if (scores.limit() < total) {
+			throw new IllegalArgumentException("Room for " + scores.limit() + " scores, " + total + " needed");
+		}
+		// k-mer scores share the k-mers of each sequence, counted once beforehand
+		long[][] kmers = (type == PairwiseSequenceScorerType.KMERS) ? new long[n][] : null;
+		if (kmers != null) {
+			runAll(IntStream.range(0, n).mapToObj(i -> new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					S s = sequences.get(i);
+					kmers[i] = Kmers.getKmers(s, Kmers.getDefaultLength(s.getCompoundSet()));
+				}
+			}).collect(Collectors.toList()));
+		}
+		List<Tile> tiles = new ArrayList<>();
+		AtomicLong scored = new AtomicLong();
+		for (int i = 0; i < n; i += tileSize) {
+			for (int j = i; j < n; j += tileSize) {
+				tiles.add(new Tile(i, j, scores, kmers, scored, total));
+			}
+		}
+		runAll(tiles);
+	}
+
+	private void runAll(List<? extends RecursiveAction> actions) {
+		getPool().invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(actions);
+			}
+		});
+	}
+
+	// scores the pairs of rows [i0, i0 + tileSize) and columns [j0, j0 + tileSize) above the diagonal
+	private class Tile extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int i0, j0;
+		private final DoubleBuffer scores;
+		private final long[][] kmers;
+		private final AtomicLong scored;
+		private final long total;
+
+		private Tile(int i0, int j0, DoubleBuffer scores, long[][] kmers, AtomicLong scored, long total) {
+			this.i0 = i0;
+			this.j0 = j0;
+			this.scores = scores;
+			this.kmers = kmers;
+			this.scored = scored;
+			this.total = total;
+		}
+
+		@Override
+		protected void compute() {
+			int n = sequences.size(), count = 0;
+			for (int i = i0; i < Math.min(i0 + tileSize, n); i++) {
+				S query = sequences.get(i);
+				int jb = Math.max(j0, i + 1), je = Math.min(j0 + tileSize, n);
+				// local scores share the query profile
+				StripedSmithWaterman<C> profile = (type == PairwiseSequenceScorerType.LOCAL && jb < je) ?
+						new StripedSmithWaterman<>(query, gapPenalty, subMatrix) : null;
+				for (int j = jb; j < je; j++) {
+					S target = sequences.get(j);
+					double score = (profile != null) ? new SmithWatermanScorer<>(query, target, profile).getScore() :
+							(kmers != null) ? Kmers.getSharedKmers(kmers[i], kmers[j]) :
+							Alignments.getPairwiseScorer(query, target, type, gapPenalty, subMatrix).getScore();
+					scores.put((int) getIndex(i, j, n), score);
+					count++;
+				}
+			}
+			long done = scored.addAndGet(count);
+			if (progressListener != null) {
+				progressListener.progress(done, total);
+			}
+		}
+
+	}
+
+}
@@ -31,10 +31,12 @@ import org.biojava.nbio.core.alignment.template.ProfilePair;
 import org.biojava.nbio.core.sequence.AccessionID;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.phylo.DistanceMatrixCalculator;
 import org.biojava.nbio.phylo.ForesterWrapper;
 import org.biojava.nbio.phylo.TreeConstructor;
 import org.biojava.nbio.phylo.TreeConstructorType;
 import org.forester.evoinference.matrix.distance.BasicSymmetricalDistanceMatrix;
+import org.forester.evoinference.matrix.distance.DistanceMatrix;
 import org.forester.phylogeny.Phylogeny;
 import org.forester.phylogeny.PhylogenyNode;
 
@@ -68,28 +70,68 @@ public class GuideTree<S extends Sequence<C>, C extends Compound> implements Ite
 	public GuideTree(List<S> sequences, List<PairwiseSequenceScorer<S, C>> scorers) {
 		this.sequences = Collections.unmodifiableList(sequences);
 		this.scorers = Collections.unmodifiableList(scorers);
-		distances = new BasicSymmetricalDistanceMatrix(sequences.size());
+		distances = getIdentifiedMatrix(sequences);
 		for (int i = 0, n = 0; i < sequences.size(); i++) {
-			AccessionID id = sequences.get(i).getAccession();
-			String str = (id == null) ? Integer.toString(i + 1) : id.getID();
-			distances.setIdentifier(i, str);
 			for (int j = i+1; j < sequences.size(); j++) {
 				double dist = scorers.get(n++).getDistance();
 				distances.setValue(i, j, dist);
 			}
 		}
-		BasicSymmetricalDistanceMatrix distclone = ForesterWrapper.cloneDM(distances);
-		Phylogeny phylogeny = TreeConstructor.distanceTree(distclone, TreeConstructorType.NJ);
+		Phylogeny phylogeny = getPhylogeny(distances);
+		newick = phylogeny.toString();
+		root = new Node(phylogeny.getRoot(), null);
+	}
+
+	/**
+	 * Creates a guide tree for use during progressive multiple sequence alignment from distances computed
+	 * beforehand, such as the alignment-free {@link DistanceMatrixCalculator#kmerDistance(List, int)}.  The tree has
+	 * no pairwise scores, see {@link #getAllPairsScores()}.
+	 *
+	 * @param sequences the {@link List} of {@link Sequence}s to align
+	 * @param distances the distance of each pair of sequences given, in the order of the list
+	 */
+	public GuideTree(List<S> sequences, DistanceMatrix distances) {
+		if (distances.getSize() != sequences.size()) {
+			throw new IllegalArgumentException("Distance matrix of size " + distances.getSize() + " for " +
+					sequences.size() + " sequences");
+		}
+		this.sequences = Collections.unmodifiableList(sequences);
+		scorers = null;
+		this.distances = getIdentifiedMatrix(sequences);
+		for (int i = 0; i < sequences.size(); i++) {
+			for (int j = i+1; j < sequences.size(); j++) {
+				this.distances.setValue(i, j, distances.getValue(i, j));
+			}
+		}
+		Phylogeny phylogeny = getPhylogeny(this.distances);
 		newick = phylogeny.toString();
 		root = new Node(phylogeny.getRoot(), null);
 	}
 
+	// helper method which names the rows of a new distance matrix, as leaves are matched to sequences by name
+	private static BasicSymmetricalDistanceMatrix getIdentifiedMatrix(List<? extends Sequence<?>> sequences) {
+		BasicSymmetricalDistanceMatrix matrix = new BasicSymmetricalDistanceMatrix(sequences.size());
+		for (int i = 0; i < sequences.size(); i++) {
+			AccessionID id = sequences.get(i).getAccession();
+			String str = (id == null) ? Integer.toString(i + 1) : id.getID();
+			matrix.setIdentifier(i, str);
+		}
+		return matrix;
+	}
+
+	private static Phylogeny getPhylogeny(BasicSymmetricalDistanceMatrix distances) {
+		BasicSymmetricalDistanceMatrix distclone = ForesterWrapper.cloneDM(distances);
+		return TreeConstructor.distanceTree(distclone, TreeConstructorType.NJ);
+	}
+
 	/**
 	 * Returns a sequence pair score for all {@link Sequence} pairs in the given {@link List}.
 	 *
 	 * @return list of sequence pair scores
+	 * @throws IllegalStateException if the tree was created from distances instead of scorers
 	 */
 	public double[] getAllPairsScores() {
+		checkScorers();
 		double[] scores = new double[scorers.size()];
 		int n = 0;
 		for (PairwiseSequenceScorer<S, C> scorer : scorers) {
@@ -126,8 +168,10 @@ public class GuideTree<S extends Sequence<C>, C extends Compound> implements Ite
 	 * Returns the similarity matrix used to construct this guide tree.  The scores have not been normalized.
 	 *
 	 * @return the similarity matrix used to construct this guide tree
+	 * @throws IllegalStateException if the tree was created from distances instead of scorers
 	 */
 	public double[][] getScoreMatrix() {
+		checkScorers();
 		double[][] matrix = new double[sequences.size()][sequences.size()];
 		for (int i = 0, n = 0; i < matrix.length; i++) {
 			matrix[i][i] = scorers.get(i).getMaxScore();
@@ -147,6 +191,12 @@ public class GuideTree<S extends Sequence<C>, C extends Compound> implements Ite
 		return sequences;
 	}
 
+	private void checkScorers() {
+		if (scorers == null) {
+			throw new IllegalStateException("Guide tree was created from distances, without pairwise scores");
+		}
+	}
+
 	// method for Iterable
 
 	/**
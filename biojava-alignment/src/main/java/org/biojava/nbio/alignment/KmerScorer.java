@@ -0,0 +1,114 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.template.AbstractScorer;
+import org.biojava.nbio.alignment.template.PairwiseSequenceScorer;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.phylo.Kmers;
+
+/**
+ * Implements an alignment-free scorer of a pair of sequences by the k-mers they share, see {@link Kmers}.  The score
+ * is the number of shared k-mers and the maximum the number of k-mers of the shorter sequence, so that the distance
+ * is the k-mer distance 1 - F of MUSCLE.  The k-mers of a sequence can be shared by all the scorers of its pairs.
+ *
+ * @param <S> each {@link Sequence} of the pair is of type S
+ * @param <C> each element of a {@link Sequence} is a {@link Compound} of type C
+ * @since 5.3.1
+ */
+public class KmerScorer<S extends Sequence<C>, C extends Compound> extends AbstractScorer
+		implements PairwiseSequenceScorer<S, C> {
+
+	private final S query, target;
+	private final long[] queryKmers, targetKmers;
+	private int score = -1;
+
+	/**
+	 * Prepares to score a pair of sequences by their k-mers of the default length for their compound set.
+	 *
+	 * @param query the first {@link Sequence} of the pair to score
+	 * @param target the second {@link Sequence} of the pair to score
+	 */
+	public KmerScorer(S query, S target) {
+		this(query, target, Kmers.getDefaultLength(query.getCompoundSet()));
+	}
+
+	/**
+	 * Prepares to score a pair of sequences by their k-mers of the given length.
+	 *
+	 * @param query the first {@link Sequence} of the pair to score
+	 * @param target the second {@link Sequence} of the pair to score
+	 * @param k the k-mer length
+	 */
+	public KmerScorer(S query, S target, int k) {
+		this(query, Kmers.getKmers(query, k), target, Kmers.getKmers(target, k));
+	}
+
+	/**
+	 * Prepares to score a pair of sequences by k-mers computed beforehand, with the same length for both.
+	 *
+	 * @param query the first {@link Sequence} of the pair to score
+	 * @param queryKmers the sorted k-mers of the query, see {@link Kmers#getKmers(Sequence, int)}
+	 * @param target the second {@link Sequence} of the pair to score
+	 * @param targetKmers the sorted k-mers of the target
+	 */
+	public KmerScorer(S query, long[] queryKmers, S target, long[] targetKmers) {
+		this.query = query;
+		this.queryKmers = queryKmers;
+		this.target = target;
+		this.targetKmers = targetKmers;
+	}
+
+	// methods for PairwiseSequenceScorer
+
+	@Override
+	public S getQuery() {
+		return query;
+	}
+
+	@Override
+	public S getTarget() {
+		return target;
+	}
+
+	// methods for Scorer
+
+	@Override
+	public double getMaxScore() {
+		// a sequence without k-mers keeps a positive range, at distance 1 from all others
+		return Math.max(1, Math.min(queryKmers.length, targetKmers.length));
+	}
+
+	@Override
+	public double getMinScore() {
+		return 0;
+	}
+
+	@Override
+	public double getScore() {
+		if (score < 0) {
+			score = Kmers.getSharedKmers(queryKmers, targetKmers);
+		}
+		return score;
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.routines.StripedSmithWaterman;
+import org.biojava.nbio.alignment.template.AbstractScorer;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.alignment.template.PairwiseSequenceScorer;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.Sequence;
+
+/**
+ * Implements an algorithm which computes the score of a {@link SmithWaterman} local alignment of a pair of sequences
+ * without computing the alignment.  The score, maximum and minimum are those of the {@link SmithWaterman} aligner,
+ * but the scoring runs in space linear in the length of the query and shares the query profile of a
+ * {@link StripedSmithWaterman} between all pairs with the same query.
+ *
+ * @param <S> each {@link Sequence} of the pair is of type S
+ * @param <C> each element of a {@link Sequence} is a {@link Compound} of type C
+ * @since 5.3.1
+ */
+public class SmithWatermanScorer<S extends Sequence<C>, C extends Compound> extends AbstractScorer
+		implements PairwiseSequenceScorer<S, C> {
+
+	private final S query, target;
+	private final StripedSmithWaterman<C> profile;
+	private int max, score;
+	private boolean scored;
+
+	/**
+	 * Prepares to score the local alignment of a pair of sequences.
+	 *
+	 * @param query the first {@link Sequence} of the pair to score
+	 * @param target the second {@link Sequence} of the pair to score
+	 * @param gapPenalty the gap penalties used during alignment
+	 * @param subMatrix the set of substitution scores used during alignment
+	 */
+	public SmithWatermanScorer(S query, S target, GapPenalty gapPenalty, SubstitutionMatrix<C> subMatrix) {
+		this(query, target, new StripedSmithWaterman<>(query, gapPenalty, subMatrix));
+	}
+
+	/**
+	 * Prepares to score the local alignment of a pair of sequences with the query profile of a previous scorer.
+	 *
+	 * @param query the first {@link Sequence} of the pair to score, the query of the profile
+	 * @param target the second {@link Sequence} of the pair to score
+	 * @param profile the query profile, which may be shared with other scorers
+	 */
+	public SmithWatermanScorer(S query, S target, StripedSmithWaterman<C> profile) {
+		this.query = query;
+		this.target = target;
+		this.profile = profile;
+	}
+
+	// methods for PairwiseSequenceScorer
+
+	@Override
+	public S getQuery() {
+		return query;
+	}
+
+	@Override
+	public S getTarget() {
+		return target;
+	}
+
+	// methods for Scorer
+
+	@Override
+	public double getMaxScore() {
+		score();
+		return max;
+	}
+
+	@Override
+	public double getMinScore() {
+		return 0;
+	}
+
+	@Override
+	public double getScore() {
+		score();
+		return score;
+	}
+
+	// helper method for lazy scoring; the maximum is the better score of aligning either sequence to itself
+	private void score() {
+		if (scored) {
+			return;
+		}
+		SubstitutionMatrix<C> matrix = profile.getSubstitutionMatrix();
+		int[] targetIndices = matrix.getColumnIndices(target);
+		max = Math.max(getSelfScore(matrix, query), getSelfScore(matrix, target));
+		score = profile.getScore(targetIndices);
+		scored = true;
+	}
+
+	private static <C extends Compound> int getSelfScore(SubstitutionMatrix<C> matrix, Sequence<C> sequence) {
+		int[] rows = matrix.getRowIndices(sequence), columns = matrix.getColumnIndices(sequence);
+		int score = 0;
+		for (int i = 0; i < rows.length; i++) {
+			score += matrix.getValue(rows[i], columns[i]);
+		}
+		return score;
+	}
+
+}
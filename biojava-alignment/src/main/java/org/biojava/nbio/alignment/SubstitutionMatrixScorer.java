@@ -27,6 +27,9 @@ import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.Sequence;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Scores using a substitution matrix. Specifically, the score is the sum of the substitution matrix entries
  * corresponding to the alignment. Gaps are scored according to the substitution matrix, just as matches and mismatches.
@@ -49,10 +52,10 @@ implements PairwiseSequenceScorer<S, C> {
 		this.query = pair.getQuery().getOriginalSequence();
 		this.target = pair.getTarget().getOriginalSequence();
 		this.matrix = matrix;
-		for (int i = 1; i <= pair.getLength(); i++) {
-			C query = pair.getCompoundAt(1, i);
-			C target = pair.getCompoundAt(2, i);
-			score += matrix.getValue(query, target);
+		int[] rows = matrix.getRowIndices(pair.getQuery());
+		int[] cols = matrix.getColumnIndices(pair.getTarget());
+		for (int i = 0; i < rows.length; i++) {
+			score += matrix.getValue(rows[i], cols[i]);
 		}
 	}
 
@@ -63,10 +66,15 @@ implements PairwiseSequenceScorer<S, C> {
 	public double getMaxScore() {
 		// assume nothing about the matrix
 		double score = 0;
+		Map<C, Short> rowMax = new HashMap<>();
 		for (C queryC : query.getAsList()) {
-			short max = Short.MIN_VALUE;
-			for (Short value : matrix.getRow(queryC).values()) {
-				if (value > max) max = value;
+			Short max = rowMax.get(queryC);
+			if (max == null) {
+				max = Short.MIN_VALUE;
+				for (Short value : matrix.getRow(queryC).values()) {
+					if (value > max) max = value;
+				}
+				rowMax.put(queryC, max);
 			}
 			score += max;
 		}
@@ -80,10 +88,15 @@ implements PairwiseSequenceScorer<S, C> {
 	public double getMinScore() {
 		// assume nothing about the matrix
 		double score = 0;
+		Map<C, Short> rowMin = new HashMap<>();
 		for (C queryC : query.getAsList()) {
-			short min = Short.MAX_VALUE;
-			for (Short value : matrix.getRow(queryC).values()) {
-				if (value < min) min = value;
+			Short min = rowMin.get(queryC);
+			if (min == null) {
+				min = Short.MAX_VALUE;
+				for (Short value : matrix.getRow(queryC).values()) {
+					if (value < min) min = value;
+				}
+				rowMin.put(queryC, min);
 			}
 			score += min;
 		}
@@ -26,6 +26,7 @@ package org.biojava.nbio.alignment.routines;
 import org.biojava.nbio.core.alignment.template.AlignedSequence.Step;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -584,8 +585,7 @@ public class AlignerHelper {
 		if (x == xb) {
 			pointers = new Last[ye + 1][1];
 		} else {
-			pointers = new Last[ye + 1][];
-			pointers[0] = new Last[1];
+			pointers = new Last[ye + 1][1];
 			for (int y = 1; y < scores[x].length; y++) {
 				pointers[y][0] = setScorePoint(x, y, gep, subs[y], scores);
 				if (scores[x][y][0] <= 0) {
@@ -601,6 +601,205 @@ public class AlignerHelper {
 		return pointers;
 	}
 
+	/**
+	 * Score global alignment for a given position in the query sequence, restricted to the band of target positions
+	 * from lo to hi.  The returned pointers start at lo.  Cells next to the band are given the lowest score, so the
+	 * band of the next position may reach one target position further.
+	 * @param x
+	 * @param xb
+	 * @param yb
+	 * @param lo first target position of the band, yb when x is xb
+	 * @param hi last target position of the band
+	 * @param gop
+	 * @param gep
+	 * @param subs
+	 * @param storing
+	 * @param scores
+	 * @param startAnchored
+	 * @return
+	 */
+	public static Last[][] setBandedScoreVector(int x, int xb, int yb, int lo, int hi, int gop, int gep, int[] subs,
+			boolean storing, int[][][] scores, boolean startAnchored) {
+		Last[][] pointers = new Last[hi - lo + 1][];
+		int min = Integer.MIN_VALUE - gop - gep;
+		ensureScoringMatrixColumn(x, storing, scores);
+		if (x == xb) {
+			scores[xb][yb][1] = scores[xb][yb][2] = gop;
+			pointers[0] = new Last[] {null, null, null};
+			if (startAnchored) {
+				assert (xb > 0 && yb > 0);
+				int subproblemStartingScore = scores[xb - 1][yb - 1][0] + subs[yb];
+				scores[xb][yb][0] = subproblemStartingScore;
+				scores[xb][yb][1] = subproblemStartingScore + gop;
+				scores[xb][yb][2] = subproblemStartingScore + gop;
+				pointers[0] = new Last[] {Last.SUBSTITUTION, Last.SUBSTITUTION, Last.SUBSTITUTION};
+			}
+			Last[] insertion = new Last[] { null, null, Last.INSERTION };
+			for (int y = yb + 1; y <= hi; y++) {
+				scores[xb][y][0] = scores[xb][y][1] = min;
+				scores[xb][y][2] = scores[xb][y - 1][2] + gep;
+				pointers[y - lo] = insertion;
+			}
+		} else {
+			int y = lo;
+			if (lo == yb) {
+				scores[x][yb][0] = scores[x][yb][2] = min;
+				scores[x][yb][1] = scores[x - 1][yb][1] + gep;
+				pointers[0] = new Last[] { null, Last.DELETION, null };
+				y++;
+			} else {
+				Arrays.fill(scores[x][lo - 1], min);
+			}
+			for (; y <= hi; y++) {
+				pointers[y - lo] = setScorePoint(x, y, gop, gep, subs[y], scores);
+			}
+		}
+		if (hi + 1 < scores[x].length) {
+			Arrays.fill(scores[x][hi + 1], min);
+		}
+		return pointers;
+	}
+
+	/**
+	 * Score global alignment for a given position in the query sequence for a linear gap penalty, restricted to the
+	 * band of target positions from lo to hi.  The returned pointers start at lo.
+	 * @param x
+	 * @param xb
+	 * @param yb
+	 * @param lo first target position of the band, yb when x is xb
+	 * @param hi last target position of the band
+	 * @param gep
+	 * @param subs
+	 * @param storing
+	 * @param scores
+	 * @param startAnchored
+	 * @return
+	 */
+	public static Last[][] setBandedScoreVector(int x, int xb, int yb, int lo, int hi, int gep, int[] subs,
+			boolean storing, int[][][] scores, boolean startAnchored) {
+		Last[][] pointers = new Last[hi - lo + 1][1];
+		int min = Integer.MIN_VALUE - gep;
+		ensureScoringMatrixColumn(x, storing, scores);
+		if (x == xb) {
+			if (startAnchored) {
+				assert (xb > 0 && yb > 0);
+				scores[xb][yb][0] = scores[xb - 1][yb - 1][0] + subs[yb];
+				pointers[0][0] = Last.SUBSTITUTION;
+			}
+			for (int y = yb + 1; y <= hi; y++) {
+				scores[xb][y][0] = scores[xb][y - 1][0] + gep;
+				pointers[y - lo][0] = Last.INSERTION;
+			}
+		} else {
+			int y = lo;
+			if (lo == yb) {
+				scores[x][yb][0] = scores[x - 1][yb][0] + gep;
+				pointers[0][0] = Last.DELETION;
+				y++;
+			} else {
+				scores[x][lo - 1][0] = min;
+			}
+			for (; y <= hi; y++) {
+				pointers[y - lo][0] = setScorePoint(x, y, gep, subs[y], scores);
+			}
+		}
+		if (hi + 1 < scores[x].length) {
+			scores[x][hi + 1][0] = min;
+		}
+		return pointers;
+	}
+
+	/**
+	 * Score local alignment for a given position in the query sequence, restricted to the band of target positions
+	 * from lo to hi.  The returned pointers start at lo.  Cells next to the band score 0, as if the alignment started
+	 * there.
+	 * @param x
+	 * @param lo first target position of the band
+	 * @param hi last target position of the band
+	 * @param gop
+	 * @param gep
+	 * @param subs
+	 * @param storing
+	 * @param scores
+	 * @param xyMax
+	 * @param score
+	 * @return
+	 */
+	public static Last[][] setBandedScoreVector(int x, int lo, int hi, int gop, int gep, int[] subs,
+			boolean storing, int[][][] scores, int[] xyMax, int score) {
+		Last[][] pointers = new Last[hi - lo + 1][];
+		ensureScoringMatrixColumn(x, storing, scores);
+		if (x == 0) {
+			for (int y = lo; y <= hi; y++) {
+				pointers[y - lo] = new Last[scores[0][0].length];
+			}
+		} else {
+			if (lo > 0) {
+				Arrays.fill(scores[x][lo - 1], 0);
+			} else {
+				pointers[0] = new Last[scores[0][0].length];
+			}
+			for (int y = Math.max(1, lo); y <= hi; y++) {
+				pointers[y - lo] = setScorePoint(x, y, gop, gep, subs[y], scores);
+				for (int z = 0; z < scores[0][0].length; z++) {
+					if (scores[x][y][z] <= 0) {
+						scores[x][y][z] = 0;
+						pointers[y - lo][z] = null;
+					}
+				}
+				if (scores[x][y][0] > score) {
+					xyMax[0] = x;
+					xyMax[1] = y;
+					score = scores[x][y][0];
+				}
+			}
+		}
+		if (hi + 1 < scores[x].length) {
+			Arrays.fill(scores[x][hi + 1], 0);
+		}
+		return pointers;
+	}
+
+	/**
+	 * Score local alignment for a given position in the query sequence for a linear gap penalty, restricted to the
+	 * band of target positions from lo to hi.  The returned pointers start at lo.
+	 * @param x
+	 * @param lo first target position of the band
+	 * @param hi last target position of the band
+	 * @param gep
+	 * @param subs
+	 * @param storing
+	 * @param scores
+	 * @param xyMax
+	 * @param score
+	 * @return
+	 */
+	public static Last[][] setBandedScoreVector(int x, int lo, int hi, int gep, int[] subs, boolean storing,
+			int[][][] scores, int[] xyMax, int score) {
+		Last[][] pointers = new Last[hi - lo + 1][1];
+		ensureScoringMatrixColumn(x, storing, scores);
+		if (x > 0) {
+			if (lo > 0) {
+				scores[x][lo - 1][0] = 0;
+			}
+			for (int y = Math.max(1, lo); y <= hi; y++) {
+				pointers[y - lo][0] = setScorePoint(x, y, gep, subs[y], scores);
+				if (scores[x][y][0] <= 0) {
+					scores[x][y][0] = 0;
+					pointers[y - lo][0] = null;
+				} else if (scores[x][y][0] > score) {
+					xyMax[0] = x;
+					xyMax[1] = y;
+					score = scores[x][y][0];
+				}
+			}
+		}
+		if (hi + 1 < scores[x].length) {
+			scores[x][hi + 1][0] = 0;
+		}
+		return pointers;
+	}
+
 	private static void ensureScoringMatrixColumn(int x, boolean storingFullMatrix, int[][][] scores) {
 		if (!storingFullMatrix && x > 1) {
 			scores[x] = scores[x - 2];
@@ -619,24 +818,42 @@ public class AlignerHelper {
 	 */
 	public static int[] setSteps(Last[][][] traceback, boolean local, int[] xyMax, Last last, List<Step> sx,
 			List<Step> sy) {
+		return setSteps(traceback, null, local, xyMax, last, sx, sy);
+	}
+
+	/**
+	 * Find alignment path through traceback matrix whose rows start at the given target positions
+	 * @param traceback
+	 * @param offsets target position of the first pointer of each row, or null if rows start at 0
+	 * @param local
+	 * @param xyMax
+	 * @param last
+	 * @param sx
+	 * @param sy
+	 * @return
+	 */
+	public static int[] setSteps(Last[][][] traceback, int[] offsets, boolean local, int[] xyMax, Last last,
+			List<Step> sx, List<Step> sy) {
 		int x = xyMax[0], y = xyMax[1];
-		boolean linear = (traceback[x][y].length == 1);
-		while (local ? (linear ? last : traceback[x][y][last.ordinal()]) != null : x > 0 || y > 0) {
+		boolean linear = (getPointers(traceback, offsets, x, y).length == 1);
+		while (local ? (linear ? last : getPointers(traceback, offsets, x, y)[last.ordinal()]) != null :
+				x > 0 || y > 0) {
 			switch (last) {
 			case DELETION:
 				sx.add(Step.COMPOUND);
 				sy.add(Step.GAP);
-				last = linear ? traceback[--x][y][0] : traceback[x--][y][1];
+				last = linear ? getPointers(traceback, offsets, --x, y)[0] : getPointers(traceback, offsets, x--, y)[1];
 				break;
 			case SUBSTITUTION:
 				sx.add(Step.COMPOUND);
 				sy.add(Step.COMPOUND);
-				last = linear ? traceback[--x][--y][0] : traceback[x--][y--][0];
+				last = linear ? getPointers(traceback, offsets, --x, --y)[0] :
+						getPointers(traceback, offsets, x--, y--)[0];
 				break;
 			case INSERTION:
 				sx.add(Step.GAP);
 				sy.add(Step.COMPOUND);
-				last = linear ? traceback[x][--y][0] : traceback[x][y--][2];
+				last = linear ? getPointers(traceback, offsets, x, --y)[0] : getPointers(traceback, offsets, x, y--)[2];
 			}
 		}
 		Collections.reverse(sx);
@@ -644,6 +861,10 @@ public class AlignerHelper {
 		return new int[] {x, y};
 	}
 
+	private static Last[] getPointers(Last[][][] traceback, int[] offsets, int x, int y) {
+		return traceback[x][offsets == null ? y : y - offsets[x]];
+	}
+
 	/**
 	 * Find global alignment path through traceback matrix
 	 * @param traceback
@@ -653,13 +874,27 @@ public class AlignerHelper {
 	 * @return
 	 */
 	public static int[] setSteps(Last[][][] traceback, int[][][] scores, List<Step> sx, List<Step> sy) {
+		return setSteps(traceback, null, scores, sx, sy);
+	}
+
+	/**
+	 * Find global alignment path through traceback matrix whose rows start at the given target positions
+	 * @param traceback
+	 * @param offsets target position of the first pointer of each row, or null if rows start at 0
+	 * @param scores
+	 * @param sx
+	 * @param sy
+	 * @return
+	 */
+	public static int[] setSteps(Last[][][] traceback, int[] offsets, int[][][] scores, List<Step> sx,
+			List<Step> sy) {
 		int xMax = scores.length - 1, yMax = scores[xMax].length - 1;
-		boolean linear = (traceback[xMax][yMax].length == 1);
+		boolean linear = (getPointers(traceback, offsets, xMax, yMax).length == 1);
 
 		Last last =
 
 			linear ?
-				traceback[xMax][yMax][0] :
+				getPointers(traceback, offsets, xMax, yMax)[0] :
 
 				(scores[xMax][yMax][1] > scores[xMax][yMax][0] &&
 				 scores[xMax][yMax][1] > scores[xMax][yMax][2] ) ?
@@ -670,7 +905,7 @@ public class AlignerHelper {
 									Last.INSERTION;
 
 
-		return setSteps(traceback, false, new int[] {xMax, yMax}, last, sx, sy);
+		return setSteps(traceback, offsets, false, new int[] {xMax, yMax}, last, sx, sy);
 	}
 
 	/**
@@ -682,7 +917,22 @@ public class AlignerHelper {
 	 * @return
 	 */
 	public static int[] setSteps(Last[][][] traceback, int[] xyMax, List<Step> sx, List<Step> sy) {
-		return setSteps(traceback, true, xyMax, Last.SUBSTITUTION, sx, sy);
+		return setSteps(traceback, null, xyMax, sx, sy);
+	}
+
+	/**
+	 * Find local alignment path through traceback matrix whose rows start at the given target positions
+	 * @param traceback
+	 * @param offsets target position of the first pointer of each row, or null if rows start at 0
+	 * @param xyMax
+	 * @param sx
+	 * @param sy
+	 * @return
+	 */
+	public static int[] setSteps(Last[][][] traceback, int[] offsets, int[] xyMax, List<Step> sx, List<Step> sy) {
+		// with a linear gap penalty the single state is empty when nothing scored above 0
+		Last[] end = getPointers(traceback, offsets, xyMax[0], xyMax[1]);
+		return setSteps(traceback, offsets, true, xyMax, end.length == 1 ? end[0] : Last.SUBSTITUTION, sx, sy);
 	}
 
 	public static String tracebackToString(Last[][][] traceback) {
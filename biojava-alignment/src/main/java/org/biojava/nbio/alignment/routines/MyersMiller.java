@@ -0,0 +1,425 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment.routines;
+
+import org.biojava.nbio.alignment.routines.AlignerHelper.Subproblem;
+import org.biojava.nbio.core.alignment.template.AlignedSequence.Step;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+
+import java.util.List;
+
+/**
+ * Myers and Miller's divide-and-conquer alignment (after Hirschberg) for pairwise sequence alignments in space linear
+ * in the length of the target sequence.  Each pass scores the upper half of a region forward and the lower half
+ * backward, splits the region where an optimal path crosses the middle row and recurses on the two halves; small
+ * regions are aligned with a traceback matrix.  Time is about twice that of the quadratic space algorithm.
+ * <p>
+ * The recurrences are the ones of {@link AlignerHelper}: three states per cell (substitution, deletion, insertion)
+ * where a deletion can not directly follow an insertion or the reverse, unless the gap penalty is linear.  Scores are
+ * therefore the same as those of the quadratic space aligners, but when several alignments share the optimal score
+ * the one chosen may differ.
+ * <p>
+ * Sequences are passed as substitution matrix indices, see {@link SubstitutionMatrix#getRowIndices}.
+ *
+ * @since 5.3.1
+ */
+public class MyersMiller {
+
+	// states, in the order of the third dimension of the score matrix of AlignerHelper
+	private static final int SUBSTITUTION = 0, DELETION = 1, INSERTION = 2, ANY = -1;
+
+	// low enough never to win, high enough not to overflow when penalties are added
+	private static final int NEG = Integer.MIN_VALUE / 4;
+
+	// regions of up to this many cells are aligned with a traceback matrix
+	private static final int BLOCK_CELLS = 1 << 14;
+
+	private final int[] query, target;
+	private final SubstitutionMatrix<?> matrix;
+	private final int gop, gep;
+	private final boolean linear;
+	private final List<Step> sx, sy;
+
+	// forward and reverse score rows shared by all passes
+	private final int[] fs, fd, fi, rs, rd, ri;
+
+	private MyersMiller(int[] query, int[] target, SubstitutionMatrix<?> matrix, int gop, int gep, boolean linear,
+			List<Step> sx, List<Step> sy) {
+		this.query = query;
+		this.target = target;
+		this.matrix = matrix;
+		this.gop = linear ? 0 : gop;
+		this.gep = gep;
+		this.linear = linear;
+		this.sx = sx;
+		this.sy = sy;
+		int n = target.length + 1;
+		fs = new int[n];
+		fd = new int[n];
+		fi = new int[n];
+		rs = new int[n];
+		rd = new int[n];
+		ri = new int[n];
+	}
+
+	/**
+	 * Finds an optimal global alignment of a subproblem and appends its steps.  If the start of the subproblem is
+	 * anchored, the anchored compounds are aligned first.
+	 *
+	 * @param query row indices of the query compounds
+	 * @param target column indices of the target compounds
+	 * @param matrix the substitution matrix which resolved the indices
+	 * @param gop gap open penalty, ignored if linear
+	 * @param gep gap extension penalty
+	 * @param linear true for a linear gap penalty
+	 * @param subproblem the region of the score matrix to align
+	 * @param sx query steps
+	 * @param sy target steps
+	 * @return the score of the alignment
+	 */
+	public static int alignGlobal(int[] query, int[] target, SubstitutionMatrix<?> matrix, int gop, int gep,
+			boolean linear, Subproblem subproblem, List<Step> sx, List<Step> sy) {
+		MyersMiller mm = new MyersMiller(query, target, matrix, gop, gep, linear, sx, sy);
+		int score = 0;
+		if (subproblem.isStartAnchored()) {
+			score = mm.getSubstitution(subproblem.getQueryStartIndex(), subproblem.getTargetStartIndex());
+			sx.add(Step.COMPOUND);
+			sy.add(Step.COMPOUND);
+		}
+		return score + mm.align(subproblem.getQueryStartIndex(), subproblem.getTargetStartIndex(),
+				subproblem.getQueryEndIndex(), subproblem.getTargetEndIndex(), SUBSTITUTION, ANY);
+	}
+
+	/**
+	 * Finds an optimal local alignment and sets its steps.  A first pass finds the score, the end and the start of the
+	 * best local alignment in linear space, the region between start and end is then aligned globally.
+	 *
+	 * @param query row indices of the query compounds
+	 * @param target column indices of the target compounds
+	 * @param matrix the substitution matrix which resolved the indices
+	 * @param gop gap open penalty, ignored if linear
+	 * @param gep gap extension penalty
+	 * @param linear true for a linear gap penalty
+	 * @param xyStart set to the score matrix position before the first aligned compounds
+	 * @param xyMax set to the score matrix position of the last aligned compounds
+	 * @param sx query steps
+	 * @param sy target steps
+	 * @return the score of the alignment, 0 if no compounds align
+	 */
+	public static int alignLocal(int[] query, int[] target, SubstitutionMatrix<?> matrix, int gop, int gep,
+			boolean linear, int[] xyStart, int[] xyMax, List<Step> sx, List<Step> sy) {
+		MyersMiller mm = new MyersMiller(query, target, matrix, gop, gep, linear, sx, sy);
+		long[] ends = mm.getLocalEnds();
+		int score = (int) ends[0];
+		xyStart[0] = xyStart[1] = xyMax[0] = xyMax[1] = 0;
+		if (score > 0) {
+			xyStart[0] = (int) (ends[1] >>> 32);
+			xyStart[1] = (int) ends[1];
+			xyMax[0] = (int) (ends[2] >>> 32);
+			xyMax[1] = (int) ends[2];
+			mm.align(xyStart[0], xyStart[1], xyMax[0], xyMax[1], SUBSTITUTION, SUBSTITUTION);
+		}
+		return score;
+	}
+
+	// score of aligning query compound x with target compound y, both numbered from 1
+	private int getSubstitution(int x, int y) {
+		return matrix.getValue(query[x - 1], target[y - 1]);
+	}
+
+	private static int max(int a, int b, int c) {
+		return Math.max(a, Math.max(b, c));
+	}
+
+	// aligns the region between score matrix positions (x0, y0) and (x1, y1), starting in state s0 and ending in e
+	private int align(int x0, int y0, int x1, int y1, int s0, int e) {
+		if (x1 - x0 <= 1 || (long) (x1 - x0 + 1) * (y1 - y0 + 1) <= BLOCK_CELLS) {
+			return alignBlock(x0, y0, x1, y1, s0, e);
+		}
+		int xm = (x0 + x1) >>> 1;
+		forward(x0, y0, xm, y1, s0);
+		reverse(xm, y0, x1, y1, e);
+		int best = NEG, ym = y0, sm = SUBSTITUTION;
+		for (int j = 0; j <= y1 - y0; j++) {
+			if (fs[j] + rs[j] > best) {
+				best = fs[j] + rs[j];
+				ym = y0 + j;
+				sm = SUBSTITUTION;
+			}
+			if (fd[j] + rd[j] > best) {
+				best = fd[j] + rd[j];
+				ym = y0 + j;
+				sm = DELETION;
+			}
+			if (fi[j] + ri[j] > best) {
+				best = fi[j] + ri[j];
+				ym = y0 + j;
+				sm = INSERTION;
+			}
+		}
+		align(x0, y0, xm, ym, s0, sm);
+		align(xm, ym, x1, y1, sm, e);
+		return best;
+	}
+
+	// scores of the best paths from (x0, y0) in state s0 to each position of row x1
+	private void forward(int x0, int y0, int x1, int y1, int s0) {
+		int n = y1 - y0;
+		fs[0] = fd[0] = fi[0] = NEG;
+		(s0 == SUBSTITUTION ? fs : s0 == DELETION ? fd : fi)[0] = 0;
+		for (int j = 1; j <= n; j++) {
+			fs[j] = fd[j] = NEG;
+			fi[j] = max(fi[j - 1] + gep, fs[j - 1] + gop + gep, linear ? fd[j - 1] + gep : NEG);
+		}
+		for (int x = x0 + 1; x <= x1; x++) {
+			int ds = fs[0], dd = fd[0], di = fi[0];
+			fd[0] = max(fd[0] + gep, fs[0] + gop + gep, linear ? fi[0] + gep : NEG);
+			fs[0] = fi[0] = NEG;
+			for (int j = 1; j <= n; j++) {
+				int us = fs[j], ud = fd[j], ui = fi[j];
+				fs[j] = max(ds, dd, di) + getSubstitution(x, y0 + j);
+				fd[j] = max(ud + gep, us + gop + gep, linear ? ui + gep : NEG);
+				fi[j] = max(fi[j - 1] + gep, fs[j - 1] + gop + gep, linear ? fd[j - 1] + gep : NEG);
+				ds = us;
+				dd = ud;
+				di = ui;
+			}
+		}
+	}
+
+	// scores of the best paths from each position of row x0, in each state, to (x1, y1) in state e
+	private void reverse(int x0, int y0, int x1, int y1, int e) {
+		int n = y1 - y0;
+		rs[n] = (e == ANY || e == SUBSTITUTION) ? 0 : NEG;
+		rd[n] = (e == ANY || e == DELETION) ? 0 : NEG;
+		ri[n] = (e == ANY || e == INSERTION) ? 0 : NEG;
+		for (int j = n - 1; j >= 0; j--) {
+			rs[j] = gop + gep + ri[j + 1];
+			rd[j] = linear ? gep + ri[j + 1] : NEG;
+			ri[j] = gep + ri[j + 1];
+		}
+		for (int x = x1 - 1; x >= x0; x--) {
+			int ds = NEG;
+			for (int j = n; j >= 0; j--) {
+				int us = rs[j], ud = rd[j];
+				int diagonal = (j < n) ? ds + getSubstitution(x + 1, y0 + j + 1) : NEG;
+				int right = (j < n) ? ri[j + 1] : NEG;
+				rs[j] = max(diagonal, gop + gep + ud, gop + gep + right);
+				rd[j] = max(diagonal, gep + ud, linear ? gep + right : NEG);
+				ri[j] = max(diagonal, linear ? gep + ud : NEG, gep + right);
+				ds = us;
+			}
+		}
+	}
+
+	// aligns a small region with a traceback matrix
+	private int alignBlock(int x0, int y0, int x1, int y1, int s0, int e) {
+		int rows = x1 - x0 + 1, cols = y1 - y0 + 1;
+		int[][] score = new int[3][rows * cols];
+		byte[][] last = new byte[3][rows * cols];
+		int[] s = score[SUBSTITUTION], d = score[DELETION], ins = score[INSERTION];
+		for (int x = 0; x < rows; x++) {
+			for (int y = 0; y < cols; y++) {
+				int k = x * cols + y;
+				if (x == 0 && y == 0) {
+					s[k] = d[k] = ins[k] = NEG;
+					score[s0][k] = 0;
+					continue;
+				}
+				s[k] = d[k] = ins[k] = NEG;
+				if (x > 0 && y > 0) {
+					int p = k - cols - 1;
+					int b = (s[p] >= d[p] && s[p] >= ins[p]) ? SUBSTITUTION : (d[p] >= ins[p]) ? DELETION : INSERTION;
+					s[k] = score[b][p] + getSubstitution(x0 + x, y0 + y);
+					last[SUBSTITUTION][k] = (byte) b;
+				}
+				if (x > 0) {
+					int p = k - cols;
+					d[k] = d[p] + gep;
+					last[DELETION][k] = DELETION;
+					if (s[p] + gop + gep > d[k]) {
+						d[k] = s[p] + gop + gep;
+						last[DELETION][k] = SUBSTITUTION;
+					}
+					if (linear && ins[p] + gep > d[k]) {
+						d[k] = ins[p] + gep;
+						last[DELETION][k] = INSERTION;
+					}
+				}
+				if (y > 0) {
+					int p = k - 1;
+					ins[k] = ins[p] + gep;
+					last[INSERTION][k] = INSERTION;
+					if (s[p] + gop + gep > ins[k]) {
+						ins[k] = s[p] + gop + gep;
+						last[INSERTION][k] = SUBSTITUTION;
+					}
+					if (linear && d[p] + gep > ins[k]) {
+						ins[k] = d[p] + gep;
+						last[INSERTION][k] = DELETION;
+					}
+				}
+			}
+		}
+
+		int k = rows * cols - 1, state = e;
+		if (state == ANY) {
+			state = (s[k] >= d[k] && s[k] >= ins[k]) ? SUBSTITUTION : (d[k] >= ins[k]) ? DELETION : INSERTION;
+		}
+		int result = score[state][k];
+
+		// trace back, then append the steps in forward order
+		int start = sx.size(), x = rows - 1, y = cols - 1;
+		while (x > 0 || y > 0) {
+			int previous = last[state][x * cols + y];
+			switch (state) {
+			case SUBSTITUTION:
+				sx.add(Step.COMPOUND);
+				sy.add(Step.COMPOUND);
+				x--;
+				y--;
+				break;
+			case DELETION:
+				sx.add(Step.COMPOUND);
+				sy.add(Step.GAP);
+				x--;
+				break;
+			default:
+				sx.add(Step.GAP);
+				sy.add(Step.COMPOUND);
+				y--;
+			}
+			state = previous;
+		}
+		reverse(sx, start);
+		reverse(sy, start);
+		return result;
+	}
+
+	private static void reverse(List<Step> steps, int from) {
+		for (int i = from, j = steps.size() - 1; i < j; i++, j--) {
+			Step t = steps.get(i);
+			steps.set(i, steps.get(j));
+			steps.set(j, t);
+		}
+	}
+
+	/**
+	 * Scores local alignments like {@link AlignerHelper}, keeping the start of the best path into each position
+	 * instead of traceback pointers.
+	 *
+	 * @return score, start and end of the best local alignment, positions packed as x &lt;&lt; 32 | y
+	 */
+	private long[] getLocalEnds() {
+		int n = target.length;
+		long[] ss = new long[n + 1], sd = new long[n + 1], si = new long[n + 1];
+		for (int j = 0; j <= n; j++) {
+			fs[j] = fd[j] = fi[j] = 0;
+			ss[j] = sd[j] = si[j] = j;
+		}
+		int best = 0;
+		long bestStart = 0, bestEnd = 0;
+		for (int x = 1; x <= query.length; x++) {
+			long here = (long) x << 32;
+			int ds = fs[0], dd = fd[0], di = fi[0];
+			long dss = ss[0], dsd = sd[0], dsi = si[0];
+			fs[0] = fd[0] = fi[0] = 0;
+			ss[0] = sd[0] = si[0] = here;
+			for (int j = 1; j <= n; j++) {
+				int us = fs[j], ud = fd[j], ui = fi[j];
+				long uss = ss[j], usd = sd[j], usi = si[j];
+
+				// substitution
+				int v;
+				long start;
+				if (ds >= dd && ds >= di) {
+					v = ds;
+					start = dss;
+				} else if (dd >= di) {
+					v = dd;
+					start = dsd;
+				} else {
+					v = di;
+					start = dsi;
+				}
+				v += getSubstitution(x, j);
+				if (v <= 0) {
+					fs[j] = 0;
+					ss[j] = here | j;
+				} else {
+					fs[j] = v;
+					ss[j] = start;
+				}
+
+				// deletion
+				v = ud + gep;
+				start = usd;
+				if (us + gop + gep > v) {
+					v = us + gop + gep;
+					start = uss;
+				}
+				if (linear && ui + gep > v) {
+					v = ui + gep;
+					start = usi;
+				}
+				if (v <= 0) {
+					fd[j] = 0;
+					sd[j] = here | j;
+				} else {
+					fd[j] = v;
+					sd[j] = start;
+				}
+
+				// insertion
+				v = fi[j - 1] + gep;
+				start = si[j - 1];
+				if (fs[j - 1] + gop + gep > v) {
+					v = fs[j - 1] + gop + gep;
+					start = ss[j - 1];
+				}
+				if (linear && fd[j - 1] + gep > v) {
+					v = fd[j - 1] + gep;
+					start = sd[j - 1];
+				}
+				if (v <= 0) {
+					fi[j] = 0;
+					si[j] = here | j;
+				} else {
+					fi[j] = v;
+					si[j] = start;
+				}
+
+				if (fs[j] > best) {
+					best = fs[j];
+					bestStart = ss[j];
+					bestEnd = here | j;
+				}
+				ds = us;
+				dd = ud;
+				di = ui;
+				dss = uss;
+				dsd = usd;
+				dsi = usi;
+			}
+		}
+		return new long[] {best, bestStart, bestEnd};
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment.routines;
+
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.Sequence;
+
+import java.util.Arrays;
+
+/**
+ * Computes the score of a Smith-Waterman local alignment, without the alignment itself, with Farrar's striped query
+ * profile.  The query is split into {@link #LANES} interleaved segments so that one cell of each segment can be
+ * computed at once: the inner loops run over plain int arrays, without dependencies between neighbouring elements,
+ * which the JIT compiler can vectorize.  The vertical gaps, which do depend on the cell above, are first computed
+ * within each segment and then corrected across segments in a single pass, which mostly stops after a few segments.
+ * <p>
+ * The query profile, the substitution scores of every query position against each target compound, is built once
+ * per query, so that one instance scores any number of targets.  Instances are thread safe.
+ * <p>
+ * The recurrences are the ones of {@link AlignerHelper}, so the score is that of the
+ * {@link org.biojava.nbio.alignment.SmithWaterman} aligner for the same gap penalty and substitution matrix.
+ *
+ * @param <C> each element of a sequence is a {@link Compound} of type C
+ * @since 5.3.1
+ */
+public class StripedSmithWaterman<C extends Compound> {
+
+	/** The number of query segments computed at once */
+	public static final int LANES = 8;
+
+	// low enough for padding positions never to score, high enough not to overflow
+	private static final int NEG = Integer.MIN_VALUE / 4;
+
+	private final Sequence<C> query;
+	private final SubstitutionMatrix<C> matrix;
+	private final int[] queryIndices;
+	private final int gop, gep;
+	private final boolean linear;
+	private final int segmentLength, size;
+
+	// striped substitution scores of the query, by target column index; built when first needed
+	private int[][] profile = new int[0][];
+	private int[] unknown;
+
+	/**
+	 * Prepares the query profile for scoring local alignments against the given query.
+	 *
+	 * @param query the first {@link Sequence} of each pair to score
+	 * @param gapPenalty the gap penalties used during alignment
+	 * @param matrix the set of substitution scores used during alignment
+	 */
+	public StripedSmithWaterman(Sequence<C> query, GapPenalty gapPenalty, SubstitutionMatrix<C> matrix) {
+		this.query = query;
+		this.matrix = matrix;
+		queryIndices = matrix.getRowIndices(query);
+		linear = gapPenalty.getType() == GapPenalty.Type.LINEAR;
+		gop = linear ? 0 : gapPenalty.getOpenPenalty();
+		gep = gapPenalty.getExtensionPenalty();
+		segmentLength = Math.max(1, (queryIndices.length + LANES - 1) / LANES);
+		size = segmentLength * LANES;
+	}
+
+	/**
+	 * Returns the query sequence.
+	 *
+	 * @return the query sequence
+	 */
+	public Sequence<C> getQuery() {
+		return query;
+	}
+
+	/**
+	 * Returns the substitution matrix.
+	 *
+	 * @return the substitution matrix
+	 */
+	public SubstitutionMatrix<C> getSubstitutionMatrix() {
+		return matrix;
+	}
+
+	/**
+	 * Returns the optimal local alignment score of the query and the given target.
+	 *
+	 * @param target the second {@link Sequence} of the pair
+	 * @return the local alignment score
+	 */
+	public int getScore(Sequence<C> target) {
+		return getScore(matrix.getColumnIndices(target));
+	}
+
+	/**
+	 * Returns the optimal local alignment score of the query and the given target.
+	 *
+	 * @param target the second sequence of the pair as column indices of the substitution matrix, see
+	 *     {@link SubstitutionMatrix#getColumnIndices(Sequence)}
+	 * @return the local alignment score
+	 */
+	public int getScore(int[] target) {
+		if (queryIndices.length == 0 || target.length == 0) {
+			return 0;
+		}
+		int[][] rows = getProfile(target);
+
+		final int lanes = LANES, size = this.size, last = size - lanes;
+		final int gop = this.gop, gep = this.gep;
+		int[] hp = new int[size], h = new int[size], m = new int[size], e = new int[size], f = new int[size],
+				o = new int[size], carry = new int[lanes];
+		int best = 0;
+
+		for (int y = 0; y < target.length; y++) {
+			int[] p = rows[y];
+
+			// substitutions, from the cell above on the left, which is in the previous segment of the same lane
+			m[0] = Math.max(p[0], 0);
+			for (int k = 1; k < lanes; k++) {
+				m[k] = Math.max(hp[last + k - 1] + p[k], 0);
+			}
+			for (int t = lanes; t < size; t++) {
+				m[t] = Math.max(hp[t - lanes] + p[t], 0);
+			}
+			for (int t = 0; t < size; t++) {
+				best = Math.max(best, m[t]);
+			}
+
+			// deletions open from substitutions only, unless the gap penalty is linear
+			if (linear) {
+				for (int t = 0; t < size; t++) {
+					o[t] = Math.max(m[t], e[t]);
+				}
+			} else {
+				System.arraycopy(m, 0, o, 0, size);
+			}
+
+			// deletions within each segment
+			for (int t = 0; t < lanes; t++) {
+				f[t] = 0;
+			}
+			for (int t = lanes; t < size; t++) {
+				f[t] = Math.max(Math.max(f[t - lanes] + gep, o[t - lanes] + gop + gep), 0);
+			}
+
+			// deletions across segments: a deletion entering a lane at its first segment loses one extension per
+			// segment, so what leaves the lane, and enters the next one, follows from what entered it
+			carry[0] = 0;
+			for (int k = 1; k < lanes; k++) {
+				int t = last + k - 1;
+				carry[k] = Math.max(Math.max(f[t] + gep, o[t] + gop + gep), carry[k - 1] + segmentLength * gep);
+			}
+			for (int t = 0; t < size; t += lanes) {
+				boolean changed = false;
+				for (int k = 0; k < lanes; k++) {
+					if (carry[k] > f[t + k]) {
+						f[t + k] = carry[k];
+						changed = true;
+					}
+					carry[k] += gep;
+				}
+				if (!changed) {
+					break;
+				}
+			}
+
+			// best state of each cell, then insertions for the next target position
+			for (int t = 0; t < size; t++) {
+				h[t] = Math.max(Math.max(m[t], e[t]), f[t]);
+			}
+			int[] source = linear ? h : m;
+			for (int t = 0; t < size; t++) {
+				e[t] = Math.max(Math.max(e[t] + gep, source[t] + gop + gep), 0);
+			}
+
+			int[] swap = hp;
+			hp = h;
+			h = swap;
+		}
+		return best;
+	}
+
+	// returns the striped profile row of each target position, adding the missing ones
+	private synchronized int[][] getProfile(int[] target) {
+		int[][] rows = new int[target.length][];
+		for (int y = 0; y < target.length; y++) {
+			int column = target[y];
+			if (column < 0) {
+				if (unknown == null) {
+					unknown = getProfileRow(column);
+				}
+				rows[y] = unknown;
+				continue;
+			}
+			if (column >= profile.length) {
+				profile = Arrays.copyOf(profile, Math.max(column + 1, 2 * profile.length));
+			}
+			if (profile[column] == null) {
+				profile[column] = getProfileRow(column);
+			}
+			rows[y] = profile[column];
+		}
+		return rows;
+	}
+
+	// query position x is at index (x % segmentLength) * LANES + x / segmentLength
+	private int[] getProfileRow(int column) {
+		int[] row = new int[size];
+		Arrays.fill(row, NEG);
+		for (int x = 0; x < queryIndices.length; x++) {
+			row[(x % segmentLength) * LANES + x / segmentLength] = matrix.getValue(queryIndices[x], column);
+		}
+		return row;
+	}
+
+}
@@ -23,6 +23,10 @@
 
 package org.biojava.nbio.alignment.template;
 
+import org.biojava.nbio.alignment.routines.AlignerHelper.Last;
+import org.biojava.nbio.alignment.routines.AlignerHelper.Subproblem;
+import org.biojava.nbio.alignment.routines.MyersMiller;
+import org.biojava.nbio.core.alignment.template.AlignedSequence.Step;
 import org.biojava.nbio.core.alignment.template.SequencePair;
 import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.sequence.template.Compound;
@@ -30,8 +34,12 @@ import org.biojava.nbio.core.sequence.template.CompoundSet;
 import org.biojava.nbio.core.sequence.template.Sequence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static org.biojava.nbio.alignment.routines.AlignerHelper.setBandedScoreVector;
+import static org.biojava.nbio.alignment.routines.AlignerHelper.setSteps;
+
 /**
  * Implements common code for an {@link Aligner} for a pair of {@link Sequence}s.
  *
@@ -45,6 +53,12 @@ public abstract class AbstractPairwiseSequenceAligner<S extends Sequence<C>, C e
 	// additional input fields
 	private S query, target;
 
+	private boolean linearSpace;
+	private int bandWidth;
+
+	// substitution matrix indices of the compounds of query and target, resolved once per alignment
+	private int[] queryIndices, targetIndices;
+
 	// additional output field
 	protected SequencePair<S, C> pair;
 
@@ -106,6 +120,61 @@ public abstract class AbstractPairwiseSequenceAligner<S extends Sequence<C>, C e
 		reset();
 	}
 
+	/**
+	 * Returns whether alignment runs in space linear in the sequence lengths.
+	 *
+	 * @return true if alignment runs in linear space
+	 * @since 5.3.1
+	 */
+	public boolean isLinearSpace() {
+		return linearSpace;
+	}
+
+	/**
+	 * Sets whether alignment runs in space linear in the sequence lengths, using the divide-and-conquer algorithm of
+	 * {@link MyersMiller} instead of score and traceback matrices.  This takes about twice the time, but allows to
+	 * align sequences too long for a quadratic matrix.  The alignment score is the same; when several alignments share
+	 * it, the one returned may differ.  While the score matrix is stored, see
+	 * {@link #setStoringScoreMatrix(boolean)}, alignment always runs in quadratic space.
+	 *
+	 * @param linearSpace true to align in linear space
+	 * @since 5.3.1
+	 */
+	public void setLinearSpace(boolean linearSpace) {
+		this.linearSpace = linearSpace;
+		reset();
+	}
+
+	/**
+	 * Returns the initial width of the band of diagonals the alignment is restricted to, or 0 if it is not.
+	 *
+	 * @return the initial band width
+	 * @since 5.3.1
+	 */
+	public int getBandWidth() {
+		return bandWidth;
+	}
+
+	/**
+	 * Restricts alignment to a band of diagonals around the diagonal from the start to the end of the matrix (or of
+	 * each section between anchors), extended by the given number of diagonals on each side.  Whenever the optimal
+	 * path runs along an edge of the band, the band width is doubled and the alignment run again, so the result is
+	 * that of the full matrix unless a better path lies entirely outside the band.  For similar sequences, this takes
+	 * time and memory linear in the sequence lengths and the band width.  While the score matrix is stored, see
+	 * {@link #setStoringScoreMatrix(boolean)}, the full matrix is always computed.  A band takes precedence over
+	 * {@link #setLinearSpace(boolean) linear space}.
+	 *
+	 * @param bandWidth the number of diagonals on each side of the band, 0 to align in the full matrix
+	 * @since 5.3.1
+	 */
+	public void setBandWidth(int bandWidth) {
+		if (bandWidth < 0) {
+			throw new IllegalArgumentException("Band width must not be negative: " + bandWidth);
+		}
+		this.bandWidth = bandWidth;
+		reset();
+	}
+
 	// method for PairwiseSequenceAligner
 
 	@Override
@@ -151,9 +220,150 @@ public abstract class AbstractPairwiseSequenceAligner<S extends Sequence<C>, C e
 				(getGapPenalty() == null || getGapPenalty().getType() == GapPenalty.Type.LINEAR) ? 1 : 3 };
 	}
 
+	@Override
+	protected void align() {
+		if (isStoringScoreMatrix() || (bandWidth == 0 && !linearSpace)) {
+			super.align();
+			return;
+		}
+		if (!isReady()) {
+			return;
+		}
+
+		long timeStart = System.nanoTime();
+
+		List<Step> sx = new ArrayList<>(), sy = new ArrayList<>();
+		if (bandWidth > 0) {
+			alignBanded(sx, sy);
+		} else {
+			alignLinearSpace(sx, sy);
+		}
+
+		setProfile(sx, sy);
+
+		time = System.nanoTime() - timeStart;
+	}
+
+	// aligns in linear space, see MyersMiller
+	private void alignLinearSpace(List<Step> sx, List<Step> sy) {
+		boolean linear = (getGapPenalty().getType() == GapPenalty.Type.LINEAR);
+		int openPenalty = getGapPenalty().getOpenPenalty(), extensionPenalty = getGapPenalty().getExtensionPenalty();
+		if (!isLocal()) {
+			xyStart = new int[] { 0, 0 };
+			xyMax = new int[] { queryIndices.length, targetIndices.length };
+			score = 0;
+			for (Subproblem subproblem : Subproblem.getSubproblems(anchors, xyMax[0], xyMax[1])) {
+				score += MyersMiller.alignGlobal(queryIndices, targetIndices, getSubstitutionMatrix(), openPenalty,
+						extensionPenalty, linear, subproblem, sx, sy);
+			}
+		} else {
+			score = MyersMiller.alignLocal(queryIndices, targetIndices, getSubstitutionMatrix(), openPenalty,
+					extensionPenalty, linear, xyStart, xyMax, sx, sy);
+		}
+	}
+
+	// aligns within a band around the diagonal of each subproblem, widening the band while the path touches its edge
+	private void alignBanded(List<Step> sx, List<Step> sy) {
+		int n = queryIndices.length, m = targetIndices.length;
+		boolean linear = (getGapPenalty().getType() == GapPenalty.Type.LINEAR);
+		int openPenalty = getGapPenalty().getOpenPenalty(), extensionPenalty = getGapPenalty().getExtensionPenalty();
+		int states = getScoreMatrixDimensions()[2];
+		List<Subproblem> subproblems = isLocal() ? Collections.singletonList(new Subproblem(0, 0, n, m)) :
+				Subproblem.getSubproblems(anchors, n, m);
+		SubstitutionMatrix<C> matrix = getSubstitutionMatrix();
+		int[] subs = new int[m + 1];
+		for (int width = bandWidth; ; width = Math.min(2 * width, Math.max(n, m))) {
+			sx.clear();
+			sy.clear();
+			scores = new int[n + 1][][];
+			scores[0] = new int[m + 1][states];
+			scores[1] = new int[m + 1][states];
+			Last[][][] traceback = new Last[n + 1][][];
+			// target positions of each row: first and last in the band, and band edges which are not matrix edges
+			int[] lo = new int[n + 1], hi = new int[n + 1], lowerEdge = new int[n + 1], upperEdge = new int[n + 1];
+			xyStart = new int[] { 0, 0 };
+			xyMax = new int[] { isLocal() ? 0 : n, isLocal() ? 0 : m };
+			score = 0;
+			for (Subproblem subproblem : subproblems) {
+				int xb = subproblem.getQueryStartIndex(), yb = subproblem.getTargetStartIndex(),
+						xe = subproblem.getQueryEndIndex(), ye = subproblem.getTargetEndIndex();
+				int diagonal = (ye - yb) - (xe - xb);
+				int lower = Math.min(0, diagonal) - width, upper = Math.max(0, diagonal) + width;
+				for (int x = xb; x <= xe; x++) {
+					lo[x] = Math.max(yb, yb + x - xb + lower);
+					hi[x] = Math.min(ye, yb + x - xb + upper);
+					lowerEdge[x] = (yb + x - xb + lower > yb) ? lo[x] : -1;
+					upperEdge[x] = (yb + x - xb + upper < ye) ? hi[x] : -1;
+					if (x > 0) {
+						int row = queryIndices[x - 1];
+						for (int y = Math.max(1, lo[x]); y <= hi[x]; y++) {
+							subs[y] = matrix.getValue(row, targetIndices[y - 1]);
+						}
+					}
+					if (!isLocal()) {
+						traceback[x] = linear ?
+							setBandedScoreVector(x, xb, yb, lo[x], hi[x], extensionPenalty, subs, false, scores,
+									subproblem.isStartAnchored()) :
+							setBandedScoreVector(x, xb, yb, lo[x], hi[x], openPenalty, extensionPenalty, subs, false,
+									scores, subproblem.isStartAnchored());
+					} else {
+						traceback[x] = linear ?
+							setBandedScoreVector(x, lo[x], hi[x], extensionPenalty, subs, false, scores, xyMax, score) :
+							setBandedScoreVector(x, lo[x], hi[x], openPenalty, extensionPenalty, subs, false, scores,
+									xyMax, score);
+						if (xyMax[0] == x) {
+							score = scores[x][xyMax[1]][0];
+						}
+					}
+				}
+			}
+			if (!isLocal()) {
+				setSteps(traceback, lo, scores, sx, sy);
+				score = Integer.MIN_VALUE;
+				for (int z = 0; z < states; z++) {
+					score = Math.max(score, scores[n][m][z]);
+				}
+			} else {
+				xyStart = setSteps(traceback, lo, xyMax, sx, sy);
+			}
+			scores = null;
+			if (!isOnBandEdge(sx, sy, lowerEdge, upperEdge)) {
+				break;
+			}
+		}
+	}
+
+	// returns true if the alignment path passes through a cell on an edge of the band
+	private boolean isOnBandEdge(List<Step> sx, List<Step> sy, int[] lowerEdge, int[] upperEdge) {
+		int x = xyStart[0], y = xyStart[1];
+		for (int i = 0; i <= sx.size(); i++) {
+			if (i > 0) {
+				x += (sx.get(i - 1) == Step.COMPOUND) ? 1 : 0;
+				y += (sy.get(i - 1) == Step.COMPOUND) ? 1 : 0;
+			}
+			if (y == lowerEdge[x] || y == upperEdge[x]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	protected int getSubstitutionScore(int queryColumn, int targetColumn) {
-		return getSubstitutionMatrix().getValue(query.getCompoundAt(queryColumn), target.getCompoundAt(targetColumn));
+		return getSubstitutionMatrix().getValue(queryIndices[queryColumn - 1], targetIndices[targetColumn - 1]);
+	}
+
+	@Override
+	protected int[] getSubstitutionScoreVector(int queryColumn, Subproblem subproblem) {
+		int[] subs = new int[subproblem.getTargetEndIndex() + 1];
+		if (queryColumn > 0) {
+			SubstitutionMatrix<C> matrix = getSubstitutionMatrix();
+			int row = queryIndices[queryColumn - 1];
+			for (int y = Math.max(1, subproblem.getTargetStartIndex()); y <= subproblem.getTargetEndIndex(); y++) {
+				subs[y] = matrix.getValue(row, targetIndices[y - 1]);
+			}
+		}
+		return subs;
 	}
 
 	@Override
@@ -166,14 +376,20 @@ public abstract class AbstractPairwiseSequenceAligner<S extends Sequence<C>, C e
 	protected void reset() {
 		super.reset();
 		pair = null;
+		queryIndices = targetIndices = null;
 		if (query != null && target != null && getGapPenalty() != null && getSubstitutionMatrix() != null &&
 				query.getCompoundSet().equals(target.getCompoundSet())) {
+			SubstitutionMatrix<C> matrix = getSubstitutionMatrix();
+			queryIndices = matrix.getRowIndices(query);
+			targetIndices = matrix.getColumnIndices(target);
 			int maxq = 0, maxt = 0;
-			for (C c : query) {
-				maxq += getSubstitutionMatrix().getValue(c, c);
+			int[] queryColumns = matrix.getColumnIndices(query);
+			for (int i = 0; i < queryIndices.length; i++) {
+				maxq += matrix.getValue(queryIndices[i], queryColumns[i]);
 			}
-			for (C c : target) {
-				maxt += getSubstitutionMatrix().getValue(c, c);
+			int[] targetRows = matrix.getRowIndices(target);
+			for (int i = 0; i < targetIndices.length; i++) {
+				maxt += matrix.getValue(targetRows[i], targetIndices[i]);
 			}
 			max = Math.max(maxq, maxt);
 			score = min = isLocal() ? 0 : (2 * getGapPenalty().getOpenPenalty() + (query.getLength() +
@@ -23,6 +23,7 @@
 
 package org.biojava.nbio.alignment.template;
 
+import org.biojava.nbio.alignment.routines.AlignerHelper.Subproblem;
 import org.biojava.nbio.alignment.template.GapPenalty.Type;
 import org.biojava.nbio.core.alignment.template.Profile;
 import org.biojava.nbio.core.alignment.template.ProfilePair;
@@ -30,6 +31,7 @@ import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.CompoundSet;
 import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.core.util.ConcurrencyTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,7 +60,11 @@ public abstract class AbstractProfileProfileAligner<S extends Sequence<C>, C ext
 
 	// cached fields
 	private List<C> cslist;
+	// substitution matrix row and column of each compound of cslist
+	private int[] csrows, cscols;
 	private float[][] qfrac, tfrac;
+	// substitution score of each target column against each compound of cslist, computed once for all query columns
+	private double[][] tsubs;
 
 	// additional output field
 	protected ProfilePair<S, C> pair;
@@ -209,15 +215,40 @@ public abstract class AbstractProfileProfileAligner<S extends Sequence<C>, C ext
 		return getSubstitutionScore(qfrac[queryColumn - 1], tfrac[targetColumn - 1]);
 	}
 
+	@Override
+	protected int[] getSubstitutionScoreVector(int queryColumn, Subproblem subproblem) {
+		int[] subs = new int[subproblem.getTargetEndIndex() + 1];
+		if (queryColumn > 0) {
+			// the compounds found in the query column, usually few
+			float[] qv = qfrac[queryColumn - 1];
+			int[] found = new int[qv.length];
+			int n = 0;
+			for (int q = 0; q < qv.length; q++) {
+				if (qv[q] > 0.0) {
+					found[n++] = q;
+				}
+			}
+			for (int y = Math.max(1, subproblem.getTargetStartIndex()); y <= subproblem.getTargetEndIndex(); y++) {
+				double[] tv = tsubs[y - 1];
+				double score = 0.0;
+				for (int i = 0; i < n; i++) {
+					score += qv[found[i]] * tv[found[i]];
+				}
+				subs[y] = (int) Math.round(score);
+			}
+		}
+		return subs;
+	}
+
 	@Override
 	protected boolean isReady() {
 		// TODO when added to ConcurrencyTools, log completions and exceptions instead of printing stack traces
 		try {
 			if (query == null && queryFuture != null) {
-				query = queryFuture.get();
+				query = ConcurrencyTools.get(queryFuture);
 			}
 			if (target == null && targetFuture != null) {
-				target = targetFuture.get();
+				target = ConcurrencyTools.get(targetFuture);
 			}
 			reset();
 		} catch (InterruptedException e) {
@@ -237,15 +268,24 @@ public abstract class AbstractProfileProfileAligner<S extends Sequence<C>, C ext
 				query.getCompoundSet().equals(target.getCompoundSet())) {
 			int maxq = 0, maxt = 0;
 			cslist = new ArrayList(query.getCompoundSet().getAllCompounds());
+			SubstitutionMatrix<C> s = getSubstitutionMatrix();
+			csrows = new int[cslist.size()];
+			cscols = new int[cslist.size()];
+			for (int i = 0; i < csrows.length; i++) {
+				csrows[i] = s.getRowIndex(cslist.get(i));
+				cscols[i] = s.getColumnIndex(cslist.get(i));
+			}
 			qfrac = new float[query.getLength()][];
 			for (int i = 0; i < qfrac.length; i++) {
 				qfrac[i] = query.getCompoundWeightsAt(i + 1, cslist);
 				maxq += getSubstitutionScore(qfrac[i], qfrac[i]);
 			}
 			tfrac = new float[target.getLength()][];
+			tsubs = new double[tfrac.length][];
 			for (int i = 0; i < tfrac.length; i++) {
 				tfrac[i] = target.getCompoundWeightsAt(i + 1, cslist);
 				maxt += getSubstitutionScore(tfrac[i], tfrac[i]);
+				tsubs[i] = getSubstitutionScores(tfrac[i]);
 			}
 			max = Math.max(maxq, maxt);
 			score = min = isLocal() ? 0 : (2 * getGapPenalty().getOpenPenalty() + (query.getLength() +
@@ -253,6 +293,22 @@ public abstract class AbstractProfileProfileAligner<S extends Sequence<C>, C ext
 		}
 	}
 
+	// helper method that scores a column vector against each compound
+	private double[] getSubstitutionScores(float[] tv) {
+		double[] scores = new double[tv.length];
+		SubstitutionMatrix<C> s = getSubstitutionMatrix();
+		for (int t = 0; t < tv.length; t++) {
+			float tvt = tv[t];
+			if (tvt > 0.0) {
+				int col = cscols[t];
+				for (int q = 0; q < scores.length; q++) {
+					scores[q] += tvt * s.getValue(csrows[q], col);
+				}
+			}
+		}
+		return scores;
+	}
+
 	// helper method that scores alignment of two column vectors
 	private int getSubstitutionScore(float[] qv, float[] tv) {
 		double score = 0.0;
@@ -260,11 +316,11 @@ public abstract class AbstractProfileProfileAligner<S extends Sequence<C>, C ext
 		for (int q = 0; q < qv.length; q++) {
 			float qvq = qv[q];
 			if (qvq > 0.0) {
-				C cq = cslist.get(q);
+				int row = csrows[q];
 				for (int t = 0; t < tv.length; t++) {
 					float tvt = tv[t];
 					if (tvt > 0.0)
-						score += qvq * tvt * s.getValue(cq, cslist.get(t));
+						score += qvq * tvt * s.getValue(row, cscols[t]);
 				}
 			}
 		}
@@ -21,6 +21,7 @@
 package org.biojava.nbio.phylo;
 
 import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.sequence.AccessionID;
 import org.biojava.nbio.core.sequence.MultipleSequenceAlignment;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.Sequence;
@@ -33,6 +34,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * The DistanceMatrixCalculator methods generate a {@link DistanceMatrix} from a
@@ -230,6 +232,13 @@ public class DistanceMatrixCalculator {
 		}
 		List<C> seqs = msa.getAlignedSequences();
 
+		// resolve the compounds to matrix indices once instead of for every pair
+		int[][] rows = new int[n][], cols = new int[n][];
+		for (int i = 0; i < n; i++) {
+			rows[i] = M.getRowIndices(seqs.get(i));
+			cols[i] = M.getColumnIndices(seqs.get(i));
+		}
+
 		int loopcount = 0;
 		for (int i = 0; i < (n - 1); i++) {
 			logger.info("{}:{}", "Determining Distances", (loopcount * 100)
@@ -245,8 +254,7 @@ public class DistanceMatrixCalculator {
 					if (Comparison.isGap(sequenceString[i].charAt(k))
 							|| Comparison.isGap(sequenceString[j].charAt(k)))
 						continue;
-					score += M.getValue(seqs.get(i).getCompoundAt(k + 1), seqs
-							.get(j).getCompoundAt(k + 1));
+					score += M.getValue(rows[i][k], cols[j][k]);
 				}
 
 				if (i == j)
@@ -303,6 +311,13 @@ public class DistanceMatrixCalculator {
 		}
 		List<C> seqs = msa.getAlignedSequences();
 
+		// resolve the compounds to matrix indices once instead of for every pair
+		int[][] rows = new int[n][], cols = new int[n][];
+		for (int i = 0; i < n; i++) {
+			rows[i] = M.getRowIndices(seqs.get(i));
+			cols[i] = M.getColumnIndices(seqs.get(i));
+		}
+
 		DistanceMatrix DM = new BasicSymmetricalDistanceMatrix(n);
 		int totalloopcount = (n / 2) * (n + 1);
 
@@ -324,8 +339,7 @@ public class DistanceMatrixCalculator {
 					if (Comparison.isGap(sequenceString[i].charAt(k))
 							|| Comparison.isGap(sequenceString[j].charAt(k)))
 						continue;
-					score += M.getValue(seqs.get(i).getCompoundAt(k + 1), seqs
-							.get(j).getCompoundAt(k + 1));
+					score += M.getValue(rows[i][k], cols[j][k]);
 				}
 
 				if (i != j){
@@ -395,6 +409,54 @@ public class DistanceMatrixCalculator {
 		throw new IllegalStateException("PAM ML distance calculation not implemented!");
 	}
 
+	/**
+	 * The k-mer distance (d) is an alignment-free distance between unaligned
+	 * sequences, used by MUSCLE to build its first guide tree. It is a
+	 * function of the fraction of common k-mers (F), the words of k compounds
+	 * both sequences contain, over the number of k-mers of the shorter one:
+	 *
+	 * <pre>
+	 * d = 1 - F
+	 * </pre>
+	 *
+	 * Each pair is compared in time linear in the sequence lengths, instead of
+	 * the quadratic time of an alignment, and the pairs are compared in
+	 * parallel on the common ForkJoinPool, so that guide trees of thousands of
+	 * sequences can be built. See {@link Kmers} for the details. The
+	 * identifiers of the matrix are the accession IDs of the sequences, or
+	 * their index from 1 for sequences without one.
+	 *
+	 * @param sequences
+	 *            the unaligned sequences
+	 * @param k
+	 *            the k-mer length, see {@link Kmers#getDefaultLength}
+	 * @return DistanceMatrix
+	 * @since 5.3.1
+	 */
+	public static <C extends Sequence<D>, D extends Compound> BasicSymmetricalDistanceMatrix kmerDistance(
+			List<C> sequences, int k) {
+
+		int n = sequences.size();
+		long[][] kmers = new long[n][];
+		IntStream.range(0, n).parallel()
+				.forEach(i -> kmers[i] = Kmers.getKmers(sequences.get(i), k));
+
+		BasicSymmetricalDistanceMatrix DM = new BasicSymmetricalDistanceMatrix(n);
+		for (int i = 0; i < n; i++) {
+			AccessionID id = sequences.get(i).getAccession();
+			DM.setIdentifier(i, (id == null) ? Integer.toString(i + 1) : id.getID());
+		}
+		// each row writes its own cells
+		IntStream.range(0, n).parallel().forEach(i -> {
+			for (int j = i + 1; j < n; j++) {
+				DM.setValue(i, j, Kmers.getDistance(kmers[i], kmers[j]));
+			}
+		});
+		logger.debug("k-mer distances of {} sequences with k = {}", n, k);
+
+		return DM;
+	}
+
 	/**
 	 * The structural distance (d<sub>S</sub>) uses the structural similarity
 	 * (or dissimilarity) from a the structural alignment of two protein
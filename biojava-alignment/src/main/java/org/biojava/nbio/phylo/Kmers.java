@@ -0,0 +1,124 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.phylo;
+
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
+
+import java.util.Arrays;
+
+/**
+ * Static utility to compare sequences by the words of k compounds, or k-mers, they share, without aligning them.
+ * This is the k-mer distance of MUSCLE's first stage: the fraction of common k-mers F of a pair is the number of
+ * k-mers they share, counting repeats as often as both sequences contain them, divided by the number of k-mers of
+ * the shorter sequence, and the distance is 1 - F.  Comparing two sequences is a merge of their sorted k-mers, so it
+ * takes time linear in their lengths.
+ * <p>
+ * A k-mer is coded on a long with 8 bits per compound, from the ordinals of {@link CompoundOrdinals}, so k is at most
+ * {@link #MAX_LENGTH}.  Ordinals above 255, only found in very large compound sets, share codes.
+ *
+ * @since 5.3.1
+ */
+public class Kmers {
+
+	/** The longest k-mer which fits in a code */
+	public static final int MAX_LENGTH = 8;
+
+	private static final int BITS = 8;
+
+	/** Prevent instantiation */
+	private Kmers() { }
+
+	/**
+	 * Returns the default k-mer length for the given compound set: 6 for nucleotides, 3 otherwise.
+	 *
+	 * @param compoundSet the compound set of the sequences
+	 * @return the k-mer length
+	 */
+	public static int getDefaultLength(CompoundSet<?> compoundSet) {
+		return compoundSet.isComplementable() ? 6 : 3;
+	}
+
+	/**
+	 * Returns the codes of all the k-mers of a sequence, in ascending order.
+	 *
+	 * @param sequence the sequence
+	 * @param k the k-mer length, from 1 to {@link #MAX_LENGTH}
+	 * @return the sorted k-mer codes, one per position with a k-mer starting at it
+	 */
+	public static long[] getKmers(Sequence<?> sequence, int k) {
+		if (k < 1 || k > MAX_LENGTH) {
+			throw new IllegalArgumentException("k-mer length must be from 1 to " + MAX_LENGTH + ": " + k);
+		}
+		int[] ordinals = sequence.getOrdinals();
+		if (ordinals.length < k) {
+			return new long[0];
+		}
+		long[] kmers = new long[ordinals.length - k + 1];
+		long mask = (k == MAX_LENGTH) ? -1L : (1L << (BITS * k)) - 1, code = 0;
+		for (int i = 0; i < ordinals.length; i++) {
+			code = ((code << BITS) | (ordinals[i] & 0xff)) & mask;
+			if (i >= k - 1) {
+				kmers[i - k + 1] = code;
+			}
+		}
+		Arrays.sort(kmers);
+		return kmers;
+	}
+
+	/**
+	 * Returns the number of k-mers two sequences share, each k-mer counted the lesser number of times it occurs.
+	 *
+	 * @param kmers1 the sorted k-mers of the first sequence, see {@link #getKmers(Sequence, int)}
+	 * @param kmers2 the sorted k-mers of the second sequence
+	 * @return the number of shared k-mers
+	 */
+	public static int getSharedKmers(long[] kmers1, long[] kmers2) {
+		int shared = 0;
+		for (int i = 0, j = 0; i < kmers1.length && j < kmers2.length; ) {
+			if (kmers1[i] < kmers2[j]) {
+				i++;
+			} else if (kmers1[i] > kmers2[j]) {
+				j++;
+			} else {
+				shared++;
+				i++;
+				j++;
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Returns the k-mer distance 1 - F of two sequences, where F is the fraction of common k-mers.  A sequence too
+	 * short to contain a k-mer is at distance 1 from all others.
+	 *
+	 * @param kmers1 the sorted k-mers of the first sequence, see {@link #getKmers(Sequence, int)}
+	 * @param kmers2 the sorted k-mers of the second sequence
+	 * @return the distance, from 0 to 1
+	 */
+	public static double getDistance(long[] kmers1, long[] kmers2) {
+		int n = Math.min(kmers1.length, kmers2.length);
+		return (n == 0) ? 1 : (double) (n - getSharedKmers(kmers1, kmers2)) / n;
+	}
+
+}
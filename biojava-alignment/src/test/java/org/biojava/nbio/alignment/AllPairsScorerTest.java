@@ -0,0 +1,131 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.Alignments.PairwiseSequenceScorerType;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.util.ConcurrencyTools;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class AllPairsScorerTest {
+
+	private static List<ProteinSequence> sequences;
+	private static final GapPenalty gaps = new SimpleGapPenalty();
+	private static final SubstitutionMatrix<AminoAcidCompound> blosum62 = SubstitutionMatrixHelper.getBlosum62();
+
+	@BeforeClass
+	public static void setup() throws CompoundNotFoundException {
+		String[] s = { "ARNDCQEGHILKMFPSTWYV", "ARNDCQEGHIKMFPSTWYV", "MKLVAAGGWYCSTP", "ARNDCQWWHILKMFPSTWYV",
+				"GGGGSSSS", "MKLVAGGWYCSTPARND", "V" };
+		sequences = new ArrayList<>();
+		for (String sequence : s) {
+			sequences.add(new ProteinSequence(sequence));
+		}
+	}
+
+	@AfterClass
+	public static void teardown() {
+		ConcurrencyTools.shutdown();
+	}
+
+	private static double[] expected(PairwiseSequenceScorerType type) {
+		return Alignments.runPairwiseScorers(Alignments.getAllPairsScorers(sequences, type, gaps, blosum62));
+	}
+
+	@Test
+	public void sameAsScorers() {
+		for (PairwiseSequenceScorerType type : new PairwiseSequenceScorerType[] { PairwiseSequenceScorerType.GLOBAL,
+				PairwiseSequenceScorerType.GLOBAL_IDENTITIES, PairwiseSequenceScorerType.LOCAL,
+				PairwiseSequenceScorerType.KMERS }) {
+			double[] expected = expected(type);
+			assertArrayEquals(expected, Alignments.getAllPairsScores(sequences, type, gaps, blosum62), 0.0);
+			for (int tileSize : new int[] { 1, 2, 3, 100 }) {
+				AllPairsScorer<ProteinSequence, AminoAcidCompound> scorer =
+						new AllPairsScorer<>(sequences, type, gaps, blosum62);
+				scorer.setTileSize(tileSize);
+				assertArrayEquals(expected, scorer.score(), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void index() {
+		int n = sequences.size(), k = 0;
+		assertEquals(21, AllPairsScorer.getNumberOfPairs(n));
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				assertEquals(k++, AllPairsScorer.getIndex(i, j, n));
+			}
+		}
+		assertEquals(0, AllPairsScorer.getNumberOfPairs(1));
+		assertEquals(199990000L, AllPairsScorer.getNumberOfPairs(20000));
+	}
+
+	@Test
+	public void bufferAndProgress() {
+		double[] expected = expected(PairwiseSequenceScorerType.GLOBAL);
+		// a direct buffer, as a memory mapped file would be
+		DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * expected.length).asDoubleBuffer();
+		AtomicLong calls = new AtomicLong(), last = new AtomicLong();
+		AllPairsScorer<ProteinSequence, AminoAcidCompound> scorer =
+				new AllPairsScorer<>(sequences, PairwiseSequenceScorerType.GLOBAL, gaps, blosum62);
+		scorer.setTileSize(2);
+		scorer.setPool(new ForkJoinPool(2));
+		scorer.setProgressListener((scored, total) -> {
+			calls.incrementAndGet();
+			last.accumulateAndGet(scored, Math::max);
+			assertEquals(expected.length, total);
+		});
+		scorer.score(buffer);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], buffer.get(i), 0.0);
+		}
+		assertEquals(10, calls.get()); // tiles of 4 rows and 4 columns of 2 sequences
+		assertEquals(expected.length, last.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bufferTooSmall() {
+		new AllPairsScorer<>(sequences, PairwiseSequenceScorerType.GLOBAL, gaps, blosum62).score(new double[20]);
+	}
+
+	@Test
+	public void noPairs() {
+		List<ProteinSequence> one = sequences.subList(0, 1);
+		assertEquals(0, new AllPairsScorer<>(one, PairwiseSequenceScorerType.LOCAL, gaps, blosum62).score().length);
+	}
+}
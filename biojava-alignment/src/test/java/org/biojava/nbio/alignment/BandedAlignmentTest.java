@@ -0,0 +1,166 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.template.AbstractPairwiseSequenceAligner;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.SequencePair;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks banded alignment against alignment in the full matrix.
+ */
+public class BandedAlignmentTest {
+
+	private static final String AMINO_ACIDS = "ARNDCQEGHILKMFPSTWYV";
+
+	private final SubstitutionMatrix<AminoAcidCompound> blosum62 = SubstitutionMatrixHelper.getBlosum62();
+
+	private final GapPenalty[] gaps = {
+			new SimpleGapPenalty(10, 1),  // affine
+			new SimpleGapPenalty(0, 3),   // linear
+			new SimpleGapPenalty(8, 0) }; // constant
+
+	private static ProteinSequence random(Random random, int length) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	// a close relative: substitutions and a few short indels
+	private static ProteinSequence mutate(Random random, ProteinSequence sequence) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder();
+		String original = sequence.getSequenceAsString();
+		for (int i = 0; i < original.length(); i++) {
+			int r = random.nextInt(40);
+			if (r == 0) {
+				continue;
+			} else if (r < 4) {
+				s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+				continue;
+			} else if (r == 4) {
+				s.append(AMINO_ACIDS, 0, 1 + random.nextInt(3));
+			}
+			s.append(original.charAt(i));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	private static void assertSameAlignment(AbstractPairwiseSequenceAligner<ProteinSequence, AminoAcidCompound> full,
+			AbstractPairwiseSequenceAligner<ProteinSequence, AminoAcidCompound> banded, int bandWidth) {
+		banded.setBandWidth(bandWidth);
+		assertEquals(bandWidth, banded.getBandWidth());
+		assertEquals(full.getScore(), banded.getScore(), 0.0);
+		SequencePair<ProteinSequence, AminoAcidCompound> f = full.getPair(), b = banded.getPair();
+		assertEquals(f.getQuery().getStart().getPosition(), b.getQuery().getStart().getPosition());
+		assertEquals(f.getTarget().getEnd().getPosition(), b.getTarget().getEnd().getPosition());
+		assertEquals(f.getNumIdenticals(), b.getNumIdenticals());
+	}
+
+	@Test
+	public void global() throws CompoundNotFoundException {
+		Random random = new Random(23);
+		for (int length : new int[] { 1, 6, 80, 400 }) {
+			ProteinSequence query = random(random, length);
+			ProteinSequence target = length > 10 ? mutate(random, query) : random(random, length + 2);
+			for (GapPenalty gap : gaps) {
+				for (int bandWidth : new int[] { 1, 4, 1000 }) {
+					assertSameAlignment(new NeedlemanWunsch<>(query, target, gap, blosum62),
+							new NeedlemanWunsch<>(query, target, gap, blosum62), bandWidth);
+					assertSameAlignment(new NeedlemanWunsch<>(target, query, gap, blosum62),
+							new NeedlemanWunsch<>(target, query, gap, blosum62), bandWidth);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void globalWidening() throws CompoundNotFoundException {
+		// a long deletion, far outside the initial band
+		Random random = new Random(29);
+		ProteinSequence query = random(random, 300);
+		String q = query.getSequenceAsString();
+		ProteinSequence target = new ProteinSequence(q.substring(0, 100) + q.substring(160));
+		for (GapPenalty gap : gaps) {
+			assertSameAlignment(new NeedlemanWunsch<>(query, target, gap, blosum62),
+					new NeedlemanWunsch<>(query, target, gap, blosum62), 2);
+		}
+	}
+
+	@Test
+	public void globalAnchored() throws CompoundNotFoundException {
+		Random random = new Random(31);
+		ProteinSequence query = random(random, 200);
+		StringBuilder s = new StringBuilder(query.getSequenceAsString());
+		for (int i = 0; i < s.length(); i += 1 + random.nextInt(6)) {
+			s.setCharAt(i, AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+		}
+		ProteinSequence target = new ProteinSequence(s.toString());
+		int[] anchors = new int[query.getLength()];
+		Arrays.fill(anchors, -1);
+		anchors[20] = 20;
+		anchors[120] = 120;
+		for (GapPenalty gap : gaps) {
+			NeedlemanWunsch<ProteinSequence, AminoAcidCompound> full = new NeedlemanWunsch<>(query, target, gap, blosum62);
+			full.setAnchors(anchors);
+			NeedlemanWunsch<ProteinSequence, AminoAcidCompound> banded =
+					new NeedlemanWunsch<>(query, target, gap, blosum62);
+			banded.setAnchors(anchors);
+			assertSameAlignment(full, banded, 3);
+			assertEquals(120, banded.getPair().getIndexInTargetForQueryAt(120));
+		}
+	}
+
+	@Test
+	public void local() throws CompoundNotFoundException {
+		Random random = new Random(37);
+		for (int length : new int[] { 1, 50, 300 }) {
+			ProteinSequence core = random(random, length);
+			// the band has to contain the local alignment, here near the main diagonal
+			ProteinSequence query = new ProteinSequence(random(random, 10).getSequenceAsString() + core.getSequenceAsString());
+			ProteinSequence target = new ProteinSequence(random(random, 8).getSequenceAsString()
+					+ mutate(random, core).getSequenceAsString() + random(random, 15).getSequenceAsString());
+			for (GapPenalty gap : gaps) {
+				for (int bandWidth : new int[] { 2, 1000 }) {
+					assertSameAlignment(new SmithWaterman<>(query, target, gap, blosum62),
+							new SmithWaterman<>(query, target, gap, blosum62), bandWidth);
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeBandWidth() {
+		new NeedlemanWunsch<ProteinSequence, AminoAcidCompound>().setBandWidth(-1);
+	}
+}
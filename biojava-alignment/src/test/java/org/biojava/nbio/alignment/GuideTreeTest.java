@@ -32,11 +32,14 @@ import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
 import org.biojava.nbio.core.sequence.ProteinSequence;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.util.ConcurrencyTools;
+import org.biojava.nbio.core.util.MeteredExecutor;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -86,6 +89,38 @@ public class GuideTreeTest {
 				"--A-NDR"));
 	}
 
+	@Test
+	public void testGetProgressiveAlignmentOnExecutor() throws Exception {
+		List<ProteinSequence> sequences = Arrays.asList(new ProteinSequence("ARNDCQEG"),
+				new ProteinSequence("ARNDQEG"), new ProteinSequence("HILKMFPS"), new ProteinSequence("HILKFPST"),
+				new ProteinSequence("WYVARND"), new ProteinSequence("WYVRNDC"), new ProteinSequence("ANDRCQ"),
+				new ProteinSequence("GHILKM"));
+
+		// align the profiles one after the other, children first
+		GuideTree<ProteinSequence, AminoAcidCompound> sequential = new GuideTree<>(sequences,
+				Alignments.getAllPairsScorers(sequences, PairwiseSequenceScorerType.GLOBAL_IDENTITIES, gaps, blosum62));
+		for (GuideTreeNode<ProteinSequence, AminoAcidCompound> n : sequential) {
+			if (n.getProfile() == null) {
+				n.setProfile(Alignments.getProfileProfileAligner(n.getChild1().getProfile(),
+						n.getChild2().getProfile(), ProfileProfileAlignerType.GLOBAL, gaps, blosum62).getPair());
+			}
+		}
+
+		GuideTree<ProteinSequence, AminoAcidCompound> concurrent = new GuideTree<>(sequences,
+				Alignments.getAllPairsScorers(sequences, PairwiseSequenceScorerType.GLOBAL_IDENTITIES, gaps, blosum62));
+		MeteredExecutor executor = ConcurrencyTools.newForkJoinExecutor(4);
+		try {
+			assertEquals(sequential.getRoot().getProfile().toString(), Alignments.getProgressiveAlignment(concurrent,
+					ProfileProfileAlignerType.GLOBAL, gaps, blosum62, executor).toString());
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+		// one alignment per inner node of the tree
+		assertEquals(sequences.size() - 1, executor.getCompletedTasks());
+		assertEquals(0, executor.getFailedTasks());
+	}
+
 	@Test
 	public void testGetScoreMatrix() {
 		assertArrayEquals(tree.getScoreMatrix(), new double[][] {
@@ -0,0 +1,151 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment;
+
+import org.biojava.nbio.alignment.Alignments.PairwiseSequenceScorerType;
+import org.biojava.nbio.alignment.template.PairwiseSequenceScorer;
+import org.biojava.nbio.core.alignment.template.Profile;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.util.ConcurrencyTools;
+import org.biojava.nbio.phylo.DistanceMatrixCalculator;
+import org.biojava.nbio.phylo.Kmers;
+import org.forester.evoinference.matrix.distance.BasicSymmetricalDistanceMatrix;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KmerScorerTest {
+
+	@AfterClass
+	public static void teardown() {
+		ConcurrencyTools.shutdown();
+	}
+
+	private static List<ProteinSequence> getSequences() throws CompoundNotFoundException {
+		List<ProteinSequence> sequences = new ArrayList<>();
+		for (String s : new String[] { "ARNDCQEGHILKMFPSTWYV", "ARNDCQEGHIKMFPSTWYV", "MKLVAAGGWYCSTP",
+				"ARNDCQWWHILKMFPSTWYV", "MKLVAGGWYCSTPARND", "AR" }) {
+			sequences.add(new ProteinSequence(s));
+		}
+		return sequences;
+	}
+
+	@Test
+	public void kmers() throws CompoundNotFoundException {
+		long[] kmers = Kmers.getKmers(new ProteinSequence("ARARA"), 2);
+		assertEquals(4, kmers.length);
+		// AR twice and RA twice
+		assertEquals(kmers[0], kmers[1]);
+		assertEquals(kmers[2], kmers[3]);
+		assertNotEquals(kmers[1], kmers[2]);
+		assertEquals(0, Kmers.getKmers(new ProteinSequence("AR"), 3).length);
+		assertEquals(13, Kmers.getKmers(new ProteinSequence("ARNDCQEGHILKMFPSTWYV"), Kmers.MAX_LENGTH).length);
+		assertEquals(3, Kmers.getDefaultLength(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		assertEquals(6, Kmers.getDefaultLength(DNACompoundSet.getDNACompoundSet()));
+	}
+
+	@Test
+	public void sharedKmers() throws CompoundNotFoundException {
+		long[] a = Kmers.getKmers(new ProteinSequence("ARARA"), 2), b = Kmers.getKmers(new ProteinSequence("ARNAR"), 2);
+		// AR twice in both, RA only in the first
+		assertEquals(2, Kmers.getSharedKmers(a, b));
+		assertEquals(2, Kmers.getSharedKmers(b, a));
+		assertEquals(0.5, Kmers.getDistance(a, b), 1e-12);
+		assertEquals(0.0, Kmers.getDistance(a, a), 0.0);
+		assertEquals(1.0, Kmers.getDistance(a, new long[0]), 0.0);
+	}
+
+	@Test
+	public void scorer() throws CompoundNotFoundException {
+		ProteinSequence query = new ProteinSequence("ARNDCQEGHI"), target = new ProteinSequence("ARNDCWEGHIKL");
+		KmerScorer<ProteinSequence, AminoAcidCompound> scorer = new KmerScorer<>(query, target);
+		// 8 and 10 3-mers, of which ARN, RND, NDC, EGH and GHI are shared
+		assertEquals(5, scorer.getScore(), 0.0);
+		assertEquals(8, scorer.getMaxScore(), 0.0);
+		assertEquals(0, scorer.getMinScore(), 0.0);
+		assertEquals(3.0 / 8, scorer.getDistance(), 1e-12);
+		assertEquals(1.0, new KmerScorer<>(query, new ProteinSequence("A")).getDistance(), 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooLong() throws CompoundNotFoundException {
+		Kmers.getKmers(new ProteinSequence("ARNDCQEGHILKMFPSTWYV"), Kmers.MAX_LENGTH + 1);
+	}
+
+	@Test
+	public void distanceMatrix() throws CompoundNotFoundException {
+		List<ProteinSequence> sequences = getSequences();
+		BasicSymmetricalDistanceMatrix distances = DistanceMatrixCalculator.kmerDistance(sequences, 3);
+		List<PairwiseSequenceScorer<ProteinSequence, AminoAcidCompound>> scorers =
+				Alignments.getAllPairsScorers(sequences, PairwiseSequenceScorerType.KMERS, null, null);
+		assertEquals(sequences.size(), distances.getSize());
+		for (int i = 0, n = 0; i < sequences.size(); i++) {
+			assertEquals(Integer.toString(i + 1), distances.getIdentifier(i));
+			for (int j = i + 1; j < sequences.size(); j++) {
+				assertEquals(scorers.get(n++).getDistance(), distances.getValue(i, j), 0.0);
+				assertEquals(distances.getValue(i, j), distances.getValue(j, i), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void guideTree() throws CompoundNotFoundException {
+		List<ProteinSequence> sequences = getSequences();
+		List<PairwiseSequenceScorer<ProteinSequence, AminoAcidCompound>> scorers =
+				Alignments.getAllPairsScorers(sequences, PairwiseSequenceScorerType.KMERS, null, null);
+		GuideTree<ProteinSequence, AminoAcidCompound> fromScorers = new GuideTree<>(sequences, scorers),
+				fromDistances = new GuideTree<>(sequences, DistanceMatrixCalculator.kmerDistance(sequences, 3));
+		assertEquals(fromScorers.toString(), fromDistances.toString());
+		assertTrue(Arrays.deepEquals(fromScorers.getDistanceMatrix(), fromDistances.getDistanceMatrix()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void guideTreeWithoutScores() throws CompoundNotFoundException {
+		List<ProteinSequence> sequences = getSequences();
+		new GuideTree<>(sequences, DistanceMatrixCalculator.kmerDistance(sequences, 3)).getAllPairsScores();
+	}
+
+	@Test
+	public void multipleSequenceAlignment() throws CompoundNotFoundException {
+		List<DNASequence> sequences = new ArrayList<>();
+		for (String s : new String[] { "ACGTACGGTACCATTGACAGTTTACGGA", "ACGTACGGTACCATAGACAGTTTACGGA",
+				"ACGTACGTACCATTGACAGTTTACGGAT", "TTGACAGTTTACGGAACGTACGG" }) {
+			sequences.add(new DNASequence(s));
+		}
+		Profile<DNASequence, ?> msa = Alignments.getMultipleSequenceAlignment(sequences,
+				PairwiseSequenceScorerType.KMERS);
+		assertEquals(4, msa.getSize());
+		for (int i = 0; i < sequences.size(); i++) {
+			assertEquals(sequences.get(i).getSequenceAsString(),
+					msa.getAlignedSequence(sequences.get(i)).getSequenceAsString().replace("-", ""));
+		}
+	}
+}
@@ -27,14 +27,19 @@ import org.biojava.nbio.core.alignment.matrices.SimpleSubstitutionMatrix;
 import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
 import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
 import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
 import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.compound.RNACompoundSet;
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -129,4 +134,125 @@ public class SimpleSubstitutionMatrixTest {
 		assertEquals(dnaTest.getValue(dnacs.getCompoundForString("g"), dnacs.getCompoundForString("A")), 0);
 	}
 
+	@Test
+	public void testIndices() throws CompoundNotFoundException {
+		SubstitutionMatrix<AminoAcidCompound> matrix = SimpleSubstitutionMatrix.getBlosum62();
+		ProteinSequence query = new ProteinSequence("ARNDCQEGHILKMFPSTWYVBZJX*UO-");
+		ProteinSequence target = new ProteinSequence("mkwvtfisllfl");
+		int[] rows = matrix.getRowIndices(query), cols = matrix.getColumnIndices(target);
+		assertEquals(query.getLength(), rows.length);
+		assertEquals(target.getLength(), cols.length);
+		for (int i = 1; i <= query.getLength(); i++) {
+			for (int j = 1; j <= target.getLength(); j++) {
+				assertEquals(matrix.getValue(query.getCompoundAt(i), target.getCompoundAt(j)),
+						matrix.getValue(rows[i - 1], cols[j - 1]));
+			}
+		}
+		assertEquals(matrix.getMinValue(), matrix.getValue(-1, cols[0]));
+	}
+
+	@Test
+	public void testCaseEquivalenceIndices() throws CompoundNotFoundException {
+		DNACompoundSet dnacs = DNACompoundSet.getDNACompoundSet();
+		SubstitutionMatrix<NucleotideCompound> dnaTest = new SimpleSubstitutionMatrix<>(dnacs,
+				"# Test\nA C G T\nA 5 0 0 0\nC 0 5 0 0\nG 0 0 5 0\nT 0 0 0 1\n", "DNA Test");
+		int[] rows = dnaTest.getRowIndices(new DNASequence("GgAt"));
+		int[] cols = dnaTest.getColumnIndices(new DNASequence("gGgT"));
+		assertEquals(5, dnaTest.getValue(rows[0], cols[0]));
+		assertEquals(5, dnaTest.getValue(rows[1], cols[1]));
+		assertEquals(0, dnaTest.getValue(rows[2], cols[2]));
+		assertEquals(1, dnaTest.getValue(rows[3], cols[3]));
+	}
+
+	@Test
+	public void testDefaultIndicesOfForeignCompound() {
+		DNACompoundSet dnacs = DNACompoundSet.getDNACompoundSet();
+		SubstitutionMatrix<NucleotideCompound> matrix = new DefaultIndexMatrix(new SimpleSubstitutionMatrix<>(dnacs,
+				"# Test\nA C G T\nA 5 0 0 0\nC 0 5 0 0\nG 0 0 5 0\nT 0 0 0 1\n", "DNA Test"));
+		NucleotideCompound a = dnacs.getCompoundForString("A"), t = dnacs.getCompoundForString("T");
+		NucleotideCompound u = RNACompoundSet.getRNACompoundSet().getCompoundForString("U");
+		assertEquals(5, matrix.getValue(matrix.getRowIndex(a), matrix.getColumnIndex(a)));
+		assertEquals(1, matrix.getValue(matrix.getRowIndex(t), matrix.getColumnIndex(t)));
+		assertEquals(-1, matrix.getRowIndex(u));
+		assertEquals(-1, matrix.getColumnIndex(u));
+		assertEquals(matrix.getMinValue(), matrix.getValue(matrix.getRowIndex(u), matrix.getColumnIndex(a)));
+		// looking up the compound did not add it to the shared ordinals of the compound set
+		assertEquals(-1, CompoundOrdinals.of(dnacs).getOrdinal(u));
+	}
+
+	// keeps the default index lookups of SubstitutionMatrix
+	private static class DefaultIndexMatrix implements SubstitutionMatrix<NucleotideCompound> {
+
+		private final SubstitutionMatrix<NucleotideCompound> matrix;
+
+		private DefaultIndexMatrix(SubstitutionMatrix<NucleotideCompound> matrix) {
+			this.matrix = matrix;
+		}
+
+		@Override
+		public CompoundSet<NucleotideCompound> getCompoundSet() {
+			return matrix.getCompoundSet();
+		}
+
+		@Override
+		public String getDescription() {
+			return matrix.getDescription();
+		}
+
+		@Override
+		public short[][] getMatrix() {
+			return matrix.getMatrix();
+		}
+
+		@Override
+		public String getMatrixAsString() {
+			return matrix.getMatrixAsString();
+		}
+
+		@Override
+		public short getMaxValue() {
+			return matrix.getMaxValue();
+		}
+
+		@Override
+		public short getMinValue() {
+			return matrix.getMinValue();
+		}
+
+		@Override
+		public String getName() {
+			return matrix.getName();
+		}
+
+		@Override
+		public short getValue(NucleotideCompound from, NucleotideCompound to) {
+			return matrix.getValue(from, to);
+		}
+
+		@Override
+		public SubstitutionMatrix<NucleotideCompound> normalizeMatrix(short scale) {
+			return matrix.normalizeMatrix(scale);
+		}
+
+		@Override
+		public void setDescription(String description) {
+			matrix.setDescription(description);
+		}
+
+		@Override
+		public void setName(String name) {
+			matrix.setName(name);
+		}
+
+		@Override
+		public Map<NucleotideCompound, Short> getRow(NucleotideCompound row) {
+			return matrix.getRow(row);
+		}
+
+		@Override
+		public Map<NucleotideCompound, Short> getColumn(NucleotideCompound column) {
+			return matrix.getColumn(column);
+		}
+	}
+
 }
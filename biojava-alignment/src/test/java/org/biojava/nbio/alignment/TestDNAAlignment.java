@@ -36,6 +36,7 @@ import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
 import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
 import org.biojava.nbio.core.sequence.io.FastaReaderHelper;
 import org.biojava.nbio.core.util.ConcurrencyTools;
+import org.biojava.nbio.core.util.MeteredExecutor;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -43,6 +44,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class TestDNAAlignment {
 
@@ -72,6 +74,26 @@ public class TestDNAAlignment {
 		ConcurrencyTools.shutdown();
 	}
 
+	@Test
+	public void testDNAAlignmentOnOwnExecutor() throws Exception {
+		List<DNASequence> lst = getDNAFASTAFile();
+		Profile<DNASequence, NucleotideCompound> expected = Alignments.getMultipleSequenceAlignment(lst);
+		// a single thread, on which each profile alignment waits for the ones of its children
+		MeteredExecutor executor = ConcurrencyTools.newForkJoinExecutor(1);
+		try {
+			Profile<DNASequence, NucleotideCompound> profile = Alignments.getMultipleSequenceAlignment(lst, executor);
+			Assert.assertEquals(expected.toString(), profile.toString());
+		} finally {
+			executor.shutdown();
+			ConcurrencyTools.shutdown();
+		}
+		Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+		// 45 scorers and 9 profile alignments
+		Assert.assertEquals(54, executor.getCompletedTasks());
+		Assert.assertEquals(0, executor.getFailedTasks());
+		Assert.assertEquals(0, executor.getActiveTasks());
+	}
+
 	private static List<DNASequence> getDNAFASTAFile() throws Exception {
 
 		InputStream inStream = TestDNAAlignment.class.getResourceAsStream("/dna-fasta.txt");
@@ -0,0 +1,177 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment.routines;
+
+import org.biojava.nbio.alignment.NeedlemanWunsch;
+import org.biojava.nbio.alignment.SimpleGapPenalty;
+import org.biojava.nbio.alignment.SmithWaterman;
+import org.biojava.nbio.alignment.template.AbstractPairwiseSequenceAligner;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.SequencePair;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the linear space mode of the pairwise aligners against the quadratic space one.
+ */
+public class MyersMillerTest {
+
+	private static final String AMINO_ACIDS = "ARNDCQEGHILKMFPSTWYV";
+
+	private final SubstitutionMatrix<AminoAcidCompound> blosum62 = SubstitutionMatrixHelper.getBlosum62();
+
+	private final GapPenalty[] gaps = {
+			new SimpleGapPenalty(10, 1),  // affine
+			new SimpleGapPenalty(0, 3),   // linear
+			new SimpleGapPenalty(8, 0) }; // constant
+
+	private static ProteinSequence random(Random random, int length) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	// mutates a copy so that the pair has long similar stretches, indels included
+	private static ProteinSequence mutate(Random random, ProteinSequence sequence) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder();
+		String original = sequence.getSequenceAsString();
+		for (int i = 0; i < original.length(); i++) {
+			int r = random.nextInt(20);
+			if (r == 0) {
+				continue;
+			} else if (r == 1) {
+				s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+			} else if (r == 2) {
+				s.append(AMINO_ACIDS, 0, 1 + random.nextInt(4));
+			}
+			s.append(original.charAt(i));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	// scores an alignment from its columns, independently of the aligners
+	private int score(SequencePair<ProteinSequence, AminoAcidCompound> pair, GapPenalty gap) {
+		int score = 0;
+		int last = 0; // 0 substitution, 1 gap in target, 2 gap in query
+		for (int i = 1; i <= pair.getLength(); i++) {
+			boolean queryGap = pair.getQuery().isGap(i), targetGap = pair.getTarget().isGap(i);
+			if (!queryGap && !targetGap) {
+				score += blosum62.getValue(pair.getCompoundAt(1, i), pair.getCompoundAt(2, i));
+				last = 0;
+			} else {
+				int type = targetGap ? 1 : 2;
+				score += gap.getExtensionPenalty() + (type == last ? 0 : gap.getOpenPenalty());
+				last = type;
+			}
+		}
+		return score;
+	}
+
+	private void assertSameScore(AbstractPairwiseSequenceAligner<ProteinSequence, AminoAcidCompound> quadratic,
+			AbstractPairwiseSequenceAligner<ProteinSequence, AminoAcidCompound> linear, GapPenalty gap) {
+		linear.setLinearSpace(true);
+		assertEquals(quadratic.getScore(), linear.getScore(), 0.0);
+		assertEquals((int) linear.getScore(), score(linear.getPair(), gap));
+		assertEquals(quadratic.getPair().getQuery().getOriginalSequence(), linear.getPair().getQuery().getOriginalSequence());
+	}
+
+	@Test
+	public void globalSameScore() throws CompoundNotFoundException {
+		Random random = new Random(42);
+		for (int length : new int[] { 0, 1, 2, 7, 40, 250 }) {
+			ProteinSequence query = random(random, Math.max(1, length));
+			ProteinSequence target = length > 10 ? mutate(random, query) : random(random, length + 3);
+			for (GapPenalty gap : gaps) {
+				assertSameScore(new NeedlemanWunsch<>(query, target, gap, blosum62),
+						new NeedlemanWunsch<>(query, target, gap, blosum62), gap);
+				assertSameScore(new NeedlemanWunsch<>(target, query, gap, blosum62),
+						new NeedlemanWunsch<>(target, query, gap, blosum62), gap);
+			}
+		}
+	}
+
+	@Test
+	public void globalUnrelated() throws CompoundNotFoundException {
+		Random random = new Random(7);
+		ProteinSequence query = random(random, 300), target = random(random, 180);
+		for (GapPenalty gap : gaps) {
+			assertSameScore(new NeedlemanWunsch<>(query, target, gap, blosum62),
+					new NeedlemanWunsch<>(query, target, gap, blosum62), gap);
+		}
+	}
+
+	@Test
+	public void globalAnchored() throws CompoundNotFoundException {
+		// anchors on the diagonal, which the quadratic space aligner supports
+		Random random = new Random(3);
+		ProteinSequence query = random(random, 220);
+		StringBuilder s = new StringBuilder(query.getSequenceAsString());
+		for (int i = 0; i < s.length(); i += 1 + random.nextInt(5)) {
+			s.setCharAt(i, AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+		}
+		ProteinSequence target = new ProteinSequence(s.toString());
+		int[] anchors = new int[query.getLength()];
+		Arrays.fill(anchors, -1);
+		anchors[10] = 10;
+		anchors[150] = 150;
+		anchors[151] = 151;
+		for (GapPenalty gap : gaps) {
+			NeedlemanWunsch<ProteinSequence, AminoAcidCompound> quadratic =
+					new NeedlemanWunsch<>(query, target, gap, blosum62);
+			quadratic.setAnchors(anchors);
+			NeedlemanWunsch<ProteinSequence, AminoAcidCompound> linear =
+					new NeedlemanWunsch<>(query, target, gap, blosum62);
+			linear.setAnchors(anchors);
+			assertSameScore(quadratic, linear, gap);
+			assertEquals(151, linear.getPair().getIndexInTargetForQueryAt(151));
+		}
+	}
+
+	@Test
+	public void localSameScore() throws CompoundNotFoundException {
+		Random random = new Random(11);
+		for (int length : new int[] { 1, 5, 60, 300 }) {
+			ProteinSequence core = random(random, length);
+			ProteinSequence query = new ProteinSequence(random(random, 30).getSequenceAsString() + core.getSequenceAsString());
+			ProteinSequence target = new ProteinSequence(mutate(random, core).getSequenceAsString() + random(random, 20).getSequenceAsString());
+			for (GapPenalty gap : gaps) {
+				SmithWaterman<ProteinSequence, AminoAcidCompound> quadratic = new SmithWaterman<>(query, target, gap, blosum62);
+				SmithWaterman<ProteinSequence, AminoAcidCompound> linear = new SmithWaterman<>(query, target, gap, blosum62);
+				assertSameScore(quadratic, linear, gap);
+				assertEquals(quadratic.getPair().getQuery().getEnd().getPosition(),
+						linear.getPair().getQuery().getEnd().getPosition());
+				assertEquals(quadratic.getPair().getTarget().getEnd().getPosition(),
+						linear.getPair().getTarget().getEnd().getPosition());
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment.routines;
+
+import org.biojava.nbio.alignment.Alignments;
+import org.biojava.nbio.alignment.Alignments.PairwiseSequenceScorerType;
+import org.biojava.nbio.alignment.SimpleGapPenalty;
+import org.biojava.nbio.alignment.SmithWaterman;
+import org.biojava.nbio.alignment.template.GapPenalty;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the striped score-only local aligner against {@link SmithWaterman}.
+ */
+public class StripedSmithWatermanTest {
+
+	private static final String AMINO_ACIDS = "ARNDCQEGHILKMFPSTWYV";
+
+	private final SubstitutionMatrix<AminoAcidCompound> blosum62 = SubstitutionMatrixHelper.getBlosum62();
+
+	private final GapPenalty[] gaps = {
+			new SimpleGapPenalty(10, 1),  // affine
+			new SimpleGapPenalty(0, 3),   // linear
+			new SimpleGapPenalty(8, 0),   // constant
+			new SimpleGapPenalty(1, 1) }; // cheap, long gaps across segments
+
+	private static ProteinSequence random(Random random, int length) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	// a copy with substitutions and indels, so that the pair has long local alignments with gaps
+	private static ProteinSequence mutate(Random random, ProteinSequence sequence) throws CompoundNotFoundException {
+		StringBuilder s = new StringBuilder();
+		String original = sequence.getSequenceAsString();
+		for (int i = 0; i < original.length(); i++) {
+			int r = random.nextInt(15);
+			if (r == 0) {
+				continue;
+			} else if (r == 1) {
+				s.append(AMINO_ACIDS.charAt(random.nextInt(AMINO_ACIDS.length())));
+			} else if (r == 2) {
+				s.append(AMINO_ACIDS, 0, 1 + random.nextInt(12));
+			}
+			s.append(original.charAt(i));
+		}
+		return new ProteinSequence(s.toString());
+	}
+
+	@Test
+	public void sameScoreAsSmithWaterman() throws CompoundNotFoundException {
+		Random random = new Random(5);
+		for (int length : new int[] { 1, 3, 8, 9, 17, 64, 203 }) {
+			ProteinSequence query = random(random, length);
+			ProteinSequence target = length > 8 ? mutate(random, query) : random(random, length + 5);
+			ProteinSequence unrelated = random(random, 2 * length + 1);
+			for (GapPenalty gap : gaps) {
+				StripedSmithWaterman<AminoAcidCompound> striped = new StripedSmithWaterman<>(query, gap, blosum62);
+				for (ProteinSequence t : new ProteinSequence[] { target, unrelated, query }) {
+					assertEquals(query.getLength() + " " + gap.getType(),
+							new SmithWaterman<>(query, t, gap, blosum62).getScore(), striped.getScore(t), 0.0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void nucleotides() throws CompoundNotFoundException {
+		SubstitutionMatrix<NucleotideCompound> matrix = SubstitutionMatrixHelper.getNuc4_4();
+		DNASequence query = new DNASequence("ACGTTGCANNACGGTACCATTGACAGTTTACGGA");
+		DNASequence target = new DNASequence("TTACGTTGCAACGGTACCGATTGACAGTAAAAA");
+		for (GapPenalty gap : gaps) {
+			assertEquals(new SmithWaterman<>(query, target, gap, matrix).getScore(),
+					new StripedSmithWaterman<>(query, gap, matrix).getScore(target), 0.0);
+		}
+	}
+
+	@Test
+	public void allPairsScores() throws CompoundNotFoundException {
+		Random random = new Random(17);
+		ProteinSequence ancestor = random(random, 120);
+		List<ProteinSequence> sequences = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			sequences.add(mutate(random, ancestor));
+		}
+		GapPenalty gap = new SimpleGapPenalty();
+		double[] scores = Alignments.getAllPairsScores(sequences, PairwiseSequenceScorerType.LOCAL, gap, blosum62);
+		int n = 0;
+		for (int i = 0; i < sequences.size(); i++) {
+			for (int j = i + 1; j < sequences.size(); j++) {
+				SmithWaterman<ProteinSequence, AminoAcidCompound> aligner =
+						new SmithWaterman<>(sequences.get(i), sequences.get(j), gap, blosum62);
+				assertEquals(aligner.getScore(), scores[n++], 0.0);
+			}
+		}
+		assertEquals(n, scores.length);
+	}
+
+	@Test
+	public void empty() throws CompoundNotFoundException {
+		StripedSmithWaterman<AminoAcidCompound> striped =
+				new StripedSmithWaterman<>(new ProteinSequence(""), new SimpleGapPenalty(), blosum62);
+		assertEquals(0, striped.getScore(new ProteinSequence("ARND")));
+		striped = new StripedSmithWaterman<>(new ProteinSequence("ARND"), new SimpleGapPenalty(), blosum62);
+		assertEquals(0, striped.getScore(new int[0]));
+	}
+}
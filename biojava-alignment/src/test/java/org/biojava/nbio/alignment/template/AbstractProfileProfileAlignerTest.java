@@ -0,0 +1,75 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.alignment.template;
+
+import org.biojava.nbio.alignment.SimpleGapPenalty;
+import org.biojava.nbio.alignment.SimpleProfileProfileAligner;
+import org.biojava.nbio.alignment.routines.AlignerHelper.Subproblem;
+import org.biojava.nbio.core.alignment.SimpleProfile;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.Profile;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AbstractProfileProfileAlignerTest {
+
+	private static Profile<ProteinSequence, AminoAcidCompound> align(Profile<ProteinSequence, AminoAcidCompound> query,
+			Profile<ProteinSequence, AminoAcidCompound> target, GapPenalty gaps,
+			SubstitutionMatrix<AminoAcidCompound> matrix) {
+		return new SimpleProfileProfileAligner<>(query, target, gaps, matrix).getPair();
+	}
+
+	@Test
+	public void substitutionScoreVector() throws CompoundNotFoundException {
+		GapPenalty gaps = new SimpleGapPenalty(2, 1);
+		SubstitutionMatrix<AminoAcidCompound> blosum62 = SubstitutionMatrixHelper.getBlosum62();
+		// profiles with gaps in some of their columns
+		Profile<ProteinSequence, AminoAcidCompound> query = align(
+				align(new SimpleProfile<>(new ProteinSequence("ARNDCQ")), new SimpleProfile<>(new ProteinSequence("RNDQ")),
+						gaps, blosum62),
+				new SimpleProfile<>(new ProteinSequence("HILKMARND")), gaps, blosum62);
+		Profile<ProteinSequence, AminoAcidCompound> target = align(new SimpleProfile<>(new ProteinSequence("WYVARN")),
+				new SimpleProfile<>(new ProteinSequence("ARNFPST")), gaps, blosum62);
+		assertTrue(query.toString().contains("-"));
+		assertTrue(target.toString().contains("-"));
+
+		SimpleProfileProfileAligner<ProteinSequence, AminoAcidCompound> aligner =
+				new SimpleProfileProfileAligner<>(query, target, gaps, blosum62);
+		aligner.getPair();
+		int m = query.getLength(), n = target.getLength();
+		for (Subproblem subproblem : new Subproblem[] { new Subproblem(0, 0, m, n), new Subproblem(2, 3, m - 1, n - 2) }) {
+			for (int x = 0; x <= m; x++) {
+				int[] vector = aligner.getSubstitutionScoreVector(x, subproblem);
+				assertEquals(subproblem.getTargetEndIndex() + 1, vector.length);
+				for (int y = Math.max(1, subproblem.getTargetStartIndex()); y <= subproblem.getTargetEndIndex(); y++) {
+					assertEquals("column " + x + ", " + y, (x == 0) ? 0 : aligner.getSubstitutionScore(x, y),
+							vector[y]);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.io.FileParsingParameters;
+import org.biojava.nbio.structure.io.PDBFileParser;
+import org.biojava.nbio.structure.io.mmcif.ChemCompGroupFactory;
+import org.biojava.nbio.structure.io.mmcif.ReducedChemCompProvider;
+
+/**
+ * Deterministic inputs shared by the benchmark suites.
+ * <p>
+ * Synthetic data is generated from a fixed seed so that numbers from
+ * different releases are comparable. Bundled files are read from the
+ * classpath of this module, and structures are parsed with the
+ * {@link ReducedChemCompProvider} so that no benchmark ever touches the network.
+ */
+public final class BenchmarkData {
+
+	/** The 20 standard amino acids */
+	public static final String AMINO_ACIDS = "ACDEFGHIKLMNPQRSTVWY";
+
+	/** The 4 unambiguous nucleotides */
+	public static final String NUCLEOTIDES = "ACGT";
+
+	/** Seed used for all synthetic data */
+	public static final long SEED = 42L;
+
+	static {
+		// the JAXB runtime used for the space group tables can't inject its
+		// optimized accessors on recent JDKs, fall back to plain reflection
+		System.setProperty("com.sun.xml.bind.v2.bytecode.ClassTailor.noOptimize", "true");
+	}
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Returns a random string of the given length drawn uniformly from
+	 * <code>alphabet</code>.
+	 * @param alphabet the letters to draw from
+	 * @param length the length of the returned string
+	 * @param random the random source
+	 * @return a random sequence string
+	 */
+	public static String randomSequence(String alphabet, int length, Random random) {
+		char[] c = new char[length];
+		for (int i = 0; i < length; i++) {
+			c[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+		}
+		return new String(c);
+	}
+
+	/**
+	 * Returns a copy of <code>seq</code> where each position is substituted with
+	 * probability <code>rate</code>. Useful for alignments of related sequences.
+	 * @param seq the template sequence
+	 * @param alphabet the letters to substitute with
+	 * @param rate substitution rate in [0,1]
+	 * @param random the random source
+	 * @return the mutated sequence
+	 */
+	public static String mutate(String seq, String alphabet, double rate, Random random) {
+		char[] c = seq.toCharArray();
+		for (int i = 0; i < c.length; i++) {
+			if (random.nextDouble() < rate) {
+				c[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+			}
+		}
+		return new String(c);
+	}
+
+	/**
+	 * Builds an in-memory FASTA file with <code>records</code> entries of
+	 * <code>length</code> residues each, wrapped at 60 columns.
+	 * @param alphabet the letters to draw from
+	 * @param records number of records
+	 * @param length residues per record
+	 * @return the FASTA file content
+	 */
+	public static byte[] fasta(String alphabet, int records, int length) {
+		Random random = new Random(SEED);
+		StringBuilder sb = new StringBuilder(records * (length + length / 60 + 32));
+		for (int i = 0; i < records; i++) {
+			sb.append(">seq").append(i).append(" synthetic record ").append(i).append('\n');
+			String seq = randomSequence(alphabet, length, random);
+			for (int j = 0; j < length; j += 60) {
+				sb.append(seq, j, Math.min(length, j + 60)).append('\n');
+			}
+		}
+		return sb.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Reads a classpath resource fully into memory, transparently decompressing
+	 * files ending in <code>.gz</code>. Resources come from this module or from
+	 * the BioJava artifacts it depends on, such as <code>PF00104_small.fasta</code>
+	 * from biojava-alignment.
+	 * @param name the resource name, relative to the classpath root
+	 * @return the (uncompressed) content
+	 * @throws IOException if the resource is missing or cannot be read
+	 */
+	public static byte[] resource(String name) throws IOException {
+		InputStream is = BenchmarkData.class.getResourceAsStream("/" + name);
+		if (is == null) {
+			throw new IOException("Could not find resource " + name);
+		}
+		try {
+			if (name.endsWith(".gz")) {
+				is = new GZIPInputStream(is);
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buf = new byte[8192];
+			int n;
+			while ((n = is.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			is.close();
+		}
+	}
+
+	/**
+	 * Builds a large PDB file from a small one by repeating its coordinate
+	 * records as <code>models</code> models, as in NMR ensembles. The header
+	 * records are kept once; CONECT and other records after the coordinates
+	 * are dropped.
+	 * @param pdb the content of a single model PDB file
+	 * @param models the number of models
+	 * @return the content of the multi-model file
+	 */
+	public static byte[] multiModel(byte[] pdb, int models) {
+		String[] lines = new String(pdb, StandardCharsets.US_ASCII).split("\n");
+		StringBuilder header = new StringBuilder(), coordinates = new StringBuilder();
+		for (String line : lines) {
+			if (line.startsWith("ATOM") || line.startsWith("HETATM") || line.startsWith("TER")) {
+				coordinates.append(line).append('\n');
+			} else if (coordinates.length() == 0 && !line.startsWith("MODEL")) {
+				header.append(line).append('\n');
+			}
+		}
+		StringBuilder sb = new StringBuilder(header.length() + models * (coordinates.length() + 32));
+		sb.append(header);
+		for (int i = 1; i <= models; i++) {
+			sb.append(String.format("MODEL     %4d", i)).append('\n').append(coordinates).append("ENDMDL\n");
+		}
+		sb.append("END\n");
+		return sb.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Parses a bundled PDB file without fetching chemical component definitions.
+	 * @param name the resource name
+	 * @return the parsed structure
+	 * @throws IOException if the resource cannot be read
+	 */
+	public static Structure structure(String name) throws IOException {
+		useOfflineChemComps();
+		PDBFileParser parser = new PDBFileParser();
+		parser.setFileParsingParameters(new FileParsingParameters());
+		return parser.parsePDBFile(new ByteArrayInputStream(resource(name)));
+	}
+
+	/**
+	 * Makes structure parsing independent of the network and of the local PDB cache.
+	 */
+	public static void useOfflineChemComps() {
+		ChemCompGroupFactory.setChemCompProvider(new ReducedChemCompProvider());
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the BioJava benchmark suites with the settings used for release
+ * comparisons: throughput mode, allocation rates from the GC profiler, and
+ * results written as JSON so that runs from different versions can be diffed.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp biojava-benchmarks/target/benchmarks.jar org.biojava.nbio.benchmarks.BenchmarkRunner [regexp] [result.json]
+ * </pre>
+ * The optional regexp restricts the suites run (e.g. <code>alignment</code> or
+ * <code>structure.Grid</code>), the default result file is
+ * <code>jmh-result.json</code> in the working directory.
+ * For full control over JMH options use <code>java -jar benchmarks.jar -h</code>.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : "org.biojava.nbio.benchmarks.*";
+		String result = args.length > 1 ? args[1] : "jmh-result.json";
+
+		Options opt = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(result)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.alignment;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.alignment.NeedlemanWunsch;
+import org.biojava.nbio.alignment.SimpleGapPenalty;
+import org.biojava.nbio.alignment.SmithWaterman;
+import org.biojava.nbio.alignment.routines.StripedSmithWaterman;
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.core.alignment.matrices.SubstitutionMatrixHelper;
+import org.biojava.nbio.core.alignment.template.SequencePair;
+import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the pairwise dynamic programming aligners on a pair of related
+ * synthetic proteins (30% substitutions). The <code>score</code> benchmarks
+ * only compute the score, the <code>pair</code> benchmarks also run the traceback.
+ * The <code>linearSpace</code> benchmarks align in linear space, the <code>striped</code>
+ * ones score with the query profile of {@link StripedSmithWaterman}, built once,
+ * and the <code>banded</code> ones align within a band of 16 diagonals.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PairwiseAlignerBenchmark {
+
+	@Param({"100", "500", "2000"})
+	public int length;
+
+	private ProteinSequence query;
+	private ProteinSequence target;
+	private SubstitutionMatrix<AminoAcidCompound> matrix;
+	private SimpleGapPenalty gapPenalty;
+	private StripedSmithWaterman<AminoAcidCompound> striped;
+
+	@Setup
+	public void setup() throws CompoundNotFoundException {
+		Random random = new Random(BenchmarkData.SEED);
+		String q = BenchmarkData.randomSequence(BenchmarkData.AMINO_ACIDS, length, random);
+		query = new ProteinSequence(q);
+		target = new ProteinSequence(BenchmarkData.mutate(q, BenchmarkData.AMINO_ACIDS, 0.3, random));
+		matrix = SubstitutionMatrixHelper.getBlosum62();
+		gapPenalty = new SimpleGapPenalty();
+		striped = new StripedSmithWaterman<>(query, gapPenalty, matrix);
+	}
+
+	@Benchmark
+	public double needlemanWunschScore() {
+		return new NeedlemanWunsch<>(query, target, gapPenalty, matrix).getScore();
+	}
+
+	@Benchmark
+	public SequencePair<ProteinSequence, AminoAcidCompound> needlemanWunschPair() {
+		return new NeedlemanWunsch<>(query, target, gapPenalty, matrix).getPair();
+	}
+
+	@Benchmark
+	public double smithWatermanScore() {
+		return new SmithWaterman<>(query, target, gapPenalty, matrix).getScore();
+	}
+
+	@Benchmark
+	public SequencePair<ProteinSequence, AminoAcidCompound> smithWatermanPair() {
+		return new SmithWaterman<>(query, target, gapPenalty, matrix).getPair();
+	}
+
+	@Benchmark
+	public SequencePair<ProteinSequence, AminoAcidCompound> needlemanWunschLinearSpacePair() {
+		NeedlemanWunsch<ProteinSequence, AminoAcidCompound> aligner =
+				new NeedlemanWunsch<>(query, target, gapPenalty, matrix);
+		aligner.setLinearSpace(true);
+		return aligner.getPair();
+	}
+
+	@Benchmark
+	public SequencePair<ProteinSequence, AminoAcidCompound> smithWatermanLinearSpacePair() {
+		SmithWaterman<ProteinSequence, AminoAcidCompound> aligner =
+				new SmithWaterman<>(query, target, gapPenalty, matrix);
+		aligner.setLinearSpace(true);
+		return aligner.getPair();
+	}
+
+	@Benchmark
+	public int smithWatermanStripedScore() {
+		return striped.getScore(target);
+	}
+
+	@Benchmark
+	public SequencePair<ProteinSequence, AminoAcidCompound> needlemanWunschBandedPair() {
+		NeedlemanWunsch<ProteinSequence, AminoAcidCompound> aligner =
+				new NeedlemanWunsch<>(query, target, gapPenalty, matrix);
+		aligner.setBandWidth(16);
+		return aligner.getPair();
+	}
+}
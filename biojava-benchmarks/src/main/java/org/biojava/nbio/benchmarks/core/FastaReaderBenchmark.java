@@ -0,0 +1,107 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.io.DNASequenceCreator;
+import org.biojava.nbio.core.sequence.io.FastaReader;
+import org.biojava.nbio.core.sequence.io.GenericFastaHeaderParser;
+import org.biojava.nbio.core.sequence.io.ProteinSequenceCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link FastaReader#process()} on in-memory FASTA files, so that
+ * disk I/O does not blur the parsing cost. One operation parses the complete file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastaReaderBenchmark {
+
+	@Param({"1000"})
+	public int records;
+
+	@Param({"350"})
+	public int length;
+
+	private byte[] proteinFasta;
+	private byte[] dnaFasta;
+	private byte[] bundledFasta;
+
+	@Setup
+	public void setup() throws IOException {
+		proteinFasta = BenchmarkData.fasta(BenchmarkData.AMINO_ACIDS, records, length);
+		dnaFasta = BenchmarkData.fasta(BenchmarkData.NUCLEOTIDES, records, length);
+		// shipped with biojava-alignment
+		bundledFasta = BenchmarkData.resource("PF00104_small.fasta");
+	}
+
+	@Benchmark
+	public LinkedHashMap<String, ProteinSequence> syntheticProteins() throws IOException {
+		return readProteins(proteinFasta);
+	}
+
+	@Benchmark
+	public LinkedHashMap<String, DNASequence> syntheticDna() throws IOException {
+		FastaReader<DNASequence, NucleotideCompound> reader = new FastaReader<>(
+				new ByteArrayInputStream(dnaFasta),
+				new GenericFastaHeaderParser<>(),
+				new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()));
+		return reader.process();
+	}
+
+	@Benchmark
+	public LinkedHashMap<String, ProteinSequence> bundledPfam() throws IOException {
+		return readProteins(bundledFasta);
+	}
+
+	private static LinkedHashMap<String, ProteinSequence> readProteins(byte[] fasta) throws IOException {
+		FastaReader<ProteinSequence, AminoAcidCompound> reader = new FastaReader<>(
+				new ByteArrayInputStream(fasta),
+				new GenericFastaHeaderParser<>(),
+				new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		return reader.process();
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.structure;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.asa.AsaCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the Shrake-Rupley solvent accessible surface area calculation
+ * in {@link AsaCalculator#calculateAsas()}, single threaded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsaCalculatorBenchmark {
+
+	@Param({"4hhb.pdb.gz"})
+	public String file;
+
+	@Param({"100", "960"})
+	public int nSpherePoints;
+
+	private Structure structure;
+
+	@Setup
+	public void setup() throws IOException {
+		structure = BenchmarkData.structure(file);
+	}
+
+	@Benchmark
+	public double[] calculateAsas() {
+		AsaCalculator asa = new AsaCalculator(structure, AsaCalculator.DEFAULT_PROBE_SIZE, nSpherePoints, 1, false);
+		return asa.calculateAsas();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.structure;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.StructureException;
+import org.biojava.nbio.structure.StructureTools;
+import org.biojava.nbio.structure.align.ce.CeMain;
+import org.biojava.nbio.structure.align.ce.CeParameters;
+import org.biojava.nbio.structure.align.model.AFPChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of a CE structural alignment (the {@link org.biojava.nbio.structure.align.ce.CECalculator}
+ * pipeline as driven by {@link CeMain}) of the hemoglobin alpha and beta chains.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CECalculatorBenchmark {
+
+	private Atom[] ca1;
+	private Atom[] ca2;
+	private CeParameters params;
+
+	@Setup
+	public void setup() throws IOException {
+		Structure s = BenchmarkData.structure("4hhb.pdb.gz");
+		ca1 = StructureTools.getAtomCAArray(s.getPolyChainByPDB("A"));
+		ca2 = StructureTools.getAtomCAArray(s.getPolyChainByPDB("B"));
+		params = new CeParameters();
+	}
+
+	@Benchmark
+	public AFPChain align() throws StructureException {
+		return new CeMain().align(ca1, ca2, params);
+	}
+}
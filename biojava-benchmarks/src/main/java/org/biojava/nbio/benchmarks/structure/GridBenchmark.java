@@ -0,0 +1,88 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.structure;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.StructureTools;
+import org.biojava.nbio.structure.contact.AtomContactSet;
+import org.biojava.nbio.structure.contact.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the spatial hashing contact search in {@link Grid}, for all
+ * non-hydrogen atoms of a structure against themselves and for an inter-chain
+ * (interface) search.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GridBenchmark {
+
+	@Param({"4hhb.pdb.gz"})
+	public String file;
+
+	@Param({"5.0", "8.0"})
+	public double cutoff;
+
+	private Atom[] allAtoms;
+	private Atom[] chainA;
+	private Atom[] chainB;
+
+	@Setup
+	public void setup() throws IOException {
+		Structure s = BenchmarkData.structure(file);
+		allAtoms = StructureTools.getAllNonHAtomArray(s, false);
+		chainA = StructureTools.getAllNonHAtomArray(s.getPolyChainByPDB("A"), false);
+		chainB = StructureTools.getAllNonHAtomArray(s.getPolyChainByPDB("B"), false);
+	}
+
+	@Benchmark
+	public AtomContactSet intraContacts() {
+		Grid grid = new Grid(cutoff);
+		grid.addAtoms(allAtoms);
+		return grid.getAtomContacts();
+	}
+
+	@Benchmark
+	public AtomContactSet interfaceContacts() {
+		Grid grid = new Grid(cutoff);
+		grid.addAtoms(chainA, chainB);
+		return grid.getAtomContacts();
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.benchmarks.structure;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.biojava.nbio.benchmarks.BenchmarkData;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.io.FileParsingParameters;
+import org.biojava.nbio.structure.io.PDBFileParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link PDBFileParser#parsePDBFile(java.io.InputStream)} on a
+ * bundled PDB file held in memory. One operation parses the complete file.
+ * With <code>models</code> above 1 the coordinates are repeated in that many
+ * models, giving a large file dominated by ATOM records, which are built
+ * model by model in parallel with <code>parallel</code> set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PDBFileParserBenchmark {
+
+	@Param({"4hhb.pdb.gz"})
+	public String file;
+
+	@Param({"true", "false"})
+	public boolean alignSeqRes;
+
+	@Param({"1", "40"})
+	public int models;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private byte[] content;
+	private FileParsingParameters params;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkData.useOfflineChemComps();
+		content = BenchmarkData.resource(file);
+		if (models > 1) {
+			content = BenchmarkData.multiModel(content, models);
+		}
+		params = new FileParsingParameters();
+		params.setAlignSeqRes(alignSeqRes);
+		params.setParseModelsInParallel(parallel);
+	}
+
+	@Benchmark
+	public Structure parse() throws IOException {
+		PDBFileParser parser = new PDBFileParser();
+		parser.setFileParsingParameters(params);
+		return parser.parsePDBFile(new ByteArrayInputStream(content));
+	}
+}
@@ -28,6 +28,7 @@ import org.biojava.nbio.core.alignment.template.AlignedSequence.Step;
 import org.biojava.nbio.core.alignment.template.Profile;
 import org.biojava.nbio.core.alignment.template.SequencePair;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.Sequence;
 
@@ -173,21 +174,31 @@ public class SimpleSequencePair<S extends Sequence<C>, C extends Compound>
 	public int getNumSimilars() {
 		if (similars == -1) {
 			similars = 0;
-			for (int i = 1; i <= getLength(); i++) {
-
-				C c1 = getCompoundInQueryAt(i);
-				C c2 = getCompoundInTargetAt(i);
-
-				if (c1 instanceof AminoAcidCompound
-						&& c2 instanceof AminoAcidCompound) {
-					short value = matrix.getValue((AminoAcidCompound) c1,
-							(AminoAcidCompound) c2);
-					if (value > 0)
-						similars++;
-				} else {
-
-					if (getCompoundSet().compoundsEquivalent(c1, c2)) {
+			if (getCompoundSet() instanceof AminoAcidCompoundSet) {
+				// resolve both rows once instead of looking up the matrix for every column
+				int[] q = matrix.getRowIndices(asAminoAcids(getQuery()));
+				int[] t = matrix.getColumnIndices(asAminoAcids(getTarget()));
+				for (int i = 0; i < q.length; i++) {
+					if (matrix.getValue(q[i], t[i]) > 0)
 						similars++;
+				}
+			} else {
+				for (int i = 1; i <= getLength(); i++) {
+
+					C c1 = getCompoundInQueryAt(i);
+					C c2 = getCompoundInTargetAt(i);
+
+					if (c1 instanceof AminoAcidCompound
+							&& c2 instanceof AminoAcidCompound) {
+						short value = matrix.getValue((AminoAcidCompound) c1,
+								(AminoAcidCompound) c2);
+						if (value > 0)
+							similars++;
+					} else {
+
+						if (getCompoundSet().compoundsEquivalent(c1, c2)) {
+							similars++;
+						}
 					}
 				}
 			}
@@ -197,6 +208,11 @@ public class SimpleSequencePair<S extends Sequence<C>, C extends Compound>
 		return similars;
 	}
 
+	@SuppressWarnings("unchecked")
+	private static Sequence<AminoAcidCompound> asAminoAcids(Sequence<?> sequence) {
+		return (Sequence<AminoAcidCompound>) sequence;
+	}
+
 	@Override
 	public AlignedSequence<S, C> getQuery() {
 		return getAlignedSequence(1);
@@ -0,0 +1,77 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.alignment.matrices;
+
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Translates the {@link CompoundOrdinals} of a sequence into row or column indices of a substitution matrix
+ * through a table built on first use, so that resolving a sequence costs one array access per compound.
+ *
+ * @param <C> the compound type
+ * @since 5.3.1
+ */
+final class CompoundIndexLookup<C extends Compound> {
+
+	private final CompoundSet<C> compoundSet;
+	private final ToIntFunction<C> index;
+	private volatile int[] table;
+
+	/**
+	 * @param compoundSet the compound set of the matrix
+	 * @param index the index of a single compound, -1 if it does not belong to the matrix
+	 */
+	CompoundIndexLookup(CompoundSet<C> compoundSet, ToIntFunction<C> index) {
+		this.compoundSet = compoundSet;
+		this.index = index;
+	}
+
+	int[] getIndices(Sequence<C> sequence) {
+		if (sequence.getCompoundSet() != compoundSet) {
+			int[] indices = new int[sequence.getLength()];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = index.applyAsInt(sequence.getCompoundAt(i + 1));
+			}
+			return indices;
+		}
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(compoundSet);
+		int[] t = table;
+		if (t == null) {
+			t = new int[ordinals.size()];
+			for (int i = 0; i < t.length; i++) {
+				t[i] = index.applyAsInt(ordinals.getCompound(i));
+			}
+			table = t;
+		}
+		int[] indices = sequence.getOrdinals();
+		for (int i = 0; i < indices.length; i++) {
+			int ordinal = indices[i];
+			// ordinals assigned after the table was built are resolved one by one
+			indices[i] = ordinal < t.length ? t[ordinal] : index.applyAsInt(ordinals.getCompound(ordinal));
+		}
+		return indices;
+	}
+}
@@ -24,6 +24,7 @@ import org.biojava.nbio.core.alignment.template.SubstitutionMatrix;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
 import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
 
 import java.util.HashMap;
 import java.util.List;
@@ -55,6 +56,7 @@ public class ScaledSubstitutionMatrix implements
 	private final AminoAcidCompoundSet compoundSet;
 
 	private List<AminoAcidCompound> rows, cols;
+	private volatile CompoundIndexLookup<AminoAcidCompound> rowLookup, columnLookup;
 
 	private int scale;
 
@@ -112,12 +114,14 @@ public class ScaledSubstitutionMatrix implements
 	}
 	public void setRows(List<AminoAcidCompound> rows) {
 		this.rows = rows;
+		rowLookup = columnLookup = null;
 	}
 	public List<AminoAcidCompound> getCols() {
 		return cols;
 	}
 	public void setCols(List<AminoAcidCompound> cols) {
 		this.cols = cols;
+		rowLookup = columnLookup = null;
 	}
 	public static String getComment() {
 		return comment;
@@ -206,6 +210,41 @@ public class ScaledSubstitutionMatrix implements
 
 	}
 
+	@Override
+	public int getRowIndex(AminoAcidCompound compound) {
+		int row = rows.indexOf(compound);
+		return row == -1 ? cols.indexOf(compound) : row;
+	}
+
+	@Override
+	public int getColumnIndex(AminoAcidCompound compound) {
+		int col = cols.indexOf(compound);
+		return col == -1 ? rows.indexOf(compound) : col;
+	}
+
+	@Override
+	public int[] getRowIndices(Sequence<AminoAcidCompound> sequence) {
+		CompoundIndexLookup<AminoAcidCompound> lookup = rowLookup;
+		if (lookup == null) {
+			rowLookup = lookup = new CompoundIndexLookup<>(compoundSet, this::getRowIndex);
+		}
+		return lookup.getIndices(sequence);
+	}
+
+	@Override
+	public int[] getColumnIndices(Sequence<AminoAcidCompound> sequence) {
+		CompoundIndexLookup<AminoAcidCompound> lookup = columnLookup;
+		if (lookup == null) {
+			columnLookup = lookup = new CompoundIndexLookup<>(compoundSet, this::getColumnIndex);
+		}
+		return lookup.getIndices(sequence);
+	}
+
+	@Override
+	public short getValue(int row, int column) {
+		return (row < 0 || column < 0) ? min : matrix[row][column];
+	}
+
 
 	@Override
 	public SubstitutionMatrix<AminoAcidCompound> normalizeMatrix(short scale) {
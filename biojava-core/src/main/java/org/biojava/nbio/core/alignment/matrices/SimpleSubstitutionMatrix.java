@@ -28,6 +28,7 @@ import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
 
 import java.io.*;
 import java.util.*;
@@ -56,6 +57,7 @@ public class SimpleSubstitutionMatrix<C extends Compound> implements Substitutio
 	private short max, min;
 	private final List<C> rows;
 	private final List<C> cols;
+	private transient volatile CompoundIndexLookup<C> rowLookup, columnLookup;
 
 	public static SubstitutionMatrix<AminoAcidCompound> getBlosum62() {
         return new SimpleSubstitutionMatrix<>(AminoAcidCompoundSet.aminoAcidCompoundSet, new InputStreamReader(
@@ -256,6 +258,50 @@ public class SimpleSubstitutionMatrix<C extends Compound> implements Substitutio
 		return matrix[row][col];
 	}
 
+	/**
+	 * Returns the row of the {@link Compound}, falling back to its column like {@link #getValue(Compound, Compound)}
+	 * does.  For matrices with the same {@link Compound}s in the same order along both axes, which includes all the
+	 * bundled ones, {@link #getValue(int, int)} then agrees with {@link #getValue(Compound, Compound)}.
+	 */
+	@Override
+	public int getRowIndex(C compound) {
+		int row = getIndexOfCompound(rows, compound);
+		return row == -1 ? getIndexOfCompound(cols, compound) : row;
+	}
+
+	/**
+	 * Returns the column of the {@link Compound}, falling back to its row like {@link #getValue(Compound, Compound)}
+	 * does.
+	 */
+	@Override
+	public int getColumnIndex(C compound) {
+		int col = getIndexOfCompound(cols, compound);
+		return col == -1 ? getIndexOfCompound(rows, compound) : col;
+	}
+
+	@Override
+	public int[] getRowIndices(Sequence<C> sequence) {
+		CompoundIndexLookup<C> lookup = rowLookup;
+		if (lookup == null) {
+			rowLookup = lookup = new CompoundIndexLookup<>(compoundSet, this::getRowIndex);
+		}
+		return lookup.getIndices(sequence);
+	}
+
+	@Override
+	public int[] getColumnIndices(Sequence<C> sequence) {
+		CompoundIndexLookup<C> lookup = columnLookup;
+		if (lookup == null) {
+			columnLookup = lookup = new CompoundIndexLookup<>(compoundSet, this::getColumnIndex);
+		}
+		return lookup.getIndices(sequence);
+	}
+
+	@Override
+	public short getValue(int row, int column) {
+		return (row < 0 || column < 0) ? min : matrix[row][column];
+	}
+
 	@Override
 	public SubstitutionMatrix<C> normalizeMatrix(short scale) {
 		// TODO SubstitutionMatrix<C> normalizeMatrix(short)
@@ -23,8 +23,10 @@
 
 package org.biojava.nbio.core.alignment.template;
 
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
 import org.biojava.nbio.core.sequence.template.Compound;
 import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
 
 import java.util.Map;
 
@@ -99,6 +101,92 @@ public interface SubstitutionMatrix<C extends Compound> {
 	 */
 	short getValue(C from, C to);
 
+	/**
+	 * Returns the index of a {@link Compound} along the rows of this matrix, for use with
+	 * {@link #getValue(int, int)}.  Indices are only meaningful to the matrix which returned them.
+	 * <p>
+	 * The default implementation uses the {@link CompoundOrdinals} of the {@link CompoundSet} as indices.  A
+	 * {@link Compound} outside the {@link CompoundSet} gets -1 and is not added to the shared ordinals.
+	 *
+	 * @param compound original {@link Compound}
+	 * @return row index of the {@link Compound}, or -1 if it does not belong to the {@link CompoundSet}
+	 * @since 5.3.1
+	 */
+	default int getRowIndex(C compound) {
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(getCompoundSet());
+		int index = (compound == null) ? -1 : ordinals.getOrdinal(compound);
+		return (index == -1 && compound != null && getCompoundSet().hasCompound(compound)) ?
+				ordinals.addCompound(compound) : index;
+	}
+
+	/**
+	 * Returns the index of a {@link Compound} along the columns of this matrix, for use with
+	 * {@link #getValue(int, int)}.  Indices are only meaningful to the matrix which returned them.
+	 * <p>
+	 * The default implementation uses the {@link CompoundOrdinals} of the {@link CompoundSet} as indices.  A
+	 * {@link Compound} outside the {@link CompoundSet} gets -1 and is not added to the shared ordinals.
+	 *
+	 * @param compound replacement {@link Compound}
+	 * @return column index of the {@link Compound}, or -1 if it does not belong to the {@link CompoundSet}
+	 * @since 5.3.1
+	 */
+	default int getColumnIndex(C compound) {
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(getCompoundSet());
+		int index = (compound == null) ? -1 : ordinals.getOrdinal(compound);
+		return (index == -1 && compound != null && getCompoundSet().hasCompound(compound)) ?
+				ordinals.addCompound(compound) : index;
+	}
+
+	/**
+	 * Resolves every {@link Compound} of a {@link Sequence} to its row index once, so that an aligner can
+	 * score it with {@link #getValue(int, int)} instead of looking up {@link Compound}s for every cell.
+	 *
+	 * @param sequence the sequence to resolve
+	 * @return row index of each {@link Compound} of the sequence, element 0 for position 1
+	 * @since 5.3.1
+	 */
+	default int[] getRowIndices(Sequence<C> sequence) {
+		int[] indices = new int[sequence.getLength()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = getRowIndex(sequence.getCompoundAt(i + 1));
+		}
+		return indices;
+	}
+
+	/**
+	 * Resolves every {@link Compound} of a {@link Sequence} to its column index once, so that an aligner can
+	 * score it with {@link #getValue(int, int)} instead of looking up {@link Compound}s for every cell.
+	 *
+	 * @param sequence the sequence to resolve
+	 * @return column index of each {@link Compound} of the sequence, element 0 for position 1
+	 * @since 5.3.1
+	 */
+	default int[] getColumnIndices(Sequence<C> sequence) {
+		int[] indices = new int[sequence.getLength()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = getColumnIndex(sequence.getCompoundAt(i + 1));
+		}
+		return indices;
+	}
+
+	/**
+	 * Returns value in matrix for conversion from the {@link Compound} at the first index to the one at the second.
+	 * A negative index, as returned for a {@link Compound} which does not belong to this matrix, gives
+	 * {@link #getMinValue()}.
+	 *
+	 * @param row row index from {@link #getRowIndex(Compound)} or {@link #getRowIndices(Sequence)}
+	 * @param column column index from {@link #getColumnIndex(Compound)} or {@link #getColumnIndices(Sequence)}
+	 * @return value in matrix for conversion from the first {@link Compound} to the second
+	 * @since 5.3.1
+	 */
+	default short getValue(int row, int column) {
+		if (row < 0 || column < 0) {
+			return getMinValue();
+		}
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(getCompoundSet());
+		return getValue(ordinals.getCompound(row), ordinals.getCompound(column));
+	}
+
 	/**
 	 * Rescales the matrix so that to {@link #getMaxValue()} - {@link #getMinValue()} = scale.
 	 *
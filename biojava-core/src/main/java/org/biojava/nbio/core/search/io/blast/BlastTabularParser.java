@@ -29,8 +29,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Designed by Paolo Pavan.
@@ -38,6 +47,11 @@ import java.util.*;
  * or discuss major changes.
  * https://github.com/paolopavan
  *
+ * The file is split into chunks of whole lines, see {@link #setChunkSize(int)}, which are
+ * scanned byte by byte: numeric columns are parsed in place and identifiers repeated on
+ * consecutive lines are decoded once. {@link #createObjects(double)} scans the chunks in
+ * parallel, {@link #iterator(double)} one after the other, keeping a single chunk ahead.
+ *
  * @author Paolo Pavan
  */
 
@@ -57,28 +71,26 @@ public class BlastTabularParser implements ResultFactory {
 	}
 	private static final Logger log = LoggerFactory.getLogger(BlastTabularParser.class);
 
+	/** The default size of the chunks the file is split into, in bytes */
+	public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+	// the columns of outfmt 6
+	private static final int COLUMNS = 12;
+	// the integer columns of a record: alignment length, mismatches, gap opens, query start and end, subject start and end
+	private static final int INTS = 7;
+	// the largest mantissa and power of ten of a double that are exact, so that their product or quotient is rounded once
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	private static final double[] POWERS_OF_TEN = new double[23];
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
 
 	private File targetFile;
-	private int fileLinesCount;
 	private PARSING_CONSISTENCY parsingConsistency = PARSING_CONSISTENCY.IMPROVED;
-
-
-	// data imported private:
-	int queryIdNumber = 0;
-	final Map<String,String> queryIdMapping = new HashMap<>();
-	String programName=null, queryName = null, databaseFile = null;
-	private String queryId      ;
-	private String subjectId    ;
-	private String percIdentity ;
-	private String alnLength    ;
-	private String mismatchCount;
-	private String gapOpenCount ;
-	private String queryStart   ;
-	private String queryEnd     ;
-	private String subjectStart ;
-	private String subjectEnd   ;
-	private String evalue       ;
-	private String bitScore     ;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
 
 
 	@Override
@@ -94,117 +106,489 @@ public class BlastTabularParser implements ResultFactory {
 		targetFile = f;
 	}
 
+	/**
+	 * Sets the size of the chunks the file is split into, each of which is read into memory
+	 * and scanned at once. Chunks end at a line end, so that they can be a little larger.
+	 *
+	 * @param chunkSize the chunk size in bytes
+	 * @since 5.3.1
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
 	@Override
 	public List<Result> createObjects(double maxEScore) throws IOException, ParseException {
 		List<Result> results = new ArrayList<>();
 
 		log.info("Query for hits");
-		LineNumberReader  lnr = new LineNumberReader(new FileReader(targetFile));
-		lnr.skip(Long.MAX_VALUE);
-		fileLinesCount = lnr.getLineNumber();
-		log.info(fileLinesCount + " hits approximately in all results");
-		lnr.close();
-
-		FileInputStream fileInputStream = new FileInputStream(targetFile);
-		Scanner scanner = new Scanner(fileInputStream);
-
-		String line = fetchData(scanner);
-		int lineNumber=0;
-		while (lineNumber < fileLinesCount){
+		try (FileChannel channel = FileChannel.open(targetFile.toPath(), StandardOpenOption.READ)) {
+			long[] bounds = getChunkBounds(channel);
+			List<Records> chunks;
+			try {
+				chunks = IntStream.range(0, bounds.length - 1).parallel()
+						.mapToObj(i -> scanChunk(channel, bounds[i], bounds[i + 1], maxEScore))
+						.collect(Collectors.toList());
+			} catch (UncheckedIOException | IllegalStateException e) {
+				rethrow(e);
+				return results;
+			}
+			ResultAssembler assembler = new ResultAssembler(maxEScore, results::add);
+			for (Records chunk : chunks) {
+				assembler.add(chunk);
+			}
+			assembler.finish();
+		}
+		log.info(results.size() + " results");
+		return results;
+	}
+
+	/**
+	 * Opens the file and returns an iterator reading one result at a time. Only the chunk
+	 * being read and the next one are held in memory. The iterator should be closed once
+	 * done with, to close the file; it is closed at the end of the file. Errors met while
+	 * iterating are thrown as an {@link IllegalStateException} caused by the
+	 * {@link IOException} or {@link ParseException}.
+	 *
+	 * @param maxEScore the maximum e-value of the hsps to keep
+	 * @return the results, in file order
+	 * @throws IOException if the file cannot be opened
+	 * @since 5.3.1
+	 */
+	public ResultIterator iterator(double maxEScore) throws IOException {
+		FileChannel channel = FileChannel.open(targetFile.toPath(), StandardOpenOption.READ);
+		try {
+			return new ResultIterator(channel, getChunkBounds(channel), maxEScore);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the results of a tabular report one chunk at a time, scanning the next chunk
+	 * in the background.
+	 *
+	 * @since 5.3.1
+	 */
+	public class ResultIterator implements Iterator<Result>, Closeable {
+
+		private final FileChannel channel;
+		private final long[] bounds;
+		private final double maxEScore;
+		private final Deque<Result> results = new ArrayDeque<>();
+		private final ResultAssembler assembler;
+		private CompletableFuture<Records> pending;
+		private int chunk;
+
+		private ResultIterator(FileChannel channel, long[] bounds, double maxEScore) {
+			this.channel = channel;
+			this.bounds = bounds;
+			this.maxEScore = maxEScore;
+			assembler = new ResultAssembler(maxEScore, results::add);
+			pending = scanNext();
+		}
+
+		private CompletableFuture<Records> scanNext() {
+			if (chunk >= bounds.length - 1) {
+				return null;
+			}
+			int i = chunk++;
+			return CompletableFuture.supplyAsync(() -> scanChunk(channel, bounds[i], bounds[i + 1], maxEScore));
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (results.isEmpty() && pending != null) {
+				Records records;
+				try {
+					records = pending.join();
+				} catch (CompletionException e) {
+					close();
+					try {
+						rethrow(e);
+					} catch (IOException | ParseException cause) {
+						throw new IllegalStateException(cause);
+					}
+					throw e;
+				}
+				pending = scanNext();
+				assembler.add(records);
+				if (pending == null) {
+					assembler.finish();
+					close();
+				}
+			}
+			return !results.isEmpty();
+		}
+
+		@Override
+		public Result next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return results.poll();
+		}
+
+		@Override
+		public void close() {
+			pending = null;
 			try {
-				BlastResultBuilder resultBuilder = new BlastResultBuilder();
-				resultBuilder
-						.setQueryID(queryId)
-						.setDbFile(databaseFile)
-						.setProgram(programName)
-						.setQueryDef(queryName)
-						.setReference(blastReference);
-
-				List<Hit> hits = new ArrayList<>();
-
-				String currentQueryId = queryId;
-				while (currentQueryId.equals(queryId) && lineNumber < fileLinesCount){
-					BlastHitBuilder hitBuilder = new BlastHitBuilder();
-
-					List<Hsp> hsps = new ArrayList<>();
-
-					String currentSubjectId=subjectId;
-					while (currentSubjectId.equals(subjectId) && lineNumber < fileLinesCount){
-						if (Double.parseDouble(evalue) > maxEScore) {
-							line = fetchData(scanner);
-							lineNumber++;
-							continue;
+				channel.close();
+			} catch (IOException e) {
+				log.warn("Could not close {}: {}", targetFile, e.getMessage());
+			}
+		}
+	}
+
+	// rethrows the IOException or ParseException a chunk failed with, as wrapped by the scan and the pool
+	private static void rethrow(RuntimeException e) throws IOException, ParseException {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof ParseException) {
+				throw (ParseException) cause;
+			}
+		}
+		throw e;
+	}
+
+	// the chunk starts, then the file size; each chunk but the last ends after a line feed
+	private long[] getChunkBounds(FileChannel channel) throws IOException {
+		long size = channel.size();
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(0L);
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long position = chunkSize;
+		while (position < size) {
+			long bound = size;
+			scan:
+			for (long p = position - 1; p < size; p += buffer.limit()) {
+				buffer.clear();
+				if (channel.read(buffer, p) < 0) {
+					break;
+				}
+				buffer.flip();
+				for (int i = 0; i < buffer.limit(); i++) {
+					if (buffer.get(i) == '\n') {
+						bound = p + i + 1;
+						break scan;
+					}
+				}
+			}
+			if (bound >= size) {
+				break;
+			}
+			bounds.add(bound);
+			position = bound + chunkSize;
+		}
+		bounds.add(size);
+		long[] result = new long[bounds.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bounds.get(i);
+		}
+		return result;
+	}
+
+	// throws the failures as unchecked exceptions, for streams and futures
+	private static Records scanChunk(FileChannel channel, long start, long end, double maxEScore) {
+		try {
+			byte[] bytes = new byte[(int) (end - start)];
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, start + buffer.position()) < 0) {
+					throw new EOFException("File shorter than expected");
+				}
+			}
+			Records records = new Records();
+			records.scan(bytes, start, maxEScore);
+			return records;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (ParseException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The lines of a chunk: comments, and the columns of the records as parallel arrays.
+	 */
+	private static class Records {
+
+		private int size;
+		private String[] queryIds = new String[256], subjectIds = new String[256], comments = new String[256];
+		private double[] identities = new double[256], evalues = new double[256], bitScores = new double[256];
+		private int[] ints = new int[256 * INTS];
+
+		private int add() {
+			if (size == queryIds.length) {
+				int capacity = 2 * size;
+				queryIds = Arrays.copyOf(queryIds, capacity);
+				subjectIds = Arrays.copyOf(subjectIds, capacity);
+				comments = Arrays.copyOf(comments, capacity);
+				identities = Arrays.copyOf(identities, capacity);
+				evalues = Arrays.copyOf(evalues, capacity);
+				bitScores = Arrays.copyOf(bitScores, capacity);
+				ints = Arrays.copyOf(ints, capacity * INTS);
+			}
+			return size++;
+		}
+
+		private void scan(byte[] b, long offset, double maxEScore) throws ParseException {
+			int[] fields = new int[COLUMNS + 1];
+			// the previous identifiers, reused while the bytes are the same
+			int queryFrom = 0, queryTo = 0, subjectFrom = 0, subjectTo = 0;
+			String queryId = null, subjectId = null;
+			int p = 0;
+			while (p < b.length) {
+				int eol = p;
+				while (eol < b.length && b[eol] != '\n') {
+					eol++;
+				}
+				int end = (eol > p && b[eol - 1] == '\r') ? eol - 1 : eol;
+				if (end > p && b[p] == '#') {
+					comments[add()] = new String(b, p, end - p, StandardCharsets.UTF_8);
+				} else if (end > p) {
+					// fields[c] is the start of column c, fields[c + 1] - 1 its end
+					int columns = 0;
+					fields[columns++] = p;
+					for (int i = p; i < end && columns <= COLUMNS; i++) {
+						if (b[i] == '\t') {
+							fields[columns++] = i + 1;
 						}
-						BlastHspBuilder hspBuilder = new BlastHspBuilder();
-						hspBuilder
-							.setHspAlignLen(Integer.parseInt(alnLength))
-							.setHspGaps(Integer.parseInt(gapOpenCount))
-							.setHspQueryFrom(Integer.parseInt(queryStart))
-							.setHspQueryTo(Integer.parseInt(queryEnd))
-							.setHspHitFrom(Integer.parseInt(subjectStart))
-							.setHspHitTo(Integer.parseInt(subjectEnd))
-							.setHspEvalue(Double.parseDouble(evalue))
-							.setHspBitScore(Double.parseDouble(bitScore))
-							.setPercentageIdentity(Double.parseDouble(percIdentity)/100)
-							.setMismatchCount(Integer.parseInt(mismatchCount));
-						hsps.add(hspBuilder.createBlastHsp());
-						if (scanner.hasNext()) line = fetchData(scanner);
-						lineNumber++;
 					}
-					hits.add(hitBuilder.setHsps(hsps).createBlastHit());
+					if (columns < COLUMNS) {
+						throw new ParseException("Expected " + COLUMNS + " tab separated columns at byte " + (offset + p)
+								+ " in:\n" + new String(b, p, end - p, StandardCharsets.UTF_8), (int) Math.min(Integer.MAX_VALUE, offset + p));
+					}
+					if (columns == COLUMNS) {
+						fields[columns] = end + 1;
+					}
+					int r = add();
+					try {
+						if (queryId == null || !same(b, queryFrom, queryTo, fields[0], fields[1] - 1)) {
+							queryFrom = fields[0];
+							queryTo = fields[1] - 1;
+							queryId = new String(b, queryFrom, queryTo - queryFrom, StandardCharsets.UTF_8);
+						}
+						if (subjectId == null || !same(b, subjectFrom, subjectTo, fields[1], fields[2] - 1)) {
+							subjectFrom = fields[1];
+							subjectTo = fields[2] - 1;
+							subjectId = new String(b, subjectFrom, subjectTo - subjectFrom, StandardCharsets.UTF_8);
+						}
+						queryIds[r] = queryId;
+						subjectIds[r] = subjectId;
+						evalues[r] = parseDouble(b, fields[10], fields[11] - 1);
+						// the other columns are not needed for hsps that are left out
+						if (evalues[r] <= maxEScore) {
+							identities[r] = parseDouble(b, fields[2], fields[3] - 1);
+							for (int c = 0; c < INTS; c++) {
+								ints[r * INTS + c] = parseInt(b, fields[3 + c], fields[4 + c] - 1);
+							}
+							bitScores[r] = parseDouble(b, fields[11], fields[12] - 1);
+						}
+					} catch (NumberFormatException e) {
+						throw new ParseException("Invalid numeric value met at byte " + (offset + p) + " in:\n"
+								+ new String(b, p, end - p, StandardCharsets.UTF_8), (int) Math.min(Integer.MAX_VALUE, offset + p));
+					}
 				}
-				results.add(resultBuilder.setHits(hits).createBlastResult());
-			} catch (NumberFormatException e) {
-				throw new ParseException("Invalid numeric value met at line "+ lineNumber+" in:\n"+line,0);
+				p = eol + 1;
 			}
 		}
-		return results;
 	}
 
-	private String fetchData(Scanner scanner){
-		String line;
-		String[] split;
+	private static boolean same(byte[] b, int from1, int to1, int from2, int to2) {
+		if (to1 - from1 != to2 - from2) {
+			return false;
+		}
+		for (int i = 0; i < to1 - from1; i++) {
+			if (b[from1 + i] != b[from2 + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// parses the bytes [from, to), allowing surrounding spaces
+	static int parseInt(byte[] b, int from, int to) {
+		while (from < to && b[from] == ' ') from++;
+		while (to > from && b[to - 1] == ' ') to--;
+		boolean negative = from < to && b[from] == '-';
+		if (negative || (from < to && b[from] == '+')) from++;
+		if (from == to || to - from > 10) {
+			throw new NumberFormatException(new String(b, from, to - from, StandardCharsets.UTF_8));
+		}
+		long value = 0;
+		for (int i = from; i < to; i++) {
+			int digit = b[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new NumberFormatException(new String(b, from, to - from, StandardCharsets.UTF_8));
+			}
+			value = 10 * value + digit;
+		}
+		value = negative ? -value : value;
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new NumberFormatException(new String(b, from, to - from, StandardCharsets.UTF_8));
+		}
+		return (int) value;
+	}
+
+	// parses the bytes [from, to) as Double.parseDouble would; only numbers beyond the exact fast path allocate
+	static double parseDouble(byte[] b, int from, int to) {
+		while (from < to && b[from] == ' ') from++;
+		while (to > from && b[to - 1] == ' ') to--;
+		int i = from;
+		boolean negative = i < to && b[i] == '-';
+		if (negative || (i < to && b[i] == '+')) i++;
+		long mantissa = 0;
+		int scale = 0, exponent = 0;
+		boolean exact = true;
+		int start = i;
+		for (; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+			if (mantissa < MAX_EXACT_MANTISSA / 10) {
+				mantissa = 10 * mantissa + (b[i] - '0');
+			} else {
+				exact = false;
+			}
+		}
+		int integerDigits = i - start;
+		int fractionDigits = 0;
+		if (i < to && b[i] == '.') {
+			for (i++; i < to && b[i] >= '0' && b[i] <= '9'; i++, fractionDigits++) {
+				if (mantissa < MAX_EXACT_MANTISSA / 10) {
+					mantissa = 10 * mantissa + (b[i] - '0');
+					scale++;
+				} else {
+					exact = false;
+				}
+			}
+		}
+		if (integerDigits + fractionDigits == 0) {
+			exact = false;
+		}
+		if (exact && i < to && (b[i] == 'e' || b[i] == 'E')) {
+			i++;
+			boolean negativeExponent = i < to && b[i] == '-';
+			if (negativeExponent || (i < to && b[i] == '+')) i++;
+			int exponentStart = i;
+			for (; i < to && b[i] >= '0' && b[i] <= '9' && i - exponentStart < 4; i++) {
+				exponent = 10 * exponent + (b[i] - '0');
+			}
+			if (i == exponentStart) {
+				exact = false;
+			}
+			exponent = negativeExponent ? -exponent : exponent;
+		}
+		int power = exponent - scale;
+		if (!exact || i != to || power < -22 || power > 22) {
+			return Double.parseDouble(new String(b, from, to - from, StandardCharsets.UTF_8));
+		}
+		double value = (power < 0) ? mantissa / POWERS_OF_TEN[-power] : mantissa * POWERS_OF_TEN[power];
+		return negative ? -value : value;
+	}
 
-		line = scanner.nextLine();
-		while (line.charAt(0) == '#'){
-			// blast tabular with header options contains some more informations
-			if (line.matches("#\\s.?BLAST.+")) programName = line.replace("#\\s","");
-			if (line.startsWith("# Query:")) queryName = line.replace("# Query: ","");
-			if (line.startsWith("# Database:")) databaseFile = line.replace("# Database: ","");
+	/**
+	 * Groups the records into results, a query at a time, and hits, a subject at a time,
+	 * keeping track of the header comments.
+	 */
+	private class ResultAssembler {
 
-			// needed because blast report can end with a comment...
-			if (!scanner.hasNext()) return null;
-			line = scanner.nextLine();
+		private final double maxEScore;
+		private final Consumer<Result> results;
+
+		private int queryIdNumber = 0;
+		private final Map<String,String> queryIdMapping = new HashMap<>();
+		private String programName=null, queryName = null, databaseFile = null;
+
+		private BlastResultBuilder resultBuilder;
+		private String queryId, subjectId;
+		private List<Hit> hits;
+		private List<Hsp> hsps;
+
+		private ResultAssembler(double maxEScore, Consumer<Result> results) {
+			this.maxEScore = maxEScore;
+			this.results = results;
 		}
 
-		// Here, programName != null checks if there was a header in the file
-		boolean headerFound = programName != null;
+		private void add(Records records) {
+			for (int r = 0; r < records.size; r++) {
+				String comment = records.comments[r];
+				if (comment != null) {
+					// blast tabular with header options contains some more informations
+					if (comment.matches("#\\s.?BLAST.+")) programName = comment.replace("#\\s","");
+					if (comment.startsWith("# Query:")) queryName = comment.replace("# Query: ","");
+					if (comment.startsWith("# Database:")) databaseFile = comment.replace("# Database: ","");
+					continue;
+				}
 
-		split = line.split("\\t");
-		queryId      =split[0];
-		subjectId    =split[1];
-		percIdentity =split[2];
-		alnLength    =split[3];
-		mismatchCount=split[4];
-		gapOpenCount =split[5];
-		queryStart   =split[6];
-		queryEnd     =split[7];
-		subjectStart =split[8];
-		subjectEnd   =split[9];
-		evalue       =split[10];
-		bitScore     =split[11];
+				// Here, programName != null checks if there was a header in the file
+				boolean headerFound = programName != null;
+				String id = records.queryIds[r];
+				// blast tabular reports only the first word of the query name.
+				// If it was specified in the header it is better to use that definition
+				if (parsingConsistency == PARSING_CONSISTENCY.IMPROVED && headerFound) {
 
-		// blast tabular reports only the first word of the query name.
-		// If it was specified in the header it is better to use that definition
-		if (parsingConsistency == PARSING_CONSISTENCY.IMPROVED && headerFound) {
+					// If a complete definition of the query name was readed, than we can use
+					// a queryID schema that is consistent with blast xml report
+					id = queryIdMapping.computeIfAbsent(id, x -> "Query_" + (++queryIdNumber));
+				}
+				if (!headerFound) queryName = records.queryIds[r];
+
+				if (resultBuilder == null || !id.equals(queryId)) {
+					finish();
+					queryId = id;
+					resultBuilder = new BlastResultBuilder();
+					resultBuilder
+							.setQueryID(queryId)
+							.setDbFile(databaseFile)
+							.setProgram(programName)
+							.setQueryDef(queryName)
+							.setReference(blastReference);
+					hits = new ArrayList<>();
+				}
+				if (hsps == null || !records.subjectIds[r].equals(subjectId)) {
+					finishHit();
+					subjectId = records.subjectIds[r];
+					hsps = new ArrayList<>();
+				}
+				if (records.evalues[r] > maxEScore) {
+					continue;
+				}
+				int i = r * INTS;
+				BlastHspBuilder hspBuilder = new BlastHspBuilder();
+				hspBuilder
+					.setHspAlignLen(records.ints[i])
+					.setHspGaps(records.ints[i + 2])
+					.setHspQueryFrom(records.ints[i + 3])
+					.setHspQueryTo(records.ints[i + 4])
+					.setHspHitFrom(records.ints[i + 5])
+					.setHspHitTo(records.ints[i + 6])
+					.setHspEvalue(records.evalues[r])
+					.setHspBitScore(records.bitScores[r])
+					.setPercentageIdentity(records.identities[r]/100)
+					.setMismatchCount(records.ints[i + 1]);
+				hsps.add(hspBuilder.createBlastHsp());
+			}
+		}
 
-			// If a complete definition of the query name was readed, than we can use
-			// a queryID schema that is consistent with blast xml report
-			queryId = queryIdMapping.computeIfAbsent(queryId, x -> "Query_" + (++queryIdNumber));
+		private void finishHit() {
+			if (hsps != null) {
+				hits.add(new BlastHitBuilder().setHsps(hsps).createBlastHit());
+				hsps = null;
+			}
 		}
-		if (!headerFound) queryName = queryId;
 
-		return line;
+		// ends the current result, if any
+		private void finish() {
+			if (resultBuilder != null) {
+				finishHit();
+				results.accept(resultBuilder.setHits(hits).createBlastResult());
+				resultBuilder = null;
+			}
+		}
 	}
 
 	@Override
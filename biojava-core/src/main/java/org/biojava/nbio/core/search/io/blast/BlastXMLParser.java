@@ -26,21 +26,26 @@ import org.biojava.nbio.core.search.io.Hsp;
 import org.biojava.nbio.core.search.io.Result;
 import org.biojava.nbio.core.search.io.ResultFactory;
 import org.biojava.nbio.core.sequence.template.Sequence;
-import org.biojava.nbio.core.util.XMLHelper;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Re-designed by Paolo Pavan on the footprint of:
@@ -50,12 +55,16 @@ import java.util.Map;
  * or discuss major changes.
  * https://github.com/paolopavan
  *
+ * The file is read as a stream, with StAX, rather than loaded into a document: each
+ * Iteration becomes a {@link Result} as soon as it has been read, which can be handed to a
+ * consumer with {@link #parse(double, Consumer)} or pulled with {@link #iterator(double)},
+ * so that memory does not grow with the size of the file. Hsps above the maximum e-value
+ * are skipped as they are read.
  *
  * @author Paolo Pavan
  */
 public class BlastXMLParser implements ResultFactory {
 	private static final org.slf4j.Logger logger = LoggerFactory.getLogger(Hsp.class);
-	Document blastDoc = null;
 	private File targetFile;
 	private List<Sequence> queryReferences, databaseReferences;
 	private Map<String,Sequence> queryReferencesMap, databaseReferencesMap;
@@ -68,131 +77,352 @@ public class BlastXMLParser implements ResultFactory {
 		targetFile = f;
 	}
 
-	private void readFile(String blastFile) throws IOException, ParseException{
-		logger.info("Start reading " + blastFile);
-		try {
-			blastDoc = XMLHelper.loadXML(blastFile);
-		} catch (SAXException ex) {
-			logger.error("A parsing error has occurred while reading XML blast file");
-			throw new ParseException(ex.getMessage(),0);
-		} catch (ParserConfigurationException ex) {
-			logger.error("Internal XML parser non properly configured");
-			throw new ParseException(ex.getMessage(),0);
+	@Override
+	public List<Result> createObjects(double maxEScore) throws IOException, ParseException {
+		List<Result> resultsCollection = new ArrayList<>();
+		parse(maxEScore, resultsCollection::add);
+		logger.info(resultsCollection.size() + " results");
+		return resultsCollection;
+	}
+
+	/**
+	 * Parses the file, handing each result to the consumer as soon as it has been read.
+	 * Only the current result is held in memory.
+	 *
+	 * @param maxEScore the maximum e-value of the hsps to keep
+	 * @param consumer receives the results, in file order
+	 * @throws IOException if the file cannot be read
+	 * @throws ParseException if the file is not well formed BLAST XML
+	 * @since 5.3.1
+	 */
+	public void parse(double maxEScore, Consumer<? super Result> consumer) throws IOException, ParseException {
+		try (ResultIterator results = iterator(maxEScore)) {
+			Result result;
+			while ((result = results.read()) != null) {
+				consumer.accept(result);
+			}
 		}
-		logger.info("Read finished");
+		logger.info("Parsing of "+targetFile+" finished.");
 	}
 
-	@Override
-	public List<Result> createObjects(double maxEScore) throws IOException, ParseException {
+	/**
+	 * Opens the file and returns an iterator reading one result at a time. The iterator
+	 * should be closed once done with, to close the file; it is closed at the end of the file.
+	 * Errors met while iterating are thrown as an {@link IllegalStateException} caused by the
+	 * {@link IOException} or {@link ParseException}.
+	 *
+	 * @param maxEScore the maximum e-value of the hsps to keep
+	 * @return the results, in file order
+	 * @throws IOException if the file cannot be opened
+	 * @throws ParseException if the start of the file is not well formed XML
+	 * @since 5.3.1
+	 */
+	public ResultIterator iterator(double maxEScore) throws IOException, ParseException {
 		if (targetFile == null) throw new IllegalStateException("File to be parsed not specified.");
 
-		// getAbsolutePath throws SecurityException
-		readFile(targetFile.getAbsolutePath());
 		// create mappings between sequences and blast id
 		mapIds();
+		logger.info("Start reading " + targetFile);
+		return new ResultIterator(new BufferedInputStream(new FileInputStream(targetFile)), maxEScore);
+	}
+
+	/**
+	 * Reads the Iterations of a BLAST XML stream as results, one at a time.
+	 *
+	 * @since 5.3.1
+	 */
+	public class ResultIterator implements Iterator<Result>, Closeable {
+
+		private final InputStream stream;
+		private final XMLStreamReader reader;
+		private final double maxEScore;
+
+		// the BlastOutput* sections, which come before the iterations
+		private String program, version, reference, dbFile;
+		private Result next;
+		private boolean done;
+
+		private ResultIterator(InputStream stream, double maxEScore) throws IOException, ParseException {
+			this.stream = stream;
+			this.maxEScore = maxEScore;
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			// the NCBI DTD is neither fetched nor needed
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+			try {
+				reader = factory.createXMLStreamReader(stream);
+			} catch (XMLStreamException e) {
+				stream.close();
+				throw toParseException(e);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !done) {
+				try {
+					next = read();
+				} catch (IOException | ParseException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public Result next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Result result = next;
+			next = null;
+			return result;
+		}
+
+		@Override
+		public void close() throws IOException {
+			done = true;
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				logger.warn("Could not close the XML reader: {}", e.getMessage());
+			} finally {
+				stream.close();
+			}
+		}
+
+		// returns the next iteration with hits, or null at the end of the file
+		private Result read() throws IOException, ParseException {
+			if (next != null) {
+				Result result = next;
+				next = null;
+				return result;
+			}
+			try {
+				while (!done && reader.hasNext()) {
+					if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+						continue;
+					}
+					switch (reader.getLocalName()) {
+					case "BlastOutput":
+					case "BlastOutput_iterations":
+						break;
+					case "BlastOutput_program":
+						program = reader.getElementText();
+						break;
+					case "BlastOutput_version":
+						version = reader.getElementText();
+						break;
+					case "BlastOutput_reference":
+						reference = reader.getElementText();
+						break;
+					case "BlastOutput_db":
+						dbFile = reader.getElementText();
+						break;
+					case "Iteration":
+						Result result = readIteration();
+						if (result != null) {
+							return result;
+						}
+						break;
+					default:
+						skipElement();
+					}
+				}
+			} catch (XMLStreamException e) {
+				close();
+				throw toParseException(e);
+			} catch (NumberFormatException e) {
+				close();
+				throw new ParseException(e.getMessage(), reader.getLocation().getCharacterOffset());
+			}
+			close();
+			return null;
+		}
+
+		// only Iterations with an Iteration_hits element are results
+		private Result readIteration() throws XMLStreamException {
+			BlastResultBuilder resultBuilder = new BlastResultBuilder();
+			// will add BlastOutput* key sections in the result object
+			resultBuilder
+				.setProgram(program)
+				.setVersion(version)
+				.setReference(reference)
+				.setDbFile(dbFile);
+			List<Hit> hitsCollection = null;
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				switch (reader.getLocalName()) {
+				case "Iteration_iter-num":
+					resultBuilder.setIterationNumber(readInt());
+					break;
+				case "Iteration_query-ID":
+					String queryID = reader.getElementText();
+					resultBuilder.setQueryID(queryID);
+					if (queryReferences != null) resultBuilder.setQuerySequence(queryReferencesMap.get(queryID));
+					break;
+				case "Iteration_query-def":
+					resultBuilder.setQueryDef(reader.getElementText());
+					break;
+				case "Iteration_query-len":
+					resultBuilder.setQueryLength(readInt());
+					break;
+				case "Iteration_hits":
+					hitsCollection = new ArrayList<>();
+					while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						if ("Hit".equals(reader.getLocalName())) {
+							hitsCollection.add(readHit());
+						} else {
+							skipElement();
+						}
+					}
+					break;
+				default:
+					skipElement();
+				}
+			}
+			if (hitsCollection == null) {
+				return null;
+			}
+			// finally set the computed Hit collection to the result
+			resultBuilder.setHits(hitsCollection);
+			return resultBuilder.createBlastResult();
+		}
 
-		ArrayList<Result> resultsCollection;
-		ArrayList<Hit> hitsCollection;
-		ArrayList<Hsp> hspsCollection;
-
-		try {
-			// select top level elements
-			String program = XMLHelper.selectSingleElement(blastDoc.getDocumentElement(),"BlastOutput_program").getTextContent();
-			String version = XMLHelper.selectSingleElement(blastDoc.getDocumentElement(),"BlastOutput_version").getTextContent();
-			String reference = XMLHelper.selectSingleElement(blastDoc.getDocumentElement(),"BlastOutput_reference").getTextContent();
-			String dbFile = XMLHelper.selectSingleElement(blastDoc.getDocumentElement(),"BlastOutput_db").getTextContent();
-
-			logger.info("Query for hits in "+ targetFile);
-			List<Element> IterationsList = XMLHelper.selectElements(blastDoc.getDocumentElement(), "BlastOutput_iterations/Iteration[Iteration_hits]");
-			logger.info(IterationsList.size() + " results");
-
-			resultsCollection = new ArrayList<>();
-			for (Element element : IterationsList) {
-				BlastResultBuilder resultBuilder = new BlastResultBuilder();
-				// will add BlastOutput* key sections in the result object
-				resultBuilder
-					.setProgram(program)
-					.setVersion(version)
-					.setReference(reference)
-					.setDbFile(dbFile);
-
-				// Iteration* section keys:
-				resultBuilder
-					.setIterationNumber(Integer.parseInt(XMLHelper.selectSingleElement(element, "Iteration_iter-num").getTextContent()))
-					.setQueryID(XMLHelper.selectSingleElement(element,"Iteration_query-ID").getTextContent())
-					.setQueryDef(XMLHelper.selectSingleElement(element, "Iteration_query-def").getTextContent())
-					.setQueryLength(Integer.parseInt(XMLHelper.selectSingleElement(element, "Iteration_query-len").getTextContent()));
-
-				if (queryReferences != null) resultBuilder.setQuerySequence(queryReferencesMap.get(
-						XMLHelper.selectSingleElement(element,"Iteration_query-ID").getTextContent()
-				));
-
-
-
-				hitsCollection = new ArrayList<>();
-
-				Element iterationHitsElement = XMLHelper.selectSingleElement(element, "Iteration_hits");
-				List<Element> hitList = XMLHelper.selectElements(iterationHitsElement, "Hit");
-
-				for (Element hitElement : hitList) {
-					BlastHitBuilder blastHitBuilder = new BlastHitBuilder();
-					blastHitBuilder
-						.setHitNum(Integer.parseInt(XMLHelper.selectSingleElement(hitElement, "Hit_num").getTextContent()))
-						.setHitId(XMLHelper.selectSingleElement(hitElement, "Hit_id").getTextContent())
-						.setHitDef(XMLHelper.selectSingleElement(hitElement, "Hit_def").getTextContent())
-						.setHitAccession(XMLHelper.selectSingleElement(hitElement, "Hit_accession").getTextContent())
-						.setHitLen(Integer.parseInt(XMLHelper.selectSingleElement(hitElement, "Hit_len").getTextContent()));
-
-					if (databaseReferences != null) blastHitBuilder.setHitSequence(databaseReferencesMap.get(
-						XMLHelper.selectSingleElement(hitElement, "Hit_id").getTextContent()
-					));
-
-					Element hithspsElement = XMLHelper.selectSingleElement(hitElement, "Hit_hsps");
-					List<Element> hspList = XMLHelper.selectElements(hithspsElement, "Hsp");
-
-					hspsCollection = new ArrayList<>();
-					for (Element hspElement : hspList) {
-						double evalue = new Double(XMLHelper.selectSingleElement(hspElement, "Hsp_evalue").getTextContent());
-
-						// add the new hsp only if it pass the specified threshold. It can save lot of memory and some parsing time
-						if (evalue <= maxEScore) {
-							BlastHspBuilder blastHspBuilder = new BlastHspBuilder();
-							blastHspBuilder
-								.setHspNum(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_num").getTextContent()))
-								.setHspBitScore(new Double(XMLHelper.selectSingleElement(hspElement, "Hsp_bit-score").getTextContent()))
-								.setHspScore(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_score").getTextContent()))
-								.setHspEvalue(evalue)
-								.setHspQueryFrom(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_query-from").getTextContent()))
-								.setHspQueryTo(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_query-to").getTextContent()))
-								.setHspHitFrom(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_hit-from").getTextContent()))
-								.setHspHitTo(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_hit-to").getTextContent()))
-								.setHspQueryFrame(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_query-frame").getTextContent()))
-								.setHspHitFrame(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_hit-frame").getTextContent()))
-								.setHspIdentity(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_identity").getTextContent()))
-								.setHspPositive(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_positive").getTextContent()))
-								.setHspGaps(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_gaps").getTextContent()))
-								.setHspAlignLen(Integer.parseInt(XMLHelper.selectSingleElement(hspElement, "Hsp_align-len").getTextContent()))
-								.setHspQseq(XMLHelper.selectSingleElement(hspElement, "Hsp_qseq").getTextContent())
-								.setHspHseq(XMLHelper.selectSingleElement(hspElement, "Hsp_hseq").getTextContent())
-								.setHspIdentityString(XMLHelper.selectSingleElement(hspElement, "Hsp_midline").getTextContent());
-
-							hspsCollection.add(blastHspBuilder.createBlastHsp());
+		private Hit readHit() throws XMLStreamException {
+			BlastHitBuilder blastHitBuilder = new BlastHitBuilder();
+			List<Hsp> hspsCollection = new ArrayList<>();
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				switch (reader.getLocalName()) {
+				case "Hit_num":
+					blastHitBuilder.setHitNum(readInt());
+					break;
+				case "Hit_id":
+					String hitId = reader.getElementText();
+					blastHitBuilder.setHitId(hitId);
+					if (databaseReferences != null) blastHitBuilder.setHitSequence(databaseReferencesMap.get(hitId));
+					break;
+				case "Hit_def":
+					blastHitBuilder.setHitDef(reader.getElementText());
+					break;
+				case "Hit_accession":
+					blastHitBuilder.setHitAccession(reader.getElementText());
+					break;
+				case "Hit_len":
+					blastHitBuilder.setHitLen(readInt());
+					break;
+				case "Hit_hsps":
+					while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						Hsp hsp = "Hsp".equals(reader.getLocalName()) ? readHsp() : null;
+						if (hsp != null) {
+							hspsCollection.add(hsp);
 						}
 					}
-					// finally set the computed hsp collection and create Hit object
-					blastHitBuilder.setHsps(hspsCollection);
-					hitsCollection.add(blastHitBuilder.createBlastHit());
+					break;
+				default:
+					skipElement();
 				}
-				// finally set the computed Hit collection to the result
-				resultBuilder.setHits(hitsCollection);
-				resultsCollection.add(resultBuilder.createBlastResult());
 			}
-		} catch (XPathException e) {
-			throw new ParseException(e.getMessage(),0);
+			// finally set the computed hsp collection and create Hit object
+			blastHitBuilder.setHsps(hspsCollection);
+			return blastHitBuilder.createBlastHit();
 		}
-		logger.info("Parsing of "+targetFile+" finished.");
 
-		return resultsCollection;
+		// returns null, without reading the rest of the Hsp, when its e-value is above the threshold
+		private Hsp readHsp() throws XMLStreamException {
+			BlastHspBuilder blastHspBuilder = new BlastHspBuilder();
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				switch (reader.getLocalName()) {
+				case "Hsp_num":
+					blastHspBuilder.setHspNum(readInt());
+					break;
+				case "Hsp_bit-score":
+					blastHspBuilder.setHspBitScore(readDouble());
+					break;
+				case "Hsp_score":
+					blastHspBuilder.setHspScore(readInt());
+					break;
+				case "Hsp_evalue":
+					double evalue = readDouble();
+					// add the new hsp only if it pass the specified threshold. It can save lot of memory and some parsing time
+					if (evalue > maxEScore) {
+						skipElement();
+						return null;
+					}
+					blastHspBuilder.setHspEvalue(evalue);
+					break;
+				case "Hsp_query-from":
+					blastHspBuilder.setHspQueryFrom(readInt());
+					break;
+				case "Hsp_query-to":
+					blastHspBuilder.setHspQueryTo(readInt());
+					break;
+				case "Hsp_hit-from":
+					blastHspBuilder.setHspHitFrom(readInt());
+					break;
+				case "Hsp_hit-to":
+					blastHspBuilder.setHspHitTo(readInt());
+					break;
+				case "Hsp_query-frame":
+					blastHspBuilder.setHspQueryFrame(readInt());
+					break;
+				case "Hsp_hit-frame":
+					blastHspBuilder.setHspHitFrame(readInt());
+					break;
+				case "Hsp_identity":
+					blastHspBuilder.setHspIdentity(readInt());
+					break;
+				case "Hsp_positive":
+					blastHspBuilder.setHspPositive(readInt());
+					break;
+				case "Hsp_gaps":
+					blastHspBuilder.setHspGaps(readInt());
+					break;
+				case "Hsp_align-len":
+					blastHspBuilder.setHspAlignLen(readInt());
+					break;
+				case "Hsp_qseq":
+					blastHspBuilder.setHspQseq(reader.getElementText());
+					break;
+				case "Hsp_hseq":
+					blastHspBuilder.setHspHseq(reader.getElementText());
+					break;
+				case "Hsp_midline":
+					blastHspBuilder.setHspIdentityString(reader.getElementText());
+					break;
+				default:
+					skipElement();
+				}
+			}
+			return blastHspBuilder.createBlastHsp();
+		}
+
+		private int readInt() throws XMLStreamException {
+			return Integer.parseInt(reader.getElementText().trim());
+		}
+
+		private double readDouble() throws XMLStreamException {
+			return Double.parseDouble(reader.getElementText().trim());
+		}
+
+		// skips to the end tag of the element being read, or whose start tag the reader is on
+		private void skipElement() throws XMLStreamException {
+			int depth = 1;
+			while (depth > 0) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					depth++;
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					depth--;
+				}
+			}
+		}
+
+		private ParseException toParseException(XMLStreamException e) {
+			logger.error("A parsing error has occurred while reading XML blast file");
+			int offset = (e.getLocation() != null) ? e.getLocation().getCharacterOffset() : 0;
+			return new ParseException(e.getMessage(), offset);
+		}
 	}
 
 	@Override
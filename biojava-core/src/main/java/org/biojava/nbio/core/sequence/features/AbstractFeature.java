@@ -39,6 +39,8 @@ public abstract class AbstractFeature<S extends AbstractSequence<C>, C extends C
 	List<FeatureInterface<S, C>> childrenFeatures = new ArrayList<>();
 	FeatureInterface<S, C> parentFeature;
 	AbstractLocation sequenceLocation;
+	// the indexes of the lists this feature is in, told when it moves
+	final FeatureIndex.Indexes indexes = new FeatureIndex.Indexes();
 	String type;
 	String source;
 	private String description = "";
@@ -77,6 +79,7 @@ public abstract class AbstractFeature<S extends AbstractSequence<C>, C extends C
 	@Override
 	public void setLocation(AbstractLocation loc) {
 		sequenceLocation = loc;
+		indexes.locationChanged();
 	}
 
 	/**
@@ -45,6 +45,8 @@ import java.util.Map;
 public class FeatureDbReferenceInfo<S extends AbstractSequence<C>, C extends Compound> extends DBReferenceInfo implements FeatureInterface<S,C> {
 
 	private AbstractLocation location;
+	// the indexes of the lists this feature is in, told when it moves
+	final FeatureIndex.Indexes indexes = new FeatureIndex.Indexes();
 	private FeatureInterface<S,C> parentFeature;
 	private List<FeatureInterface<S, C>> childrenFeatures = new ArrayList<>();
 	private String description = "";
@@ -85,6 +87,7 @@ public class FeatureDbReferenceInfo<S extends AbstractSequence<C>, C extends Com
 	@Override
 	public void setLocation(AbstractLocation loc) {
 		location = loc;
+		indexes.locationChanged();
 	}
 
 	@Override
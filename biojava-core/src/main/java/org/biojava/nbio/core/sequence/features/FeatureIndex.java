@@ -0,0 +1,254 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.features;
+
+import org.biojava.nbio.core.sequence.location.template.AbstractLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Finds the features of a list overlapping a position or a range in O(log n + k) for k hits, rather than by scanning
+ * the list.  The list is kept in the order of {@link AbstractFeature#LOCATION_LENGTH} and is read as it is: the index
+ * keeps no copy of the features.
+ * <p>
+ * The index is an implicit augmented interval tree over the sorted list: the features are the nodes of a complete
+ * binary search tree on start position laid out in the list order, leaves at even indices, and each node keeps the
+ * largest end position of its subtree.  It is rebuilt on the first query after the list changed, see
+ * {@link #invalidate()}.  A change in the size of the list is noticed without it, and so is a call to
+ * {@code setLocation} on an {@link AbstractFeature} or a {@link FeatureDbReferenceInfo} of the list: such a feature
+ * tells the indexes it belongs to when it moves.  A location object changed in place by a subclass is not noticed.
+ * Should the list not be sorted when the index is built, for instance after a feature was moved, the index sorts it
+ * again, in O(n log n).  Hits are returned in list order.  The methods are synchronized, changes to the list itself
+ * are not.
+ *
+ * @param <F> the type of the features
+ * @since 5.3.1
+ */
+public class FeatureIndex<F extends FeatureInterface<?, ?>> {
+
+	private final List<F> features;
+
+	private int size = -1;
+	private int[] starts = new int[0], ends = new int[0], maxEnds = new int[0];
+	private int rootLevel;
+	private boolean moved;
+
+	/**
+	 * Indexes a list of features.
+	 *
+	 * @param features the features to index
+	 */
+	public FeatureIndex(List<F> features) {
+		this.features = features;
+	}
+
+	/**
+	 * Notes that the features of the list or their locations changed, so that the index is rebuilt before the next
+	 * query.
+	 */
+	public synchronized void invalidate() {
+		size = -1;
+	}
+
+	/**
+	 * Sorts the list again if one of its features moved since the index was built.  The features are then where
+	 * {@link AbstractFeature#LOCATION_LENGTH} puts them.
+	 */
+	public synchronized void sortIfMoved() {
+		if (moved) {
+			build();
+		}
+	}
+
+	/**
+	 * Adds a feature to the list where a stable sort of the list would put it, after the features equal to it, in
+	 * O(log n) comparisons.  The index is rebuilt before the next query.
+	 *
+	 * @param feature the feature to add
+	 */
+	public synchronized void insert(F feature) {
+		sortIfMoved();
+		int low = 0, high = features.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (AbstractFeature.LOCATION_LENGTH.compare(features.get(mid), feature) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		features.add(low, feature);
+		register(feature);
+		size = -1;
+	}
+
+	/**
+	 * Returns the features containing a position.
+	 *
+	 * @param position the position
+	 * @return the features whose location spans the position, in list order
+	 */
+	public List<F> getFeatures(int position) {
+		return getFeatures(position, position);
+	}
+
+	/**
+	 * Returns the features overlapping a range.
+	 *
+	 * @param start the first position of the range
+	 * @param end the last position of the range
+	 * @return the features whose location shares at least a position with the range, in list order
+	 */
+	public synchronized List<F> getFeatures(int start, int end) {
+		if (size != features.size() || moved) {
+			build();
+		}
+		List<F> hits = new ArrayList<>();
+		if (size > 0) {
+			find((1 << rootLevel) - 1, rootLevel, start, end, hits);
+		}
+		return hits;
+	}
+
+	private synchronized void locationChanged() {
+		moved = true;
+		size = -1;
+	}
+
+	// visits the subtree of the node in order
+	private void find(int node, int level, int start, int end, List<F> hits) {
+		int half = (level > 0) ? 1 << (level - 1) : 0;
+		if (node >= size) {
+			// only the left subtree of a node past the end of the list exists
+			if (level > 0) {
+				find(node - half, level - 1, start, end, hits);
+			}
+			return;
+		}
+		if (maxEnds[node] < start) {
+			return;
+		}
+		if (level > 0) {
+			find(node - half, level - 1, start, end, hits);
+		}
+		if (starts[node] > end) {
+			return;
+		}
+		if (ends[node] >= start) {
+			hits.add(features.get(node));
+		}
+		if (level > 0) {
+			find(node + half, level - 1, start, end, hits);
+		}
+	}
+
+	private void build() {
+		int n = features.size();
+		if (starts.length < n) {
+			starts = new int[n];
+			ends = new int[n];
+			maxEnds = new int[n];
+		}
+		if (!readLocations(n)) {
+			features.sort(AbstractFeature.LOCATION_LENGTH);
+			readLocations(n);
+		}
+		for (F feature : features) {
+			register(feature);
+		}
+		moved = false;
+		size = n;
+		rootLevel = 0;
+		if (n == 0) {
+			return;
+		}
+		// the last node on the right edge of each level, whose subtree may be cut short by the end of the list
+		int last = (n - 1) & ~1, lastMax = maxEnds[last];
+		for (int level = 1; 1 << level <= n; level++) {
+			int half = 1 << (level - 1);
+			for (int i = (1 << level) - 1; i < n; i += 1 << (level + 1)) {
+				int right = (i + half < n) ? maxEnds[i + half] : lastMax;
+				maxEnds[i] = Math.max(ends[i], Math.max(maxEnds[i - half], right));
+			}
+			last = ((last >> level & 1) != 0) ? last - half : last + half;
+			if (last < n) {
+				lastMax = Math.max(lastMax, maxEnds[last]);
+			}
+			rootLevel = level;
+		}
+	}
+
+	// so that the feature tells this index when it moves
+	private void register(F feature) {
+		if (feature instanceof AbstractFeature) {
+			((AbstractFeature<?, ?>) feature).indexes.add(this);
+		} else if (feature instanceof FeatureDbReferenceInfo) {
+			((FeatureDbReferenceInfo<?, ?>) feature).indexes.add(this);
+		}
+	}
+
+	// returns whether the features are sorted by start position
+	private boolean readLocations(int n) {
+		boolean sorted = true;
+		for (int i = 0; i < n; i++) {
+			AbstractLocation location = features.get(i).getLocations();
+			starts[i] = location.getStart().getPosition();
+			ends[i] = maxEnds[i] = location.getEnd().getPosition();
+			sorted &= i == 0 || starts[i] >= starts[i - 1];
+		}
+		return sorted;
+	}
+
+	/**
+	 * The indexes a feature belongs to, which it tells when it moves.  They are held weakly, so that a feature does
+	 * not keep the lists of a sequence it was removed from.
+	 */
+	static final class Indexes {
+
+		private Set<FeatureIndex<?>> indexes;
+
+		synchronized void add(FeatureIndex<?> index) {
+			if (indexes == null) {
+				indexes = Collections.newSetFromMap(new WeakHashMap<>());
+			}
+			indexes.add(index);
+		}
+
+		void locationChanged() {
+			List<FeatureIndex<?>> moved;
+			synchronized (this) {
+				if (indexes == null) {
+					return;
+				}
+				moved = new ArrayList<>(indexes);
+			}
+			for (FeatureIndex<?> index : moved) {
+				index.locationChanged();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,308 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.io.template.SequenceCreatorInterface;
+import org.biojava.nbio.core.sequence.io.template.SequenceHeaderParserInterface;
+import org.biojava.nbio.core.sequence.loader.ArrayListProxySequenceReader;
+import org.biojava.nbio.core.sequence.storage.ByteArraySequenceReader;
+import org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader;
+import org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader.TwoBitArrayWorker;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.ProxySequenceReader;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A FASTA parser working directly on the bytes of a {@link ByteBuffer}, a
+ * byte array or a memory mapped file.
+ * <p>
+ * {@link FastaReader} decodes the input into lines, concatenates them into a
+ * String and has the {@link SequenceCreatorInterface} parse that String again.
+ * This reader instead copies the residue bytes of a record into a reusable
+ * buffer and builds the storage of the sequence from it: when the compound set
+ * is a nucleotide set and the record only contains A, C, G and T, the residues
+ * are packed into a {@link TwoBitSequenceReader}, otherwise they are stored one
+ * byte per residue in a {@link ByteArraySequenceReader}. Only the header line becomes
+ * a String. Note that 2bit storage does not keep the case of the residues.
+ * <p>
+ * Records are read as by {@link FastaReader}: lines starting with ';' are
+ * ignored, records without residues are dropped and records with unrecognised
+ * compounds are logged and skipped. The sequences are created with
+ * {@link SequenceCreatorInterface#getSequence(ProxySequenceReader, long)}, the
+ * index passed being the offset of the first residue line.
+ * <pre>
+ * ByteFastaReader&lt;DNASequence, NucleotideCompound&gt; reader = new ByteFastaReader&lt;&gt;(
+ *         new File("genome.fasta"),
+ *         new GenericFastaHeaderParser&lt;&gt;(),
+ *         new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()),
+ *         DNACompoundSet.getDNACompoundSet());
+ * LinkedHashMap&lt;String, DNASequence&gt; sequences = reader.process();
+ * </pre>
+ *
+ * @param <S> the type of sequence returned
+ * @param <C> the compound type of the sequences
+ * @see IndexedFastaReader
+ * @since 5.3.1
+ */
+public class ByteFastaReader<S extends Sequence<?>, C extends Compound> {
+
+	private final static Logger logger = LoggerFactory.getLogger(ByteFastaReader.class);
+
+	private final ByteBuffer buffer;
+	private final SequenceHeaderParserInterface<S, C> headerParser;
+	private final SequenceCreatorInterface<C> sequenceCreator;
+	private final CompoundSet<C> compoundSet;
+	private final Compound[] compoundLookup;
+	private final TwoBitArrayWorker<?> twoBitTemplate;
+
+	private int position;
+	private String header;
+	private long sequenceIndex;
+	private byte[] residues = new byte[1 << 12];
+	private int residueCount;
+
+	/**
+	 * Parses the remaining bytes of a buffer, i.e. the bytes between its
+	 * position and its limit. The position of the buffer is not changed.
+	 * @param buffer the FASTA formatted bytes
+	 * @param headerParser the parser applied to the header of each record
+	 * @param sequenceCreator creates the sequences from their storage
+	 * @param compoundSet the compound set used to decode the residues
+	 */
+	public ByteFastaReader(ByteBuffer buffer, SequenceHeaderParserInterface<S, C> headerParser,
+			SequenceCreatorInterface<C> sequenceCreator, CompoundSet<C> compoundSet) {
+		this.buffer = buffer.slice();
+		this.headerParser = headerParser;
+		this.sequenceCreator = sequenceCreator;
+		this.compoundSet = compoundSet;
+		this.compoundLookup = buildLookup(compoundSet);
+		this.twoBitTemplate = compoundLookup['A'] instanceof NucleotideCompound ? twoBitWorker(compoundSet) : null;
+	}
+
+	/**
+	 * Parses a byte array.
+	 * @param bytes the FASTA formatted bytes
+	 * @param headerParser the parser applied to the header of each record
+	 * @param sequenceCreator creates the sequences from their storage
+	 * @param compoundSet the compound set used to decode the residues
+	 */
+	public ByteFastaReader(byte[] bytes, SequenceHeaderParserInterface<S, C> headerParser,
+			SequenceCreatorInterface<C> sequenceCreator, CompoundSet<C> compoundSet) {
+		this(ByteBuffer.wrap(bytes), headerParser, sequenceCreator, compoundSet);
+	}
+
+	/**
+	 * Parses a file through a memory mapping of it.
+	 * @param file the FASTA file, at most 2GB long
+	 * @param headerParser the parser applied to the header of each record
+	 * @param sequenceCreator creates the sequences from their storage
+	 * @param compoundSet the compound set used to decode the residues
+	 * @throws IOException if the file can't be mapped or is too large to be mapped in one piece
+	 */
+	public ByteFastaReader(File file, SequenceHeaderParserInterface<S, C> headerParser,
+			SequenceCreatorInterface<C> sequenceCreator, CompoundSet<C> compoundSet) throws IOException {
+		this(map(file), headerParser, sequenceCreator, compoundSet);
+	}
+
+	private static ByteBuffer map(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(file + " is too large (" + size
+						+ " bytes) to be mapped in one piece, use FastaReader or IndexedFastaReader instead");
+			}
+			// the mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static TwoBitArrayWorker<?> twoBitWorker(CompoundSet<?> compoundSet) {
+		return new TwoBitArrayWorker((CompoundSet) compoundSet, 0);
+	}
+
+	private static Compound[] buildLookup(CompoundSet<?> compoundSet) {
+		Compound[] lookup = new Compound[128];
+		if (compoundSet.getMaxSingleCompoundStringLength() < 1) {
+			return lookup;
+		}
+		for (int i = 0; i < lookup.length; i++) {
+			lookup[i] = compoundSet.getCompoundForString(String.valueOf((char) i));
+		}
+		return lookup;
+	}
+
+	/**
+	 * @return the number of bytes consumed so far
+	 */
+	public long getBytesRead() {
+		return position;
+	}
+
+	/**
+	 * Parses all the remaining records.
+	 * @return the records keyed by accession, in input order
+	 */
+	public LinkedHashMap<String, S> process() {
+		LinkedHashMap<String, S> sequences = new LinkedHashMap<>();
+		S sequence;
+		while ((sequence = next()) != null) {
+			sequences.put(sequence.getAccession().getID(), sequence);
+		}
+		return sequences;
+	}
+
+	/**
+	 * Parses the next record.
+	 * @return the next record, or null at the end of the input
+	 */
+	public S next() {
+		ByteBuffer in = buffer;
+		int limit = in.limit();
+		while (position < limit) {
+			int lineStart = position;
+			int lineEnd = lineStart;
+			while (lineEnd < limit && in.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+			position = lineEnd < limit ? lineEnd + 1 : limit;
+
+			// trim the line like FastaReader does
+			int start = lineStart;
+			int end = lineEnd;
+			while (start < end && (in.get(start) & 0xff) <= ' ') {
+				start++;
+			}
+			while (end > start && (in.get(end - 1) & 0xff) <= ' ') {
+				end--;
+			}
+			if (start == end) {
+				continue;
+			}
+
+			byte first = in.get(start);
+			if (first == '>') {
+				S sequence = residueCount > 0 ? createSequence() : null;
+				header = ascii(in, start + 1, end);
+				if (sequence != null) {
+					return sequence;
+				}
+			} else if (first != ';') {
+				if (residueCount == 0) {
+					sequenceIndex = lineStart;
+				}
+				appendResidues(in, start, end - start);
+			}
+		}
+
+		// end of input
+		S sequence = null;
+		if (residueCount > 0) {
+			sequence = createSequence();
+		} else if (header != null && header.length() != 0) {
+			logger.warn("Can't parse sequence {}. Got sequence of length 0!", sequenceIndex);
+			logger.warn("header: {}", header);
+		}
+		header = null;
+		return sequence;
+	}
+
+	private static String ascii(ByteBuffer in, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		ByteBuffer view = in.duplicate();
+		view.position(start);
+		view.get(bytes);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	private void appendResidues(ByteBuffer in, int start, int length) {
+		if (residueCount + length > residues.length) {
+			residues = Arrays.copyOf(residues, Math.max(residues.length * 2, residueCount + length));
+		}
+		ByteBuffer view = in.duplicate();
+		view.position(start);
+		view.get(residues, residueCount, length);
+		residueCount += length;
+	}
+
+	/**
+	 * Creates the sequence from the residues collected for the current header
+	 * and clears the buffer.
+	 * @return the sequence or null if it contains unrecognised compounds
+	 */
+	private S createSequence() {
+		try {
+			@SuppressWarnings("unchecked")
+			S sequence = (S) sequenceCreator.getSequence(createStorage(), sequenceIndex);
+			headerParser.parseHeader(header, sequence);
+			return sequence;
+		} catch (CompoundNotFoundException e) {
+			logger.warn("Sequence with header '{}' has unrecognised compounds ({}), it will be ignored",
+					header, e.getMessage());
+			return null;
+		} finally {
+			residueCount = 0;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private ProxySequenceReader<C> createStorage() throws CompoundNotFoundException {
+		if (twoBitTemplate != null) {
+			TwoBitArrayWorker worker = new TwoBitArrayWorker(twoBitTemplate, residueCount);
+			if (worker.canEncode(residues, 0, residueCount)) {
+				worker.populate(residues, 0, residueCount);
+				return new TwoBitSequenceReader(worker);
+			}
+		}
+		if (ByteArraySequenceReader.canStore(compoundSet)) {
+			return new ByteArraySequenceReader<>(residues, 0, residueCount, compoundSet);
+		}
+		List<C> compounds = new ArrayList<>(residueCount);
+		for (int i = 0; i < residueCount; i++) {
+			byte b = residues[i];
+			Compound c = b >= 0 ? compoundLookup[b] : null;
+			if (c == null) {
+				throw new CompoundNotFoundException("Compound not found for: " + (char) (b & 0xff));
+			}
+			compounds.add((C) c);
+		}
+		ArrayListProxySequenceReader<C> storage = new ArrayListProxySequenceReader<>();
+		storage.setCompoundSet(compoundSet);
+		storage.setContents(compounds);
+		return storage;
+	}
+}
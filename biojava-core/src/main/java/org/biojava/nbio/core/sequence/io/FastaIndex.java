@@ -0,0 +1,392 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * An index of the records in a FASTA file, compatible with the <code>.fai</code>
+ * files written by <code>samtools faidx</code>.
+ * <p>
+ * For every record the index stores the name (the header up to the first
+ * whitespace), the number of residues, the file offset of the first residue
+ * and the line layout. Together these allow the file offset of any residue to
+ * be computed in constant time, see {@link Entry#getByteOffset(long)}.
+ * Like faidx, every line of a record except the last must have the same length.
+ *
+ * @see IndexedFastaReader
+ * @since 5.3.1
+ */
+public class FastaIndex {
+
+	private final static Logger logger = LoggerFactory.getLogger(FastaIndex.class);
+
+	/** The suffix appended to a FASTA file name to get the name of its index */
+	public static final String INDEX_SUFFIX = ".fai";
+
+	private final LinkedHashMap<String, Entry> entries;
+
+	private FastaIndex(LinkedHashMap<String, Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * One record of the index, i.e. one line of a <code>.fai</code> file.
+	 */
+	public static class Entry {
+
+		private final String name;
+		private final long length;
+		private final long offset;
+		private final int lineBases;
+		private final int lineBytes;
+
+		/**
+		 * @param name the record name
+		 * @param length the number of residues of the record
+		 * @param offset the file offset of the first residue
+		 * @param lineBases the number of residues per line
+		 * @param lineBytes the number of bytes per line, including the line terminator
+		 */
+		public Entry(String name, long length, long offset, int lineBases, int lineBytes) {
+			this.name = name;
+			this.length = length;
+			this.offset = offset;
+			this.lineBases = lineBases;
+			this.lineBytes = lineBytes;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public int getLineBases() {
+			return lineBases;
+		}
+
+		public int getLineBytes() {
+			return lineBytes;
+		}
+
+		/**
+		 * Returns the file offset of the residue at the given position.
+		 * @param position 0-based position within the record
+		 * @return the file offset of the residue
+		 */
+		public long getByteOffset(long position) {
+			if (lineBases == 0) {
+				return offset;
+			}
+			return offset + (position / lineBases) * lineBytes + position % lineBases;
+		}
+
+		@Override
+		public String toString() {
+			return name + "\t" + length + "\t" + offset + "\t" + lineBases + "\t" + lineBytes;
+		}
+	}
+
+	/**
+	 * Returns the index entry of the record with the given name.
+	 * @param name the record name
+	 * @return the entry or null if there is no such record
+	 */
+	public Entry getEntry(String name) {
+		return entries.get(name);
+	}
+
+	/**
+	 * @return the record names in file order
+	 */
+	public List<String> getNames() {
+		return new ArrayList<>(entries.keySet());
+	}
+
+	/**
+	 * @return the index entries in file order
+	 */
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+	}
+
+	/**
+	 * @return the number of records in the index
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Writes the index in <code>.fai</code> format.
+	 * @param fai the file to write to
+	 * @throws IOException if the file can't be written
+	 */
+	public void write(File fai) throws IOException {
+		try (OutputStream os = new FileOutputStream(fai)) {
+			write(os);
+		}
+	}
+
+	/**
+	 * Writes the index in <code>.fai</code> format. The stream is not closed.
+	 * @param os the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	public void write(OutputStream os) throws IOException {
+		Writer w = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.US_ASCII));
+		for (Entry e : entries.values()) {
+			w.write(e.toString());
+			w.write('\n');
+		}
+		w.flush();
+	}
+
+	/**
+	 * Reads an index in <code>.fai</code> format.
+	 * @param fai the index file
+	 * @return the index
+	 * @throws IOException if the file can't be read or is not a valid index
+	 */
+	public static FastaIndex read(File fai) throws IOException {
+		try (InputStream is = new FileInputStream(fai)) {
+			return read(is);
+		}
+	}
+
+	/**
+	 * Reads an index in <code>.fai</code> format. The stream is not closed.
+	 * @param is the stream to read from
+	 * @return the index
+	 * @throws IOException if the stream can't be read or is not a valid index
+	 */
+	public static FastaIndex read(InputStream is) throws IOException {
+		LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+		BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII));
+		String line;
+		int lineNumber = 0;
+		while ((line = br.readLine()) != null) {
+			lineNumber++;
+			if (line.isEmpty()) {
+				continue;
+			}
+			String[] fields = line.split("\t");
+			if (fields.length < 5) {
+				throw new IOException("Invalid FASTA index line " + lineNumber + ": expected 5 tab separated fields, found " + fields.length);
+			}
+			try {
+				Entry e = new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+						Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+				entries.put(e.getName(), e);
+			} catch (NumberFormatException e) {
+				throw new IOException("Invalid FASTA index line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+		return new FastaIndex(entries);
+	}
+
+	/**
+	 * Builds the index of a FASTA file with a single sequential scan.
+	 * @param fasta the FASTA file
+	 * @return the index
+	 * @throws IOException if the file can't be read or its line layout can't be indexed
+	 */
+	public static FastaIndex build(File fasta) throws IOException {
+		try (InputStream is = new FileInputStream(fasta)) {
+			return build(is);
+		}
+	}
+
+	/**
+	 * Builds the index of a FASTA file read from the given stream. The stream is not closed.
+	 * @param is a stream positioned at the start of the FASTA file
+	 * @return the index
+	 * @throws IOException if the stream can't be read or its line layout can't be indexed
+	 */
+	public static FastaIndex build(InputStream is) throws IOException {
+		Builder builder = new Builder();
+		byte[] buf = new byte[1 << 16];
+		int n;
+		while ((n = is.read(buf)) > 0) {
+			for (int i = 0; i < n; i++) {
+				builder.accept(buf[i]);
+			}
+		}
+		return builder.finish();
+	}
+
+	/**
+	 * Reads the index <code>fasta.fai</code> next to the given FASTA file if
+	 * it exists and is not older than the FASTA file. Otherwise the index is
+	 * built and, if possible, written next to the FASTA file for later use.
+	 * @param fasta the FASTA file
+	 * @return the index
+	 * @throws IOException if the file can't be read or its line layout can't be indexed
+	 */
+	public static FastaIndex loadOrBuild(File fasta) throws IOException {
+		File fai = new File(fasta.getPath() + INDEX_SUFFIX);
+		if (fai.isFile() && fai.lastModified() >= fasta.lastModified()) {
+			return read(fai);
+		}
+		FastaIndex index = build(fasta);
+		try {
+			index.write(fai);
+		} catch (IOException e) {
+			logger.warn("Could not write FASTA index {}: {}", fai, e.getMessage());
+		}
+		return index;
+	}
+
+	/**
+	 * Incremental scanner computing the faidx layout from the bytes of a FASTA file.
+	 */
+	private static class Builder {
+
+		private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+		private final StringBuilder name = new StringBuilder();
+
+		private long position = 0;
+		private long lineStart = 0;
+		private boolean atLineStart = true;
+		private boolean inHeader = false;
+		private boolean nameDone = false;
+		private int lineContent = 0;
+
+		// the record currently being scanned
+		private String recordName = null;
+		private long recordOffset;
+		private long recordLength;
+		private int lineBases;
+		private int lineBytes;
+		private boolean sawLastLine;
+
+		void accept(byte b) throws IOException {
+			if (b == '\n') {
+				if (atLineStart) {
+					// an empty line
+					lineStart = position;
+					lineContent = 0;
+				}
+				endLine(position + 1 - lineStart);
+				atLineStart = true;
+			} else {
+				if (atLineStart) {
+					atLineStart = false;
+					lineStart = position;
+					lineContent = 0;
+					inHeader = b == '>';
+					if (inHeader) {
+						name.setLength(0);
+						nameDone = false;
+						position++;
+						return;
+					}
+				}
+				if (inHeader) {
+					if (!nameDone) {
+						if (Character.isWhitespace(b)) {
+							nameDone = true;
+						} else {
+							name.append((char) b);
+						}
+					}
+				} else if (b != '\r') {
+					lineContent++;
+				}
+			}
+			position++;
+		}
+
+		private void endLine(long bytes) throws IOException {
+			if (inHeader) {
+				finishRecord();
+				recordName = name.toString();
+				recordOffset = lineStart + bytes;
+				recordLength = 0;
+				lineBases = -1;
+				lineBytes = -1;
+				sawLastLine = false;
+				inHeader = false;
+				return;
+			}
+			if (lineContent == 0) {
+				// blank lines are only allowed after the last sequence line
+				if (recordName != null) {
+					sawLastLine = true;
+				}
+				return;
+			}
+			if (recordName == null) {
+				throw new IOException("Sequence data found before the first FASTA header at offset " + lineStart);
+			}
+			if (sawLastLine) {
+				throw new IOException("Different line length in sequence '" + recordName + "' at offset " + lineStart
+						+ ", can't index this file");
+			}
+			if (lineBases < 0) {
+				lineBases = lineContent;
+				lineBytes = (int) bytes;
+			} else if (lineContent > lineBases) {
+				throw new IOException("Different line length in sequence '" + recordName + "' at offset " + lineStart
+						+ ", can't index this file");
+			} else if (lineContent < lineBases || bytes != lineBytes) {
+				sawLastLine = true;
+			}
+			recordLength += lineContent;
+		}
+
+		private void finishRecord() throws IOException {
+			if (recordName == null) {
+				return;
+			}
+			if (entries.containsKey(recordName)) {
+				throw new IOException("Duplicate sequence name '" + recordName + "' in FASTA file");
+			}
+			entries.put(recordName, new Entry(recordName, recordLength, recordOffset,
+					Math.max(lineBases, 0), Math.max(lineBytes, 0)));
+			recordName = null;
+		}
+
+		FastaIndex finish() throws IOException {
+			if (!atLineStart) {
+				// last line without terminator
+				endLine(position - lineStart);
+			}
+			finishRecord();
+			return new FastaIndex(entries);
+		}
+	}
+}
@@ -34,8 +34,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Use FastaReaderHelper as an example of how to use this class where FastaReaderHelper should be the
@@ -51,10 +59,14 @@ public class FastaReader<S extends Sequence<?>, C extends Compound> {
 	BufferedReaderBytesRead br;
 	InputStreamReader isr;
 	FileInputStream fi = null;
+	File file = null;
 	long fileIndex = 0;
+	long fileOffset = 0;
 	long sequenceIndex = 0;
 	String line = "";
 	String header= "";
+	private final StringBuilder sb = new StringBuilder();
+	private final Queue<Closeable> regionReaders = new ConcurrentLinkedQueue<>();
 
 	/**
 	 * If you are going to use FileProxyProteinSequenceCreator then do not use this constructor because we need details about
@@ -88,6 +100,7 @@ public class FastaReader<S extends Sequence<?>, C extends Compound> {
 	public FastaReader(File file, SequenceHeaderParserInterface<S,C> headerParser,
 					   SequenceCreatorInterface<C> sequenceCreator) throws FileNotFoundException {
 		this.headerParser = headerParser;
+		this.file = file;
 		fi = new FileInputStream(file);
 		isr = new InputStreamReader(fi);
 		this.br = new BufferedReaderBytesRead(isr);
@@ -134,47 +147,144 @@ public class FastaReader<S extends Sequence<?>, C extends Compound> {
 	 */
 	public LinkedHashMap<String,S> process(int max) throws IOException {
 
+		LinkedHashMap<String,S> sequences = new LinkedHashMap<>();
+		int processedSequences=0;
 
-		String line = "";
-		if(this.line != null && this.line.length() > 0){
-			line=this.line;
-		}
-		String header = "";
-		if(this.header != null && this.header.length() > 0){
-			header=this.header;
+		while (max < 0 || processedSequences < max) {
+			S sequence = readNext();
+			if (sequence == null) {
+				break;
+			}
+			sequences.put(sequence.getAccession().getID(),sequence);
+			processedSequences++;
 		}
 
-		StringBuilder sb = new StringBuilder();
-		int processedSequences=0;
-		boolean keepGoing = true;
+		return max > -1 && sequences.isEmpty() ? null :  sequences;
+	}
 
+	/**
+	 * Returns an iterator over the fasta records of the File or InputStream,
+	 * parsing one record at a time so that memory use does not depend on the
+	 * number of records. Records with unrecognised compounds are skipped, as in
+	 * {@link #process(int)}.<br>
+	 * <b>N.B.</b> the iterator shares the state of this reader: don't mix it with
+	 * calls to {@link #process(int)}, and remember to {@link #close()} the reader
+	 * if the iteration is not run to the end.
+	 * @return an iterator over the remaining records
+	 * @throws UncheckedIOException from {@link Iterator#hasNext()} if an error occurs reading the input
+	 * @since 5.3.1
+	 */
+	public Iterator<S> iterator() {
+		return new Iterator<S>() {
+			private S next;
 
-		LinkedHashMap<String,S> sequences = new LinkedHashMap<>();
+			@Override
+			public boolean hasNext() {
+				if (next == null) {
+					try {
+						next = readNext();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return next != null;
+			}
 
-		do {
+			@Override
+			public S next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				S sequence = next;
+				next = null;
+				return sequence;
+			}
+		};
+	}
+
+	/**
+	 * Returns a stream of the fasta records, parsed one at a time.<br>
+	 * If this reader was created from a {@link File} and nothing has been read
+	 * yet, the stream can be made parallel: the file is then split on record
+	 * boundaries and the parts are parsed concurrently, see {@link #spliterator()}.
+	 * Closing the stream closes this reader.
+	 * <pre>
+	 * try (Stream&lt;ProteinSequence&gt; s = reader.stream()) {
+	 *     long n = s.parallel().filter(p -&gt; p.getLength() &gt; 1000).count();
+	 * }
+	 * </pre>
+	 * @return a stream of the remaining records
+	 * @since 5.3.1
+	 */
+	public Stream<S> stream() {
+		return StreamSupport.stream(spliterator(), false).onClose(() -> {
+			try {
+				close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * Returns a spliterator over the fasta records. For readers created from a
+	 * {@link File} that have not been read from yet, the spliterator splits the
+	 * file on header lines, each part being parsed by its own reader over the
+	 * same file; otherwise it traverses the records sequentially, like {@link #iterator()}.
+	 * @return a spliterator over the remaining records
+	 * @since 5.3.1
+	 */
+	public Spliterator<S> spliterator() {
+		if (file == null || fileIndex != 0 || line == null || line.length() > 0) {
+			return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+		}
+		return new RecordSpliterator<>(file, new byte[] {'>'}, 0, file.length(),
+				(is, offset) -> {
+					FastaReader<S, C> reader = new FastaReader<>(is, headerParser, sequenceCreator);
+					reader.fileOffset = offset;
+					return new RecordSpliterator.RegionReader<S>() {
+						@Override
+						public S next() throws IOException {
+							return reader.readNext();
+						}
+
+						@Override
+						public void close() throws IOException {
+							reader.close();
+						}
+					};
+				},
+				regionReaders);
+	}
+
+	/**
+	 * Parses the next fasta record.
+	 * @return the next record, or null at the end of the input
+	 * @throws IOException if an error occurs reading the input
+	 */
+	private S readNext() throws IOException {
+		if (line == null) {
+			// end of input already reached
+			return null;
+		}
+
+		while (true) {
 			line = line.trim(); // nice to have but probably not needed
 			if (line.length() != 0) {
 				if (line.startsWith(">")) {//start of new fasta record
 
+					S sequence = null;
 					if (sb.length() > 0) {
 						//i.e. if there is already a sequence before
 						//logger.info("Sequence index=" + sequenceIndex);
-
-						try {
-							@SuppressWarnings("unchecked")
-							S sequence = (S)sequenceCreator.getSequence(sb.toString(), sequenceIndex);
-							headerParser.parseHeader(header, sequence);
-							sequences.put(sequence.getAccession().getID(),sequence);
-							processedSequences++;
-
-						} catch (CompoundNotFoundException e) {
-							logger.warn("Sequence with header '{}' has unrecognised compounds ({}), it will be ignored",
-									header, e.getMessage());
-						}
-
-						sb.setLength(0); //this is faster than allocating new buffers, better memory utilization (same buffer)
+						sequence = createSequence();
 					}
 					header = line.substring(1);
+					nextLine();
+					if (sequence != null) {
+						return sequence;
+					}
+					continue;
 				} else if (line.startsWith(";")) {
 				} else {
 					//mark the start of the sequence with the fileIndex before the line was read
@@ -184,42 +294,48 @@ public class FastaReader<S extends Sequence<?>, C extends Compound> {
 					sb.append(line);
 				}
 			}
-			fileIndex = br.getBytesRead();
-
-			line = br.readLine();
+			nextLine();
 
 			if (line == null) {
 				//i.e. EOF
+				S sequence = null;
 				int sbl = sb.length();
-				if ( sbl == 0 && header.length() != 0 ) {
+				if ( sbl == 0 && header != null && header.length() != 0 ) {
 					logger.warn("Can't parse sequence {}. Got sequence of length 0!", sequenceIndex);
 					logger.warn("header: {}", header);
-					header = null;
 				} else if ( sbl > 0 ) {
 					//logger.info("Sequence index=" + sequenceIndex + " " + fileIndex );
-					try {
-						@SuppressWarnings("unchecked")
-						S sequence = (S)sequenceCreator.getSequence(sb.toString(), sequenceIndex);
-						headerParser.parseHeader(header, sequence);
-						sequences.put(sequence.getAccession().getID(),sequence);
-						processedSequences++;
-						header = null;
-					} catch (CompoundNotFoundException e) {
-						logger.warn("Sequence with header '{}' has unrecognised compounds ({}), it will be ignored",
-								header, e.getMessage());
-					}
+					sequence = createSequence();
 				}
-				keepGoing = false;
-			}
-			if (max > -1 && processedSequences>=max) {
-				keepGoing=false;
+				header = null;
+				return sequence;
 			}
-		} while (keepGoing);
+		}
+	}
 
-		this.line  = line;
-		this.header= header;
+	private void nextLine() throws IOException {
+		fileIndex = fileOffset + br.getBytesRead();
+		line = br.readLine();
+	}
 
-		return max > -1 && sequences.isEmpty() ? null :  sequences;
+	/**
+	 * Creates the sequence from the residues collected for the current header
+	 * and clears the buffer.
+	 * @return the sequence or null if it contains unrecognised compounds
+	 */
+	private S createSequence() throws IOException {
+		try {
+			@SuppressWarnings("unchecked")
+			S sequence = (S)sequenceCreator.getSequence(sb.toString(), sequenceIndex);
+			headerParser.parseHeader(header, sequence);
+			return sequence;
+		} catch (CompoundNotFoundException e) {
+			logger.warn("Sequence with header '{}' has unrecognised compounds ({}), it will be ignored",
+					header, e.getMessage());
+			return null;
+		} finally {
+			sb.setLength(0); //this is faster than allocating new buffers, better memory utilization (same buffer)
+		}
 	}
 
 	public void close() throws IOException {
@@ -230,6 +346,11 @@ public class FastaReader<S extends Sequence<?>, C extends Compound> {
 			fi.close();
 		}
 		this.line=this.header = null;
+		//and the readers opened for the parts of a parallel stream
+		Closeable regionReader;
+		while ((regionReader = regionReaders.poll()) != null) {
+			regionReader.close();
+		}
 	}
 
 	public static void main(String[] args) {
@@ -37,10 +37,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Use {@link GenbankReaderHelper} as an example of how to use this class where {@link GenbankReaderHelper} should be the
@@ -52,7 +61,11 @@ public class GenbankReader<S extends AbstractSequence<C>, C extends Compound> {
 	private final SequenceCreatorInterface<C> sequenceCreator;
 	private final GenbankSequenceParser<S,C> genbankParser;
 	private final BufferedReader bufferedReader;
+	private final SequenceHeaderParserInterface<S,C> headerParser;
+	private final File file;
+	private final Queue<Closeable> regionReaders = new ConcurrentLinkedQueue<>();
 	private boolean closed;
+	private boolean started;
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
 	public boolean isClosed() {
@@ -70,6 +83,8 @@ public class GenbankReader<S extends AbstractSequence<C>, C extends Compound> {
 	public GenbankReader(final InputStream is, final SequenceHeaderParserInterface<S,C> headerParser,
 						 final SequenceCreatorInterface<C> sequenceCreator) {
 		this.sequenceCreator = sequenceCreator;
+		this.headerParser = headerParser;
+		this.file = null;
 		bufferedReader = new BufferedReader(new InputStreamReader(is));
 		genbankParser = new GenbankSequenceParser<>();
 		closed = false;
@@ -96,6 +111,8 @@ public class GenbankReader<S extends AbstractSequence<C>, C extends Compound> {
 
 		this.bufferedReader = new BufferedReader(new FileReader(file));
 		this.sequenceCreator = sequenceCreator;
+		this.headerParser = headerParser;
+		this.file = file;
 		genbankParser = new GenbankSequenceParser<>();
 	}
 
@@ -147,36 +164,135 @@ public class GenbankReader<S extends AbstractSequence<C>, C extends Compound> {
 		}
 
 		LinkedHashMap<String,S> sequences = new LinkedHashMap<>();
-		@SuppressWarnings("unchecked")
 		int i=0;
 		while(true) {
 			if(max>0 && i>=max) break;
 			i++;
-			String seqString = genbankParser.getSequence(bufferedReader, 0);
+			S sequence = readNext();
 			//reached end of file?
-			if(seqString==null) break;
-			@SuppressWarnings("unchecked")
-			S sequence = (S) sequenceCreator.getSequence(seqString, 0);
-			genbankParser.getSequenceHeaderParser().parseHeader(genbankParser.getHeader(), sequence);
-
-			// add features to new sequence
-			genbankParser.getFeatures().values().stream()
-			.flatMap(List::stream)
-			.forEach(sequence::addFeature);
-
-			// add taxonomy ID to new sequence
-			ArrayList<DBReferenceInfo> dbQualifier = genbankParser.getDatabaseReferences().get("db_xref");
-			if (dbQualifier != null){
-				DBReferenceInfo q = dbQualifier.get(0);
-				sequence.setTaxonomy(new TaxonomyID(q.getDatabase()+":"+q.getId(), DataSource.GENBANK));
-			}
-
+			if(sequence==null) break;
 			sequences.put(sequence.getAccession().getID(), sequence);
 		}
 
 		return sequences;
 	}
 
+	/**
+	 * Returns an iterator over the Genbank records of the File or InputStream,
+	 * parsing one record at a time so that memory use does not depend on the
+	 * number of records.<br>
+	 * <b>N.B.</b> the iterator shares the state of this reader: don't mix it with
+	 * calls to {@link #process(int)}, and remember to {@link #close()} the reader
+	 * if the iteration is not run to the end.
+	 * @return an iterator over the remaining records
+	 * @throws UncheckedIOException from {@link Iterator#hasNext()} if an error occurs reading the input
+	 * @since 5.3.1
+	 */
+	public Iterator<S> iterator() {
+		return new Iterator<S>() {
+			private S next;
+
+			@Override
+			public boolean hasNext() {
+				if (next == null) {
+					try {
+						next = readNext();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public S next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				S sequence = next;
+				next = null;
+				return sequence;
+			}
+		};
+	}
+
+	/**
+	 * Returns a stream of the Genbank records, parsed one at a time.<br>
+	 * If this reader was created from a {@link File} and nothing has been read
+	 * yet, the stream can be made parallel: the file is then split on LOCUS
+	 * lines and the parts are parsed concurrently, see {@link #spliterator()}.
+	 * Closing the stream closes this reader.
+	 * @return a stream of the remaining records
+	 * @since 5.3.1
+	 */
+	public Stream<S> stream() {
+		return StreamSupport.stream(spliterator(), false).onClose(this::close);
+	}
+
+	/**
+	 * Returns a spliterator over the Genbank records. For readers created from a
+	 * {@link File} that have not been read from yet, the spliterator splits the
+	 * file on LOCUS lines, each part being parsed by its own reader over the
+	 * same file; otherwise it traverses the records sequentially, like {@link #iterator()}.
+	 * @return a spliterator over the remaining records
+	 * @since 5.3.1
+	 */
+	public Spliterator<S> spliterator() {
+		if (file == null || started || closed) {
+			return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+		}
+		return new RecordSpliterator<>(file, "LOCUS".getBytes(StandardCharsets.US_ASCII), 0, file.length(),
+				(is, offset) -> {
+					GenbankReader<S, C> reader = new GenbankReader<>(is, headerParser, sequenceCreator);
+					return new RecordSpliterator.RegionReader<S>() {
+						@Override
+						public S next() throws IOException {
+							return reader.readNext();
+						}
+
+						@Override
+						public void close() {
+							reader.close();
+						}
+					};
+				},
+				regionReaders);
+	}
+
+	/**
+	 * Parses the next Genbank record.
+	 * @return the next record, or null at the end of the input
+	 * @throws IOException if an error occurs reading the input
+	 * @throws CompoundNotFoundException if the sequence contains unrecognised compounds
+	 */
+	private S readNext() throws IOException {
+		if(closed){
+			throw new IOException("Cannot perform action: resource has been closed.");
+		}
+		started = true;
+
+		String seqString = genbankParser.getSequence(bufferedReader, 0);
+		//reached end of file?
+		if(seqString==null) return null;
+		@SuppressWarnings("unchecked")
+		S sequence = (S) sequenceCreator.getSequence(seqString, 0);
+		genbankParser.getSequenceHeaderParser().parseHeader(genbankParser.getHeader(), sequence);
+
+		// add features to new sequence
+		genbankParser.getFeatures().values().stream()
+		.flatMap(List::stream)
+		.forEach(sequence::addFeature);
+
+		// add taxonomy ID to new sequence
+		ArrayList<DBReferenceInfo> dbQualifier = genbankParser.getDatabaseReferences().get("db_xref");
+		if (dbQualifier != null){
+			DBReferenceInfo q = dbQualifier.get(0);
+			sequence.setTaxonomy(new TaxonomyID(q.getDatabase()+":"+q.getId(), DataSource.GENBANK));
+		}
+
+		return sequence;
+	}
+
 	public void close() {
 		try {
 			bufferedReader.close();
@@ -185,6 +301,15 @@ public class GenbankReader<S extends AbstractSequence<C>, C extends Compound> {
 			logger.error("Couldn't close the reader.", e);
 			this.closed = false;
 		}
+		//and the readers opened for the parts of a parallel stream
+		Closeable regionReader;
+		while ((regionReader = regionReaders.poll()) != null) {
+			try {
+				regionReader.close();
+			} catch (IOException e) {
+				logger.error("Couldn't close the reader.", e);
+			}
+		}
 	}
 }
 
@@ -0,0 +1,275 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.biojava.nbio.core.sequence.io.template.SequenceCreatorInterface;
+import org.biojava.nbio.core.sequence.io.template.SequenceHeaderParserInterface;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Random access to the records of a FASTA file by name, using a
+ * <code>samtools faidx</code> compatible {@link FastaIndex} and a memory mapping of the file.
+ * <p>
+ * Unlike {@link FastaReader}, nothing is parsed up front: {@link #getSequence(String)}
+ * returns a sequence backed by an {@link IndexedFastaSequenceReader} that decodes
+ * residues from the mapped file on demand, so fetching a record or a sub sequence
+ * costs time proportional to its length, independent of the size of the file.
+ * Files larger than 2GB are mapped in several segments.
+ * <p>
+ * Example:
+ * <pre>
+ * IndexedFastaReader&lt;DNASequence, NucleotideCompound&gt; reader = new IndexedFastaReader&lt;&gt;(
+ *         new File("hg38.fa"),
+ *         new GenericFastaHeaderParser&lt;&gt;(),
+ *         new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()),
+ *         DNACompoundSet.getDNACompoundSet());
+ * String region = reader.getSequenceAsString("chr1", 1000000, 1000100);
+ * DNASequence chrM = reader.getSequence("chrM");
+ * </pre>
+ * The sequences returned stay readable only until {@link #close()} is called.
+ *
+ * @param <S> the type of sequence returned
+ * @param <C> the compound type of the sequences
+ * @see FastaIndex
+ * @since 5.3.1
+ */
+public class IndexedFastaReader<S extends Sequence<?>, C extends Compound> implements Closeable {
+
+	/** Size of the mapped segments, a power of 2 */
+	private static final int SEGMENT_BITS = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+	private final File file;
+	private final FastaIndex index;
+	private final SequenceHeaderParserInterface<S, C> headerParser;
+	private final SequenceCreatorInterface<C> sequenceCreator;
+	private final CompoundSet<C> compoundSet;
+	private final Compound[] compoundLookup;
+	private MappedByteBuffer[] segments;
+
+	/**
+	 * Opens a FASTA file for random access. The index is read from
+	 * <code>file.fai</code> if present, otherwise it is built and written there,
+	 * see {@link FastaIndex#loadOrBuild(File)}.
+	 * @param file the FASTA file
+	 * @param headerParser the parser applied to the header of each record returned
+	 * @param sequenceCreator creates the sequences from their proxy readers
+	 * @param compoundSet the compound set used to decode the residues
+	 * @throws IOException if the file can't be read, indexed or mapped
+	 */
+	public IndexedFastaReader(File file, SequenceHeaderParserInterface<S, C> headerParser,
+			SequenceCreatorInterface<C> sequenceCreator, CompoundSet<C> compoundSet) throws IOException {
+		this(file, FastaIndex.loadOrBuild(file), headerParser, sequenceCreator, compoundSet);
+	}
+
+	/**
+	 * Opens a FASTA file for random access using the given index.
+	 * @param file the FASTA file
+	 * @param index the index of <code>file</code>
+	 * @param headerParser the parser applied to the header of each record returned
+	 * @param sequenceCreator creates the sequences from their proxy readers
+	 * @param compoundSet the compound set used to decode the residues
+	 * @throws IOException if the file can't be mapped
+	 */
+	public IndexedFastaReader(File file, FastaIndex index, SequenceHeaderParserInterface<S, C> headerParser,
+			SequenceCreatorInterface<C> sequenceCreator, CompoundSet<C> compoundSet) throws IOException {
+		this.file = file;
+		this.index = index;
+		this.headerParser = headerParser;
+		this.sequenceCreator = sequenceCreator;
+		this.compoundSet = compoundSet;
+		this.compoundLookup = buildLookup(compoundSet);
+		this.segments = map(file);
+	}
+
+	private static MappedByteBuffer[] map(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			long size = channel.size();
+			int n = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+			MappedByteBuffer[] segments = new MappedByteBuffer[n];
+			for (int i = 0; i < n; i++) {
+				long start = (long) i << SEGMENT_BITS;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+			}
+			// the mapping stays valid after the channel is closed
+			return segments;
+		}
+	}
+
+	private static Compound[] buildLookup(CompoundSet<?> compoundSet) {
+		Compound[] lookup = new Compound[128];
+		if (compoundSet.getMaxSingleCompoundStringLength() < 1) {
+			return lookup;
+		}
+		for (int i = 0; i < lookup.length; i++) {
+			lookup[i] = compoundSet.getCompoundForString(String.valueOf((char) i));
+		}
+		return lookup;
+	}
+
+	/**
+	 * @return the FASTA file being read
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the index of the FASTA file
+	 */
+	public FastaIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the record names in file order
+	 */
+	public List<String> getNames() {
+		return index.getNames();
+	}
+
+	/**
+	 * @return the compound set used to decode residues
+	 */
+	public CompoundSet<C> getCompoundSet() {
+		return compoundSet;
+	}
+
+	/**
+	 * Returns the record with the given name. The residues are not read until
+	 * they are accessed, only the header line is parsed.
+	 * @param name the record name, i.e. the header up to the first whitespace
+	 * @return the sequence or null if there is no record with that name
+	 */
+	public S getSequence(String name) {
+		FastaIndex.Entry entry = index.getEntry(name);
+		if (entry == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		S sequence = (S) sequenceCreator.getSequence(new IndexedFastaSequenceReader<>(this, entry), entry.getOffset());
+		headerParser.parseHeader(getHeader(entry), sequence);
+		return sequence;
+	}
+
+	/**
+	 * Returns the residues of a region of a record as they appear in the file,
+	 * like <code>samtools faidx file name:start-end</code>.
+	 * @param name the record name
+	 * @param bioStart the first position, 1-based
+	 * @param bioEnd the last position, 1-based and inclusive
+	 * @return the residues or null if there is no record with that name
+	 * @throws IndexOutOfBoundsException if the region is outside of the record
+	 * @throws IllegalArgumentException if the region is longer than a String can be
+	 */
+	public String getSequenceAsString(String name, long bioStart, long bioEnd) {
+		FastaIndex.Entry entry = index.getEntry(name);
+		if (entry == null) {
+			return null;
+		}
+		if (bioStart < 1 || bioEnd > entry.getLength() || bioEnd < bioStart - 1) {
+			throw new IndexOutOfBoundsException("Region " + bioStart + "-" + bioEnd + " is outside of "
+					+ name + " (1-" + entry.getLength() + ")");
+		}
+		if (bioEnd - bioStart + 1 > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Region " + bioStart + "-" + bioEnd + " of " + name
+					+ " is too long to be read into a String");
+		}
+		char[] residues = new char[(int) (bioEnd - bioStart + 1)];
+		for (int i = 0; i < residues.length; i++) {
+			residues[i] = (char) (byteAt(entry.getByteOffset(bioStart - 1 + i)) & 0xff);
+		}
+		return new String(residues);
+	}
+
+	/**
+	 * Returns the full header line of a record, without the leading '&gt;'.
+	 * @param entry the index entry of the record
+	 * @return the header
+	 */
+	String getHeader(FastaIndex.Entry entry) {
+		long end = entry.getOffset() - 1; // the '\n' ending the header
+		if (end > 0 && byteAt(end - 1) == '\r') {
+			end--;
+		}
+		long start = end;
+		while (start > 0 && byteAt(start - 1) != '\n') {
+			start--;
+		}
+		// skip the '>'
+		start++;
+		byte[] header = new byte[(int) Math.max(0, end - start)];
+		for (int i = 0; i < header.length; i++) {
+			header[i] = byteAt(start + i);
+		}
+		return new String(header, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Decodes the residue at the given file offset.
+	 * @param offset the file offset
+	 * @return the compound
+	 * @throws IllegalStateException if the byte is not a compound of the compound set
+	 */
+	@SuppressWarnings("unchecked")
+	C compoundAt(long offset) {
+		byte b = byteAt(offset);
+		Compound c = b >= 0 ? compoundLookup[b] : null;
+		if (c == null) {
+			throw new IllegalStateException("Character '" + (char) (b & 0xff) + "' at offset " + offset + " of "
+					+ file + " is not a compound of " + compoundSet.getClass().getSimpleName());
+		}
+		return (C) c;
+	}
+
+	/**
+	 * @param offset the file offset
+	 * @return the byte at the given file offset
+	 */
+	byte byteAt(long offset) {
+		MappedByteBuffer[] s = segments;
+		if (s == null) {
+			throw new IllegalStateException("The reader for " + file + " has been closed");
+		}
+		return s[(int) (offset >>> SEGMENT_BITS)].get((int) (offset & SEGMENT_MASK));
+	}
+
+	/**
+	 * Releases the mapping of the file. Sequences obtained from this reader
+	 * can't be read afterwards.
+	 */
+	@Override
+	public void close() {
+		// mapped buffers are unmapped when they are garbage collected
+		segments = null;
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.biojava.nbio.core.sequence.AccessionID;
+import org.biojava.nbio.core.sequence.template.*;
+import org.biojava.nbio.core.util.Equals;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A read-only {@link ProxySequenceReader} for one record of a memory mapped
+ * FASTA file. Residues are decoded from the file each time they are accessed,
+ * nothing is cached, so the reader itself only costs a few bytes regardless
+ * of the length of the record.
+ * <p>
+ * Instances are obtained through {@link IndexedFastaReader#getSequence(String)}.
+ *
+ * @param <C> the compound type
+ * @since 5.3.1
+ */
+public class IndexedFastaSequenceReader<C extends Compound> implements ProxySequenceReader<C> {
+
+	private final IndexedFastaReader<?, C> reader;
+	private final FastaIndex.Entry entry;
+	private final int length;
+
+	IndexedFastaSequenceReader(IndexedFastaReader<?, C> reader, FastaIndex.Entry entry) {
+		if (entry.getLength() > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Record " + entry.getName() + " is too long (" + entry.getLength()
+					+ ") to be represented as a Sequence, use IndexedFastaReader.getSequenceAsString for regions of it");
+		}
+		this.reader = reader;
+		this.entry = entry;
+		this.length = (int) entry.getLength();
+	}
+
+	/**
+	 * @return the index entry of the record
+	 */
+	public FastaIndex.Entry getEntry() {
+		return entry;
+	}
+
+	@Override
+	public void setCompoundSet(CompoundSet<C> compoundSet) {
+		throw new UnsupportedOperationException("Cannot reset the CompoundSet; object is immutable");
+	}
+
+	@Override
+	public void setContents(String sequence) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " is an immutable data structure; cannot reset contents");
+	}
+
+	@Override
+	public int getLength() {
+		return length;
+	}
+
+	@Override
+	public C getCompoundAt(int position) {
+		if (position < 1 || position > length) {
+			throw new IndexOutOfBoundsException("Position " + position + " is outside of " + entry.getName() + " (1-" + length + ")");
+		}
+		return reader.compoundAt(entry.getByteOffset(position - 1));
+	}
+
+	@Override
+	public int getIndexOf(C compound) {
+		return SequenceMixin.indexOf(this, compound);
+	}
+
+	@Override
+	public int getLastIndexOf(C compound) {
+		return SequenceMixin.lastIndexOf(this, compound);
+	}
+
+	@Override
+	public String getSequenceAsString() {
+		return SequenceMixin.toString(this);
+	}
+
+	/**
+	 * Materializes the record as a list of compounds.
+	 */
+	@Override
+	public List<C> getAsList() {
+		return SequenceMixin.toList(this);
+	}
+
+	@Override
+	public SequenceView<C> getSubSequence(Integer bioStart, Integer bioEnd) {
+		return new SequenceProxyView<>(this, bioStart, bioEnd);
+	}
+
+	@Override
+	public CompoundSet<C> getCompoundSet() {
+		return reader.getCompoundSet();
+	}
+
+	@SafeVarargs
+	@Override
+	public final int countCompounds(C... compounds) {
+		return SequenceMixin.countCompounds(this, compounds);
+	}
+
+	@Override
+	public SequenceView<C> getInverse() {
+		return SequenceMixin.inverse(this);
+	}
+
+	@Override
+	public Iterator<C> iterator() {
+		return SequenceMixin.createIterator(this);
+	}
+
+	@Override
+	public AccessionID getAccession() {
+		return new AccessionID(entry.getName());
+	}
+
+	@Override
+	public String toString() {
+		return getSequenceAsString();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!Equals.classEqual(this, o)) {
+			return false;
+		}
+		Sequence<C> other = (Sequence<C>) o;
+		return other.getCompoundSet() == getCompoundSet()
+				&& SequenceMixin.sequenceEqualityIgnoreCase(this, other);
+	}
+
+	@Override
+	public int hashCode() {
+		return getSequenceAsString().hashCode();
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the records of a region of a flat file, which can
+ * split itself on record boundaries so that parallel streams parse different
+ * parts of the file on different cores.
+ * <p>
+ * A record boundary is an occurrence of <code>recordStart</code> at the
+ * beginning of a line, e.g. "&gt;" for FASTA or "LOCUS" for GenBank. Each
+ * spliterator parses its region with its own reader obtained from the
+ * {@link RegionReaderFactory}, the readers opened are registered in a
+ * collection so that they can be closed together when the stream is closed.
+ *
+ * @param <S> the type of the records
+ */
+class RecordSpliterator<S> implements Spliterator<S> {
+
+	/** Regions smaller than this are not split further */
+	static final long MIN_SPLIT_SIZE = 1 << 20;
+
+	/**
+	 * Parses the records of one region, one at a time.
+	 */
+	interface RegionReader<S> extends Closeable {
+		/**
+		 * @return the next record or null at the end of the region
+		 */
+		S next() throws IOException;
+	}
+
+	/**
+	 * Creates the reader for a region.
+	 */
+	interface RegionReaderFactory<S> {
+		/**
+		 * @param is the content of the region
+		 * @param offset the file offset of the start of the region
+		 */
+		RegionReader<S> open(InputStream is, long offset) throws IOException;
+	}
+
+	private final File file;
+	private final byte[] recordStart;
+	private final RegionReaderFactory<S> factory;
+	private final Collection<Closeable> opened;
+	private final long start;
+	private long end;
+	private RegionReader<S> reader;
+	private boolean done;
+
+	RecordSpliterator(File file, byte[] recordStart, long start, long end,
+			RegionReaderFactory<S> factory, Collection<Closeable> opened) {
+		this.file = file;
+		this.recordStart = recordStart;
+		this.start = start;
+		this.end = end;
+		this.factory = factory;
+		this.opened = opened;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super S> action) {
+		if (done) {
+			return false;
+		}
+		try {
+			if (reader == null) {
+				InputStream is = new RegionInputStream(file, start, end);
+				reader = factory.open(is, start);
+				opened.add(reader);
+			}
+			S record = reader.next();
+			if (record == null) {
+				done = true;
+				reader.close();
+				return false;
+			}
+			action.accept(record);
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public Spliterator<S> trySplit() {
+		if (reader != null || done || end - start < 2 * MIN_SPLIT_SIZE) {
+			return null;
+		}
+		try {
+			long boundary = findRecordStart(start + (end - start) / 2);
+			if (boundary <= start || boundary >= end) {
+				return null;
+			}
+			RecordSpliterator<S> suffix = new RecordSpliterator<>(file, recordStart, boundary, end, factory, opened);
+			end = boundary;
+			return suffix;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the offset of the first record boundary at or after <code>from</code>
+	 * and before the end of this region, or -1 if there is none.
+	 */
+	private long findRecordStart(long from) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			// start one byte early so that a boundary right at 'from' is found
+			long pos = from - 1;
+			raf.seek(pos);
+			byte[] buf = new byte[1 << 16];
+			int matched = -1; // -1: not at line start, otherwise number of marker bytes matched
+			while (pos < end) {
+				int n = raf.read(buf, 0, (int) Math.min(buf.length, end - pos + recordStart.length));
+				if (n <= 0) {
+					return -1;
+				}
+				for (int i = 0; i < n; i++, pos++) {
+					byte b = buf[i];
+					if (b == '\n') {
+						matched = 0;
+					} else if (matched >= 0 && b == recordStart[matched]) {
+						matched++;
+						if (matched == recordStart.length) {
+							return pos - recordStart.length + 1;
+						}
+					} else {
+						matched = -1;
+					}
+				}
+			}
+			return -1;
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		// bytes are the best estimate of the number of records available without parsing
+		return end - start;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+
+	/**
+	 * The bytes of a file between two offsets.
+	 */
+	private static class RegionInputStream extends FilterInputStream {
+
+		private long remaining;
+
+		RegionInputStream(File file, long start, long end) throws IOException {
+			super(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+			long skipped = 0;
+			while (skipped < start) {
+				long n = in.skip(start - skipped);
+				if (n <= 0) {
+					throw new EOFException("Could not skip to offset " + start + " of " + file);
+				}
+				skipped += n;
+			}
+			this.remaining = end - start;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int b = in.read();
+			if (b >= 0) {
+				remaining--;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = in.read(b, off, (int) Math.min(len, remaining));
+			if (n > 0) {
+				remaining -= n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = in.skip(Math.min(n, remaining));
+			remaining -= skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(in.available(), remaining);
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
@@ -107,6 +107,22 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 		return worker.getCompoundAt(position);
 	}
 
+	/**
+	 * Unpacks the bits directly, see {@link BitArrayWorker#getOrdinals(int, int, int[], int)}
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		worker.getOrdinals(bioStart, bioEnd, dest, destOffset);
+	}
+
+	/**
+	 * Unpacks the bits directly, see {@link BitArrayWorker#getOrdinals(int, int, byte[], int)}
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		worker.getOrdinals(bioStart, bioEnd, dest, destOffset);
+	}
+
 	/**
 	 * Returns the compound set backing this store
 	 */
@@ -216,6 +232,8 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 		private final int[] sequence;
 		private transient List<C> indexToCompoundsLookup = null;
 		private transient Map<C, Integer> compoundsToIndexLookup = null;
+		private transient byte[] asciiToIndexLookup = null;
+		private transient int[] indexToOrdinalLookup = null;
 		public static final int BYTES_PER_INT = 32;
 
 		private volatile Integer hashcode = null;
@@ -236,6 +254,19 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 			this.sequence = new int[seqArraySize(length)];
 		}
 
+		/**
+		 * Creates an empty worker which shares the lookup tables of another
+		 * worker of the same encoding, so they are not generated again for
+		 * every sequence when many sequences are stored.
+		 */
+		public BitArrayWorker(BitArrayWorker<C> template, int length) {
+			this(template.getCompoundSet(), length);
+			this.indexToCompoundsLookup = template.getIndexToCompoundsLookup();
+			this.compoundsToIndexLookup = template.getCompoundsToIndexLookup();
+			this.asciiToIndexLookup = template.getAsciiToIndexLookup();
+			this.indexToOrdinalLookup = template.getIndexToOrdinalLookup();
+		}
+
 		public BitArrayWorker(CompoundSet<C> compoundSet, int[] sequence) {
 			this.compoundSet = compoundSet;
 			this.sequence = sequence;
@@ -299,6 +330,49 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 			}
 		}
 
+		/**
+		 * Packs ASCII encoded compounds, e.g. the residues of a FASTA file, into
+		 * biological indexes 1 to <code>length</code> without creating a String
+		 * or looking up a Compound per position. Bytes which do not map to a
+		 * value of this encoding are passed on to {@link #setCompoundAt(char, int)}
+		 * and so to {@link #processUnknownCompound(Compound, int)}.
+		 *
+		 * @param compounds the ASCII bytes to read from
+		 * @param offset the index of the first byte to read
+		 * @param length the number of compounds to read
+		 */
+		public void populate(byte[] compounds, int offset, int length) {
+			hashcode = null;
+			byte[] lookup = getAsciiToIndexLookup();
+			int perInt = compoundsPerDatatype();
+			int bits = bitsPerCompound();
+			for (int i = 0; i < length; i++) {
+				byte b = compounds[offset + i];
+				int value = b >= 0 ? lookup[b] : -1;
+				if (value < 0) {
+					setCompoundAt((char) (b & 0xff), i + 1);
+				} else {
+					sequence[i / perInt] |= value << ((i % perInt) * bits);
+				}
+			}
+		}
+
+		/**
+		 * Returns true if every one of the given ASCII encoded compounds can be
+		 * stored by this worker i.e. {@link #populate(byte[], int, int)} would
+		 * not have to call {@link #processUnknownCompound(Compound, int)}.
+		 */
+		public boolean canEncode(byte[] compounds, int offset, int length) {
+			byte[] lookup = getAsciiToIndexLookup();
+			for (int i = offset; i < offset + length; i++) {
+				byte b = compounds[i];
+				if (b < 0 || lookup[b] < 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 		/**
 		 * Converts from char to Compound and sets it at the given biological index
 		 */
@@ -353,6 +427,76 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 			return getIndexToCompoundsLookup().get(masked);
 		}
 
+		/**
+		 * Copies the {@link CompoundOrdinals} of the compounds from bioStart to
+		 * bioEnd into dest, unpacking the bits of the backing ints with shifts
+		 * and masks and translating them through a small table.
+		 *
+		 * @see Sequence#getOrdinals(int, int, int[], int)
+		 */
+		public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+			checkRange(bioStart, bioEnd);
+			int[] lookup = getIndexToOrdinalLookup();
+			int perInt = compoundsPerDatatype();
+			int bits = bitsPerCompound();
+			int mask = bitMask();
+			for (int i = bioStart - 1; i < bioEnd; i++) {
+				int ordinal = lookup[(sequence[i / perInt] >>> ((i % perInt) * bits)) & mask];
+				if (ordinal < 0) {
+					// same failure as getCompoundAt()
+					getCompoundAt(i + 1);
+				}
+				dest[destOffset++] = ordinal;
+			}
+		}
+
+		/**
+		 * Copies the {@link CompoundOrdinals} of the compounds from bioStart to
+		 * bioEnd into dest, see {@link #getOrdinals(int, int, int[], int)}.
+		 *
+		 * @see Sequence#getOrdinals(int, int, byte[], int)
+		 */
+		public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+			checkRange(bioStart, bioEnd);
+			int[] lookup = getIndexToOrdinalLookup();
+			int perInt = compoundsPerDatatype();
+			int bits = bitsPerCompound();
+			int mask = bitMask();
+			for (int i = bioStart - 1; i < bioEnd; i++) {
+				int ordinal = lookup[(sequence[i / perInt] >>> ((i % perInt) * bits)) & mask];
+				if (ordinal < 0 || ordinal > 0xff) {
+					getCompoundAt(i + 1);
+					throw new IllegalStateException("Ordinal " + ordinal + " at " + (i + 1) + " does not fit in a byte");
+				}
+				dest[destOffset++] = (byte) ordinal;
+			}
+		}
+
+		private void checkRange(int bioStart, int bioEnd) {
+			if (bioStart < 1 || bioEnd > getLength() || bioEnd < bioStart - 1) {
+				throw new IndexOutOfBoundsException("Range " + bioStart + "-" + bioEnd
+						+ " is outside of the sequence (1-" + getLength() + ")");
+			}
+		}
+
+		/**
+		 * Returns a table from the value of a compound in the backing bit
+		 * storage to its ordinal, -1 for values which don't encode a compound.
+		 */
+		private int[] getIndexToOrdinalLookup() {
+			if (indexToOrdinalLookup == null) {
+				int[] lookup = new int[bitMask() + 1];
+				Arrays.fill(lookup, -1);
+				CompoundOrdinals<C> ordinals = CompoundOrdinals.of(getCompoundSet());
+				List<C> compounds = getIndexToCompoundsLookup();
+				for (int i = 0; i < lookup.length && i < compounds.size() && i < compoundsPerDatatype(); i++) {
+					lookup[i] = ordinals.addCompound(compounds.get(i));
+				}
+				indexToOrdinalLookup = lookup;
+			}
+			return indexToOrdinalLookup;
+		}
+
 		/**
 		 * Since bit encoding only supports a finite number of bases
 		 * it is more than likely when processing sequence you will encounter a
@@ -390,6 +534,27 @@ public class BitSequenceReader<C extends Compound> implements ProxySequenceReade
 			return compoundsToIndexLookup;
 		}
 
+		/**
+		 * Returns a table from ASCII code to the value of the compound in the
+		 * backing bit storage, or -1 if the character can't be encoded.
+		 */
+		private byte[] getAsciiToIndexLookup() {
+			if (asciiToIndexLookup == null) {
+				byte[] lookup = new byte[128];
+				Arrays.fill(lookup, (byte) -1);
+				Map<C, Integer> compoundsToIndex = getCompoundsToIndexLookup();
+				for (int i = 0; i < lookup.length; i++) {
+					C compound = getCompoundSet().getCompoundForString(String.valueOf((char) i));
+					Integer value = compound == null ? null : compoundsToIndex.get(compound);
+					if (value != null && value <= bitMask()) {
+						lookup[i] = value.byteValue();
+					}
+				}
+				asciiToIndexLookup = lookup;
+			}
+			return asciiToIndexLookup;
+		}
+
 		/**
 		 * Converting a biological index to the int which is used to store that
 		 * position's data.
@@ -0,0 +1,337 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.storage;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.AccessionID;
+import org.biojava.nbio.core.sequence.template.*;
+import org.biojava.nbio.core.util.Equals;
+import org.biojava.nbio.core.util.Hashcoder;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stores a Sequence as one byte per compound, the byte being the ordinal of
+ * the compound in the {@link CompoundOrdinals} of the compound set.
+ * <p>
+ * Compared to {@link ArrayListSequenceReader}, which holds a reference per
+ * position, this needs a quarter to an eighth of the memory and
+ * {@link #getCompoundAt(int)} is a plain array access. Compound sets of up to
+ * {@link #MAX_COMPOUNDS} compounds can be stored, which covers all the
+ * nucleotide and amino acid sets; use {@link #canStore(CompoundSet)} to check.
+ *
+ * @param <C> the compound type
+ * @since 5.3.1
+ */
+public class ByteArraySequenceReader<C extends Compound> implements ProxySequenceReader<C> {
+
+	/** The maximum number of distinct compounds which can be stored */
+	public static final int MAX_COMPOUNDS = 256;
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private CompoundSet<C> compoundSet;
+	private CompoundOrdinals<C> ordinals;
+	private byte[] sequence = EMPTY;
+
+	private volatile Integer hashcode = null;
+
+	public ByteArraySequenceReader() {
+		//Do nothing
+	}
+
+	public ByteArraySequenceReader(String sequence, CompoundSet<C> compoundSet) throws CompoundNotFoundException {
+		setCompoundSet(compoundSet);
+		setContents(sequence);
+	}
+
+	public ByteArraySequenceReader(List<C> compounds, CompoundSet<C> compoundSet) {
+		setCompoundSet(compoundSet);
+		setContents(compounds);
+	}
+
+	/**
+	 * Creates the store from ASCII encoded single character compounds, e.g. the
+	 * residues of a FASTA file, without creating a String.
+	 * @param compounds the bytes to read from
+	 * @param offset the index of the first byte to read
+	 * @param length the number of compounds to read
+	 * @param compoundSet the compound set of the compounds
+	 * @throws CompoundNotFoundException if a byte is not a compound of the compound set
+	 */
+	public ByteArraySequenceReader(byte[] compounds, int offset, int length, CompoundSet<C> compoundSet)
+			throws CompoundNotFoundException {
+		setCompoundSet(compoundSet);
+		byte[] s = new byte[length];
+		for (int i = 0; i < length; i++) {
+			char c = (char) (compounds[offset + i] & 0xff);
+			s[i] = toByte(ordinals.getOrdinal(c), String.valueOf(c));
+		}
+		this.sequence = s;
+	}
+
+	/**
+	 * Creates the store from the ordinals of the compounds, as numbered by
+	 * {@link CompoundOrdinals#of(CompoundSet)}. The array is used as is, not copied.
+	 * @param compoundSet the compound set of the compounds
+	 * @param ordinals the ordinal of each compound, as an unsigned byte
+	 */
+	public ByteArraySequenceReader(CompoundSet<C> compoundSet, byte[] ordinals) {
+		setCompoundSet(compoundSet);
+		this.sequence = ordinals;
+	}
+
+	/**
+	 * @return true if sequences of the given compound set can be stored by this class
+	 */
+	public static boolean canStore(CompoundSet<?> compoundSet) {
+		return compoundSet.getAllCompounds().size() <= MAX_COMPOUNDS;
+	}
+
+	private byte toByte(int ordinal, String compound) throws CompoundNotFoundException {
+		if (ordinal < 0) {
+			throw new CompoundNotFoundException("Cannot find compound for: " + compound);
+		}
+		if (ordinal >= MAX_COMPOUNDS) {
+			throw new IllegalStateException("Compound set " + compoundSet.getClass().getSimpleName()
+					+ " has more than " + MAX_COMPOUNDS + " compounds, can't store " + compound + " in a byte");
+		}
+		return (byte) ordinal;
+	}
+
+	/**
+	 * @return the numbering of the compounds used by this store
+	 */
+	public CompoundOrdinals<C> getCompoundOrdinals() {
+		return ordinals;
+	}
+
+	@Override
+	public void setCompoundSet(CompoundSet<C> compoundSet) {
+		this.compoundSet = compoundSet;
+		this.ordinals = CompoundOrdinals.of(compoundSet);
+		hashcode = null;
+	}
+
+	@Override
+	public CompoundSet<C> getCompoundSet() {
+		return compoundSet;
+	}
+
+	/**
+	 * Parses the String into compounds like {@link ArrayListSequenceReader#setContents(String)},
+	 * multi-character compounds included.
+	 */
+	@Override
+	public void setContents(String sequence) throws CompoundNotFoundException {
+		int length = sequence.length();
+		byte[] s = new byte[length];
+		int count = 0;
+		int maxCompoundLength = compoundSet.getMaxSingleCompoundStringLength();
+		for (int i = 0; i < length;) {
+			int ordinal = maxCompoundLength <= 1 ? ordinals.getOrdinal(sequence.charAt(i)) : -1;
+			String compoundStr = null;
+			if (ordinal >= 0) {
+				i++;
+			} else {
+				C compound = null;
+				for (int compoundStrLength = 1; compound == null && compoundStrLength <= maxCompoundLength
+						&& i + compoundStrLength <= length; compoundStrLength++) {
+					compoundStr = sequence.substring(i, i + compoundStrLength);
+					compound = compoundSet.getCompoundForString(compoundStr);
+				}
+				if (compound == null) {
+					throw new CompoundNotFoundException("Cannot find compound for: "
+							+ (compoundStr == null ? sequence.substring(i, i + 1) : compoundStr));
+				}
+				ordinal = ordinals.addCompound(compound);
+				i += compoundStr.length();
+			}
+			s[count++] = toByte(ordinal, compoundStr);
+		}
+		this.sequence = count == length ? s : Arrays.copyOf(s, count);
+		hashcode = null;
+	}
+
+	public void setContents(List<C> list) {
+		byte[] s = new byte[list.size()];
+		int i = 0;
+		for (C compound : list) {
+			int ordinal = ordinals.addCompound(compound);
+			if (ordinal >= MAX_COMPOUNDS) {
+				throw new IllegalStateException("Compound set " + compoundSet.getClass().getSimpleName()
+						+ " has more than " + MAX_COMPOUNDS + " compounds, can't store " + compound + " in a byte");
+			}
+			s[i++] = (byte) ordinal;
+		}
+		this.sequence = s;
+		hashcode = null;
+	}
+
+	@Override
+	public int getLength() {
+		return sequence.length;
+	}
+
+	@Override
+	public C getCompoundAt(int position) {
+		return ordinals.getCompound(sequence[position - 1] & 0xff);
+	}
+
+	/**
+	 * The stored bytes are the ordinals, widened here without a compound lookup.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		byte[] s = sequence;
+		for (int i = bioStart - 1; i < bioEnd; i++) {
+			dest[destOffset++] = s[i] & 0xff;
+		}
+	}
+
+	/**
+	 * The stored bytes are the ordinals, this is an array copy.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		System.arraycopy(sequence, bioStart - 1, dest, destOffset, bioEnd - bioStart + 1);
+	}
+
+	@Override
+	public int getIndexOf(C compound) {
+		int ordinal = ordinals.getOrdinal(compound);
+		if (ordinal >= 0) {
+			byte b = (byte) ordinal;
+			for (int i = 0; i < sequence.length; i++) {
+				if (sequence[i] == b) {
+					return i + 1;
+				}
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public int getLastIndexOf(C compound) {
+		int ordinal = ordinals.getOrdinal(compound);
+		if (ordinal >= 0) {
+			byte b = (byte) ordinal;
+			for (int i = sequence.length - 1; i >= 0; i--) {
+				if (sequence[i] == b) {
+					return i + 1;
+				}
+			}
+		}
+		return 0;
+	}
+
+	@SafeVarargs
+	@Override
+	public final int countCompounds(C... compounds) {
+		boolean[] counted = new boolean[MAX_COMPOUNDS];
+		for (C compound : compounds) {
+			int ordinal = ordinals.getOrdinal(compound);
+			if (ordinal >= 0 && ordinal < MAX_COMPOUNDS) {
+				counted[ordinal] = true;
+			}
+		}
+		int count = 0;
+		for (byte b : sequence) {
+			if (counted[b & 0xff]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public String getSequenceAsString() {
+		StringBuilder sb = new StringBuilder(sequence.length);
+		for (byte b : sequence) {
+			sb.append(compoundSet.getStringForCompound(ordinals.getCompound(b & 0xff)));
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public List<C> getAsList() {
+		return SequenceMixin.toList(this);
+	}
+
+	@Override
+	public SequenceView<C> getSubSequence(Integer bioStart, Integer bioEnd) {
+		return new SequenceProxyView<>(this, bioStart, bioEnd);
+	}
+
+	@Override
+	public SequenceView<C> getInverse() {
+		return SequenceMixin.inverse(this);
+	}
+
+	@Override
+	public Iterator<C> iterator() {
+		return SequenceMixin.createIterator(this);
+	}
+
+	@Override
+	public AccessionID getAccession() {
+		throw new UnsupportedOperationException("Not supported yet.");
+	}
+
+	@Override
+	public String toString() {
+		return getSequenceAsString();
+	}
+
+	@Override
+	public int hashCode() {
+		if (hashcode == null) {
+			int s = Hashcoder.SEED;
+			for (byte b : sequence) {
+				s = Hashcoder.hash(s, ordinals.getCompound(b & 0xff));
+			}
+			s = Hashcoder.hash(s, compoundSet);
+			hashcode = s;
+		}
+		return hashcode;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean equals(Object o) {
+		if (Equals.classEqual(this, o)) {
+			ByteArraySequenceReader<C> that = (ByteArraySequenceReader<C>) o;
+			if (!Objects.equals(compoundSet, that.compoundSet)) {
+				return false;
+			}
+			if (ordinals == that.ordinals) {
+				return Arrays.equals(sequence, that.sequence);
+			}
+			return getAsList().equals(that.getAsList());
+		}
+		return false;
+	}
+}
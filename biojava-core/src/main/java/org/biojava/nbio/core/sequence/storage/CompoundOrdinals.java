@@ -0,0 +1,164 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.storage;
+
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers the compounds of a {@link CompoundSet} 0, 1, 2... so that sequences
+ * can be stored and processed as arrays of small integers instead of arrays of
+ * compound references.
+ * <p>
+ * The compounds known to the compound set when the instance is created get the
+ * first ordinals; compounds met later, e.g. because they were added to the
+ * compound set, are appended by {@link #addCompound(Compound)}. An ordinal once
+ * assigned never changes, so data encoded with an instance stays valid for as
+ * long as that instance is used to decode it.
+ * <p>
+ * Instances are shared through {@link #of(CompoundSet)} and are thread safe.
+ *
+ * @param <C> the compound type
+ * @see ByteArraySequenceReader
+ * @since 5.3.1
+ */
+public class CompoundOrdinals<C extends Compound> {
+
+	private static final Map<CompoundSet<?>, CompoundOrdinals<?>> CACHE = new WeakHashMap<>();
+
+	/** The last instance returned by {@link #of(CompoundSet)}, which avoids hashing the compound set */
+	private static volatile CompoundOrdinals<?> last;
+
+	/** Weak so that the cache does not keep the compound set reachable */
+	private final WeakReference<CompoundSet<C>> compoundSet;
+	private final Map<C, Integer> ordinals = new ConcurrentHashMap<>();
+	private final int[] charOrdinals = new int[128];
+	private volatile Compound[] compounds = new Compound[0];
+
+	private CompoundOrdinals(CompoundSet<C> compoundSet) {
+		this.compoundSet = new WeakReference<>(compoundSet);
+		for (C c : compoundSet.getAllCompounds()) {
+			addCompound(c);
+		}
+		Arrays.fill(charOrdinals, -1);
+		if (compoundSet.getMaxSingleCompoundStringLength() >= 1) {
+			for (int i = 0; i < charOrdinals.length; i++) {
+				C c = compoundSet.getCompoundForString(String.valueOf((char) i));
+				if (c != null) {
+					charOrdinals[i] = addCompound(c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the ordinals of the given compound set.
+	 * @param compoundSet the compound set
+	 * @return the shared instance for the compound set
+	 */
+	@SuppressWarnings("unchecked")
+	public static <C extends Compound> CompoundOrdinals<C> of(CompoundSet<C> compoundSet) {
+		CompoundOrdinals<?> o = last;
+		if (o == null || o.compoundSet.get() != compoundSet) {
+			synchronized (CACHE) {
+				o = CACHE.get(compoundSet);
+				if (o == null) {
+					o = new CompoundOrdinals<>(compoundSet);
+					CACHE.put(compoundSet, o);
+				}
+			}
+			last = o;
+		}
+		return (CompoundOrdinals<C>) o;
+	}
+
+	/**
+	 * @return the number of ordinals assigned so far
+	 */
+	public int size() {
+		return compounds.length;
+	}
+
+	/**
+	 * Returns the ordinal of a compound.
+	 * @param compound the compound
+	 * @return the ordinal or -1 if no ordinal has been assigned to the compound
+	 */
+	public int getOrdinal(C compound) {
+		Integer ordinal = ordinals.get(compound);
+		return ordinal == null ? -1 : ordinal;
+	}
+
+	/**
+	 * Returns the ordinal of the compound whose String representation is the given character.
+	 * @param c the character
+	 * @return the ordinal or -1 if the character is not a compound of the compound set
+	 */
+	public int getOrdinal(char c) {
+		if (c < charOrdinals.length) {
+			return charOrdinals[c];
+		}
+		CompoundSet<C> cs = compoundSet.get();
+		C compound = cs == null ? null : cs.getCompoundForString(String.valueOf(c));
+		return compound == null ? -1 : addCompound(compound);
+	}
+
+	/**
+	 * Returns the ordinal of a compound, assigning the next free ordinal to it
+	 * if it does not have one yet.
+	 * @param compound the compound
+	 * @return the ordinal
+	 */
+	public int addCompound(C compound) {
+		Integer ordinal = ordinals.get(compound);
+		if (ordinal != null) {
+			return ordinal;
+		}
+		synchronized (this) {
+			ordinal = ordinals.get(compound);
+			if (ordinal == null) {
+				Compound[] c = Arrays.copyOf(compounds, compounds.length + 1);
+				ordinal = compounds.length;
+				c[ordinal] = compound;
+				compounds = c;
+				ordinals.put(compound, ordinal);
+			}
+			return ordinal;
+		}
+	}
+
+	/**
+	 * Returns the compound with the given ordinal.
+	 * @param ordinal the ordinal
+	 * @return the compound
+	 * @throws IndexOutOfBoundsException if no compound has this ordinal
+	 */
+	@SuppressWarnings("unchecked")
+	public C getCompound(int ordinal) {
+		return (C) compounds[ordinal];
+	}
+}
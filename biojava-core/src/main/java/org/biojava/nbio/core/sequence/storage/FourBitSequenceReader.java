@@ -76,6 +76,10 @@ public class FourBitSequenceReader<C extends Compound> extends BitSequenceReader
 			super(compoundSet, length);
 		}
 
+		public FourBitArrayWorker(FourBitArrayWorker<C> template, int length) {
+			super(template, length);
+		}
+
 		public FourBitArrayWorker(CompoundSet<C> compoundSet, int[] sequence) {
 			super(compoundSet, sequence);
 		}
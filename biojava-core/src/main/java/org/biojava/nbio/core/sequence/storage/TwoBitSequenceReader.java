@@ -83,6 +83,10 @@ public class TwoBitSequenceReader<C extends NucleotideCompound> extends BitSeque
 			super(compoundSet, length);
 		}
 
+		public TwoBitArrayWorker(TwoBitArrayWorker<C> template, int length) {
+			super(template, length);
+		}
+
 		public TwoBitArrayWorker(CompoundSet<C> compoundSet, int[] sequence) {
 			super(compoundSet, sequence);
 		}
@@ -35,10 +35,10 @@ import org.biojava.nbio.core.sequence.features.*;
 import org.biojava.nbio.core.sequence.loader.UniprotProxySequenceReader;
 import org.biojava.nbio.core.sequence.location.SequenceLocation;
 import org.biojava.nbio.core.sequence.location.SimpleLocation;
-import org.biojava.nbio.core.sequence.location.template.AbstractLocation;
 import org.biojava.nbio.core.sequence.location.template.Location;
 import org.biojava.nbio.core.sequence.reference.AbstractReference;
 import org.biojava.nbio.core.sequence.storage.ArrayListSequenceReader;
+import org.biojava.nbio.core.sequence.storage.ByteArraySequenceReader;
 import org.biojava.nbio.core.util.Equals;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +75,9 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 			new ArrayList<>();
 	private final LinkedHashMap<String, ArrayList<FeatureInterface<AbstractSequence<C>, C>>> groupedFeatures =
 			new LinkedHashMap<>();
+	private final FeatureIndex<FeatureInterface<AbstractSequence<C>, C>> featureIndex = new FeatureIndex<>(features);
+	private final Map<String, FeatureIndex<FeatureInterface<AbstractSequence<C>, C>>> groupedFeatureIndexes =
+			new HashMap<>();
 	private List<String> comments = new ArrayList<>();
 	private List<AbstractReference> references;
 
@@ -82,18 +85,27 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 	}
 
 	/**
-	 * Create a Sequence from a simple string where the values should be found in compoundSet
+	 * Create a Sequence from a simple string where the values should be found in compoundSet.
+	 * The compounds are stored one byte each in a {@link ByteArraySequenceReader} when the
+	 * compound set is small enough, which is the case for nucleotides and amino acids.
 	 * @param seqString
 	 * @param compoundSet
 	 * @throws CompoundNotFoundException
 	 */
 	public AbstractSequence(String seqString, CompoundSet<C> compoundSet) throws CompoundNotFoundException {
 		setCompoundSet(compoundSet);
-		sequenceStorage = new ArrayListSequenceReader<>();
+		sequenceStorage = createSequenceStorage(compoundSet);
 		sequenceStorage.setCompoundSet(this.getCompoundSet());
 		sequenceStorage.setContents(seqString);
 	}
 
+	private static <C extends Compound> SequenceReader<C> createSequenceStorage(CompoundSet<C> compoundSet) {
+		if (ByteArraySequenceReader.canStore(compoundSet)) {
+			return new ByteArraySequenceReader<>();
+		}
+		return new ArrayListSequenceReader<>();
+	}
+
 	/**
 	 * A ProxySequenceReader allows abstraction of both the storage of the sequence data and the location
 	 * of the sequence data. A variety of use cases are possible. A ProxySequenceReader that knows the offset and of the sequence in
@@ -338,18 +350,25 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 	 * @return
 	 */
 	public List<FeatureInterface<AbstractSequence<C>, C>> getFeatures(String featureType, int bioSequencePosition) {
-		ArrayList<FeatureInterface<AbstractSequence<C>, C>> featureHits =
-				new ArrayList<>();
-		List<FeatureInterface<AbstractSequence<C>, C>> features = getFeaturesByType(featureType);
-		if (features != null) {
-			for (FeatureInterface<AbstractSequence<C>, C> feature : features) {
-				AbstractLocation locs = feature.getLocations();
-				if (bioSequencePosition >= locs.getStart().getPosition() && bioSequencePosition <= locs.getEnd().getPosition()) {
-					featureHits.add(feature);
-				}
-			}
+		return getFeatures(featureType, bioSequencePosition, bioSequencePosition);
+	}
+
+	/**
+	 * Return features of a type overlapping a range of the sequence, in the order of
+	 * {@link #getFeaturesByType(String)}. The features of each type are indexed, so that
+	 * a query takes O(log n + k) for k hits.
+	 * @param featureType
+	 * @param bioStart first position of the range
+	 * @param bioEnd last position of the range
+	 * @return
+	 * @since 5.3.1
+	 */
+	public List<FeatureInterface<AbstractSequence<C>, C>> getFeatures(String featureType, int bioStart, int bioEnd) {
+		ArrayList<FeatureInterface<AbstractSequence<C>, C>> featureList = groupedFeatures.get(featureType);
+		if (featureList == null) {
+			return new ArrayList<>();
 		}
-		return featureHits;
+		return groupedFeatureIndexes.get(featureType).getFeatures(bioStart, bioEnd);
 	}
 
 	/**
@@ -358,16 +377,19 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 	 * @return
 	 */
 	public List<FeatureInterface<AbstractSequence<C>, C>> getFeatures(int bioSequencePosition) {
-		ArrayList<FeatureInterface<AbstractSequence<C>, C>> featureHits =
-				new ArrayList<>();
-		if (features != null) {
-			for (FeatureInterface<AbstractSequence<C>, C> feature : features) {
-				if (bioSequencePosition >= feature.getLocations().getStart().getPosition() && bioSequencePosition <= feature.getLocations().getEnd().getPosition()) {
-					featureHits.add(feature);
-				}
-			}
-		}
-		return featureHits;
+		return getFeatures(bioSequencePosition, bioSequencePosition);
+	}
+
+	/**
+	 * Return features overlapping a range of the sequence, in the order of {@link #getFeatures()}.
+	 * The features are indexed, so that a query takes O(log n + k) for k hits.
+	 * @param bioStart first position of the range
+	 * @param bioEnd last position of the range
+	 * @return
+	 * @since 5.3.1
+	 */
+	public List<FeatureInterface<AbstractSequence<C>, C>> getFeatures(int bioStart, int bioEnd) {
+		return featureIndex.getFeatures(bioStart, bioEnd);
 	}
 
 	/**
@@ -375,6 +397,7 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 	 * @return
 	 */
 	public List<FeatureInterface<AbstractSequence<C>, C>> getFeatures() {
+		featureIndex.sortIfMoved();
 		return features;
 	}
 
@@ -399,11 +422,23 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 	 * @param feature
 	 */
 	public void addFeature(FeatureInterface<AbstractSequence<C>, C> feature) {
-		features.add(feature);
-		ArrayList<FeatureInterface<AbstractSequence<C>, C>> featureList = groupedFeatures.computeIfAbsent(feature.getType(), k -> new ArrayList<>());
-		featureList.add(feature);
-		features.sort(AbstractFeature.LOCATION_LENGTH);
-		featureList.sort(AbstractFeature.LOCATION_LENGTH);
+		featureIndex.insert(feature);
+		FeatureIndex<FeatureInterface<AbstractSequence<C>, C>> index = groupedFeatureIndexes.get(feature.getType());
+		if (index == null) {
+			ArrayList<FeatureInterface<AbstractSequence<C>, C>> featureList = new ArrayList<>();
+			groupedFeatures.put(feature.getType(), featureList);
+			index = new FeatureIndex<>(featureList);
+			groupedFeatureIndexes.put(feature.getType(), index);
+		}
+		index.insert(feature);
+	}
+
+	private void invalidateFeatureIndexes(String type) {
+		featureIndex.invalidate();
+		FeatureIndex<?> index = groupedFeatureIndexes.get(type);
+		if (index != null) {
+			index.invalidate();
+		}
 	}
 
 	/**
@@ -417,8 +452,10 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 			featureList.remove(feature);
 			if (featureList.isEmpty()) {
 				groupedFeatures.remove(feature.getType());
+				groupedFeatureIndexes.remove(feature.getType());
 			}
 		}
+		invalidateFeatureIndexes(feature.getType());
 	}
 
 	/**
@@ -430,6 +467,8 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 		List<FeatureInterface<AbstractSequence<C>, C>> features = groupedFeatures.get(type);
 		if (features == null) {
 			features = new ArrayList<>();
+		} else {
+			groupedFeatureIndexes.get(type).sortIfMoved();
 		}
 		return features;
 	}
@@ -591,7 +630,7 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 			//return parentSequence.getSequenceStorage();
 
 			if ( this.compoundSet.equals(parentSequence.getCompoundSet())){
-				sequenceStorage = new ArrayListSequenceReader<>();
+				sequenceStorage = createSequenceStorage(this.getCompoundSet());
 				sequenceStorage.setCompoundSet(this.getCompoundSet());
 				try {
 					sequenceStorage.setContents(parentSequence.getSequenceAsString());
@@ -651,6 +690,34 @@ public abstract class AbstractSequence<C extends Compound> implements Sequence<C
 		return getSequenceStorage().getCompoundAt(position);
 	}
 
+	/**
+	 * Delegates to the storage of the sequence, which is where the primitive
+	 * implementations are.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceReader<C> storage = getSequenceStorage();
+		if (storage != null && storage.getCompoundSet() == getCompoundSet()) {
+			storage.getOrdinals(bioStart, bioEnd, dest, destOffset);
+		} else {
+			SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+		}
+	}
+
+	/**
+	 * Delegates to the storage of the sequence, which is where the primitive
+	 * implementations are.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceReader<C> storage = getSequenceStorage();
+		if (storage != null && storage.getCompoundSet() == getCompoundSet()) {
+			storage.getOrdinals(bioStart, bioEnd, dest, destOffset);
+		} else {
+			SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+		}
+	}
+
 	/**
 	 *
 	 * @param compound
@@ -25,6 +25,8 @@
  */
 package org.biojava.nbio.core.sequence.template;
 
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+
 import java.util.List;
 
 /**
@@ -108,4 +110,52 @@ int getLastIndexOf(C compound);
 	 * complementing the Sequence.
 	 */
     SequenceView<C> getInverse();
+
+	/**
+	 * Returns the ordinals of all the compounds of the Sequence, see
+	 * {@link #getOrdinals(int, int, int[], int)}
+	 *
+	 * @return the ordinal of the compound at biological index i in element i - 1
+	 * @since 5.3.1
+	 */
+	default int[] getOrdinals() {
+		int[] ordinals = new int[getLength()];
+		getOrdinals(1, getLength(), ordinals, 0);
+		return ordinals;
+	}
+
+	/**
+	 * Copies the ordinals of the compounds in a range of the Sequence, as
+	 * numbered by {@link CompoundOrdinals#of(CompoundSet)} for the compound set
+	 * of the Sequence, into an array. Algorithms can then work on the ordinals
+	 * with primitive loops instead of going through a Compound per position.
+	 * Storage classes implement this without creating or looking up compounds.
+	 *
+	 * @param bioStart Biological index of the first compound (1 to n)
+	 * @param bioEnd Biological index of the last compound, inclusive
+	 * @param dest the array to fill
+	 * @param destOffset the index of dest receiving the ordinal of bioStart
+	 * @throws IndexOutOfBoundsException if the range is not within the Sequence
+	 * @since 5.3.1
+	 */
+	default void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
+
+	/**
+	 * Copies the ordinals of the compounds in a range of the Sequence into a
+	 * byte array, see {@link #getOrdinals(int, int, int[], int)}. Ordinals
+	 * above 127 are stored as negative bytes, read them with <code>b &amp; 0xff</code>.
+	 *
+	 * @param bioStart Biological index of the first compound (1 to n)
+	 * @param bioEnd Biological index of the last compound, inclusive
+	 * @param dest the array to fill
+	 * @param destOffset the index of dest receiving the ordinal of bioStart
+	 * @throws IndexOutOfBoundsException if the range is not within the Sequence
+	 * @throws IllegalStateException if an ordinal does not fit in a byte
+	 * @since 5.3.1
+	 */
+	default void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
 }
@@ -22,6 +22,7 @@ package org.biojava.nbio.core.sequence.template;
 
 import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
 import org.biojava.nbio.core.sequence.storage.ArrayListSequenceReader;
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
 import org.biojava.nbio.core.sequence.views.ComplementSequenceView;
 import org.biojava.nbio.core.sequence.views.ReversedSequenceView;
 import org.biojava.nbio.core.sequence.views.WindowedSequence;
@@ -195,6 +196,51 @@ public class SequenceMixin {
 		return list;
 	}
 
+	/**
+	 * Copies the ordinals of the compounds from bioStart to bioEnd into dest
+	 * using {@link Sequence#getCompoundAt(int)}, the fallback of
+	 * {@link Sequence#getOrdinals(int, int, int[], int)}.
+	 */
+	public static <C extends Compound> void getOrdinals(Sequence<C> sequence, int bioStart, int bioEnd,
+			int[] dest, int destOffset) {
+		checkOrdinalsRange(sequence, bioStart, bioEnd);
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(sequence.getCompoundSet());
+		for (int i = bioStart; i <= bioEnd; i++) {
+			dest[destOffset++] = ordinals.addCompound(sequence.getCompoundAt(i));
+		}
+	}
+
+	/**
+	 * Copies the ordinals of the compounds from bioStart to bioEnd into dest
+	 * using {@link Sequence#getCompoundAt(int)}, the fallback of
+	 * {@link Sequence#getOrdinals(int, int, byte[], int)}.
+	 */
+	public static <C extends Compound> void getOrdinals(Sequence<C> sequence, int bioStart, int bioEnd,
+			byte[] dest, int destOffset) {
+		checkOrdinalsRange(sequence, bioStart, bioEnd);
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(sequence.getCompoundSet());
+		for (int i = bioStart; i <= bioEnd; i++) {
+			C compound = sequence.getCompoundAt(i);
+			int ordinal = ordinals.addCompound(compound);
+			if (ordinal > 0xff) {
+				throw new IllegalStateException("Ordinal " + ordinal + " of " + compound + " does not fit in a byte");
+			}
+			dest[destOffset++] = (byte) ordinal;
+		}
+	}
+
+	/**
+	 * Checks that bioStart to bioEnd is a range of the sequence, the empty range
+	 * bioEnd = bioStart - 1 included.
+	 * @throws IndexOutOfBoundsException if it is not
+	 */
+	public static void checkOrdinalsRange(Sequence<?> sequence, int bioStart, int bioEnd) {
+		if (bioStart < 1 || bioEnd > sequence.getLength() || bioEnd < bioStart - 1) {
+			throw new IndexOutOfBoundsException("Range " + bioStart + "-" + bioEnd
+					+ " is outside of the sequence (1-" + sequence.getLength() + ")");
+		}
+	}
+
 	/**
 	 * Performs a linear search of the given Sequence for the given compound.
 	 * Once we find the compound we return the position.
@@ -95,6 +95,20 @@ public class SequenceProxyView<C extends Compound> implements SequenceView<C> {
 		return getViewedSequence().getCompoundAt((getBioStart() + position) - 1);
 	}
 
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		int offset = getBioStart() - 1;
+		getViewedSequence().getOrdinals(bioStart + offset, bioEnd + offset, dest, destOffset);
+	}
+
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		int offset = getBioStart() - 1;
+		getViewedSequence().getOrdinals(bioStart + offset, bioEnd + offset, dest, destOffset);
+	}
+
 	@Override
 	public int getIndexOf(C compound) {
 		return SequenceMixin.indexOf(this, compound);
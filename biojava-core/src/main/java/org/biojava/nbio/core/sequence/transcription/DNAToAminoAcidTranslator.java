@@ -0,0 +1,262 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.transcription;
+
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.storage.ByteArraySequenceReader;
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.biojava.nbio.core.sequence.template.CompoundSet;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.core.sequence.transcription.Table.Codon;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Translates DNA straight to protein, without the intermediate RNA sequence, codon compounds and sequence views of
+ * {@link DNAToRNATranslator} and {@link RNAToAminoAcidTranslator}.  The bases are read in bulk as ordinals, see
+ * {@link Sequence#getOrdinals(int, int, int[], int)}, which a {@link org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader}
+ * unpacks from its packed ints, and coded as A, C, G, T (or U) or other.  Each codon is then one lookup in a table of
+ * the 64 codons plus the ones with other bases, which translate to X.  Proteins are stored one byte per residue by a
+ * {@link ByteArraySequenceReader}.
+ * <p>
+ * The options are those of {@link RNAToAminoAcidTranslator} and give the same proteins, except that codons with
+ * other bases are left out rather than translated to null when translateNCodons is off.  Instances are thread safe;
+ * {@link TranscriptionEngine#getDnaAminoAcidTranslator()} returns the one configured like the engine.
+ *
+ * @since 5.3.1
+ */
+public class DNAToAminoAcidTranslator {
+
+	// base codes
+	private static final byte A = 0, C = 1, G = 2, T = 3, OTHER = 4, CODES = 5;
+	private static final byte[] COMPLEMENT = { T, G, C, A, OTHER };
+	private static final int CHUNK = 8192;
+
+	private final CompoundSet<AminoAcidCompound> aminoAcids;
+	private final boolean trimStops, initMetOnly, translateNCodons, stopAtStopCodons, waitForStartCodon;
+
+	// by codon index (first * 25 + second * 5 + third), the ordinal of the amino acid, and the codon type
+	private final byte[] aminoAcid = new byte[CODES * CODES * CODES];
+	private final boolean[] known = new boolean[aminoAcid.length], start = new boolean[aminoAcid.length],
+			stop = new boolean[aminoAcid.length];
+	// by amino acid ordinal, whether a stop codon translates to it
+	private final boolean[] stopAminoAcid = new boolean[ByteArraySequenceReader.MAX_COMPOUNDS];
+	private final byte unknown, methionine;
+
+	// base codes by ordinal, for each nucleotide compound set met
+	private final Map<CompoundSet<?>, byte[]> codes = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds the codon table of a translation table.  The options mean the same as for
+	 * {@link RNAToAminoAcidTranslator}.
+	 *
+	 * @param nucleotides the compounds the codons of the table are made of, DNA or RNA
+	 * @param aminoAcids the compounds of the proteins, at most {@link ByteArraySequenceReader#MAX_COMPOUNDS}
+	 * @param table the translation table
+	 * @param trimStops whether to remove a stop codon at the end of the protein
+	 * @param initMetOnly whether to translate the first codon to methionine when it is a start codon
+	 * @param translateNCodons whether to translate codons with other bases than A, C, G and T (or U) to X
+	 * @param stopAtStopCodons whether to end the protein at the first stop codon
+	 * @param waitForStartCodon whether to begin the protein at the first start codon
+	 * @throws IllegalArgumentException if there are too many amino acids to store them in bytes
+	 */
+	public DNAToAminoAcidTranslator(CompoundSet<NucleotideCompound> nucleotides,
+			CompoundSet<AminoAcidCompound> aminoAcids, Table table, boolean trimStops, boolean initMetOnly,
+			boolean translateNCodons, boolean stopAtStopCodons, boolean waitForStartCodon) {
+		if (!ByteArraySequenceReader.canStore(aminoAcids)) {
+			throw new IllegalArgumentException("Too many amino acids to store them in bytes");
+		}
+		this.aminoAcids = aminoAcids;
+		this.trimStops = trimStops;
+		this.initMetOnly = initMetOnly;
+		this.translateNCodons = translateNCodons;
+		this.stopAtStopCodons = stopAtStopCodons;
+		this.waitForStartCodon = waitForStartCodon;
+
+		CompoundOrdinals<AminoAcidCompound> ordinals = CompoundOrdinals.of(aminoAcids);
+		for (Codon codon : table.getCodons(nucleotides, aminoAcids)) {
+			int c1 = getCode(codon.getOne()), c2 = getCode(codon.getTwo()), c3 = getCode(codon.getThree());
+			if (c1 == OTHER || c2 == OTHER || c3 == OTHER || codon.getAminoAcid() == null) {
+				continue;
+			}
+			int index = (c1 * CODES + c2) * CODES + c3;
+			aminoAcid[index] = toByte(ordinals.addCompound(codon.getAminoAcid()));
+			known[index] = true;
+			start[index] = codon.isStart();
+			stop[index] = codon.isStop();
+			if (codon.isStop()) {
+				stopAminoAcid[aminoAcid[index] & 0xff] = true;
+			}
+		}
+		unknown = toByte(ordinals.addCompound(aminoAcids.getCompoundForString("X")));
+		methionine = toByte(ordinals.addCompound(aminoAcids.getCompoundForString("M")));
+	}
+
+	private static byte toByte(int ordinal) {
+		if (ordinal >= ByteArraySequenceReader.MAX_COMPOUNDS) {
+			throw new IllegalArgumentException("Amino acid ordinal " + ordinal + " does not fit in a byte");
+		}
+		return (byte) ordinal;
+	}
+
+	private static byte getCode(NucleotideCompound base) {
+		if (base == null) {
+			return OTHER;
+		}
+		switch (base.toString().toUpperCase()) {
+		case "A":
+			return A;
+		case "C":
+			return C;
+		case "G":
+			return G;
+		case "T":
+		case "U":
+			return T;
+		default:
+			return OTHER;
+		}
+	}
+
+	/**
+	 * Translates a DNA sequence in the first frame.
+	 *
+	 * @param dna the sequence to translate
+	 * @return the protein
+	 */
+	public ProteinSequence translate(Sequence<NucleotideCompound> dna) {
+		return translate(dna, Frame.getDefaultFrame());
+	}
+
+	/**
+	 * Translates a DNA sequence in the given frame.
+	 *
+	 * @param dna the sequence to translate
+	 * @param frame the frame to translate
+	 * @return the protein
+	 */
+	public ProteinSequence translate(Sequence<NucleotideCompound> dna, Frame frame) {
+		return translate(getCodes(dna), frame);
+	}
+
+	/**
+	 * Translates a DNA sequence in each of the given frames, reading the sequence once.
+	 *
+	 * @param dna the sequence to translate
+	 * @param frames the frames to translate, e.g. {@link Frame#getAllFrames()} for a six frame translation
+	 * @return the protein of each frame
+	 */
+	public Map<Frame, ProteinSequence> multipleFrameTranslation(Sequence<NucleotideCompound> dna, Frame... frames) {
+		byte[] bases = getCodes(dna);
+		Map<Frame, ProteinSequence> results = new EnumMap<>(Frame.class);
+		for (Frame frame : frames) {
+			results.put(frame, translate(bases, frame));
+		}
+		return results;
+	}
+
+	/**
+	 * Translates many DNA sequences in each of the given frames.  The sequences are translated in parallel, on the
+	 * common {@link java.util.concurrent.ForkJoinPool}.
+	 *
+	 * @param sequences the sequences to translate
+	 * @param frames the frames to translate
+	 * @return the proteins of each frame, for each sequence in order
+	 */
+	public List<Map<Frame, ProteinSequence>> batchTranslation(
+			List<? extends Sequence<NucleotideCompound>> sequences, Frame... frames) {
+		return sequences.parallelStream().map(dna -> multipleFrameTranslation(dna, frames))
+				.collect(Collectors.toList());
+	}
+
+	// reads the bases of a sequence as codes, in chunks of ordinals
+	private byte[] getCodes(Sequence<NucleotideCompound> dna) {
+		byte[] table = codes.computeIfAbsent(dna.getCompoundSet(), DNAToAminoAcidTranslator::getCodeTable);
+		int n = dna.getLength();
+		byte[] bases = new byte[n];
+		int[] ordinals = new int[Math.min(n, CHUNK)];
+		for (int from = 0; from < n; from += CHUNK) {
+			int to = Math.min(n, from + CHUNK);
+			dna.getOrdinals(from + 1, to, ordinals, 0);
+			for (int i = from; i < to; i++) {
+				int ordinal = ordinals[i - from];
+				bases[i] = (ordinal < table.length) ? table[ordinal] : OTHER;
+			}
+		}
+		return bases;
+	}
+
+	private static byte[] getCodeTable(CompoundSet<?> compoundSet) {
+		CompoundOrdinals<?> ordinals = CompoundOrdinals.of(compoundSet);
+		byte[] table = new byte[ordinals.size()];
+		for (int i = 0; i < table.length; i++) {
+			Object base = ordinals.getCompound(i);
+			table[i] = (base instanceof NucleotideCompound) ? getCode((NucleotideCompound) base) : OTHER;
+		}
+		return table;
+	}
+
+	private ProteinSequence translate(byte[] bases, Frame frame) {
+		int n = bases.length, offset = frame.getStart() - 1;
+		int codons = Math.max(0, (n - offset) / 3);
+		byte[] protein = new byte[codons];
+		int length = 0;
+		boolean translating = !waitForStartCodon;
+		for (int k = 0; k < codons; k++) {
+			int index;
+			if (frame.isReverse()) {
+				int p = n - 1 - offset - 3 * k;
+				index = (COMPLEMENT[bases[p]] * CODES + COMPLEMENT[bases[p - 1]]) * CODES + COMPLEMENT[bases[p - 2]];
+			} else {
+				int p = offset + 3 * k;
+				index = (bases[p] * CODES + bases[p + 1]) * CODES + bases[p + 2];
+			}
+			if (!translating && start[index]) {
+				translating = true;
+			}
+			if (translating) {
+				if (!known[index]) {
+					if (translateNCodons) {
+						protein[length++] = unknown;
+					}
+				} else {
+					protein[length++] = (k == 0 && initMetOnly && start[index]) ? methionine : aminoAcid[index];
+				}
+				if (stopAtStopCodons && stop[index]) {
+					break;
+				}
+			}
+		}
+		if (trimStops && length > 0 && stopAminoAcid[protein[length - 1] & 0xff]) {
+			length--;
+		}
+		return new ProteinSequence(new ByteArraySequenceReader<>(aminoAcids,
+				(length == protein.length) ? protein : Arrays.copyOf(protein, length)), aminoAcids);
+	}
+
+}
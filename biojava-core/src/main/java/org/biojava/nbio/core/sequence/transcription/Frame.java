@@ -47,6 +47,26 @@ public enum Frame {
 		this.reverse = reverse;
 	}
 
+	/**
+	 * Returns the position of the first base of the frame, 1 to 3, on its strand.
+	 *
+	 * @return the start of the frame
+	 * @since 5.3.1
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns true if the frame reads the reverse complement strand.
+	 *
+	 * @return true for the reversed frames
+	 * @since 5.3.1
+	 */
+	public boolean isReverse() {
+		return reverse;
+	}
+
 	public static Frame getDefaultFrame() {
 		return ONE;
 	}
@@ -74,6 +74,7 @@ public class TranscriptionEngine {
 	private final Table table;
 	private final RNAToAminoAcidTranslator rnaAminoAcidTranslator;
 	private final DNAToRNATranslator dnaRnaTranslator;
+	private final DNAToAminoAcidTranslator dnaAminoAcidTranslator;
 	private final SequenceCreatorInterface<AminoAcidCompound> proteinSequenceCreator;
 	private final SequenceCreatorInterface<NucleotideCompound> rnaSequenceCreator;
 	private final CompoundSet<NucleotideCompound> dnaCompounds;
@@ -83,6 +84,7 @@ public class TranscriptionEngine {
 	private TranscriptionEngine(Table table,
 			RNAToAminoAcidTranslator rnaAminoAcidTranslator,
 			DNAToRNATranslator dnaRnaTranslator,
+			DNAToAminoAcidTranslator dnaAminoAcidTranslator,
 			SequenceCreatorInterface<AminoAcidCompound> proteinSequenceCreator,
 			SequenceCreatorInterface<NucleotideCompound> rnaSequenceCreator,
 			CompoundSet<NucleotideCompound> dnaCompounds,
@@ -91,6 +93,7 @@ public class TranscriptionEngine {
 		this.table = table;
 		this.rnaAminoAcidTranslator = rnaAminoAcidTranslator;
 		this.dnaRnaTranslator = dnaRnaTranslator;
+		this.dnaAminoAcidTranslator = dnaAminoAcidTranslator;
 		this.proteinSequenceCreator = proteinSequenceCreator;
 		this.rnaSequenceCreator = rnaSequenceCreator;
 		this.dnaCompounds = dnaCompounds;
@@ -149,6 +152,16 @@ public class TranscriptionEngine {
 		return dnaRnaTranslator;
 	}
 
+	/**
+	 * Returns the translator going straight from DNA to protein, with the
+	 * table and options of this engine.
+	 *
+	 * @since 5.3.1
+	 */
+	public DNAToAminoAcidTranslator getDnaAminoAcidTranslator() {
+		return dnaAminoAcidTranslator;
+	}
+
 	public SequenceCreatorInterface<AminoAcidCompound> getProteinSequenceCreator() {
 		return proteinSequenceCreator;
 	}
@@ -199,7 +212,7 @@ public class TranscriptionEngine {
 		public TranscriptionEngine build() {
 			return new TranscriptionEngine(getTable(),
 					getRnaAminoAcidTranslator(), getDnaRnaTranslator(),
-					getProteinCreator(), getRnaCreator(), getDnaCompounds(),
+					getDnaAminoAcidTranslator(), getProteinCreator(), getRnaCreator(), getDnaCompounds(),
 					getRnaCompounds(), getAminoAcidCompounds());
 		}
 
@@ -350,6 +363,13 @@ public class TranscriptionEngine {
 					isWaitForStartCodon());
 		}
 
+		private DNAToAminoAcidTranslator getDnaAminoAcidTranslator() {
+			return new DNAToAminoAcidTranslator(getRnaCompounds(),
+					getAminoAcidCompounds(), getTable(), isTrimStop(),
+					isInitMet(), isTranslateNCodons(), isStopAtStopCodons(),
+					isWaitForStartCodon());
+		}
+
 		private CompoundSet<Codon> getCodons() {
 			return getTable().getCodonCompoundSet(getRnaCompounds(),
 					getAminoAcidCompounds());
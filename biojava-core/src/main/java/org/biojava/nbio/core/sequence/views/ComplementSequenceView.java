@@ -52,6 +52,20 @@ public class ComplementSequenceView<C extends ComplementCompound> extends Sequen
 		return (C) super.getCompoundAt(position).getComplement();
 	}
 
+	/**
+	 * Goes through {@link #getCompoundAt(int)} as the compounds differ from
+	 * the ones of the viewed sequence.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
+
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public int getIndexOf(C compound) {
@@ -57,4 +57,32 @@ public class ReversedSequenceView<C extends Compound> extends SequenceProxyView<
 	public C getCompoundAt(int position) {
 		return super.getCompoundAt(toIndex(position));
 	}
+
+	/**
+	 * Copies the ordinals of the matching forward range and reverses them.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		super.getOrdinals(toIndex(bioEnd), toIndex(bioStart), dest, destOffset);
+		for (int i = destOffset, j = destOffset + bioEnd - bioStart; i < j; i++, j--) {
+			int tmp = dest[i];
+			dest[i] = dest[j];
+			dest[j] = tmp;
+		}
+	}
+
+	/**
+	 * Copies the ordinals of the matching forward range and reverses them.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.checkOrdinalsRange(this, bioStart, bioEnd);
+		super.getOrdinals(toIndex(bioEnd), toIndex(bioStart), dest, destOffset);
+		for (int i = destOffset, j = destOffset + bioEnd - bioStart; i < j; i++, j--) {
+			byte tmp = dest[i];
+			dest[i] = dest[j];
+			dest[j] = tmp;
+		}
+	}
 }
@@ -63,6 +63,20 @@ public class RnaSequenceView extends SequenceProxyView<NucleotideCompound> imple
 		return getDnaToRna().get(dna);
 	}
 
+	/**
+	 * Goes through {@link #getCompoundAt(int)} as the compounds differ from
+	 * the ones of the viewed sequence.
+	 */
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, int[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
+
+	@Override
+	public void getOrdinals(int bioStart, int bioEnd, byte[] dest, int destOffset) {
+		SequenceMixin.getOrdinals(this, bioStart, bioEnd, dest, destOffset);
+	}
+
 	@Override
 	public int getIndexOf(NucleotideCompound compound) {
 		return getViewedSequence().getIndexOf(getRnaToDna().get(compound));
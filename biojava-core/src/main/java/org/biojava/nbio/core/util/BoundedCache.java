@@ -0,0 +1,399 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * An in memory cache bounded by the total weight of its values, for instance their size in bytes, with counts of
+ * hits, misses, loads and evictions.  Unlike {@link SoftHashMap}, what is kept does not depend on the garbage
+ * collector: when the weight exceeds the maximum, entries are evicted in approximately least recently used order.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, so that lookups take no lock; a lookup only marks its entry as
+ * used.  Eviction follows the CLOCK algorithm: entries wait in a queue in order of insertion, and the oldest entry
+ * is evicted unless it was used since it last reached the head of the queue, in which case it is given another
+ * round.  A new entry has to be used once to get that second chance, so that entries read only once, as in a scan,
+ * do not push out the ones read repeatedly.
+ * <p>
+ * Null keys and values are not supported.  A value weighing more than the maximum is not cached.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 5.3.1
+ */
+public class BoundedCache<K, V> {
+
+	private static class Entry<K, V> {
+
+		private final K key;
+		private final long weight;
+		// null once the entry is no longer in the map
+		private volatile V value;
+		private volatile boolean used;
+
+		private Entry(K key, V value, long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+
+	}
+
+	private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+	private final Queue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final ToLongFunction<? super V> weigher;
+	private volatile long maximumWeight;
+
+	private final AtomicLong weight = new AtomicLong();
+	// entries removed from the map but still in the clock queue
+	private final AtomicInteger stale = new AtomicInteger();
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder(), loads = new LongAdder(),
+			loadFailures = new LongAdder(), evictions = new LongAdder(), loadNanos = new LongAdder();
+
+	/**
+	 * Creates a cache of at most the given number of entries.
+	 *
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedCache(long maximumSize) {
+		this(maximumSize, value -> 1);
+	}
+
+	/**
+	 * Creates a cache of values of at most the given total weight.
+	 *
+	 * @param maximumWeight the maximum total weight of the values
+	 * @param weigher gives the weight of a value, which must not change while it is cached
+	 */
+	public BoundedCache(long maximumWeight, ToLongFunction<? super V> weigher) {
+		if (maximumWeight < 0) {
+			throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+		}
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Returns the cached value of the given key.
+	 *
+	 * @param key the key
+	 * @return the value, or null if not cached
+	 */
+	public V get(K key) {
+		V value = peek(key);
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	// returns the value and marks it as used, without counting the lookup
+	private V peek(K key) {
+		Entry<K, V> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		V value = entry.value;
+		if (value != null && !entry.used) {
+			entry.used = true;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached value of the given key, loading and caching it if needed.  Concurrent calls for the same key
+	 * load it once: the other callers wait for the value.  Exceptions thrown by the loader are thrown to all of these
+	 * callers, and nothing is cached.
+	 *
+	 * @param key the key
+	 * @param loader loads the value of a key, or returns null if it has none
+	 * @return the value, or null if the loader returned null
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value != null) {
+			return value;
+		}
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> other = loading.putIfAbsent(key, future);
+		if (other != null) {
+			return join(other);
+		}
+		try {
+			// another load may have completed since the lookup
+			value = peek(key);
+			if (value == null) {
+				loads.increment();
+				long start = System.nanoTime();
+				try {
+					value = loader.apply(key);
+				} finally {
+					loadNanos.add(System.nanoTime() - start);
+				}
+				if (value != null) {
+					put(key, value);
+				}
+			}
+			future.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			loadFailures.increment();
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(key, future);
+		}
+	}
+
+	private static <V> V join(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Caches a value, replacing the value of the same key if any, and evicts entries if the cache gets too heavy.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		long w = weigher.applyAsLong(value);
+		if (w < 0) {
+			throw new IllegalArgumentException("Weight must not be negative: " + w);
+		}
+		if (w > maximumWeight) {
+			remove(key);
+			return;
+		}
+		Entry<K, V> entry = new Entry<>(key, value, w);
+		weight.addAndGet(w);
+		Entry<K, V> old = map.put(key, entry);
+		clock.offer(entry);
+		if (old != null) {
+			discard(old);
+		}
+		evict();
+	}
+
+	/**
+	 * Removes the value of the given key.
+	 *
+	 * @param key the key
+	 * @return the value removed, or null if not cached
+	 */
+	public V remove(K key) {
+		Entry<K, V> entry = map.remove(key);
+		if (entry == null) {
+			return null;
+		}
+		V value = entry.value;
+		discard(entry);
+		return value;
+	}
+
+	/**
+	 * Removes all values.
+	 */
+	public void clear() {
+		for (K key : map.keySet()) {
+			remove(key);
+		}
+	}
+
+	// releases an entry removed from the map, which is left in the clock queue
+	private void discard(Entry<K, V> entry) {
+		entry.value = null;
+		weight.addAndGet(-entry.weight);
+		if (stale.incrementAndGet() > map.size() + 64 && evictionLock.tryLock()) {
+			try {
+				int removed = 0;
+				for (Iterator<Entry<K, V>> it = clock.iterator(); it.hasNext(); ) {
+					if (it.next().value == null) {
+						it.remove();
+						removed++;
+					}
+				}
+				stale.addAndGet(-removed);
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void evict() {
+		if (weight.get() <= maximumWeight) {
+			return;
+		}
+		evictionLock.lock();
+		try {
+			Entry<K, V> entry;
+			while (weight.get() > maximumWeight && (entry = clock.poll()) != null) {
+				if (entry.value == null) {
+					stale.decrementAndGet();
+				} else if (entry.used) {
+					entry.used = false;
+					clock.offer(entry);
+				} else if (map.remove(entry.key, entry)) {
+					entry.value = null;
+					weight.addAndGet(-entry.weight);
+					evictions.increment();
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of cached values.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return map.size();
+	}
+
+	/**
+	 * Returns the total weight of the cached values.
+	 *
+	 * @return the weight
+	 */
+	public long getWeight() {
+		return weight.get();
+	}
+
+	/**
+	 * Returns the maximum total weight of the cached values.
+	 *
+	 * @return the maximum weight
+	 */
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Sets the maximum total weight of the cached values, evicting entries if the cache is now too heavy.
+	 *
+	 * @param maximumWeight the maximum weight
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		if (maximumWeight < 0) {
+			throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+		}
+		this.maximumWeight = maximumWeight;
+		evict();
+	}
+
+	/**
+	 * Returns the number of lookups which found a value.
+	 *
+	 * @return the hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups which found no value.
+	 *
+	 * @return the misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the fraction of lookups which found a value.
+	 *
+	 * @return the hit rate, 1 if there were no lookups
+	 */
+	public double getHitRate() {
+		long h = hits.sum(), total = h + misses.sum();
+		return total == 0 ? 1.0 : (double) h / total;
+	}
+
+	/**
+	 * Returns the number of values loaded by {@link #computeIfAbsent(Object, Function)}, including failed loads.
+	 *
+	 * @return the loads
+	 */
+	public long getLoadCount() {
+		return loads.sum();
+	}
+
+	/**
+	 * Returns the number of loads which threw an exception.
+	 *
+	 * @return the failed loads
+	 */
+	public long getLoadFailureCount() {
+		return loadFailures.sum();
+	}
+
+	/**
+	 * Returns the time spent loading values, including failed loads.
+	 *
+	 * @return the total load time in nanoseconds
+	 */
+	public long getTotalLoadTime() {
+		return loadNanos.sum();
+	}
+
+	/**
+	 * Returns the number of values evicted to keep the weight under the maximum.
+	 *
+	 * @return the evictions
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d entries, weight %d of %d, %d hits, %d misses, %d loads, %d evictions", size(),
+				getWeight(), getMaximumWeight(), getHitCount(), getMissCount(), getLoadCount(), getEvictionCount());
+	}
+
+}
@@ -31,6 +31,10 @@ import java.util.concurrent.*;
 /**
  * Static utility to easily share a thread pool for concurrent/parallel/lazy execution.  To exit cleanly,
  * {@link #shutdown()} or {@link #shutdownAndAwaitTermination()} must be called after all tasks have been submitted.
+ * <p>
+ * Jobs which should not compete for the shared pool can pass their own {@link ExecutorService} instead, e.g. a
+ * work-stealing one from {@link #newForkJoinExecutor(int)}.  Tasks which wait for other tasks of the same pool should
+ * do so with {@link #get(Future)}, so that a fork-join pool adds a thread instead of running out of them.
  *
  * @author Mark Chapman
  */
@@ -142,6 +146,50 @@ public class ConcurrencyTools {
 		}
 	}
 
+	/**
+	 * Creates a work-stealing executor of the given parallelism, which measures its tasks.  Unlike the shared thread
+	 * pool, it adds threads while tasks wait in {@link #get(Future)}, so tasks can wait for tasks they submitted
+	 * without exhausting the pool.  The caller shuts it down.
+	 *
+	 * @param parallelism the number of threads running tasks, not counting the ones added for waiting tasks
+	 * @return a new executor
+	 */
+	public static MeteredExecutor newForkJoinExecutor(int parallelism) {
+		return new MeteredExecutor(new ForkJoinPool(parallelism));
+	}
+
+	/**
+	 * Waits for a future and returns its value.  When called from a task running in a {@link ForkJoinPool}, the wait
+	 * is a managed block, during which the pool may start another thread to keep its parallelism.
+	 *
+	 * @param <T> type returned from the future
+	 * @param future the future to wait for
+	 * @return the value of the future
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 * @throws ExecutionException if the computation threw an exception
+	 */
+	public static<T> T get(Future<T> future) throws InterruptedException, ExecutionException {
+		if (!future.isDone() && Thread.currentThread() instanceof ForkJoinWorkerThread) {
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+				@Override
+				public boolean block() throws InterruptedException {
+					try {
+						future.get();
+					} catch (ExecutionException | CancellationException e) {
+						// reported by the get below
+					}
+					return true;
+				}
+
+				@Override
+				public boolean isReleasable() {
+					return future.isDone();
+				}
+			});
+		}
+		return future.get();
+	}
+
 	/**
 	 * Queues up a task and adds a log entry.
 	 *
@@ -151,8 +199,25 @@ public class ConcurrencyTools {
 	 * @return future on which the desired value is retrieved by calling get()
 	 */
 	public static<T> Future<T> submit(Callable<T> task, String message) {
-		logger.debug("Task " + (++tasks) + " submitted to shared thread pool. " + message);
-		return getThreadPool().submit(task);
+		return submit(null, task, message);
+	}
+
+	/**
+	 * Queues up a task on the given executor and adds a log entry.
+	 *
+	 * @param <T> type returned from the submitted task
+	 * @param executor executor to run the task, or null for the shared thread pool
+	 * @param task submitted task
+	 * @param message logged message
+	 * @return future on which the desired value is retrieved by calling get()
+	 */
+	public static<T> Future<T> submit(ExecutorService executor, Callable<T> task, String message) {
+		if (executor == null) {
+			logger.debug("Task " + (++tasks) + " submitted to shared thread pool. " + message);
+			return getThreadPool().submit(task);
+		}
+		logger.debug("Task submitted to {}. {}", executor, message);
+		return executor.submit(task);
 	}
 
 	/**
@@ -33,6 +33,10 @@ import java.io.*;
  * Provides a cache for storing multiple small files in memory. Can be used to e.g cache gzip compressed PDB files
  * for avoiding disk IO bottlenecks.
  * Note this is just a wrapper for the singleton cache.
+ * <p>
+ * The cache holds at most {@link #DEFAULT_MAXIMUM_BYTES} of file content unless changed with
+ * {@link #setMaximumBytes(long)}; beyond that the least recently used files are evicted.
+ * Hits, misses and evictions are counted by the {@link BoundedCache} returned by {@link #getCache()}.
  *
  * @author Andreas Prlic.
  *
@@ -41,10 +45,16 @@ public class FlatFileCache {
 
 	private final static Logger logger = LoggerFactory.getLogger(FlatFileCache.class);
 
+	/**
+	 * The default maximum number of bytes cached, an eighth of the maximum heap size.
+	 * @since 5.3.1
+	 */
+	public static final long DEFAULT_MAXIMUM_BYTES = Runtime.getRuntime().maxMemory() / 8;
+
 	/**
 	 * The cache singleton.
 	 */
-	private static final SoftHashMap<String, byte[]> cache = new SoftHashMap<>(0);
+	private static final BoundedCache<String, byte[]> cache = new BoundedCache<>(DEFAULT_MAXIMUM_BYTES, bytes -> bytes.length);
 
 
 	// no public constructor;
@@ -116,6 +126,24 @@ public class FlatFileCache {
 	   cache.clear();
 	}
 
+	/**
+	 * Sets the maximum number of bytes cached, evicting files if the cache now holds more.
+	 * @param maximumBytes the maximum total size of the cached files
+	 * @since 5.3.1
+	 */
+	public static void setMaximumBytes(long maximumBytes) {
+		cache.setMaximumWeight(maximumBytes);
+	}
+
+	/**
+	 * Returns the cache singleton, for its size and hit, miss and eviction counts.
+	 * @return the cache of file contents by key
+	 * @since 5.3.1
+	 */
+	public static BoundedCache<String, byte[]> getCache() {
+		return cache;
+	}
+
 
 
 }
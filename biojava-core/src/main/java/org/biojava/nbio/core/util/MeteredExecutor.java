@@ -0,0 +1,238 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps an {@link ExecutorService} to measure the tasks run on it: the number of tasks waiting and running, and the
+ * time tasks spend waiting and in total, from submission to completion.  Instances can be passed to the methods which
+ * otherwise use the shared thread pool of {@link ConcurrencyTools}, so that each job gets its own pool and its own
+ * figures.
+ * <p>
+ * A task is counted as completed just after it returns, which may be shortly after its future completes.
+ *
+ * @see ConcurrencyTools#newForkJoinExecutor(int)
+ * @since 5.3.1
+ */
+public class MeteredExecutor extends AbstractExecutorService {
+
+	private final ExecutorService executor;
+	private final AtomicInteger queued = new AtomicInteger(), active = new AtomicInteger();
+	private final LongAdder submitted = new LongAdder(), completed = new LongAdder(), failed = new LongAdder(),
+			waitNanos = new LongAdder(), latencyNanos = new LongAdder();
+
+	/**
+	 * Measures the tasks run on the given executor.
+	 *
+	 * @param executor the executor which runs the tasks
+	 */
+	public MeteredExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the executor which runs the tasks.
+	 *
+	 * @return the wrapped executor
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns the number of tasks submitted and not started yet.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		return queued.get();
+	}
+
+	/**
+	 * Returns the number of tasks running.
+	 *
+	 * @return the active tasks
+	 */
+	public int getActiveTasks() {
+		return active.get();
+	}
+
+	/**
+	 * Returns the number of tasks submitted so far.
+	 *
+	 * @return the submitted tasks
+	 */
+	public long getSubmittedTasks() {
+		return submitted.sum();
+	}
+
+	/**
+	 * Returns the number of tasks finished so far, including the ones which threw an exception.
+	 *
+	 * @return the completed tasks
+	 */
+	public long getCompletedTasks() {
+		return completed.sum();
+	}
+
+	/**
+	 * Returns the number of tasks which threw an exception so far, whether they were passed to {@link #execute(Runnable)}
+	 * or submitted for a future.
+	 *
+	 * @return the failed tasks
+	 */
+	public long getFailedTasks() {
+		return failed.sum();
+	}
+
+	/**
+	 * Returns the mean time completed tasks waited to start.
+	 *
+	 * @param unit the unit of the result
+	 * @return the mean wait, or 0 before the first task completes
+	 */
+	public long getAverageWaitTime(TimeUnit unit) {
+		return average(waitNanos, unit);
+	}
+
+	/**
+	 * Returns the mean time from the submission to the completion of completed tasks.
+	 *
+	 * @param unit the unit of the result
+	 * @return the mean latency, or 0 before the first task completes
+	 */
+	public long getAverageLatency(TimeUnit unit) {
+		return average(latencyNanos, unit);
+	}
+
+	private long average(LongAdder nanos, TimeUnit unit) {
+		long n = completed.sum();
+		return (n == 0) ? 0 : unit.convert(nanos.sum() / n, TimeUnit.NANOSECONDS);
+	}
+
+	// methods for Executor
+
+	@Override
+	public void execute(Runnable command) {
+		long start = System.nanoTime();
+		submitted.increment();
+		queued.incrementAndGet();
+		try {
+			executor.execute(() -> {
+				queued.decrementAndGet();
+				active.incrementAndGet();
+				long begin = System.nanoTime();
+				waitNanos.add(begin - start);
+				try {
+					command.run();
+				} catch (RuntimeException | Error e) {
+					failed.increment();
+					throw e;
+				} finally {
+					active.decrementAndGet();
+					latencyNanos.add(System.nanoTime() - start);
+					completed.increment();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			queued.decrementAndGet();
+			submitted.decrement();
+			throw e;
+		}
+	}
+
+	// methods for AbstractExecutorService
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new MeteredTask<>(callable);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new MeteredTask<>(Executors.callable(runnable, value));
+	}
+
+	// the future of a submitted task, which keeps the exception of the task from execute(Runnable)
+	private class MeteredTask<T> extends FutureTask<T> {
+
+		MeteredTask(Callable<T> callable) {
+			super(callable);
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			failed.increment();
+			super.setException(t);
+		}
+
+	}
+
+	// methods for ExecutorService
+
+	@Override
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> waiting = executor.shutdownNow();
+		queued.addAndGet(-waiting.size());
+		return waiting;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return executor.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return executor.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	// method from Object
+
+	@Override
+	public String toString() {
+		return String.format("%s[queued=%d, active=%d, completed=%d, failed=%d, mean latency=%d us]",
+				getClass().getSimpleName(), getQueueDepth(), getActiveTasks(), getCompletedTasks(), getFailedTasks(),
+				getAverageLatency(TimeUnit.MICROSECONDS));
+	}
+
+}
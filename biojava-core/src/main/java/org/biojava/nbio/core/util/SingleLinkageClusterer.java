@@ -77,7 +77,25 @@ public class SingleLinkageClusterer {
 
 	}
 
-	private final double[][] matrix;
+	/**
+	 * Gives the distance, or score, between two items.
+	 *
+	 * @since 5.3.1
+	 */
+	public interface DistanceFunction {
+
+		/**
+		 * Returns the distance between two items.
+		 *
+		 * @param first the index of the first item
+		 * @param second the index of the second item, greater than first
+		 * @return the distance, or score, between the items
+		 */
+		double getDistance(int first, int second);
+
+	}
+
+	private final DistanceFunction distances;
 
 	private final boolean isScoreMatrix;
 
@@ -85,32 +103,58 @@ public class SingleLinkageClusterer {
 
 	private LinkedPair[] dendrogram;
 
-	//private Set<Integer> toSkip;
-
-	private ArrayList<Integer> indicesToCheck;
-
 
 	/**
 	 * Constructs a new SingleLinkageClusterer
 	 * Subsequently use {@link #getDendrogram()} to get the full tree
 	 * or {@link #getClusters(double)} to get the clusters at a certain cutoff in the tree
-	 * Please note that the matrix will be altered during the clustering procedure. A copy must be
-	 * made before by the user if needing to use the original matrix further.
+	 * The matrix is only read, and must not be changed before the clustering is done.
 	 * @param matrix the distance matrix with distance values in j>i half, all other values will be ignored
 	 * @param isScoreMatrix if false the matrix will be considered a distance matrix: lower values (distances) mean closer objects,
 	 * if true the matrix will be considered a score matrix: larger values (scores) mean closer objects
 	 * @throws IllegalArgumentException if matrix not square
 	 */
 	public SingleLinkageClusterer(double[][] matrix, boolean isScoreMatrix) {
-		this.matrix = matrix;
-		this.isScoreMatrix = isScoreMatrix;
+		this(matrix.length, (first, second) -> matrix[first][second], isScoreMatrix);
 
 		if (matrix.length!=matrix[0].length) {
 			throw new IllegalArgumentException("Distance matrix for clustering must be a square matrix");
 		}
+	}
 
-		this.numItems = matrix.length;
+	/**
+	 * Constructs a new SingleLinkageClusterer from the j>i half of a distance matrix, row by row,
+	 * which takes half the memory of the square matrix in floats: the distance between items i and j
+	 * is at index i*numItems - i*(i+1)/2 + j-i-1.
+	 * @param condensed the distance values, numItems*(numItems-1)/2 of them
+	 * @param numItems the number of items
+	 * @param isScoreMatrix if true larger values (scores) mean closer objects
+	 * @throws IllegalArgumentException if the number of values does not match the number of items
+	 * @since 5.3.1
+	 */
+	public SingleLinkageClusterer(float[] condensed, int numItems, boolean isScoreMatrix) {
+		this(numItems, (first, second) ->
+				condensed[(int) ((long) first * numItems - (long) first * (first + 1) / 2 + (second - first - 1))],
+				isScoreMatrix);
+
+		if (condensed.length != (long) numItems * (numItems - 1) / 2) {
+			throw new IllegalArgumentException(condensed.length + " distances given for " + numItems + " items, "
+					+ (long) numItems * (numItems - 1) / 2 + " needed");
+		}
+	}
 
+	/**
+	 * Constructs a new SingleLinkageClusterer reading the distances from a function, so that they
+	 * need not be stored at all. Each distance is asked for once.
+	 * @param numItems the number of items
+	 * @param distances the distances, asked for with the smaller index first
+	 * @param isScoreMatrix if true larger values (scores) mean closer objects
+	 * @since 5.3.1
+	 */
+	public SingleLinkageClusterer(int numItems, DistanceFunction distances, boolean isScoreMatrix) {
+		this.distances = distances;
+		this.isScoreMatrix = isScoreMatrix;
+		this.numItems = numItems;
 	}
 
 	/**
@@ -126,113 +170,85 @@ public class SingleLinkageClusterer {
 	}
 
 	/**
-	 * Calculate the hierarchical clustering and store it in dendrogram array
-	 * This is the naive implementation (o(n3)) of single linkage clustering as outlined in wikipedia:
-	 * http://en.wikipedia.org/wiki/Single-linkage_clustering
+	 * Calculate the hierarchical clustering and store it in dendrogram array.
+	 * The single linkage dendrogram follows from the minimum spanning tree of the items: merging
+	 * the clusters joined by its edges in order of distance gives it. The tree is found with Prim's
+	 * algorithm, in O(n^2) time and O(n) memory, reading each distance once; merges are then
+	 * listed between the smallest index of each cluster, the lower one first. Merges at equal
+	 * distances are listed in the order their edges joined the tree.
 	 */
 	private void clusterIt() {
 
-		dendrogram = new LinkedPair[numItems-1];
-
-
-		//logger.debug("Initial matrix: \n"+matrixToString());
-
-
-		for (int m=0;m<numItems-1;m++) {
-
-			updateIndicesToCheck(m);
-			LinkedPair pair = getClosestPair();
-			merge(pair);
-			dendrogram[m] = pair;
-
-			//if (debug) {
-			//	System.out.println("Matrix after iteration "+m+" (merged "+pair.getFirst()+","+pair.getSecond()+")");
-			//	printMatrix();
-			//}
+		dendrogram = new LinkedPair[Math.max(0, numItems-1)];
+		if (numItems < 2) {
+			return;
 		}
 
-	}
-
-	/**
-	 * Merge 2 rows/columns of the matrix by the linkage function (see {@link #link(double, double)}
-	 * @param closestPair
-	 */
-	private void merge(LinkedPair closestPair) {
-
-
-		int first = closestPair.getFirst();
-		int second = closestPair.getSecond();
-
-		for (int other=0;other<numItems;other++) {
-			matrix[Math.min(first,other)][Math.max(first, other)] = link(getDistance(first, other), getDistance(second, other));
+		// Prim's algorithm, on distances negated for scores so that lower is always closer
+		double sign = isScoreMatrix ? -1 : 1;
+		double[] closest = new double[numItems];
+		int[] closestItem = new int[numItems];
+		boolean[] inTree = new boolean[numItems];
+		Arrays.fill(closest, Double.POSITIVE_INFINITY);
+		int[] edgeFirst = new int[numItems - 1], edgeSecond = new int[numItems - 1];
+		double[] edgeDistance = new double[numItems - 1];
+
+		int added = 0;
+		inTree[added] = true;
+		for (int e = 0; e < numItems - 1; e++) {
+			int next = -1;
+			for (int other = 0; other < numItems; other++) {
+				if (inTree[other]) {
+					continue;
+				}
+				double d = sign * getDistance(added, other);
+				if (d < closest[other]) {
+					closest[other] = d;
+					closestItem[other] = added;
+				}
+				if (next < 0 || closest[other] < closest[next]) {
+					next = other;
+				}
+			}
+			inTree[next] = true;
+			edgeFirst[e] = closestItem[next];
+			edgeSecond[e] = next;
+			edgeDistance[e] = closest[next];
+			added = next;
 		}
 
-	}
-
-	/**
-	 * The linkage function: minimum of the 2 distances (i.e. single linkage clustering)
-	 * @param d1
-	 * @param d2
-	 * @return
-	 */
-	private double link(double d1, double d2) {
-		return isScoreMatrix ? Math.max(d1, d2) : Math.min(d1, d2);
-	}
-
-	private double getDistance(int first, int second) {
-		return matrix[Math.min(first, second)][Math.max(first, second)];
-	}
-
-	private void updateIndicesToCheck(int m) {
-
-		if (indicesToCheck==null) {
-			indicesToCheck = new ArrayList<>(numItems);
-
-			for (int i=0;i<numItems;i++) {
-				indicesToCheck.add(i);
-			}
+		// the merges, in order of distance
+		Integer[] order = new Integer[numItems - 1];
+		for (int e = 0; e < order.length; e++) {
+			order[e] = e;
 		}
+		Arrays.sort(order, (e1, e2) -> Double.compare(edgeDistance[e1], edgeDistance[e2]));
 
-		if (m==0) return;
+		// clusters as a union-find forest, each rooted at its smallest index
+		int[] parent = new int[numItems];
+		for (int i = 0; i < numItems; i++) {
+			parent[i] = i;
+		}
+		for (int m = 0; m < order.length; m++) {
+			int e = order[m];
+			int first = find(parent, edgeFirst[e]), second = find(parent, edgeSecond[e]);
+			int low = Math.min(first, second), high = Math.max(first, second);
+			parent[high] = low;
+			dendrogram[m] = new LinkedPair(low, high, sign * edgeDistance[e]);
+		}
 
-		indicesToCheck.remove(Integer.valueOf(dendrogram[m - 1].getFirst()));
 	}
 
-	private LinkedPair getClosestPair() {
-
-		LinkedPair closestPair = null;
-
-		if (isScoreMatrix) {
-			double max = 0.0;
-			for (int i:indicesToCheck) {
-
-				for (int j:indicesToCheck) {
-					if (j<=i) continue;
-
-					if (matrix[i][j]>=max) {
-						max = matrix[i][j];
-						closestPair = new LinkedPair(i, j, max);
-					}
-
-				}
-			}
-		} else {
-			double min = Double.MAX_VALUE;
-			for (int i:indicesToCheck) {
-
-				for (int j:indicesToCheck) {
-					if (j<=i) continue;
-
-					if (matrix[i][j]<=min) {
-						min = matrix[i][j];
-						closestPair = new LinkedPair(i, j, min);
-					}
-
-				}
-			}
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
 		}
+		return i;
+	}
 
-		return closestPair;
+	private double getDistance(int first, int second) {
+		return distances.getDistance(Math.min(first, second), Math.max(first, second));
 	}
 
 	/**
@@ -376,13 +392,10 @@ public class SingleLinkageClusterer {
 				if (i==j) {
 					sb.append(String.format("%6s ","x"));
 				}
-				else if (i<j) {
-					if (matrix[i][j]==Double.MAX_VALUE) sb.append(String.format("%6s ","inf"));
-					else sb.append(String.format("%6.2f ",matrix[i][j]));
-				}
 				else {
-					if (matrix[j][i]==Double.MAX_VALUE) sb.append(String.format("%6s ","inf"));
-					else sb.append(String.format("%6.2f ",matrix[j][i]));
+					double distance = getDistance(i, j);
+					if (distance==Double.MAX_VALUE) sb.append(String.format("%6s ","inf"));
+					else sb.append(String.format("%6.2f ",distance));
 				}
 			}
 			sb.append("\n");
@@ -30,9 +30,13 @@ import java.util.*;
 /** A in memory cache using soft references. (can be garbage collected)
  *
  * This code is based on: http://java-interview-faqs.blogspot.com/2008/09/building-faster-and-efficient-cache.html
+ *
+ * @deprecated what is kept depends on the garbage collector, and all writes share one lock:
+ * use {@link BoundedCache} instead
  * */
 
 
+@Deprecated
 public class SoftHashMap<K, V> extends AbstractMap<K, V> {
 
 	private final static Logger logger = LoggerFactory.getLogger(SoftHashMap.class);
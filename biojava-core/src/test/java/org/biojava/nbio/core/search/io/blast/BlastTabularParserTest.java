@@ -26,11 +26,15 @@ import org.biojava.nbio.core.search.io.Result;
 import org.junit.*;
 
 import java.io.File;
+import java.io.PrintWriter;
 import java.net.URL;
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -204,4 +208,103 @@ public class BlastTabularParserTest {
 
 
 
+
+	private static String summary(List<Result> results) {
+		StringBuilder s = new StringBuilder();
+		for (Result result : results) {
+			int hits = 0, hsps = 0;
+			double evalues = 0;
+			for (Hit hit : result) {
+				hits++;
+				for (Hsp hsp : hit) {
+					hsps++;
+					evalues += hsp.getHspEvalue();
+				}
+			}
+			s.append(result.getQueryID()).append(' ').append(result.getQueryDef()).append(' ').append(hits).append(' ')
+					.append(hsps).append(' ').append(evalues).append(';');
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Test of createObjects and iterator methods over a report with header comments, in chunks of any size.
+	 */
+	@Test
+	public void testChunks() throws Exception {
+		File file = getFileForResource("/org/biojava/nbio/core/search/io/blast/test.two-query.blasttxt");
+		BlastTabularParser instance = new BlastTabularParser();
+		instance.setFile(file);
+		List<Result> results = instance.createObjects(10);
+		assertEquals(2, results.size());
+		assertEquals("Query_1", results.get(0).getQueryID());
+		assertEquals("Dual oxidase (DUOX1_RAT)", results.get(0).getQueryDef());
+		assertEquals("/analysis/db/blast/Hs_Genome/hg19/Unmasked/hg19_Unmasked", results.get(0).getDbFile());
+		assertEquals("7-TM protein (FFAR1_RAT)", results.get(1).getQueryDef());
+		Hsp hsp = results.get(0).iterator().next().iterator().next();
+		assertEquals(1e-46, hsp.getHspEvalue(), 0.0);
+		assertEquals(157, hsp.getHspBitScore(), 0.0);
+		assertEquals(0.974, hsp.getPercentageIdentity(), 1e-12);
+		assertEquals(45396336, hsp.getHspHitTo());
+
+		String all = summary(results);
+		assertTrue(all, all.startsWith("Query_1 Dual oxidase (DUOX1_RAT) 13 95 "));
+		String filtered = summary(instance.createObjects(1e-10));
+		assertTrue(filtered, filtered.startsWith("Query_1 Dual oxidase (DUOX1_RAT) 13 42 "));
+		for (int chunkSize : new int[] { 1, 50, 1000 }) {
+			instance.setChunkSize(chunkSize);
+			assertEquals(all, summary(instance.createObjects(10)));
+			assertEquals(filtered, summary(instance.createObjects(1e-10)));
+			List<Result> streamed = new ArrayList<>();
+			try (BlastTabularParser.ResultIterator iterator = instance.iterator(1e-10)) {
+				iterator.forEachRemaining(streamed::add);
+			}
+			assertEquals(filtered, summary(streamed));
+		}
+	}
+
+	/**
+	 * Test of the numeric column parsing, against the JDK.
+	 */
+	@Test
+	public void testParseNumbers() {
+		String[] doubles = { "0.0", "100.00", "97.40", "1e-46", "4e-19", "6e-45", "3.7", "  157", " 2894", "57.4", "-1.5",
+				"1e-180", "2.2e+3", "0.1", "123456789012345678901", "1.7976931348623157E308", ".5", "5.", "NaN" };
+		for (String d : doubles) {
+			byte[] b = d.getBytes();
+			assertEquals(d, Double.parseDouble(d), BlastTabularParser.parseDouble(b, 0, b.length), 0.0);
+		}
+		Random random = new Random(3);
+		for (int i = 0; i < 10000; i++) {
+			String d = String.format("%." + random.nextInt(6) + "f", random.nextDouble() * Math.pow(10, random.nextInt(8)));
+			byte[] b = d.getBytes();
+			assertEquals(d, Double.parseDouble(d), BlastTabularParser.parseDouble(b, 0, b.length), 0.0);
+		}
+		for (String n : new String[] { "0", "1567", " 42 ", "-7", "2147483647" }) {
+			byte[] b = n.getBytes();
+			assertEquals(Integer.parseInt(n.trim()), BlastTabularParser.parseInt(b, 0, b.length));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseIntOverflow() {
+		byte[] b = "2147483648".getBytes();
+		BlastTabularParser.parseInt(b, 0, b.length);
+	}
+
+	/**
+	 * Test of createObjects method on a malformed report.
+	 */
+	@Test(expected = ParseException.class)
+	public void testMalformed() throws Exception {
+		File file = File.createTempFile("blast", ".blasttxt");
+		file.deleteOnExit();
+		try (PrintWriter writer = new PrintWriter(file)) {
+			writer.println("q1\ts1\t100.00\t10\t0\t0\t1\t10\t1\t10\t1e-5\t20.0");
+			writer.println("q1\ts1\t100.00\tten\t0\t0\t1\t10\t1\t10\t1e-5\t20.0");
+		}
+		BlastTabularParser instance = new BlastTabularParser();
+		instance.setFile(file);
+		instance.createObjects(10);
+	}
 }
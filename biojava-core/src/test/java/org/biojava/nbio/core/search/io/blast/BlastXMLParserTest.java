@@ -156,6 +156,69 @@ public class BlastXMLParserTest {
 		assertEquals(expHsp1hit1res1, hsp1hit1res1);
 	}
 
+	private static String hspEvalues(Result result) {
+		StringBuilder s = new StringBuilder();
+		for (Hit hit : result) {
+			s.append(hit.getHitId()).append(':');
+			for (Hsp hsp : hit) {
+				s.append(' ').append(hsp.getHspEvalue());
+			}
+			s.append(';');
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Test of parse method, of class BlastXMLParser: iterations without hits are left out
+	 * and hsps above the maximum e-value are dropped as they are read.
+	 */
+	@Test
+	public void testParse() throws Exception {
+		BlastXMLParser instance = new BlastXMLParser();
+		instance.setFile(getFileForResource("/org/biojava/nbio/core/search/io/blast/three-query.blastxml"));
+
+		List<Result> results = new ArrayList<>();
+		instance.parse(1.0, results::add);
+		assertEquals(2, results.size());
+		assertEquals("Query_1", results.get(0).getQueryID());
+		assertEquals(1, results.get(0).getIterationNumber());
+		assertEquals(100, results.get(0).getQueryLength());
+		assertEquals("database.fasta", results.get(0).getDbFile());
+		assertEquals("gnl|BL_ORD_ID|0: 1.0E-50 0.5;gnl|BL_ORD_ID|1:;", hspEvalues(results.get(0)));
+		assertEquals("Query_3", results.get(1).getQueryID());
+		assertEquals("query 3", results.get(1).getQueryDef());
+		assertEquals("gnl|BL_ORD_ID|2: 2.0E-30;", hspEvalues(results.get(1)));
+
+		Hsp hsp = results.get(1).iterator().next().iterator().next();
+		assertEquals(2, hsp.getHspQueryFrom());
+		assertEquals(19, hsp.getHspHitTo());
+		assertEquals(99.5, hsp.getHspBitScore(), 0.0);
+		assertEquals("ACGTACGT", hsp.getHspQseq().toString());
+
+		assertEquals(results, instance.createObjects(1.0));
+	}
+
+	/**
+	 * Test of iterator method, of class BlastXMLParser.
+	 */
+	@Test
+	public void testIterator() throws Exception {
+		BlastXMLParser instance = new BlastXMLParser();
+		instance.setFile(getFileForResource("/org/biojava/nbio/core/search/io/blast/three-query.blastxml"));
+
+		try (BlastXMLParser.ResultIterator results = instance.iterator(1e-40)) {
+			assertTrue(results.hasNext());
+			assertEquals("gnl|BL_ORD_ID|0: 1.0E-50;gnl|BL_ORD_ID|1:;", hspEvalues(results.next()));
+			assertTrue(results.hasNext());
+			assertEquals("gnl|BL_ORD_ID|2:;", hspEvalues(results.next()));
+			assertFalse(results.hasNext());
+		}
+		// closing early
+		try (BlastXMLParser.ResultIterator results = instance.iterator(10)) {
+			assertEquals("gnl|BL_ORD_ID|0: 1.0E-50 0.5;gnl|BL_ORD_ID|1: 3.2;", hspEvalues(results.next()));
+		}
+	}
+
 	/**
 	 * Test of getFileExtensions method, of class BlastXMLParser.
 	 */
@@ -0,0 +1,95 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.storage.ArrayListSequenceReader;
+import org.biojava.nbio.core.sequence.storage.ByteArraySequenceReader;
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class ByteArraySequenceReaderTest {
+
+	private static final AminoAcidCompoundSet AA = AminoAcidCompoundSet.aminoAcidCompoundSet;
+
+	@Test
+	public void sameAsArrayList() throws CompoundNotFoundException {
+		String s = "MKLVAAGGWYC*XUO";
+		ByteArraySequenceReader<AminoAcidCompound> bytes = new ByteArraySequenceReader<>(s, AA);
+		ArrayListSequenceReader<AminoAcidCompound> list = new ArrayListSequenceReader<>(s, AA);
+
+		assertEquals(list.getLength(), bytes.getLength());
+		assertEquals(list.getSequenceAsString(), bytes.getSequenceAsString());
+		assertEquals(list.getAsList(), bytes.getAsList());
+		for (int i = 1; i <= list.getLength(); i++) {
+			assertSame(list.getCompoundAt(i), bytes.getCompoundAt(i));
+		}
+		AminoAcidCompound g = AA.getCompoundForString("G");
+		AminoAcidCompound a = AA.getCompoundForString("A");
+		assertEquals(list.getIndexOf(g), bytes.getIndexOf(g));
+		assertEquals(list.getLastIndexOf(g), bytes.getLastIndexOf(g));
+		assertEquals(0, bytes.getIndexOf(AA.getCompoundForString("H")));
+		assertEquals(4, bytes.countCompounds(g, a));
+		assertEquals("GWY", bytes.getSubSequence(8, 10).getSequenceAsString());
+	}
+
+	@Test
+	public void fromBytes() throws CompoundNotFoundException {
+		byte[] ascii = "xxACGTacgtN".getBytes(StandardCharsets.US_ASCII);
+		ByteArraySequenceReader<NucleotideCompound> dna =
+				new ByteArraySequenceReader<>(ascii, 2, 9, DNACompoundSet.getDNACompoundSet());
+		// unlike 2bit storage the case is kept
+		assertEquals("ACGTacgtN", dna.getSequenceAsString());
+		assertEquals(new ByteArraySequenceReader<>("ACGTacgtN", DNACompoundSet.getDNACompoundSet()), dna);
+	}
+
+	@Test(expected = CompoundNotFoundException.class)
+	public void unknownCompound() throws CompoundNotFoundException {
+		new ByteArraySequenceReader<>("ACGTJ", DNACompoundSet.getDNACompoundSet());
+	}
+
+	@Test
+	public void ordinalsAreShared() {
+		CompoundOrdinals<AminoAcidCompound> ordinals = CompoundOrdinals.of(AA);
+		assertSame(ordinals, CompoundOrdinals.of(AA));
+		AminoAcidCompound w = AA.getCompoundForString("W");
+		int ordinal = ordinals.getOrdinal(w);
+		assertTrue(ordinal >= 0 && ordinal < ordinals.size());
+		assertSame(w, ordinals.getCompound(ordinal));
+		assertEquals(ordinal, ordinals.getOrdinal('W'));
+		assertEquals(ordinal, ordinals.getOrdinal('w'));
+		assertEquals(-1, ordinals.getOrdinal('#'));
+	}
+
+	@Test
+	public void defaultStorage() throws CompoundNotFoundException {
+		assertTrue(new ProteinSequence("MKLV").getProxySequenceReader() instanceof ByteArraySequenceReader);
+		assertTrue(new DNASequence("ACGT").getProxySequenceReader() instanceof ByteArraySequenceReader);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.storage.ArrayListSequenceReader;
+import org.biojava.nbio.core.sequence.storage.CompoundOrdinals;
+import org.biojava.nbio.core.sequence.storage.FourBitSequenceReader;
+import org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader;
+import org.biojava.nbio.core.sequence.template.Compound;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.biojava.nbio.core.sequence.views.ReversedSequenceView;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SequenceOrdinalsTest {
+
+	/**
+	 * Checks the bulk accessors against {@link Sequence#getCompoundAt(int)}.
+	 */
+	private static <C extends Compound> void assertOrdinals(Sequence<C> sequence) {
+		CompoundOrdinals<C> ordinals = CompoundOrdinals.of(sequence.getCompoundSet());
+		int[] all = sequence.getOrdinals();
+		assertEquals(sequence.getLength(), all.length);
+		for (int i = 1; i <= sequence.getLength(); i++) {
+			assertSame(sequence.getCompoundAt(i), ordinals.getCompound(all[i - 1]));
+		}
+
+		// a range copied into the middle of an array
+		int start = 2;
+		int end = sequence.getLength() - 1;
+		int[] ints = new int[end - start + 3];
+		byte[] bytes = new byte[end - start + 3];
+		sequence.getOrdinals(start, end, ints, 1);
+		sequence.getOrdinals(start, end, bytes, 1);
+		for (int i = start; i <= end; i++) {
+			assertEquals(all[i - 1], ints[i - start + 1]);
+			assertEquals(all[i - 1], bytes[i - start + 1] & 0xff);
+		}
+		assertEquals(0, ints[0]);
+		assertEquals(0, ints[ints.length - 1]);
+	}
+
+	@Test
+	public void byteArrayStorage() throws CompoundNotFoundException {
+		assertOrdinals(new ProteinSequence("MKLVAAGGWYCSTP"));
+		assertOrdinals(new DNASequence("ACGTNacgtn"));
+	}
+
+	@Test
+	public void bitStorage() {
+		assertOrdinals(new TwoBitSequenceReader<>("ACGTTGCAACGTTGCAAGT", DNACompoundSet.getDNACompoundSet()));
+		assertOrdinals(new DNASequence(new TwoBitSequenceReader<>("ACGTTGCAACGTTGCAAGT", DNACompoundSet.getDNACompoundSet())));
+		assertOrdinals(new FourBitSequenceReader<>("ACGACGGACAAG", DNACompoundSet.getDNACompoundSet()));
+	}
+
+	@Test
+	public void fallback() throws CompoundNotFoundException {
+		assertOrdinals(new ArrayListSequenceReader<>("MKLVAAGGWYCSTP", AminoAcidCompoundSet.aminoAcidCompoundSet));
+		assertOrdinals(new DNASequence("ACGTACGGT").getReverseComplement());
+	}
+
+	@Test
+	public void views() throws CompoundNotFoundException {
+		ProteinSequence p = new ProteinSequence("MKLVAAGGWYCSTP");
+		Sequence<AminoAcidCompound> view = p.getSubSequence(3, 12);
+		assertOrdinals(view);
+		assertOrdinals(view.getSubSequence(2, 8));
+		assertEquals(new ProteinSequence("LVAAGGWYCS").getOrdinals()[0], view.getOrdinals()[0]);
+
+		ReversedSequenceView<AminoAcidCompound> reversed = new ReversedSequenceView<>(p);
+		assertOrdinals(reversed);
+		assertOrdinals(reversed.getSubSequence(4, 9));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void outOfRange() throws CompoundNotFoundException {
+		new DNASequence("ACGT").getOrdinals(2, 5, new int[4], 0);
+	}
+
+	@Test
+	public void emptyRange() {
+		Sequence<NucleotideCompound> s = new TwoBitSequenceReader<>("ACGT", DNACompoundSet.getDNACompoundSet());
+		s.getOrdinals(3, 2, new int[0], 0);
+	}
+}
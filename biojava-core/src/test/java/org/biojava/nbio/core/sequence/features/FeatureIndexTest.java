@@ -0,0 +1,153 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.features;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.location.SimpleLocation;
+import org.biojava.nbio.core.sequence.template.AbstractSequence;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the feature queries of {@link AbstractSequence} against scans of its feature lists.
+ */
+public class FeatureIndexTest {
+
+	private static final String[] TYPES = { "gene", "CDS", "repeat_region" };
+
+	private static List<FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound>> scan(
+			List<FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound>> features, int start,
+			int end) {
+		List<FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound>> hits = new ArrayList<>();
+		for (FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound> feature : features) {
+			if (feature.getLocations().getStart().getPosition() <= end
+					&& feature.getLocations().getEnd().getPosition() >= start) {
+				hits.add(feature);
+			}
+		}
+		return hits;
+	}
+
+	private static void assertSameHits(DNASequence sequence, Random random, int length) {
+		for (int q = 0; q < 200; q++) {
+			int start = 1 + random.nextInt(length), end = start + random.nextInt(q % 2 == 0 ? 1 : 50);
+			assertEquals(scan(sequence.getFeatures(), start, start), sequence.getFeatures(start));
+			assertEquals(scan(sequence.getFeatures(), start, end), sequence.getFeatures(start, end));
+			for (String type : TYPES) {
+				assertEquals(scan(sequence.getFeaturesByType(type), start, start), sequence.getFeatures(type, start));
+				assertEquals(scan(sequence.getFeaturesByType(type), start, end), sequence.getFeatures(type, start, end));
+			}
+		}
+	}
+
+	@Test
+	public void sameAsScan() throws CompoundNotFoundException {
+		Random random = new Random(19);
+		int length = 5000;
+		DNASequence sequence = new DNASequence("ACGT");
+		for (int n : new int[] { 0, 1, 2, 3, 7, 8, 9, 100, 1000 }) {
+			while (sequence.getFeatures().size() < n) {
+				int start = 1 + random.nextInt(length);
+				// mostly short features, some long ones spanning many others
+				int end = start + (random.nextInt(10) == 0 ? random.nextInt(length / 2) : random.nextInt(30));
+				sequence.addFeature(start, end, new TextFeature(TYPES[random.nextInt(TYPES.length)], "test", "", ""));
+			}
+			assertSameHits(sequence, random, length);
+		}
+		// removing features, down to none of a type
+		for (FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound> feature :
+				new ArrayList<>(sequence.getFeaturesByType("CDS"))) {
+			sequence.removeFeature(feature);
+		}
+		assertEquals(0, sequence.getFeatures("CDS", 1, length).size());
+		assertSameHits(sequence, random, length);
+	}
+
+	@Test
+	public void sortedByLocationLength() throws CompoundNotFoundException {
+		DNASequence sequence = new DNASequence("ACGT");
+		sequence.addFeature(5, 10, new TextFeature("gene", "test", "a", ""));
+		sequence.addFeature(1, 3, new TextFeature("gene", "test", "b", ""));
+		sequence.addFeature(5, 20, new TextFeature("gene", "test", "c", ""));
+		sequence.addFeature(5, 10, new TextFeature("gene", "test", "d", ""));
+		List<FeatureInterface<AbstractSequence<NucleotideCompound>, NucleotideCompound>> sorted =
+				new ArrayList<>(sequence.getFeatures());
+		sorted.sort(AbstractFeature.LOCATION_LENGTH);
+		assertEquals(sorted, sequence.getFeatures());
+		StringBuilder order = new StringBuilder();
+		for (FeatureInterface<?, ?> feature : sequence.getFeatures(6)) {
+			order.append(feature.getShortDescription());
+		}
+		assertEquals("cad", order.toString());
+	}
+
+	@Test
+	public void locationChanged() throws CompoundNotFoundException {
+		DNASequence sequence = new DNASequence("ACGT");
+		TextFeature moved = new TextFeature("gene", "test", "", "");
+		sequence.addFeature(1, 5, moved);
+		sequence.addFeature(10, 15, new TextFeature("gene", "test", "", ""));
+		assertEquals(1, sequence.getFeatures(3).size());
+		assertEquals(1, sequence.getFeatures("gene", 3).size());
+		// the features are no longer sorted, the indexes notice the move without being told
+		moved.setLocation(new SimpleLocation(40, 50));
+		assertEquals(0, sequence.getFeatures(3).size());
+		assertEquals(0, sequence.getFeatures("gene", 3).size());
+		assertEquals(Collections.singletonList(moved), sequence.getFeatures(45));
+		assertEquals(Collections.singletonList(moved), sequence.getFeatures("gene", 45));
+		assertEquals(scan(sequence.getFeatures(), 1, 60), sequence.getFeatures(1, 60));
+	}
+
+	@Test
+	public void sortedAfterMove() throws CompoundNotFoundException {
+		DNASequence sequence = new DNASequence("ACGT");
+		TextFeature moved = new TextFeature("gene", "test", "", "");
+		TextFeature other = new TextFeature("gene", "test", "", "");
+		sequence.addFeature(1, 5, moved);
+		sequence.addFeature(10, 15, other);
+		assertEquals(1, sequence.getFeatures(3).size());
+		moved.setLocation(new SimpleLocation(40, 50));
+		// the lists are sorted again, so that a feature added later is inserted in its place
+		TextFeature added = new TextFeature("gene", "test", "", "");
+		sequence.addFeature(20, 25, added);
+		assertEquals(Arrays.asList(other, added, moved), sequence.getFeatures());
+		assertEquals(Arrays.asList(other, added, moved), sequence.getFeaturesByType("gene"));
+		assertEquals(Arrays.asList(added, moved), sequence.getFeatures(20, 45));
+
+		// a feature of another sequence moving does not change the order of this one
+		DNASequence unrelated = new DNASequence("ACGT");
+		TextFeature elsewhere = new TextFeature("gene", "test", "", "");
+		unrelated.addFeature(1, 5, elsewhere);
+		assertEquals(1, unrelated.getFeatures(3).size());
+		elsewhere.setLocation(new SimpleLocation(60, 70));
+		assertEquals(Arrays.asList(other, added, moved), sequence.getFeatures());
+		assertEquals(Collections.singletonList(elsewhere), unrelated.getFeatures(65));
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ByteFastaReaderTest {
+
+	private static ByteFastaReader<DNASequence, NucleotideCompound> dnaReader(String fasta) {
+		return new ByteFastaReader<>(fasta.getBytes(StandardCharsets.US_ASCII), new GenericFastaHeaderParser<>(),
+				new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()), DNACompoundSet.getDNACompoundSet());
+	}
+
+	@Test
+	public void testDna() {
+		String fasta = "; a comment\n" +
+				">one first record\r\n" +
+				"ACGTACGTAC\r\n" +
+				"  GTACG \r\n" +
+				"\n" +
+				">empty\n" +
+				">two\n" +
+				"ACGTN\n" +
+				">three\n" +
+				"acgt";
+		ByteFastaReader<DNASequence, NucleotideCompound> reader = dnaReader(fasta);
+		LinkedHashMap<String, DNASequence> sequences = reader.process();
+		assertEquals(Arrays.asList("one first record", "two", "three"), Arrays.asList(sequences.keySet().toArray()));
+		assertEquals(fasta.length(), reader.getBytesRead());
+
+		DNASequence one = sequences.get("one first record");
+		assertEquals("one first record", one.getOriginalHeader());
+		assertEquals("ACGTACGTACGTACG", one.getSequenceAsString());
+		assertTrue(one.getProxySequenceReader() instanceof TwoBitSequenceReader);
+
+		// N can't be stored in 2bit
+		DNASequence two = sequences.get("two");
+		assertEquals("ACGTN", two.getSequenceAsString());
+		assertFalse(two.getProxySequenceReader() instanceof TwoBitSequenceReader);
+
+		// 2bit storage does not keep the case
+		assertEquals("ACGT", sequences.get("three").getSequenceAsString());
+		assertNull(reader.next());
+	}
+
+	@Test
+	public void testUnrecognisedCompoundsSkipped() {
+		ByteFastaReader<DNASequence, NucleotideCompound> reader = dnaReader(">bad\nACGTXX\n>good\nACGT\n");
+		DNASequence good = reader.next();
+		assertEquals("good", good.getAccession().getID());
+		assertNull(reader.next());
+	}
+
+	@Test
+	public void testBufferPositionUntouched() {
+		ByteBuffer buffer = ByteBuffer.wrap("xx>a\nACGT\n".getBytes(StandardCharsets.US_ASCII));
+		buffer.position(2);
+		ByteFastaReader<DNASequence, NucleotideCompound> reader = new ByteFastaReader<>(buffer,
+				new GenericFastaHeaderParser<>(), new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()),
+				DNACompoundSet.getDNACompoundSet());
+		assertEquals("ACGT", reader.next().getSequenceAsString());
+		assertEquals(2, buffer.position());
+	}
+
+	/**
+	 * All records must be identical to the ones read by {@link FastaReader}.
+	 */
+	@Test
+	public void testSameAsFastaReader() throws IOException {
+		byte[] bytes;
+		try (InputStream is = getClass().getResourceAsStream("/PF00104_small.fasta")) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buf = new byte[8192];
+			int n;
+			while ((n = is.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+			bytes = out.toByteArray();
+		}
+
+		FastaReader<ProteinSequence, AminoAcidCompound> fastaReader = new FastaReader<>(new ByteArrayInputStream(bytes),
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		LinkedHashMap<String, ProteinSequence> expected = fastaReader.process();
+
+		ByteFastaReader<ProteinSequence, AminoAcidCompound> reader = new ByteFastaReader<>(bytes,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet),
+				AminoAcidCompoundSet.aminoAcidCompoundSet);
+		LinkedHashMap<String, ProteinSequence> actual = reader.process();
+
+		assertEquals(expected.size(), actual.size());
+		for (Map.Entry<String, ProteinSequence> e : expected.entrySet()) {
+			ProteinSequence p = actual.get(e.getKey());
+			assertNotNull(e.getKey(), p);
+			assertEquals(e.getValue().getOriginalHeader(), p.getOriginalHeader());
+			assertEquals(e.getValue().getSequenceAsString(), p.getSequenceAsString());
+		}
+	}
+}
@@ -24,12 +24,14 @@ import org.biojava.nbio.core.sequence.ProteinSequence;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
 import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
 import org.junit.*;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.LinkedHashMap;
+import java.io.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  *
@@ -39,6 +41,9 @@ public class FastaReaderTest {
 
 	private final static Logger logger = LoggerFactory.getLogger(FastaReaderTest.class);
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	public FastaReaderTest() {
 	}
 
@@ -206,4 +211,71 @@ public class FastaReaderTest {
 
 
 	}
+
+	/**
+	 * The stream must yield the same records, in the same order, as process()
+	 */
+	@Test
+	public void testStream() throws Exception {
+		InputStream inStream = this.getClass().getResourceAsStream("/PF00104_small.fasta");
+		FastaReader<ProteinSequence, AminoAcidCompound> fastaReader = new FastaReader<>(inStream,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		List<String> expected = new ArrayList<>(fastaReader.process().keySet());
+
+		inStream = this.getClass().getResourceAsStream("/PF00104_small.fasta");
+		fastaReader = new FastaReader<>(inStream,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		try (Stream<ProteinSequence> stream = fastaReader.stream()) {
+			List<String> actual = stream.map(s -> s.getAccession().getID()).collect(Collectors.toList());
+			Assert.assertEquals(expected, actual);
+		}
+
+		// the iterator can be interleaved with process(int)
+		inStream = this.getClass().getResourceAsStream("/PF00104_small.fasta");
+		fastaReader = new FastaReader<>(inStream,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		Assert.assertEquals(expected.subList(0, 10), new ArrayList<>(fastaReader.process(10).keySet()));
+		Iterator<ProteinSequence> it = fastaReader.iterator();
+		Assert.assertEquals(expected.get(10), it.next().getAccession().getID());
+		fastaReader.close();
+	}
+
+	/**
+	 * A parallel stream over a file splits it on record boundaries: no record may be lost,
+	 * duplicated or cut.
+	 */
+	@Test
+	public void testParallelStream() throws Exception {
+		File file = folder.newFile("large.fasta");
+		Random random = new Random(1);
+		Map<String, String> expected = new HashMap<>();
+		try (Writer w = new BufferedWriter(new FileWriter(file))) {
+			for (int i = 0; expected.size() < 12000; i++) {
+				char[] seq = new char[100 + random.nextInt(400)];
+				for (int j = 0; j < seq.length; j++) {
+					seq[j] = "ACDEFGHIKLMNPQRSTVWY".charAt(random.nextInt(20));
+				}
+				w.write(">seq" + i + "\n");
+				for (int j = 0; j < seq.length; j += 60) {
+					w.write(seq, j, Math.min(60, seq.length - j));
+					w.write("\n");
+				}
+				expected.put("seq" + i, new String(seq));
+			}
+		}
+		// big enough to be split
+		Assert.assertTrue(file.length() > 2 * RecordSpliterator.MIN_SPLIT_SIZE);
+
+		FastaReader<ProteinSequence, AminoAcidCompound> fastaReader = new FastaReader<>(file,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		Assert.assertNotNull(fastaReader.spliterator().trySplit());
+
+		fastaReader = new FastaReader<>(file,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		try (Stream<ProteinSequence> stream = fastaReader.stream()) {
+			Map<String, String> actual = stream.parallel().collect(Collectors.toConcurrentMap(
+					s -> s.getAccession().getID(), ProteinSequence::getSequenceAsString));
+			Assert.assertEquals(expected, actual);
+		}
+	}
 }
@@ -28,14 +28,18 @@ import org.biojava.nbio.core.sequence.features.FeatureInterface;
 import org.biojava.nbio.core.sequence.features.Qualifier;
 import org.biojava.nbio.core.sequence.template.AbstractSequence;
 import org.junit.*;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
@@ -50,6 +54,9 @@ public class GenbankReaderTest {
 
 	private final static Logger logger = LoggerFactory.getLogger(GenbankReaderTest.class);
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	public GenbankReaderTest() {
 	}
 
@@ -332,6 +339,57 @@ public class GenbankReaderTest {
 		
 	}
 
+	/**
+	 * The stream must yield the same records, in the same order, as process()
+	 */
+	@Test
+	public void testStream() throws Exception {
+		GenbankReader<DNASequence, NucleotideCompound> genbankDNA = new GenbankReader<>(
+				this.getClass().getResourceAsStream("/two-dnaseqs.gb"),
+				new GenericGenbankHeaderParser<>(),
+				new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()));
+		try (Stream<DNASequence> stream = genbankDNA.stream()) {
+			List<String> accessions = stream.map(s -> s.getAccession().getID()).collect(Collectors.toList());
+			assertEquals(Arrays.asList("vPetite", "sbFDR"), accessions);
+		}
+		assertTrue(genbankDNA.isClosed());
+	}
+
+	/**
+	 * A parallel stream over a file splits it on LOCUS lines: no record may be lost or duplicated.
+	 */
+	@Test
+	public void testParallelStream() throws Exception {
+		File file = folder.newFile("large.gb");
+		byte[] content;
+		try (InputStream is = this.getClass().getResourceAsStream("/two-dnaseqs.gb")) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buf = new byte[4096];
+			int n;
+			while ((n = is.read(buf)) > 0) {
+				bytes.write(buf, 0, n);
+			}
+			content = bytes.toByteArray();
+		}
+		int copies = 0;
+		try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file))) {
+			while ((long) copies * content.length <= 2 * RecordSpliterator.MIN_SPLIT_SIZE + content.length) {
+				os.write(content);
+				copies++;
+			}
+		}
+
+		GenbankReader<DNASequence, NucleotideCompound> genbankDNA = new GenbankReader<>(file,
+				new GenericGenbankHeaderParser<>(), new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()));
+		try (Stream<DNASequence> stream = genbankDNA.stream()) {
+			Map<String, Long> counts = stream.parallel()
+					.collect(Collectors.groupingByConcurrent(s -> s.getAccession().getID(), Collectors.counting()));
+			assertEquals(2, counts.size());
+			assertEquals(copies, counts.get("vPetite").longValue());
+			assertEquals(copies, counts.get("sbFDR").longValue());
+		}
+	}
+
 	/**
 	 * Helper class to be able to verify the closed state of the input stream.
 	 */
@@ -0,0 +1,217 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.io;
+
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompound;
+import org.biojava.nbio.core.sequence.compound.AminoAcidCompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class IndexedFastaReaderTest {
+
+	private static final String DNA_FASTA =
+			">one first record\n" +
+			"ACGTACGTAC\n" +
+			"GTACGTACGT\n" +
+			"ACG\n" +
+			">two\n" +
+			"TTTTTGGGGG\n" +
+			"CCCCC\n" +
+			">three third\n" +
+			"acgtn\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File write(String name, String content) throws IOException {
+		File f = folder.newFile(name);
+		try (OutputStream os = new FileOutputStream(f)) {
+			os.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return f;
+	}
+
+	private IndexedFastaReader<DNASequence, NucleotideCompound> openDna(File f) throws IOException {
+		return new IndexedFastaReader<>(f, new GenericFastaHeaderParser<>(),
+				new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()), DNACompoundSet.getDNACompoundSet());
+	}
+
+	/**
+	 * The expected values are those written by samtools faidx for the same file.
+	 */
+	@Test
+	public void testBuildIndex() throws IOException {
+		FastaIndex index = FastaIndex.build(new ByteArrayInputStream(DNA_FASTA.getBytes(StandardCharsets.US_ASCII)));
+		assertEquals(Arrays.asList("one", "two", "three"), index.getNames());
+		assertEquals("one\t23\t18\t10\t11", index.getEntry("one").toString());
+		assertEquals("two\t15\t49\t10\t11", index.getEntry("two").toString());
+		assertEquals("three\t5\t79\t5\t6", index.getEntry("three").toString());
+		assertNull(index.getEntry("four"));
+	}
+
+	@Test
+	public void testBuildIndexWindowsLineEndings() throws IOException {
+		String crlf = DNA_FASTA.replace("\n", "\r\n");
+		FastaIndex index = FastaIndex.build(new ByteArrayInputStream(crlf.getBytes(StandardCharsets.US_ASCII)));
+		assertEquals("one\t23\t19\t10\t12", index.getEntry("one").toString());
+		assertEquals(19 + 2 * 12 + 2, index.getEntry("one").getByteOffset(22));
+	}
+
+	@Test
+	public void testBlankLines() throws IOException {
+		// as samtools faidx: blank lines after a record do not count, in the middle of the file or at its end
+		String fasta = ">a\nACGT\nACGT\n\n>b\nGGGG\n\n";
+		FastaIndex index = FastaIndex.build(new ByteArrayInputStream(fasta.getBytes(StandardCharsets.US_ASCII)));
+		assertEquals("a\t8\t3\t4\t5", index.getEntry("a").toString());
+		assertEquals("b\t4\t17\t4\t5", index.getEntry("b").toString());
+
+		fasta = ">a\nACGT\nACGT\n\n\n>b\nGGGG\n\n\n";
+		index = FastaIndex.build(new ByteArrayInputStream(fasta.getBytes(StandardCharsets.US_ASCII)));
+		assertEquals("a\t8\t3\t4\t5", index.getEntry("a").toString());
+		assertEquals("b\t4\t18\t4\t5", index.getEntry("b").toString());
+	}
+
+	@Test
+	public void testTrailingNewline() throws IOException {
+		for (String fasta : new String[] { ">a\nACGT\nAC\n", ">a\nACGT\nAC" }) {
+			FastaIndex index = FastaIndex.build(new ByteArrayInputStream(fasta.getBytes(StandardCharsets.US_ASCII)));
+			assertEquals("a\t6\t3\t4\t5", index.getEntry("a").toString());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testInconsistentLineLength() throws IOException {
+		String fasta = ">bad\nACGT\nACGTACGT\nAC\n";
+		FastaIndex.build(new ByteArrayInputStream(fasta.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test(expected = IOException.class)
+	public void testDuplicateName() throws IOException {
+		String fasta = ">a\nACGT\n>a\nACGT\n";
+		FastaIndex.build(new ByteArrayInputStream(fasta.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		FastaIndex index = FastaIndex.build(new ByteArrayInputStream(DNA_FASTA.getBytes(StandardCharsets.US_ASCII)));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.write(out);
+		FastaIndex read = FastaIndex.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(index.getNames(), read.getNames());
+		for (String name : index.getNames()) {
+			assertEquals(index.getEntry(name).toString(), read.getEntry(name).toString());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegionTooLong() throws IOException {
+		File f = write("big.fasta", ">big\nACGT\n");
+		// an index for a record of more than 2^31 residues, which the region is checked against before any read
+		FastaIndex index = FastaIndex.read(new ByteArrayInputStream(
+				"big\t3000000000\t5\t4\t5\n".getBytes(StandardCharsets.US_ASCII)));
+		try (IndexedFastaReader<DNASequence, NucleotideCompound> reader = new IndexedFastaReader<>(f, index,
+				new GenericFastaHeaderParser<>(), new DNASequenceCreator(DNACompoundSet.getDNACompoundSet()),
+				DNACompoundSet.getDNACompoundSet())) {
+			reader.getSequenceAsString("big", 1, 3000000000L);
+		}
+	}
+
+	@Test
+	public void testRandomAccess() throws IOException {
+		File f = write("dna.fasta", DNA_FASTA);
+		try (IndexedFastaReader<DNASequence, NucleotideCompound> reader = openDna(f)) {
+			// the index is written next to the file
+			assertTrue(new File(f.getPath() + FastaIndex.INDEX_SUFFIX).isFile());
+
+			DNASequence two = reader.getSequence("two");
+			assertEquals(15, two.getLength());
+			assertEquals("TTTTTGGGGGCCCCC", two.getSequenceAsString());
+			assertEquals("two", two.getAccession().getID());
+			assertEquals("GGGCC", two.getSubSequence(8, 12).getSequenceAsString());
+
+			DNASequence one = reader.getSequence("one");
+			assertEquals("one first record", one.getOriginalHeader());
+			assertEquals("ACGTACGTACGTACGTACGTACG", one.getSequenceAsString());
+			assertEquals("G", one.getCompoundAt(23).getShortName());
+
+			assertEquals("acgtn", reader.getSequence("three").getSequenceAsString().toLowerCase());
+			assertEquals("gtn", reader.getSequenceAsString("three", 3, 5));
+			assertEquals("CGTACGTACGTA", reader.getSequenceAsString("one", 10, 21));
+			assertNull(reader.getSequence("four"));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRegionOutOfBounds() throws IOException {
+		File f = write("dna.fasta", DNA_FASTA);
+		try (IndexedFastaReader<DNASequence, NucleotideCompound> reader = openDna(f)) {
+			reader.getSequenceAsString("two", 10, 16);
+		}
+	}
+
+	/**
+	 * All records must be identical to the ones read by {@link FastaReader}.
+	 */
+	@Test
+	public void testSameAsFastaReader() throws IOException {
+		File f = folder.newFile("PF00104_small.fasta");
+		try (InputStream is = getClass().getResourceAsStream("/PF00104_small.fasta")) {
+			Files.copy(is, f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		FastaReader<ProteinSequence, AminoAcidCompound> fastaReader = new FastaReader<>(f,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet));
+		LinkedHashMap<String, ProteinSequence> expected = fastaReader.process();
+
+		try (IndexedFastaReader<ProteinSequence, AminoAcidCompound> reader = new IndexedFastaReader<>(f,
+				new GenericFastaHeaderParser<>(), new ProteinSequenceCreator(AminoAcidCompoundSet.aminoAcidCompoundSet),
+				AminoAcidCompoundSet.aminoAcidCompoundSet)) {
+			assertEquals(expected.size(), reader.getIndex().size());
+			for (Map.Entry<String, ProteinSequence> e : expected.entrySet()) {
+				ProteinSequence actual = reader.getSequence(e.getKey());
+				assertNotNull(e.getKey(), actual);
+				assertEquals(e.getKey(), actual.getAccession().getID());
+				assertEquals(e.getValue().getSequenceAsString(), actual.getSequenceAsString());
+			}
+		}
+	}
+}
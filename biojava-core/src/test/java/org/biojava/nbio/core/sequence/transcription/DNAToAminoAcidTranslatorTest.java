@@ -0,0 +1,140 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.sequence.transcription;
+
+import org.biojava.nbio.core.exceptions.CompoundNotFoundException;
+import org.biojava.nbio.core.exceptions.TranslationException;
+import org.biojava.nbio.core.sequence.DNASequence;
+import org.biojava.nbio.core.sequence.ProteinSequence;
+import org.biojava.nbio.core.sequence.compound.AmbiguityDNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.DNACompoundSet;
+import org.biojava.nbio.core.sequence.compound.NucleotideCompound;
+import org.biojava.nbio.core.sequence.storage.TwoBitSequenceReader;
+import org.biojava.nbio.core.sequence.template.Sequence;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the direct DNA to protein translation against the translation through RNA.
+ */
+public class DNAToAminoAcidTranslatorTest {
+
+	private static String random(Random random, int length, String bases) {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(bases.charAt(random.nextInt(bases.length())));
+		}
+		return s.toString();
+	}
+
+	// the translation through RNA, which fails rather than return an empty protein
+	private static String expected(TranscriptionEngine engine, Sequence<NucleotideCompound> dna, Frame frame) {
+		try {
+			return engine.multipleFrameTranslation(dna, frame).get(frame).getSequenceAsString();
+		} catch (TranslationException e) {
+			return "";
+		}
+	}
+
+	private static void assertSameTranslation(TranscriptionEngine engine, Sequence<NucleotideCompound> dna) {
+		Map<Frame, ProteinSequence> actual =
+				engine.getDnaAminoAcidTranslator().multipleFrameTranslation(dna, Frame.getAllFrames());
+		for (Frame frame : Frame.getAllFrames()) {
+			String expected = expected(engine, dna, frame);
+			assertEquals(dna.getLength() + " " + frame, expected, actual.get(frame).getSequenceAsString());
+			assertEquals(expected, engine.getDnaAminoAcidTranslator().translate(dna, frame).getSequenceAsString());
+		}
+	}
+
+	@Test
+	public void sameAsThroughRna() throws CompoundNotFoundException {
+		Random random = new Random(3);
+		TranscriptionEngine engine = TranscriptionEngine.getDefault();
+		for (int length : new int[] { 3, 4, 5, 60, 301, 10000 }) {
+			assertSameTranslation(engine, new DNASequence(random(random, length, "ACGT")));
+			assertSameTranslation(engine, new DNASequence(random(random, length, "ACGTNacgtR"),
+					AmbiguityDNACompoundSet.getDNACompoundSet()));
+		}
+	}
+
+	@Test
+	public void twoBitStorage() {
+		Random random = new Random(7);
+		TranscriptionEngine engine = TranscriptionEngine.getDefault();
+		for (int length : new int[] { 16, 17, 1000, 20001 }) {
+			DNASequence dna = new DNASequence(new TwoBitSequenceReader<>(random(random, length, "ACGT"),
+					DNACompoundSet.getDNACompoundSet()), DNACompoundSet.getDNACompoundSet());
+			assertSameTranslation(engine, dna);
+		}
+	}
+
+	@Test
+	public void options() throws CompoundNotFoundException {
+		Random random = new Random(11);
+		TranscriptionEngine[] engines = {
+				new TranscriptionEngine.Builder().table(11).initMet(true).trimStop(true).build(),
+				new TranscriptionEngine.Builder().stopAtStopCodons(true).build(),
+				new TranscriptionEngine.Builder().waitForStartCodon(true).stopAtStopCodons(true).build(),
+				new TranscriptionEngine.Builder().translateNCodons(false).build() };
+		for (int i = 0; i < 20; i++) {
+			DNASequence dna = new DNASequence("ATG" + random(random, 200, "ACGT") + "TAA");
+			for (TranscriptionEngine engine : engines) {
+				assertSameTranslation(engine, dna);
+			}
+		}
+	}
+
+	@Test
+	public void empty() throws CompoundNotFoundException {
+		TranscriptionEngine engine = new TranscriptionEngine.Builder().trimStop(true).build();
+		for (String s : new String[] { "", "A", "AC" }) {
+			for (Frame frame : Frame.getAllFrames()) {
+				assertEquals(0, engine.getDnaAminoAcidTranslator().translate(new DNASequence(s), frame).getLength());
+			}
+		}
+		assertEquals("", engine.getDnaAminoAcidTranslator().translate(new DNASequence("TAA")).getSequenceAsString());
+	}
+
+	@Test
+	public void batch() throws CompoundNotFoundException {
+		Random random = new Random(13);
+		List<DNASequence> sequences = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			sequences.add(new DNASequence(random(random, 30 + random.nextInt(300), "ACGTN")));
+		}
+		TranscriptionEngine engine = TranscriptionEngine.getDefault();
+		List<Map<Frame, ProteinSequence>> proteins =
+				engine.getDnaAminoAcidTranslator().batchTranslation(sequences, Frame.ONE, Frame.REVERSED_TWO);
+		assertEquals(sequences.size(), proteins.size());
+		for (int i = 0; i < sequences.size(); i++) {
+			assertEquals(2, proteins.get(i).size());
+			for (Frame frame : new Frame[] { Frame.ONE, Frame.REVERSED_TWO }) {
+				assertEquals(expected(engine, sequences.get(i), frame), proteins.get(i).get(frame).getSequenceAsString());
+			}
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BoundedCacheTest {
+
+	@Test
+	public void weight() {
+		BoundedCache<String, byte[]> cache = new BoundedCache<>(100, bytes -> bytes.length);
+		cache.put("a", new byte[40]);
+		cache.put("b", new byte[40]);
+		assertEquals(80, cache.getWeight());
+		cache.put("c", new byte[40]);
+		assertEquals(2, cache.size());
+		assertEquals(80, cache.getWeight());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get("a"));
+
+		// replacing a value updates the weight
+		cache.put("b", new byte[10]);
+		assertEquals(50, cache.getWeight());
+		assertEquals(10, cache.get("b").length);
+
+		// too heavy to cache, and the old value goes
+		cache.put("b", new byte[101]);
+		assertNull(cache.get("b"));
+		assertEquals(40, cache.getWeight());
+
+		cache.setMaximumWeight(30);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void usedEntriesStay() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(3);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		cache.put(3, "three");
+		assertEquals("one", cache.get(1));
+		cache.put(4, "four");
+		assertEquals("one", cache.get(1));
+		assertNull(cache.get(2));
+		cache.put(5, "five");
+		assertNull(cache.get(3));
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void statistics() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+		assertEquals(1.0, cache.getHitRate(), 0.0);
+		cache.put(1, "one");
+		cache.get(1);
+		cache.get(2);
+		cache.get(1);
+		cache.get(3);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0.5, cache.getHitRate(), 0.0);
+		assertEquals("one", cache.remove(1));
+		assertNull(cache.remove(1));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void loadOnce() throws Exception {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> cache.computeIfAbsent(7, key -> {
+					loads.incrementAndGet();
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+					return "seven";
+				})));
+			}
+			started.await();
+			Thread.sleep(50);
+			release.countDown();
+			for (Future<String> future : futures) {
+				assertEquals("seven", future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getLoadCount());
+		assertEquals("seven", cache.get(7));
+	}
+
+	@Test
+	public void loadFailure() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+		try {
+			cache.computeIfAbsent(1, key -> {
+				throw new IllegalStateException("no value");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("no value", e.getMessage());
+		}
+		assertEquals(1, cache.getLoadFailureCount());
+		assertNull(cache.computeIfAbsent(1, key -> null));
+		assertEquals(0, cache.size());
+		assertEquals("one", cache.computeIfAbsent(1, key -> "one"));
+		assertEquals(3, cache.getLoadCount());
+	}
+
+	@Test
+	public void concurrentPuts() throws Exception {
+		BoundedCache<Integer, byte[]> cache = new BoundedCache<>(1000, bytes -> bytes.length);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int seed = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5000; i++) {
+						int key = (i * 31 + seed) % 200;
+						if (cache.get(key) == null) {
+							cache.put(key, new byte[1 + key % 50]);
+						}
+						if (i % 100 == 0) {
+							cache.remove(key);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(cache.getWeight() <= 1000);
+		long weight = 0;
+		for (int key = 0; key < 200; key++) {
+			byte[] bytes = cache.get(key);
+			if (bytes != null) {
+				weight += bytes.length;
+			}
+		}
+		assertEquals(weight, cache.getWeight());
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MeteredExecutorTest {
+
+	@Test
+	public void metrics() throws Exception {
+		MeteredExecutor executor = new MeteredExecutor(Executors.newSingleThreadExecutor());
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				int n = i;
+				futures.add(executor.submit(() -> {
+					Thread.sleep(2);
+					return n;
+				}));
+			}
+			Future<?> failure = executor.submit(() -> {
+				throw new IllegalStateException();
+			});
+			for (int i = 0; i < 5; i++) {
+				assertEquals(i, (int) futures.get(i).get());
+			}
+			try {
+				failure.get();
+				fail();
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(6, executor.getSubmittedTasks());
+		assertEquals(6, executor.getCompletedTasks());
+		assertEquals(0, executor.getQueueDepth());
+		assertEquals(0, executor.getActiveTasks());
+		assertEquals(1, executor.getFailedTasks());
+		assertTrue(executor.getAverageLatency(TimeUnit.MICROSECONDS) >= 2000);
+		assertTrue(executor.getAverageLatency(TimeUnit.NANOSECONDS) >= executor.getAverageWaitTime(TimeUnit.NANOSECONDS));
+	}
+
+	@Test
+	public void failedRunnable() throws InterruptedException {
+		MeteredExecutor executor = new MeteredExecutor(Executors.newSingleThreadExecutor());
+		executor.execute(() -> {
+			throw new IllegalStateException("expected by the test");
+		});
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(1, executor.getFailedTasks());
+		assertEquals(1, executor.getCompletedTasks());
+	}
+
+	@Test
+	public void failedCallable() throws InterruptedException {
+		MeteredExecutor executor = new MeteredExecutor(Executors.newSingleThreadExecutor());
+		Future<Integer> failure = ConcurrencyTools.submit(executor, () -> {
+			throw new IllegalStateException("expected by the test");
+		}, "failing task");
+		try {
+			failure.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(1, executor.getFailedTasks());
+		assertEquals(1, executor.getCompletedTasks());
+	}
+
+	@Test
+	public void nestedWaitOnForkJoin() throws Exception {
+		// every task waits for a task it submits, on a single thread
+		MeteredExecutor executor = ConcurrencyTools.newForkJoinExecutor(1);
+		try {
+			assertEquals(8, (int) ConcurrencyTools.get(executor.submit(() -> depth(executor, 8))));
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(9, executor.getCompletedTasks());
+	}
+
+	private static int depth(MeteredExecutor executor, int n) throws Exception {
+		return (n == 0) ? 0 : 1 + ConcurrencyTools.get(executor.submit(() -> depth(executor, n - 1)));
+	}
+
+	@Test
+	public void rejected() {
+		MeteredExecutor executor = new MeteredExecutor(Executors.newSingleThreadExecutor());
+		executor.shutdown();
+		try {
+			executor.execute(() -> { });
+			fail();
+		} catch (RejectedExecutionException e) {
+			assertEquals(0, executor.getSubmittedTasks());
+			assertEquals(0, executor.getQueueDepth());
+		}
+	}
+}
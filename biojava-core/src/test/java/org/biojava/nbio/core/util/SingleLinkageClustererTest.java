@@ -0,0 +1,164 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.core.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link SingleLinkageClusterer} against single linkage clustering by repeated search of the closest clusters.
+ */
+public class SingleLinkageClustererTest {
+
+	// merges the closest clusters, the one with the lowest smallest index first, n-1 times
+	private static List<String> reference(double[][] matrix, boolean isScoreMatrix) {
+		int n = matrix.length;
+		int[] cluster = new int[n];
+		for (int i = 0; i < n; i++) {
+			cluster[i] = i;
+		}
+		List<String> dendrogram = new ArrayList<>();
+		for (int m = 0; m < n - 1; m++) {
+			int first = -1, second = -1;
+			double best = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					if (cluster[i] == cluster[j]) {
+						continue;
+					}
+					double d = matrix[i][j];
+					if (first < 0 || (isScoreMatrix ? d > best : d < best)) {
+						best = d;
+						first = Math.min(cluster[i], cluster[j]);
+						second = Math.max(cluster[i], cluster[j]);
+					}
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				if (cluster[i] == second) {
+					cluster[i] = first;
+				}
+			}
+			dendrogram.add("[" + first + "," + second + "-" + String.format("%6.2f", best) + "]");
+		}
+		return dendrogram;
+	}
+
+	private static List<String> toStrings(Object[] dendrogram) {
+		List<String> strings = new ArrayList<>();
+		for (Object pair : dendrogram) {
+			strings.add(pair.toString());
+		}
+		return strings;
+	}
+
+	private static double[][] random(Random random, int n) {
+		double[][] matrix = new double[n][n];
+		int pair = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				// distinct values, exact in floats
+				matrix[i][j] = matrix[j][i] = (random.nextInt(1 << 10) * 4096 + pair++) / 1024.0;
+			}
+		}
+		return matrix;
+	}
+
+	@Test
+	public void chain() {
+		// 0 and 1 merge first; 2 is then closest to that cluster through 0
+		double[][] matrix = { { 0, 1, 2 }, { 1, 0, 10 }, { 2, 10, 0 } };
+		assertEquals(Arrays.asList("[0,1-  1.00]", "[0,2-  2.00]"),
+				toStrings(new SingleLinkageClusterer(matrix, false).getDendrogram()));
+	}
+
+	@Test
+	public void sameAsReference() {
+		Random random = new Random(11);
+		for (int n : new int[] { 1, 2, 3, 10, 57 }) {
+			double[][] matrix = random(random, n);
+			float[] condensed = new float[n * (n - 1) / 2];
+			int k = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					condensed[k++] = (float) matrix[i][j];
+				}
+			}
+			for (boolean isScoreMatrix : new boolean[] { false, true }) {
+				List<String> expected = reference(matrix, isScoreMatrix);
+				assertEquals(expected, toStrings(new SingleLinkageClusterer(matrix, isScoreMatrix).getDendrogram()));
+				assertEquals(expected,
+						toStrings(new SingleLinkageClusterer(condensed, n, isScoreMatrix).getDendrogram()));
+				assertEquals(expected, toStrings(new SingleLinkageClusterer(n, (i, j) -> matrix[i][j],
+						isScoreMatrix).getDendrogram()));
+			}
+		}
+	}
+
+	@Test
+	public void clusters() {
+		Random random = new Random(13);
+		int n = 40;
+		double[][] matrix = random(random, n);
+		double cutoff = 100;
+		Map<Integer, Set<Integer>> clusters = new SingleLinkageClusterer(matrix, false).getClusters(cutoff);
+
+		// the clusters are the connected components of the pairs within the cutoff
+		Set<Set<Integer>> expected = new HashSet<>();
+		boolean[] seen = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			if (seen[i]) {
+				continue;
+			}
+			Set<Integer> component = new TreeSet<>();
+			List<Integer> stack = new ArrayList<>();
+			stack.add(i);
+			seen[i] = true;
+			while (!stack.isEmpty()) {
+				int item = stack.remove(stack.size() - 1);
+				component.add(item);
+				for (int j = 0; j < n; j++) {
+					if (!seen[j] && matrix[item][j] < cutoff) {
+						seen[j] = true;
+						stack.add(j);
+					}
+				}
+			}
+			expected.add(component);
+		}
+		assertEquals(expected, new HashSet<>(clusters.values()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrongCondensedLength() {
+		new SingleLinkageClusterer(new float[5], 4, false);
+	}
+}
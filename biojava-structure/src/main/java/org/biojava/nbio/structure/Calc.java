@@ -507,6 +507,31 @@ public class Calc {
 			Calc.transform(atom, t);
 	}
 
+	/**
+	 * Transforms packed coordinates, as returned by
+	 * {@link StructureTools#getCoordinateArray(Atom[])}, in place, given a
+	 * Matrix4d. The result is that of {@link #transform(Atom, Matrix4d)} on
+	 * each atom. The transformation Matrix must be a post-multiplication
+	 * Matrix.
+	 *
+	 * @param coords
+	 *            x, y and z of each point
+	 * @param m
+	 *            transformation Matrix4d
+	 * @since 5.3.1
+	 */
+	public static void transform(double[] coords, Matrix4d m) {
+		double m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+		double m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+		double m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+		for (int i = 0; i + 2 < coords.length; i += 3) {
+			double x = coords[i], y = coords[i + 1], z = coords[i + 2];
+			coords[i] = m00 * x + m01 * y + m02 * z + m03;
+			coords[i + 1] = m10 * x + m11 * y + m12 * z + m13;
+			coords[i + 2] = m20 * x + m21 * y + m22 * z + m23;
+		}
+	}
+
 	/**
 	 * Transforms an atom object, given a Matrix4d (i.e. the vecmath library
 	 * double-precision 4x4 rotation+translation matrix). The transformation
@@ -190,10 +190,15 @@ public enum Element {
 
 	private static final Map<String,Element> allElements ;
 
+	// the upper case symbols of files, looked up without changing their case
+	private static final Map<String,Element> upperCaseElements ;
+
 	static {
 		allElements = new HashMap<>();
+		upperCaseElements = new HashMap<>();
 		for (Element e : Element.values()){
 			allElements.put(e.toString().toLowerCase(), e);
+			upperCaseElements.put(e.toString().toUpperCase(), e);
 		}
 	}
 	Element(int atomicNumber,
@@ -387,7 +392,10 @@ public enum Element {
 	 */
 	public static Element valueOfIgnoreCase(String elementSymbol) throws IllegalArgumentException {
 
-		Element e = allElements.get(elementSymbol.toLowerCase());
+		Element e = upperCaseElements.get(elementSymbol);
+		if ( e != null)
+			return e;
+		e = allElements.get(elementSymbol.toLowerCase());
 		if ( e != null)
 			return e;
 		throw new IllegalArgumentException("Invalid element symbol: " + elementSymbol);
@@ -384,6 +384,66 @@ public class StructureTools {
         return atoms.toArray(Atom.EmptyAtomArray);
     }
 
+    /**
+     * Returns a copy of the coordinates of all atoms of the structure (all
+     * models), in the order of {@link #getAllAtomArray(Structure)}, packed
+     * into one array.
+     *
+     * @param s input structure
+     * @return the coordinates, see {@link #getCoordinateArray(Atom[])}
+     * @since 5.3.1
+     */
+    public static double[] getCoordinateArray(Structure s) {
+        return getCoordinateArray(getAllAtomArray(s));
+    }
+
+    /**
+     * Returns a copy of the coordinates of the atoms packed into one array:
+     * x, y and z of the first atom, then those of the second atom and so on.
+     * Loops over the array read memory in order instead of one Point3d per
+     * atom.
+     * <p>
+     * The array is a snapshot, not a view: each atom keeps its own Point3d,
+     * which {@link Atom#getCoordsAsPoint3d()} hands out by reference, so the
+     * atoms do not share a coordinate buffer. Moving an atom does not change
+     * the array, and changing the array does not move the atoms until it is
+     * written back with {@link #setCoordinateArray(Atom[], double[])}. Each
+     * call takes O(n) time and allocates the array.
+     *
+     * @param atoms the atoms
+     * @return an array of 3 * atoms.length coordinates
+     * @since 5.3.1
+     */
+    public static double[] getCoordinateArray(Atom[] atoms) {
+        double[] coords = new double[3 * atoms.length];
+        for (int i = 0; i < atoms.length; i++) {
+            coords[3 * i] = atoms[i].getX();
+            coords[3 * i + 1] = atoms[i].getY();
+            coords[3 * i + 2] = atoms[i].getZ();
+        }
+        return coords;
+    }
+
+    /**
+     * Sets the coordinates of the atoms from an array packed as by
+     * {@link #getCoordinateArray(Atom[])}.
+     *
+     * @param atoms the atoms
+     * @param coords an array of 3 * atoms.length coordinates
+     * @throws IllegalArgumentException if the array is not of 3 * atoms.length coordinates
+     * @since 5.3.1
+     */
+    public static void setCoordinateArray(Atom[] atoms, double[] coords) {
+        if (coords.length != 3 * atoms.length) {
+            throw new IllegalArgumentException(coords.length + " coordinates for " + atoms.length + " atoms");
+        }
+        for (int i = 0; i < atoms.length; i++) {
+            atoms[i].setX(coords[3 * i]);
+            atoms[i].setY(coords[3 * i + 1]);
+            atoms[i].setZ(coords[3 * i + 2]);
+        }
+    }
+
     /**
      * List of groups from the structure not included in ca (e.g. ligands).
      * <p>
@@ -20,6 +20,7 @@
  */
 package org.biojava.nbio.structure.align.util;
 
+import org.biojava.nbio.core.util.BoundedCache;
 import org.biojava.nbio.core.util.Download;
 import org.biojava.nbio.core.util.InputStreamProvider;
 import org.biojava.nbio.structure.*;
@@ -46,13 +47,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A utility class that provides easy access to Structure objects. If you are running a script that is frequently
  * re-using the same PDB structures, the AtomCache keeps an in-memory cache of the files for quicker access. The cache
- * is a soft-cache, this means it won't cause out of memory exceptions, but garbage collects the data if the Java
- * virtual machine needs to free up space. The AtomCache is thread-safe.
+ * holds structures of at most {@link #DEFAULT_MAXIMUM_CACHED_ATOMS} atoms in total, unless changed with
+ * {@link #setMaximumCachedAtoms(long)}, evicting the least recently used ones beyond that; its hit rate, load time and
+ * evictions are given by {@link #getStructureCache()}. Concurrent requests for the same structure parse it once.
+ * The AtomCache is thread-safe.
  *
  * @author Andreas Prlic
  * @author Spencer Bliven
@@ -77,6 +79,13 @@ public class AtomCache {
 
 	public static final String UNDERSCORE = "_";
 
+	/**
+	 * The default maximum number of atoms of the cached structures: about a quarter of the maximum heap size, counting
+	 * 500 bytes for each atom with its share of groups and chains.
+	 * @since 5.3.1
+	 */
+	public static final long DEFAULT_MAXIMUM_CACHED_ATOMS = Runtime.getRuntime().maxMemory() / 2000;
+
 	private static final String FILE_SEPARATOR = System.getProperty("file.separator");
 
 	protected FileParsingParameters params;
@@ -87,9 +96,9 @@ public class AtomCache {
 
 	private String cachePath;
 
-	// make sure IDs are loaded uniquely
-	//private final Collection<String> currentlyLoading = Collections.newSetFromMap(new ConcurrentHashMap());
-	private final Map<String,Structure> map = new ConcurrentHashMap();
+	// structures by PDB ID, weighted by their number of atoms; IDs are loaded uniquely
+	private final BoundedCache<String,Structure> structures =
+			new BoundedCache<>(DEFAULT_MAXIMUM_CACHED_ATOMS, AtomCache::countAtoms);
 
 	private String path;
 
@@ -744,7 +753,7 @@ public class AtomCache {
 		this.useMmCif = useMmCif;
 		// Either way the user wants to use PDB or MMCIF
 		this.useMmtf = false;
-		map.clear();
+		structures.clear();
 	}
 
 	/**
@@ -756,7 +765,7 @@ public class AtomCache {
 		if(useMmtf){
 			useMmCif=false;
 		}
-		map.clear();
+		structures.clear();
 	}
 
 	/** Returns useMmtf flag
@@ -840,7 +849,8 @@ public class AtomCache {
 //		}
 
 
-		return map.computeIfAbsent(pdbId, p->{
+		// parsing happens outside of any lock, so that other IDs are not held up
+		return structures.computeIfAbsent(pdbId, p->{
 			try {
 				if (useMmtf)
 					return loadStructureFromMmtfByPdbId(pdbId);
@@ -851,12 +861,44 @@ public class AtomCache {
 			} catch (Exception e) {
 				//TODO wrap exception e as a structure for storage in the cache
 
-				e.printStackTrace();
+				logger.error("Could not load structure " + pdbId, e);
 				return null;
 			}
 		});
 	}
 
+	// the weight of a cached structure, its atoms in all models
+	private static long countAtoms(Structure s) {
+		long atoms = 0;
+		for (int model = 0; model < s.nrModels(); model++) {
+			for (Chain chain : s.getModel(model)) {
+				for (Group group : chain.getAtomGroups()) {
+					atoms += group.size();
+				}
+			}
+		}
+		return atoms;
+	}
+
+	/**
+	 * Returns the in-memory cache of structures by PDB ID, for its size and its hit, load and eviction counts.
+	 * @return the structure cache
+	 * @since 5.3.1
+	 */
+	public BoundedCache<String, Structure> getStructureCache() {
+		return structures;
+	}
+
+	/**
+	 * Sets the maximum total number of atoms of the structures kept in memory, evicting structures if the cache now
+	 * holds more.
+	 * @param maximumAtoms the maximum number of atoms, 0 not to cache structures
+	 * @since 5.3.1
+	 */
+	public void setMaximumCachedAtoms(long maximumAtoms) {
+		structures.setMaximumWeight(maximumAtoms);
+	}
+
 	/**
 	 * Load a {@link Structure} from MMTF either from the local file system.
 	 * @param pdbId the input PDB id
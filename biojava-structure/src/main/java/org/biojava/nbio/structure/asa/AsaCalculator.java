@@ -109,6 +109,8 @@ public class AsaCalculator {
 	private Point3d[] spherePoints;
 	private double cons;
 	private int[][] neighborIndices;
+	// x, y and z of each atom, packed when the calculation starts
+	private double[] coords;
 
 	private boolean useSpatialHashingForNeighbors;
 
@@ -256,6 +258,13 @@ public class AsaCalculator {
 
 		double[] asas = new double[atomCoords.length];
 
+		coords = new double[3 * atomCoords.length];
+		for (int i = 0; i < atomCoords.length; i++) {
+			coords[3 * i] = atomCoords[i].x;
+			coords[3 * i + 1] = atomCoords[i].y;
+			coords[3 * i + 2] = atomCoords[i].z;
+		}
+
 		long start = System.currentTimeMillis();
 		if (useSpatialHashingForNeighbors) {
 			logger.debug("Will use spatial hashing to find neighbors");
@@ -471,44 +480,48 @@ public class AsaCalculator {
 	}
 
 	private double calcSingleAsa(int i) {
-		Point3d atom_i = atomCoords[i];
+		double[] coords = this.coords;
+		double x_i = coords[3 * i], y_i = coords[3 * i + 1], z_i = coords[3 * i + 2];
 
 		int n_neighbor = neighborIndices[i].length;
 		int[] neighbor_indices = neighborIndices[i];
 		int j_closest_neighbor = 0;
 		double radius = probe + radii[i];
 
-		int n_accessible_point = 0;
+		// the neighbors' coordinates and squared radii, contiguous for the loop over the sphere points
+		double[] nx = new double[n_neighbor], ny = new double[n_neighbor], nz = new double[n_neighbor];
+		double[] nr_sq = new double[n_neighbor];
+		for (int j = 0; j < n_neighbor; j++) {
+			int jj = neighbor_indices[j];
+			nx[j] = coords[3 * jj];
+			ny[j] = coords[3 * jj + 1];
+			nz[j] = coords[3 * jj + 2];
+			double r = radii[jj] + probe;
+			nr_sq[j] = r * r;
+		}
 
-		Point3d test_point = new Point3d();
+		int n_accessible_point = 0;
 
 		for (Point3d point: spherePoints){
 			boolean is_accessible = true;
-			test_point.set(
-			 point.x*radius + atom_i.x,
-			point.y*radius + atom_i.y,
-			point.z*radius + atom_i.z);
-
-			int[] cycled_indices = new int[n_neighbor];
-			int arind = 0;
-			for (int ind=j_closest_neighbor;ind<n_neighbor;ind++) {
-				cycled_indices[arind] = ind;
-				arind++;
-			}
-			for (int ind=0;ind<j_closest_neighbor;ind++){
-				cycled_indices[arind] = ind;
-				arind++;
-			}
-
-			for (int j: cycled_indices) {
-				int jj = neighbor_indices[j];
-				double r = radii[jj] + probe;
-				double diff_sq = test_point.distanceSquared(atomCoords[jj]);
-				if (diff_sq < r*r) {
+			double x = point.x*radius + x_i;
+			double y = point.y*radius + y_i;
+			double z = point.z*radius + z_i;
+
+			// the neighbors in cyclic order, from the one that covered the last point
+			int j = j_closest_neighbor;
+			for (int count = 0; count < n_neighbor; count++) {
+				double dx = x - nx[j];
+				double dy = y - ny[j];
+				double dz = z - nz[j];
+				if (dx*dx + dy*dy + dz*dz < nr_sq[j]) {
 					j_closest_neighbor = j;
 					is_accessible = false;
 					break;
 				}
+				if (++j == n_neighbor) {
+					j = 0;
+				}
 			}
 			if (is_accessible) {
 				n_accessible_point++;
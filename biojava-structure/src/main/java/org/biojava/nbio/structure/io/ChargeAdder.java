@@ -32,7 +32,9 @@ import org.biojava.nbio.structure.io.mmcif.model.ChemCompAtom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A class to add appropriate charge information to a structure.
@@ -47,32 +49,19 @@ public class ChargeAdder {
 	 * Function to add the charges to a given structure.
 	 */
 	public static void addCharges(Structure structure) {
+		// the charges of each chem comp, parsed once
+		Map<ChemComp, short[]> charges = new IdentityHashMap<>();
 		// Loop through the models
 		for(int i=0; i<structure.nrModels(); i++){
 			for(Chain c: structure.getChains(i)){
 				for(Group g: c.getAtomGroups()){
 					ChemComp thisChemComp = ChemCompGroupFactory.getChemComp(g.getPDBName());
 					List<ChemCompAtom> chemAtoms = thisChemComp.getAtoms();
-					for(ChemCompAtom chemCompAtom : chemAtoms) {
+					short[] chemCharges = charges.computeIfAbsent(thisChemComp, ChargeAdder::getCharges);
+					for(int j=0; j<chemAtoms.size(); j++) {
+						ChemCompAtom chemCompAtom = chemAtoms.get(j);
 						Atom atom = g.getAtom(chemCompAtom.getAtom_id());
-						String stringCharge = chemCompAtom.getCharge();
-						short shortCharge = 0;
-						if (stringCharge!=null){
-							if(!stringCharge.equals("?")){
-								try{
-									shortCharge = Short.parseShort(stringCharge);
-								}
-								catch(NumberFormatException e){
-									logger.warn("Number format exception. Parsing '"+stringCharge+"' to short");
-								}
-							}
-							else{
-								logger.warn("? charge on atom "+chemCompAtom.getAtom_id()+" in group "+thisChemComp.getId());
-							}
-						}
-						else{
-							logger.warn("Null charge on atom "+chemCompAtom.getAtom_id()+" in group "+thisChemComp.getId());
-						}
+						short shortCharge = chemCharges[j];
 						if(atom!=null){
 							atom.setCharge(shortCharge);
 						}
@@ -89,4 +78,32 @@ public class ChargeAdder {
 			}
 		}
 	}
+
+	private static short[] getCharges(ChemComp chemComp) {
+		List<ChemCompAtom> chemAtoms = chemComp.getAtoms();
+		short[] charges = new short[chemAtoms.size()];
+		for (int j = 0; j < charges.length; j++) {
+			ChemCompAtom chemCompAtom = chemAtoms.get(j);
+			String stringCharge = chemCompAtom.getCharge();
+			short shortCharge = 0;
+			if (stringCharge!=null){
+				if(!stringCharge.equals("?")){
+					try{
+						shortCharge = Short.parseShort(stringCharge);
+					}
+					catch(NumberFormatException e){
+						logger.warn("Number format exception. Parsing '"+stringCharge+"' to short");
+					}
+				}
+				else{
+					logger.warn("? charge on atom "+chemCompAtom.getAtom_id()+" in group "+chemComp.getId());
+				}
+			}
+			else{
+				logger.warn("Null charge on atom "+chemCompAtom.getAtom_id()+" in group "+chemComp.getId());
+			}
+			charges[j] = shortCharge;
+		}
+		return charges;
+	}
 }
@@ -99,6 +99,11 @@ public class FileParsingParameters implements Serializable
 	 */
 	private boolean createAtomCharges;
 
+	/**
+	 * Should the models of multi-model files be built in parallel?
+	 */
+	private boolean parseModelsInParallel;
+
 	/**
 	 * The maximum number of atoms we will add to a structure,
 	 * this protects from memory overflows in the few really big protein structures.
@@ -135,6 +140,8 @@ public class FileParsingParameters implements Serializable
 
 		createAtomCharges = true;
 
+		parseModelsInParallel = false;
+
 	}
 
 	/**
@@ -333,6 +340,29 @@ public class FileParsingParameters implements Serializable
 		this.createAtomCharges = createAtomCharges;
 	}
 
+	/**
+	 * Should the models of multi-model files, such as NMR ensembles or trajectories, be built in parallel?
+	 *
+	 * @return true if the models are built in parallel, false if not
+	 * @since 5.3.1
+	 */
+	public boolean isParseModelsInParallel() {
+		return parseModelsInParallel;
+	}
 
+	/**
+	 * Should the models of multi-model files, such as NMR ensembles or trajectories, be built in parallel?
+	 * The model boundaries are found in a first pass over the file, then the chains, groups and atoms of each model
+	 * are built on the common fork join pool. The resulting structure is the same as in a sequential parse. Files of
+	 * a single model, or with more atoms than {@link #getAtomCaThreshold()} or {@link #getMaxAtoms()}, are always
+	 * parsed sequentially.
+	 *
+	 * @param parseModelsInParallel
+	 *            true if the models should be built in parallel, false if not
+	 * @since 5.3.1
+	 */
+	public void setParseModelsInParallel(boolean parseModelsInParallel) {
+		this.parseModelsInParallel = parseModelsInParallel;
+	}
 
 }
@@ -0,0 +1,274 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.structure.io;
+
+/**
+ * Reads the fields of fixed-column records, such as the ATOM and HETATM records of PDB files, straight from the line:
+ * numbers are parsed into primitives without creating a string for the field, and names come from a shared pool so
+ * that the few distinct residue, atom and chain names of a file are created once instead of once per atom.
+ * <p>
+ * {@link #setLine(String)} copies the characters of a line into a buffer which the other methods read.  Columns are
+ * given as in {@link String#substring(int, int)}: from start, inclusive, to end, exclusive, counting from 0.  Fields
+ * may be padded with spaces on either side.  The methods throw the exceptions the substring and parsing methods of
+ * the JDK would throw on the line, and give the same results.
+ * <p>
+ * Instances are not thread safe; the pool of names is shared by all instances.
+ *
+ * @since 5.3.1
+ */
+public class FixedColumnReader {
+
+	// greatest mantissa for which the fast path of parseDouble is exact: 2^53
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	private static final double[] POWERS_OF_TEN = new double[23];
+	private static final float[] FLOAT_POWERS_OF_TEN = new float[11];
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+		FLOAT_POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < FLOAT_POWERS_OF_TEN.length; i++) {
+			FLOAT_POWERS_OF_TEN[i] = FLOAT_POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	private static class Name {
+
+		private final char[] chars;
+		private final String string;
+
+		private Name(String string) {
+			this.chars = string.toCharArray();
+			this.string = string;
+		}
+
+	}
+
+	// the shared pool of names, a direct mapped cache by hash; slots are written without locking, which is safe
+	// because names are immutable, and a lost write only costs an extra string
+	private static final int POOL_SIZE = 1 << 12;
+	private static final Name[] POOL = new Name[POOL_SIZE];
+
+	private char[] chars = new char[128];
+	private int length;
+
+	/**
+	 * Sets the line to read fields from.
+	 *
+	 * @param line the record
+	 */
+	public void setLine(String line) {
+		length = line.length();
+		if (length > chars.length) {
+			chars = new char[Math.max(length, 2 * chars.length)];
+		}
+		line.getChars(0, length, chars, 0);
+	}
+
+	/**
+	 * Returns the length of the line.
+	 *
+	 * @return the number of characters of the line
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the character at the given column.
+	 *
+	 * @param column the column
+	 * @return the character
+	 */
+	public char charAt(int column) {
+		if (column < 0 || column >= length) {
+			throw new StringIndexOutOfBoundsException("index " + column + ", length " + length);
+		}
+		return chars[column];
+	}
+
+	/**
+	 * Returns the field, trimmed, from the shared pool.
+	 *
+	 * @param start the first column of the field
+	 * @param end the column after the field
+	 * @return the field without leading and trailing spaces
+	 */
+	public String getTrimmedField(int start, int end) {
+		checkRange(start, end);
+		while (start < end && chars[start] <= ' ') start++;
+		while (end > start && chars[end - 1] <= ' ') end--;
+		return pooled(start, end);
+	}
+
+	/**
+	 * Returns the field as is, from the shared pool.
+	 *
+	 * @param start the first column of the field
+	 * @param end the column after the field
+	 * @return the field
+	 */
+	public String getField(int start, int end) {
+		checkRange(start, end);
+		return pooled(start, end);
+	}
+
+	private void checkRange(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+		}
+	}
+
+	private String pooled(int start, int end) {
+		char[] c = chars;
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + c[i];
+		}
+		int slot = (hash ^ (hash >>> 12)) & (POOL_SIZE - 1);
+		Name name = POOL[slot];
+		if (name != null && name.chars.length == end - start) {
+			char[] n = name.chars;
+			int i = 0;
+			while (i < n.length && n[i] == c[start + i]) {
+				i++;
+			}
+			if (i == n.length) {
+				return name.string;
+			}
+		}
+		name = new Name(new String(c, start, end - start));
+		POOL[slot] = name;
+		return name.string;
+	}
+
+	/**
+	 * Parses the field as {@link Integer#parseInt(String)} would parse it trimmed.
+	 *
+	 * @param start the first column of the field
+	 * @param end the column after the field
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not an integer
+	 */
+	public int parseInt(int start, int end) {
+		checkRange(start, end);
+		char[] c = chars;
+		while (start < end && c[start] <= ' ') start++;
+		while (end > start && c[end - 1] <= ' ') end--;
+		int i = start;
+		boolean negative = i < end && c[i] == '-';
+		if (negative || (i < end && c[i] == '+')) i++;
+		if (i == end || end - i > 9) {
+			// empty, or possibly out of range
+			return Integer.parseInt(new String(c, start, end - start));
+		}
+		int value = 0;
+		for (; i < end; i++) {
+			int digit = c[i] - '0';
+			if (digit < 0 || digit > 9) {
+				return Integer.parseInt(new String(c, start, end - start));
+			}
+			value = 10 * value + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses the field as {@link Double#parseDouble(String)} would.  Plain decimal numbers of up to 15 significant
+	 * digits, as in coordinate fields, are parsed without creating a string.
+	 *
+	 * @param start the first column of the field
+	 * @param end the column after the field
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not a number
+	 */
+	public double parseDouble(int start, int end) {
+		checkRange(start, end);
+		char[] c = chars;
+		while (start < end && c[start] <= ' ') start++;
+		while (end > start && c[end - 1] <= ' ') end--;
+		int i = start;
+		boolean negative = i < end && c[i] == '-';
+		if (negative || (i < end && c[i] == '+')) i++;
+		long mantissa = 0;
+		int digits = 0, scale = -1;
+		for (; i < end; i++) {
+			char ch = c[i];
+			if (ch >= '0' && ch <= '9') {
+				mantissa = 10 * mantissa + (ch - '0');
+				digits++;
+				if (scale >= 0) scale++;
+			} else if (ch == '.' && scale < 0) {
+				scale = 0;
+			} else {
+				break;
+			}
+		}
+		if (i < end || digits == 0 || digits > 15 || scale >= POWERS_OF_TEN.length || mantissa >= MAX_EXACT_MANTISSA) {
+			return Double.parseDouble(new String(c, start, end - start));
+		}
+		// both operands are exact, so the quotient is correctly rounded, as parseDouble is
+		double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses the field as {@link Float#parseFloat(String)} would.  Plain decimal numbers of up to 7 significant
+	 * digits, as in occupancy and temperature factor fields, are parsed without creating a string.
+	 *
+	 * @param start the first column of the field
+	 * @param end the column after the field
+	 * @return the value of the field
+	 * @throws NumberFormatException if the field is not a number
+	 */
+	public float parseFloat(int start, int end) {
+		checkRange(start, end);
+		char[] c = chars;
+		while (start < end && c[start] <= ' ') start++;
+		while (end > start && c[end - 1] <= ' ') end--;
+		int i = start;
+		boolean negative = i < end && c[i] == '-';
+		if (negative || (i < end && c[i] == '+')) i++;
+		int mantissa = 0;
+		int digits = 0, scale = -1;
+		for (; i < end; i++) {
+			char ch = c[i];
+			if (ch >= '0' && ch <= '9') {
+				mantissa = 10 * mantissa + (ch - '0');
+				digits++;
+				if (scale >= 0) scale++;
+			} else if (ch == '.' && scale < 0) {
+				scale = 0;
+			} else {
+				break;
+			}
+		}
+		// up to 7 digits the mantissa is below 2^24, exact in a float like the power of ten
+		if (i < end || digits == 0 || digits > 7 || scale >= FLOAT_POWERS_OF_TEN.length) {
+			return Float.parseFloat(new String(c, start, end - start));
+		}
+		float value = scale > 0 ? mantissa / FLOAT_POWERS_OF_TEN[scale] : mantissa;
+		return negative ? -value : value;
+	}
+
+}
@@ -44,6 +44,8 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.lang.Math.min;
 
@@ -207,6 +209,9 @@ public class PDBFileParser  {
 
 	private int atomCount;
 
+	// reads the fields of the current line
+	private final FixedColumnReader columnReader = new FixedColumnReader();
+
 	// parsing options:
 
 	private int atomCAThreshold ;
@@ -224,6 +229,9 @@ public class PDBFileParser  {
 	private boolean startOfMolecule;
 	private boolean startOfModel;
 
+	/** set while the atoms were already parsed, model by model in parallel **/
+	private boolean modelsParsed;
+
 	public PDBFileParser() {
 		params = new FileParsingParameters();
 
@@ -1635,7 +1643,7 @@ public class PDBFileParser  {
 			return;
 
 		// let's first get the chain name which will serve to identify if we are starting a new molecule
-		String chainName      = line.substring(21,22);
+		String chainName      = columnReader.getField(21, 22);
 
 		if (chainName.equals(" ")) {
 			blankChainIdsPresent = true;
@@ -1675,12 +1683,12 @@ public class PDBFileParser  {
 
 		// let's get the residue number and see if we need to start a new group
 
-		String groupCode3     = line.substring(17,20).trim();
-		String resNum  = line.substring(22,26).trim();
-		Character iCode = line.substring(26,27).charAt(0);
+		String groupCode3     = columnReader.getTrimmedField(17, 20);
+		int resNum  = columnReader.parseInt(22, 26);
+		Character iCode = columnReader.charAt(26);
 		if ( iCode == ' ')
 			iCode = null;
-		ResidueNumber residueNumber = new ResidueNumber(chainName, Integer.valueOf(resNum), iCode);
+		ResidueNumber residueNumber = new ResidueNumber(chainName, resNum, iCode);
 
 		//recordName      groupCode3
 		//|                |    resNum
@@ -1691,7 +1699,7 @@ public class PDBFileParser  {
 
 		Character aminoCode1 = StructureTools.get1LetterCode(groupCode3);
 
-		String recordName     = line.substring (0, 6).trim ();
+		String recordName     = columnReader.getTrimmedField(0, 6);
 
 		boolean isHetAtomInFile = false;
 
@@ -1720,7 +1728,7 @@ public class PDBFileParser  {
 		startOfMolecule = false;
 
 
-		Character altLoc   = line.substring(16, 17).charAt(0);
+		Character altLoc   = columnReader.charAt(16);
 		Group altGroup = null;
 
 
@@ -1782,7 +1790,8 @@ public class PDBFileParser  {
 		//ATOM    112  CA  ASP   112      37.613  26.621  33.571     0     0
 
 
-		String fullname = line.substring (12, 16);
+		String fullname = columnReader.getField(12, 16);
+		String name = columnReader.getTrimmedField(12, 16);
 
 		// check for CA only if requested
 		if ( parseCAonly ){
@@ -1801,7 +1810,7 @@ public class PDBFileParser  {
 			for (String ok : params.getAcceptedAtomNames()){
 				//System.out.println(ok + "< >" + fullname +"<");
 
-				if ( ok.equals(fullname.trim())) {
+				if ( ok.equals(name)) {
 					found = true;
 					break;
 				}
@@ -1813,16 +1822,16 @@ public class PDBFileParser  {
 		}
 		// create new atom
 
-		int pdbnumber = Integer.parseInt (line.substring (6, 11).trim ());
+		int pdbnumber = columnReader.parseInt(6, 11);
 		AtomImpl atom = new AtomImpl() ;
 		atom.setPDBserial(pdbnumber) ;
 
 		atom.setAltLoc(altLoc);
-		atom.setName(fullname.trim());
+		atom.setName(name);
 
-		double x = Double.parseDouble (line.substring (30, 38).trim());
-		double y = Double.parseDouble (line.substring (38, 46).trim());
-		double z = Double.parseDouble (line.substring (46, 54).trim());
+		double x = columnReader.parseDouble(30, 38);
+		double y = columnReader.parseDouble(38, 46);
+		double z = columnReader.parseDouble(46, 54);
 
 		double[] coords = new double[3];
 		coords[0] = x ;
@@ -1834,14 +1843,14 @@ public class PDBFileParser  {
 		if ( line.length() > 59 ) {
 			try {
 				// occu and tempf are sometimes not used :-/
-				occu = Float.parseFloat (line.substring (54, 60).trim());
+				occu = columnReader.parseFloat(54, 60);
 			}  catch (NumberFormatException e){}
 		}
 
 		float tempf = 0.0f;
 		if ( line.length() > 65) {
 			try {
-				tempf = Float.parseFloat (line.substring (60, 66).trim());
+				tempf = columnReader.parseFloat(60, 66);
 			}  catch (NumberFormatException e){}
 		}
 
@@ -1858,10 +1867,10 @@ public class PDBFileParser  {
 		boolean guessElement = true;
 		if ( line.length() > 77 ) {
 			// parse element from element field
-			String elementSymbol = line.substring(76, 78).trim();
+			String elementSymbol = columnReader.getTrimmedField(76, 78);
 			if (elementSymbol.isEmpty()) {
 				logger.info("Element column was empty for atom {} {}. Assigning atom element "
-						+ "from Chemical Component Dictionary information", fullname.trim(), pdbnumber);
+						+ "from Chemical Component Dictionary information", name, pdbnumber);
 			} else {
 
 			try {
@@ -1870,38 +1879,38 @@ public class PDBFileParser  {
 				}  catch (IllegalArgumentException e){
 					logger.info("Element {} of atom {} {} was not recognised. Assigning atom element "
 							+ "from Chemical Component Dictionary information", elementSymbol,
-							fullname.trim(), pdbnumber);
+							name, pdbnumber);
 				}
 			}
 		} else {
 			logger.info("Missformatted PDB file: element column of atom {} {} is not present. "
 					+ "Assigning atom element from Chemical Component Dictionary information",
-					fullname.trim(), pdbnumber);
+					name, pdbnumber);
 		}
 		if (guessElement) {
 			String elementSymbol = null;
 			if (currentGroup.getChemComp() != null) {
 				for (ChemCompAtom a : currentGroup.getChemComp().getAtoms()) {
-					if (a.getAtom_id().equals(fullname.trim())) {
+					if (a.getAtom_id().equals(name)) {
 						elementSymbol = a.getType_symbol();
 						break;
 					}
 				}
 				if (elementSymbol == null) {
 					logger.info("Atom name {} was not found in the Chemical Component Dictionary information of {}. "
-							+ "Assigning generic element R to it", fullname.trim(), currentGroup.getPDBName());
+							+ "Assigning generic element R to it", name, currentGroup.getPDBName());
 			} else {
 			try {
 				element = Element.valueOfIgnoreCase(elementSymbol);
 					} catch (IllegalArgumentException e) {
 						// this can still happen for cases like UNK
 						logger.info("Element symbol {} found in chemical component dictionary for Atom {} {} could not be recognised as a known element. "
-								+ "Assigning generic element R to it", elementSymbol, fullname.trim(), pdbnumber);
+								+ "Assigning generic element R to it", elementSymbol, name, pdbnumber);
 					}
 				}
 			} else {
 				logger.warn("Chemical Component Dictionary information was not found for Atom name {}. "
-						+ "Assigning generic element R to it", fullname.trim());
+						+ "Assigning generic element R to it", name);
 			}
 
 		}
@@ -1909,22 +1918,20 @@ public class PDBFileParser  {
 
 
 		//see if chain_id is one of the previous chains ...
-		if ( altGroup != null) {
+		if ( altGroup != null && altGroup != currentGroup) {
 			altGroup.addAtom(atom);
-			altGroup = null;
+
+			// make sure that main group has all atoms
+			// GitHub issue: #76
+			if ( ! currentGroup.hasAtom(atom.getName())) {
+				currentGroup.addAtom(atom);
+			}
 		}
 		else {
 			currentGroup.addAtom(atom);
 		}
 
 
-		// make sure that main group has all atoms
-		// GitHub issue: #76
-		if ( ! currentGroup.hasAtom(atom.getName())) {
-			currentGroup.addAtom(atom);
-		}
-
-
 
 			}
 
@@ -2618,92 +2625,24 @@ public class PDBFileParser  {
 
 		String line;
 
-		while ((line = buf.readLine()) != null) {
-
-			// ignore empty lines
-			if (line.isEmpty() ||
-					(line.equals(NEWLINE))){
-				continue;
+		if (params.isParseModelsInParallel() && !params.isHeaderOnly()) {
+			List<String> lines = new ArrayList<>();
+			while ((line = buf.readLine()) != null) {
+				lines.add(line);
 			}
-
-
-			// ignore short TER and END lines
-			if ( line.startsWith("END")) {
-				continue;
+			List<List<Chain>> models = parseModelsInParallel(lines);
+			// the atoms of parsed models are skipped below, the other records are handled as usual
+			modelsParsed = models != null;
+			for (String l : lines) {
+				handleLine(l);
 			}
-
-			if ( line.length() < 6 && !line.startsWith("TER")) {
-				logger.info("Found line length below 6. Ignoring it, line: >" + line +"<" );
-				continue;
+			if (modelsParsed) {
+				allModels.addAll(models);
+				modelsParsed = false;
 			}
-
-			String recordName;
-			if (line.length()<6)
-				recordName = line.trim();
-			else
-				recordName = line.substring (0, 6).trim ();
-
-			try {
-				//TODO switch(recordName)
-				if (recordName.equals("ATOM"))
-					pdb_ATOM_Handler(line);
-				else if (recordName.equals("SEQRES"))
-					pdb_SEQRES_Handler(line);
-				else if (recordName.equals("HETATM"))
-					pdb_ATOM_Handler(line);
-				else if (recordName.equals("MODEL"))
-					pdb_MODEL_Handler(line);
-				else if (recordName.equals("TER"))
-					pdb_TER_Handler();
-				else if (recordName.equals("HEADER"))
-					pdb_HEADER_Handler(line);
-				else if (recordName.equals("AUTHOR"))
-					pdb_AUTHOR_Handler(line);
-				else if (recordName.equals("TITLE"))
-					pdb_TITLE_Handler(line);
-				else if (recordName.equals("SOURCE"))
-					sourceLines.add(line); //pdb_SOURCE_Handler
-				else if (recordName.equals("COMPND"))
-					compndLines.add(line); //pdb_COMPND_Handler
-				else if (recordName.equals("JRNL"))
-					pdb_JRNL_Handler(line);
-				else if (recordName.equals("EXPDTA"))
-					pdb_EXPDTA_Handler(line);
-				else if (recordName.equals("CRYST1"))
-					pdb_CRYST1_Handler(line);
-				else if (recordName.startsWith("MTRIX"))
-					pdb_MTRIXn_Handler(line);
-				else if (recordName.equals("REMARK"))
-					pdb_REMARK_Handler(line);
-				else if (recordName.equals("CONECT"))
-					pdb_CONECT_Handler(line);
-				else if (recordName.equals("REVDAT"))
-					pdb_REVDAT_Handler(line);
-				else if (recordName.equals("DBREF"))
-					pdb_DBREF_Handler(line);
-				else if (recordName.equals("SITE"))
-					pdb_SITE_Handler(line);
-				else if (recordName.equals("SSBOND"))
-					pdb_SSBOND_Handler(line);
-				else if (recordName.equals("LINK"))
-					pdb_LINK_Handler(line);
-				else {
-					if ( params.isParseSecStruc()) {
-						switch (recordName) {
-							case "HELIX":
-								pdb_HELIX_Handler(line);
-								break;
-							case "SHEET":
-								pdb_SHEET_Handler(line);
-								break;
-							case "TURN":
-								pdb_TURN_Handler(line);
-								break;
-						}
-					}
-				}
-			} catch (StringIndexOutOfBoundsException | NullPointerException ex) {
-				logger.info("Unable to parse [" + line + "]");
+		} else {
+			while ((line = buf.readLine()) != null) {
+				handleLine(line);
 			}
 		}
 
@@ -2730,6 +2669,180 @@ public class PDBFileParser  {
 	}
 
 
+	/**
+	 * Handles one line of a PDB file, calling the handler of its record.
+	 */
+	private void handleLine(String line) {
+
+		// ignore empty lines
+		if (line.isEmpty() ||
+				(line.equals(NEWLINE))){
+			return;
+		}
+
+
+		// ignore short TER and END lines
+		if ( line.startsWith("END")) {
+			return;
+		}
+
+		if ( line.length() < 6 && !line.startsWith("TER")) {
+			logger.info("Found line length below 6. Ignoring it, line: >" + line +"<" );
+			return;
+		}
+
+		// the fields of ATOM and HETATM records are read from the current line without creating strings
+		columnReader.setLine(line);
+
+		String recordName;
+		if (line.length()<6)
+			recordName = line.trim();
+		else
+			recordName = columnReader.getTrimmedField(0, 6);
+
+		try {
+			//TODO switch(recordName)
+			if (recordName.equals("ATOM") || recordName.equals("HETATM")) {
+				if (!modelsParsed)
+					pdb_ATOM_Handler(line);
+			}
+			else if (recordName.equals("SEQRES"))
+				pdb_SEQRES_Handler(line);
+			else if (recordName.equals("MODEL"))
+				pdb_MODEL_Handler(line);
+			else if (recordName.equals("TER"))
+				pdb_TER_Handler();
+			else if (recordName.equals("HEADER"))
+				pdb_HEADER_Handler(line);
+			else if (recordName.equals("AUTHOR"))
+				pdb_AUTHOR_Handler(line);
+			else if (recordName.equals("TITLE"))
+				pdb_TITLE_Handler(line);
+			else if (recordName.equals("SOURCE"))
+				sourceLines.add(line); //pdb_SOURCE_Handler
+			else if (recordName.equals("COMPND"))
+				compndLines.add(line); //pdb_COMPND_Handler
+			else if (recordName.equals("JRNL"))
+				pdb_JRNL_Handler(line);
+			else if (recordName.equals("EXPDTA"))
+				pdb_EXPDTA_Handler(line);
+			else if (recordName.equals("CRYST1"))
+				pdb_CRYST1_Handler(line);
+			else if (recordName.startsWith("MTRIX"))
+				pdb_MTRIXn_Handler(line);
+			else if (recordName.equals("REMARK"))
+				pdb_REMARK_Handler(line);
+			else if (recordName.equals("CONECT"))
+				pdb_CONECT_Handler(line);
+			else if (recordName.equals("REVDAT"))
+				pdb_REVDAT_Handler(line);
+			else if (recordName.equals("DBREF"))
+				pdb_DBREF_Handler(line);
+			else if (recordName.equals("SITE"))
+				pdb_SITE_Handler(line);
+			else if (recordName.equals("SSBOND"))
+				pdb_SSBOND_Handler(line);
+			else if (recordName.equals("LINK"))
+				pdb_LINK_Handler(line);
+			else {
+				if ( params.isParseSecStruc()) {
+					switch (recordName) {
+						case "HELIX":
+							pdb_HELIX_Handler(line);
+							break;
+						case "SHEET":
+							pdb_SHEET_Handler(line);
+							break;
+						case "TURN":
+							pdb_TURN_Handler(line);
+							break;
+					}
+				}
+			}
+		} catch (StringIndexOutOfBoundsException | NullPointerException ex) {
+			logger.info("Unable to parse [" + line + "]");
+		}
+	}
+
+	/**
+	 * Returns the record name of a line as {@link #handleLine(String)} sees it, or null for a line it ignores.
+	 * The line is left in the column reader.
+	 */
+	private String getRecordName(String line) {
+		if (line.isEmpty() || line.equals(NEWLINE) || line.startsWith("END"))
+			return null;
+		if (line.length() < 6 && !line.startsWith("TER"))
+			return null;
+		columnReader.setLine(line);
+		return line.length() < 6 ? line.trim() : columnReader.getTrimmedField(0, 6);
+	}
+
+	/**
+	 * Builds the models of a multi-model file in parallel, one parser per model. A model runs from its MODEL record
+	 * to the next one, as in the sequential parse, where ENDMDL records are ignored.
+	 *
+	 * @param lines all lines of the file
+	 * @return the models in file order, or null if the file has to be parsed sequentially: when it has less than
+	 * two models, atoms outside of models, or enough atoms for the atom limits of the parsing parameters to apply
+	 */
+	private List<List<Chain>> parseModelsInParallel(List<String> lines) {
+		List<Integer> starts = new ArrayList<>();
+		int atoms = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			String recordName = getRecordName(lines.get(i));
+			if ("MODEL".equals(recordName)) {
+				starts.add(i);
+			} else if ("ATOM".equals(recordName) || "HETATM".equals(recordName)) {
+				if (starts.isEmpty())
+					return null;
+				atoms++;
+			}
+		}
+		if (starts.size() < 2 || atoms >= atomCAThreshold || atoms >= loadMaxAtoms)
+			return null;
+		starts.add(lines.size());
+
+		List<PDBFileParser> parsers = IntStream.range(0, starts.size() - 1).parallel()
+				.mapToObj(i -> parseModel(lines, starts.get(i), starts.get(i + 1)))
+				.collect(Collectors.toList());
+
+		List<List<Chain>> models = new ArrayList<>();
+		for (PDBFileParser parser : parsers) {
+			blankChainIdsPresent |= parser.blankChainIdsPresent;
+			// a model without atoms is dropped, as in the sequential parse
+			if (parser.currentModel != null)
+				models.add(parser.currentModel);
+		}
+		return models;
+	}
+
+	/**
+	 * Builds one model from its lines with a new parser, which holds the model when done.
+	 */
+	private PDBFileParser parseModel(List<String> lines, int start, int end) {
+		PDBFileParser parser = new PDBFileParser();
+		parser.setFileParsingParameters(params);
+		parser.parseCAonly = parseCAonly;
+		for (int i = start; i < end; i++) {
+			String line = lines.get(i);
+			String recordName = parser.getRecordName(line);
+			try {
+				if ("ATOM".equals(recordName) || "HETATM".equals(recordName))
+					parser.pdb_ATOM_Handler(line);
+				else if ("TER".equals(recordName))
+					parser.pdb_TER_Handler();
+			} catch (StringIndexOutOfBoundsException | NullPointerException ex) {
+				logger.info("Unable to parse [" + line + "]");
+			}
+		}
+		// add the last group and chain, as triggerEndFileChecks() does for the last model
+		if (parser.currentChain != null && parser.currentGroup != null)
+			parser.currentChain.addGroup(parser.currentGroup);
+		if (parser.currentModel != null && parser.currentChain != null)
+			parser.currentModel.add(parser.currentChain);
+		return parser;
+	}
+
 	/**
 	 * Add the charges to the Structure
 	 */
@@ -0,0 +1,470 @@
+package org.biojava.nbio.structure.io.cif;
+
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.AtomImpl;
+import org.biojava.nbio.structure.Chain;
+import org.biojava.nbio.structure.ChainImpl;
+import org.biojava.nbio.structure.Element;
+import org.biojava.nbio.structure.Group;
+import org.biojava.nbio.structure.ResidueNumber;
+import org.biojava.nbio.structure.StructureTools;
+import org.rcsb.cif.CifIO;
+import org.rcsb.cif.model.CifFile;
+import org.rcsb.cif.model.FloatColumn;
+import org.rcsb.cif.model.IntColumn;
+import org.rcsb.cif.model.StrColumn;
+import org.rcsb.cif.model.generated.AtomSite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A read-only, column oriented view of the atom_site category of a CifFile, which does not build the
+ * {@link org.biojava.nbio.structure.Structure} object graph. Coordinates are exposed as primitive arrays and the
+ * hierarchy of models, chains and residues as arrays of start offsets: model m holds chains
+ * {@code getModelStarts()[m]} to {@code getModelStarts()[m + 1]}, chain c holds residues {@code getChainStarts()[c]}
+ * to {@code getChainStarts()[c + 1]} and residue r holds atoms {@code getResidueStarts()[r]} to
+ * {@code getResidueStarts()[r + 1]}, all end exclusive. This is enough for jobs such as screening by CA coordinates or
+ * sequence, for which {@link CifFileConverter} would create an object per atom.
+ * <p>
+ * A chain is a run of atoms with the same label_asym_id. Should the atoms of a label_asym_id not be contiguous in the
+ * file, its id is found at more than one chain index of the model, where {@link CifFileConverter} builds one chain.
+ * <p>
+ * The arrays are built from the columns when first requested, for BinaryCIF directly from the decoded column data.
+ * {@link Atom}s, {@link Group}s and {@link Chain}s are only created on demand, one at a time, and are not linked to a
+ * Structure. The view is not thread safe, and the returned arrays must not be modified.
+ *
+ * @since 5.3.1
+ */
+public class AtomSiteView {
+    private final AtomSite atomSite;
+    private final int atomCount;
+
+    private float[] x;
+    private float[] y;
+    private float[] z;
+
+    private int[] modelStarts;
+    private int[] chainStarts;
+    private int[] residueStarts;
+    private int[] residueIndices;
+
+    /**
+     * Creates the view of the atom_site category of a CifFile.
+     * @param cifFile the source, of which the first block is used
+     */
+    public AtomSiteView(CifFile cifFile) {
+        this(cifFile.getFirstBlock().getAtomSite());
+    }
+
+    /**
+     * Creates the view of an atom_site category.
+     * @param atomSite the source
+     */
+    public AtomSiteView(AtomSite atomSite) {
+        this.atomSite = atomSite;
+        this.atomCount = atomSite.getRowCount();
+    }
+
+    /**
+     * Read data from a file and create the view of its atom_site category.
+     * @param path the source of information - can be gzipped or binary or text data
+     * @return the view
+     * @throws IOException thrown when reading fails
+     */
+    public static AtomSiteView fromPath(Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return fromInputStream(inputStream);
+        }
+    }
+
+    /**
+     * Read data from an InputStream and create the view of its atom_site category.
+     * @param inputStream the InputStream of information - can be gzipped or binary or text data
+     * @return the view
+     * @throws IOException thrown when reading fails
+     */
+    public static AtomSiteView fromInputStream(InputStream inputStream) throws IOException {
+        return new AtomSiteView(CifIO.readFromInputStream(inputStream));
+    }
+
+    /**
+     * The underlying atom_site category, for columns without an accessor here.
+     * @return the atom_site category
+     */
+    public AtomSite getAtomSite() {
+        return atomSite;
+    }
+
+    /**
+     * The number of atoms, over all models.
+     * @return the number of atoms
+     */
+    public int getAtomCount() {
+        return atomCount;
+    }
+
+    /**
+     * The x coordinates of all atoms.
+     * @return the x coordinates, by atom index
+     */
+    public float[] getX() {
+        if (x == null) {
+            x = toFloats(atomSite.getCartnX());
+        }
+        return x;
+    }
+
+    /**
+     * The y coordinates of all atoms.
+     * @return the y coordinates, by atom index
+     */
+    public float[] getY() {
+        if (y == null) {
+            y = toFloats(atomSite.getCartnY());
+        }
+        return y;
+    }
+
+    /**
+     * The z coordinates of all atoms.
+     * @return the z coordinates, by atom index
+     */
+    public float[] getZ() {
+        if (z == null) {
+            z = toFloats(atomSite.getCartnZ());
+        }
+        return z;
+    }
+
+    private float[] toFloats(FloatColumn column) {
+        float[] values = new float[atomCount];
+        double[] binaryData = column.getBinaryData();
+        if (binaryData != null && binaryData.length == atomCount) {
+            for (int i = 0; i < atomCount; i++) {
+                values[i] = (float) binaryData[i];
+            }
+        } else {
+            for (int i = 0; i < atomCount; i++) {
+                values[i] = (float) column.get(i);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The number of models.
+     * @return the number of models
+     */
+    public int getModelCount() {
+        return getModelStarts().length - 1;
+    }
+
+    /**
+     * The index of the first chain of each model, followed by the number of chains.
+     * @return the start offsets of the models in chains
+     */
+    public int[] getModelStarts() {
+        buildHierarchy();
+        return modelStarts;
+    }
+
+    /**
+     * The number of chains, over all models.
+     * @return the number of chains
+     */
+    public int getChainCount() {
+        return getChainStarts().length - 1;
+    }
+
+    /**
+     * The index of the first residue of each chain, followed by the number of residues.
+     * @return the start offsets of the chains in residues
+     */
+    public int[] getChainStarts() {
+        buildHierarchy();
+        return chainStarts;
+    }
+
+    /**
+     * The number of residues, over all chains and models.
+     * @return the number of residues
+     */
+    public int getResidueCount() {
+        return getResidueStarts().length - 1;
+    }
+
+    /**
+     * The index of the first atom of each residue, followed by the number of atoms.
+     * @return the start offsets of the residues in atoms
+     */
+    public int[] getResidueStarts() {
+        buildHierarchy();
+        return residueStarts;
+    }
+
+    /**
+     * The index of the residue of each atom.
+     * @return the residue indices, by atom index
+     */
+    public int[] getResidueIndices() {
+        buildHierarchy();
+        return residueIndices;
+    }
+
+    /**
+     * Splits the atoms into models, chains and residues in one pass. A chain starts where the model number or
+     * label_asym_id changes and a residue where its residue number changes. Unlike {@link CifFileConsumerImpl}, which
+     * adds a later run of atoms of a label_asym_id to the chain already holding that id, each run is a chain of its
+     * own here, so that the residues of a chain stay contiguous.
+     */
+    private void buildHierarchy() {
+        if (residueStarts != null) {
+            return;
+        }
+
+        IntColumn modelNumbers = atomSite.getPdbxPDBModelNum();
+        StrColumn asymIds = atomSite.getLabelAsymId();
+        IntColumn authSeqIds = atomSite.getAuthSeqId();
+        StrColumn insCodes = atomSite.getPdbxPDBInsCode();
+
+        int[] models = new int[8];
+        int[] chains = new int[16];
+        int[] residues = new int[Math.max(16, atomCount / 4)];
+        int[] indices = new int[atomCount];
+        int modelCount = 0, chainCount = 0, residueCount = 0;
+
+        String model = null, asymId = null;
+        int seqId = 0;
+        Character insCode = null;
+        for (int i = 0; i < atomCount; i++) {
+            String nextModel = modelNumbers.getStringData(i);
+            String nextAsymId = asymIds.get(i);
+            int nextSeqId = authSeqIds.get(i);
+            Character nextInsCode = getInsCode(insCodes, i);
+
+            boolean newModel = !nextModel.equals(model);
+            boolean newChain = newModel || !nextAsymId.equals(asymId);
+            if (newModel) {
+                models = grow(models, modelCount);
+                models[modelCount++] = chainCount;
+            }
+            if (newChain) {
+                chains = grow(chains, chainCount);
+                chains[chainCount++] = residueCount;
+            }
+            if (newChain || nextSeqId != seqId || !Objects.equals(nextInsCode, insCode)) {
+                residues = grow(residues, residueCount);
+                residues[residueCount++] = i;
+            }
+            indices[i] = residueCount - 1;
+
+            model = nextModel;
+            asymId = nextAsymId;
+            seqId = nextSeqId;
+            insCode = nextInsCode;
+        }
+
+        models = grow(models, modelCount);
+        models[modelCount] = chainCount;
+        chains = grow(chains, chainCount);
+        chains[chainCount] = residueCount;
+        residues = grow(residues, residueCount);
+        residues[residueCount] = atomCount;
+
+        modelStarts = Arrays.copyOf(models, modelCount + 1);
+        chainStarts = Arrays.copyOf(chains, chainCount + 1);
+        residueStarts = Arrays.copyOf(residues, residueCount + 1);
+        residueIndices = indices;
+    }
+
+    private static int[] grow(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static Character getInsCode(StrColumn insCodes, int atomIndex) {
+        String insCode = insCodes.get(atomIndex);
+        if (insCode == null || insCode.isEmpty() || "?".equals(insCode) || ".".equals(insCode)) {
+            return null;
+        }
+        return insCode.charAt(0);
+    }
+
+    /**
+     * The indices of all atoms of the given name, such as {@link StructureTools#CA_ATOM_NAME}.
+     * @param atomName the label_atom_id of the atoms
+     * @return the atom indices, in ascending order
+     */
+    public int[] getAtomIndices(String atomName) {
+        StrColumn atomNames = atomSite.getLabelAtomId();
+        int[] indices = new int[atomCount];
+        int count = 0;
+        for (int i = 0; i < atomCount; i++) {
+            if (atomName.equals(atomNames.get(i))) {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * The label_atom_id of an atom.
+     * @param atomIndex the atom index
+     * @return the atom name
+     */
+    public String getAtomName(int atomIndex) {
+        return atomSite.getLabelAtomId().get(atomIndex);
+    }
+
+    /**
+     * The element of an atom, {@link Element#R} if it is not known to BioJava.
+     * @param atomIndex the atom index
+     * @return the element
+     */
+    public Element getElement(int atomIndex) {
+        try {
+            return Element.valueOfIgnoreCase(atomSite.getTypeSymbol().get(atomIndex));
+        } catch (IllegalArgumentException e) {
+            return Element.R;
+        }
+    }
+
+    /**
+     * The label_asym_id of a chain.
+     * @param chainIndex the chain index
+     * @return the chain id
+     */
+    public String getChainId(int chainIndex) {
+        return atomSite.getLabelAsymId().get(getFirstAtom(chainIndex));
+    }
+
+    /**
+     * The auth_asym_id of a chain.
+     * @param chainIndex the chain index
+     * @return the chain name
+     */
+    public String getChainName(int chainIndex) {
+        return atomSite.getAuthAsymId().get(getFirstAtom(chainIndex));
+    }
+
+    private int getFirstAtom(int chainIndex) {
+        return getResidueStarts()[getChainStarts()[chainIndex]];
+    }
+
+    /**
+     * The label_comp_id of a residue.
+     * @param residueIndex the residue index
+     * @return the three letter code of the residue
+     */
+    public String getResidueName(int residueIndex) {
+        return atomSite.getLabelCompId().get(getResidueStarts()[residueIndex]);
+    }
+
+    /**
+     * The author residue number of a residue.
+     * @param residueIndex the residue index
+     * @return the residue number
+     */
+    public ResidueNumber getResidueNumber(int residueIndex) {
+        int atomIndex = getResidueStarts()[residueIndex];
+        return new ResidueNumber(atomSite.getAuthAsymId().get(atomIndex), atomSite.getAuthSeqId().get(atomIndex),
+                getInsCode(atomSite.getPdbxPDBInsCode(), atomIndex));
+    }
+
+    /**
+     * The sequence of the residues of a chain with coordinates, in one letter codes, with
+     * {@link StructureTools#UNKNOWN_GROUP_LABEL} for residues without one.
+     * @param chainIndex the chain index
+     * @return the sequence
+     */
+    public String getSequence(int chainIndex) {
+        int[] chains = getChainStarts();
+        StringBuilder sequence = new StringBuilder(chains[chainIndex + 1] - chains[chainIndex]);
+        for (int r = chains[chainIndex]; r < chains[chainIndex + 1]; r++) {
+            sequence.append(StructureTools.get1LetterCode(getResidueName(r)));
+        }
+        return sequence.toString();
+    }
+
+    /**
+     * Creates the Atom at an index. It does not belong to a group.
+     * @param atomIndex the atom index
+     * @return a new atom
+     */
+    public Atom getAtom(int atomIndex) {
+        Atom atom = new AtomImpl();
+        atom.setPDBserial(atomSite.getId().get(atomIndex));
+        atom.setName(getAtomName(atomIndex));
+        atom.setX(atomSite.getCartnX().get(atomIndex));
+        atom.setY(atomSite.getCartnY().get(atomIndex));
+        atom.setZ(atomSite.getCartnZ().get(atomIndex));
+        atom.setOccupancy((float) atomSite.getOccupancy().get(atomIndex));
+        atom.setTempFactor((float) atomSite.getBIsoOrEquiv().get(atomIndex));
+        String altLoc = atomSite.getLabelAltId().get(atomIndex);
+        if (altLoc == null || altLoc.isEmpty() || altLoc.equals(".")) {
+            atom.setAltLoc(' ');
+        } else {
+            atom.setAltLoc(altLoc.charAt(0));
+        }
+        atom.setElement(getElement(atomIndex));
+        return atom;
+    }
+
+    /**
+     * Creates the Group of a residue, with its atoms. Of atoms at alternate locations only those of the first
+     * location are added, alternate location groups are not created.
+     * @param residueIndex the residue index
+     * @return a new group, which does not belong to a chain
+     */
+    public Group getGroup(int residueIndex) {
+        int start = getResidueStarts()[residueIndex], end = getResidueStarts()[residueIndex + 1];
+        String compId = atomSite.getLabelCompId().get(start);
+        String recordName = atomSite.getGroupPDB().get(start);
+        Character oneLetterCode = StructureTools.get1LetterCodeAmino(compId);
+        boolean isHetAtmInFile = !"ATOM".equals(recordName);
+        if (isHetAtmInFile && oneLetterCode != null && oneLetterCode.equals(StructureTools.UNKNOWN_GROUP_LABEL)) {
+            oneLetterCode = null;
+        }
+
+        Group group = CifFileConsumerImpl.createGroup(recordName, oneLetterCode, compId,
+                atomSite.getLabelSeqId().get(start));
+        group.setPDBName(compId);
+        group.setResidueNumber(getResidueNumber(residueIndex));
+        group.setHetAtomInFile(isHetAtmInFile);
+
+        Character firstAltLoc = null;
+        for (int i = start; i < end; i++) {
+            Atom atom = getAtom(i);
+            if (atom.getAltLoc() != ' ') {
+                if (firstAltLoc == null) {
+                    firstAltLoc = atom.getAltLoc();
+                } else if (!firstAltLoc.equals(atom.getAltLoc())) {
+                    continue;
+                }
+            }
+            group.addAtom(atom);
+        }
+        group.trimToSize();
+        return group;
+    }
+
+    /**
+     * Creates the Chain at an index, with the groups of all its residues.
+     * @param chainIndex the chain index
+     * @return a new chain, which does not belong to a structure
+     */
+    public Chain getChain(int chainIndex) {
+        Chain chain = new ChainImpl();
+        chain.setId(getChainId(chainIndex));
+        chain.setName(getChainName(chainIndex));
+        int[] chains = getChainStarts();
+        for (int r = chains[chainIndex]; r < chains[chainIndex + 1]; r++) {
+            chain.addGroup(getGroup(r));
+        }
+        return chain;
+    }
+}
@@ -101,6 +101,55 @@ class CifFileConsumerImpl implements CifFileConsumer<Structure> {
             return;
         }
 
+        if (params.isParseModelsInParallel() && currentChain == null) {
+            // rows of the same model are contiguous, a model starts where the model number changes
+            IntColumn modelNumbers = atomSite.getPdbxPDBModelNum();
+            List<Integer> starts = new ArrayList<>();
+            for (int atomIndex = 0; atomIndex < atomSite.getRowCount(); atomIndex++) {
+                if (atomIndex == 0 || !modelNumbers.getStringData(atomIndex)
+                        .equals(modelNumbers.getStringData(atomIndex - 1))) {
+                    starts.add(atomIndex);
+                }
+            }
+            if (starts.size() > 1) {
+                starts.add(atomSite.getRowCount());
+                consumeModelsInParallel(atomSite, starts);
+                return;
+            }
+        }
+
+        consumeAtomSite(atomSite, 0, atomSite.getRowCount());
+    }
+
+    /**
+     * Builds each model with its own consumer, in parallel, then continues from the state of the last one, so that
+     * the result is that of consuming all rows in order.
+     */
+    private void consumeModelsInParallel(AtomSite atomSite, List<Integer> starts) {
+        List<CifFileConsumerImpl> consumers = IntStream.range(0, starts.size() - 1).parallel()
+                .mapToObj(i -> {
+                    CifFileConsumerImpl consumer = new CifFileConsumerImpl(params);
+                    consumer.currentModel = new ArrayList<>();
+                    consumer.consumeAtomSite(atomSite, starts.get(i), starts.get(i + 1));
+                    return consumer;
+                })
+                .collect(Collectors.toList());
+
+        for (CifFileConsumerImpl consumer : consumers.subList(0, consumers.size() - 1)) {
+            // as on a change of model number
+            consumer.currentChain.addGroup(consumer.currentGroup);
+            consumer.currentGroup.trimToSize();
+            allModels.add(consumer.currentModel);
+        }
+
+        CifFileConsumerImpl last = consumers.get(consumers.size() - 1);
+        currentModel = last.currentModel;
+        currentChain = last.currentChain;
+        currentGroup = last.currentGroup;
+        currentNmrModelNumber = last.currentNmrModelNumber;
+    }
+
+    private void consumeAtomSite(AtomSite atomSite, int start, int end) {
         StrColumn labelAsymId = atomSite.getLabelAsymId();
         StrColumn authAsymId = atomSite.getAuthAsymId();
 
@@ -126,7 +175,7 @@ class CifFileConsumerImpl implements CifFileConsumer<Structure> {
         IntColumn labelSeqId = atomSite.getLabelSeqId();
         IntColumn pdbx_pdb_model_num = atomSite.getPdbxPDBModelNum();
 
-        for (int atomIndex = 0; atomIndex < atomSite.getRowCount(); atomIndex++) {
+        for (int atomIndex = start; atomIndex < end; atomIndex++) {
             boolean startOfNewChain = false;
             Character oneLetterCode = StructureTools.get1LetterCodeAmino(labelCompId.get(atomIndex));
 
@@ -327,7 +376,7 @@ class CifFileConsumerImpl implements CifFileConsumer<Structure> {
         return altLocGroup;
     }
 
-    private Group createGroup(String record, Character oneLetterCode, String threeLetterCode, long seqId) {
+    static Group createGroup(String record, Character oneLetterCode, String threeLetterCode, long seqId) {
         Group group = ChemCompGroupFactory.getGroupFromChemCompDictionary(threeLetterCode);
         if (group != null && !group.getChemComp().isEmpty()) {
             if (group instanceof AminoAcidImpl) {
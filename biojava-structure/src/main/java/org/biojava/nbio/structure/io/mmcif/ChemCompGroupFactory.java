@@ -22,7 +22,7 @@
  */
 package org.biojava.nbio.structure.io.mmcif;
 
-import org.biojava.nbio.core.util.SoftHashMap;
+import org.biojava.nbio.core.util.BoundedCache;
 import org.biojava.nbio.structure.*;
 import org.biojava.nbio.structure.io.mmcif.chem.PolymerType;
 import org.biojava.nbio.structure.io.mmcif.model.ChemComp;
@@ -36,11 +36,14 @@ public class ChemCompGroupFactory {
 
 	private static ChemCompProvider chemCompProvider = new DownloadChemCompProvider();
 
-	private static final SoftHashMap<String, ChemComp> cache = new SoftHashMap<>(0);
+	// a few thousand are in common use, out of the tens of thousands in the dictionary
+	private static final int MAX_CACHED_CHEM_COMPS = 10000;
+
+	private static final BoundedCache<String, ChemComp> cache = new BoundedCache<>(MAX_CACHED_CHEM_COMPS);
 
 	public static ChemComp getChemComp(String recordName){
 		// we are using the cache, to avoid hitting the file system too often.
-		// Note that this also caches null or empty responses
+		// Concurrent requests for the same chem comp read it from the provider once
 		return cache.computeIfAbsent(recordName.toUpperCase().trim(), r -> {
 			// not cached, get the chem comp from the provider
 			if (logger.isDebugEnabled())
@@ -160,6 +160,32 @@ public class TestCalc {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testCoordinateArrayTransformation() {
+
+		Atom[] atoms = {getAtom(1.0, 1.0, 1.0), getAtom(-2.3, 0.7, 11.1), getAtom(0.1, -4.0, 3.3)};
+		double[] coords = StructureTools.getCoordinateArray(atoms);
+		assertEquals(9, coords.length);
+		assertEquals(-2.3, coords[3], 0.0);
+		assertEquals(3.3, coords[8], 0.0);
+
+		Matrix4d sample = getSampleTransform();
+		Calc.transform(coords, sample);
+		Calc.transform(atoms, sample);
+		for (int i = 0; i < atoms.length; i++) {
+			assertEquals(atoms[i].getX(), coords[3 * i], 0.0);
+			assertEquals(atoms[i].getY(), coords[3 * i + 1], 0.0);
+			assertEquals(atoms[i].getZ(), coords[3 * i + 2], 0.0);
+		}
+		assertEquals(new Point3d(2.0, 7.0, -1.3), new Point3d(coords[0], coords[1], coords[2]));
+
+		Atom[] copies = {getAtom(0, 0, 0), getAtom(0, 0, 0), getAtom(0, 0, 0)};
+		StructureTools.setCoordinateArray(copies, coords);
+		for (int i = 0; i < atoms.length; i++) {
+			assertEquals(atoms[i].getCoordsAsPoint3d(), copies[i].getCoordsAsPoint3d());
+		}
+	}
+
 	/**
 	 * Issue https://github.com/biojava/biojava/issues/715
 	 */
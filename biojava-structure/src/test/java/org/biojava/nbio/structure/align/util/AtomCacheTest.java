@@ -47,9 +47,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPOutputStream;
 
 import static org.junit.Assert.*;
@@ -461,4 +466,67 @@ public class AtomCacheTest {
 		}
 	}
 
+
+	private static Structure structureOfAtoms(int atoms) {
+		Structure s = new StructureImpl();
+		Chain chain = new ChainImpl();
+		chain.setId("A");
+		Group group = new HetatomImpl();
+		for (int i = 0; i < atoms; i++) {
+			Atom atom = new AtomImpl();
+			atom.setName("C" + i);
+			group.addAtom(atom);
+		}
+		chain.addGroup(group);
+		s.addChain(chain);
+		return s;
+	}
+
+	@Test
+	public void testStructureCache() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		AtomCache counting = new AtomCache() {
+			@Override
+			protected Structure loadStructureFromPdbByPdbId(String pdbId) {
+				loads.incrementAndGet();
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+				return structureOfAtoms(pdbId.equals("1big") ? 30 : 10);
+			}
+		};
+		counting.setUseMmCif(false);
+		counting.setMaximumCachedAtoms(40);
+
+		// concurrent requests for one structure load it once
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Structure>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> counting.getStructureForPdbId("1abc")));
+			}
+			Structure first = futures.get(0).get();
+			for (Future<Structure> future : futures) {
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(10, counting.getStructureCache().getWeight());
+
+		// too many atoms for all three: the one not read again goes
+		counting.getStructureForPdbId("1def");
+		counting.getStructureForPdbId("1big");
+		assertEquals(40, counting.getStructureCache().getWeight());
+		assertEquals(1, counting.getStructureCache().getEvictionCount());
+		assertEquals(3, counting.getStructureCache().getLoadCount());
+		assertTrue(counting.getStructureCache().getTotalLoadTime() > 0);
+		counting.getStructureForPdbId("1abc");
+		assertEquals(3, loads.get());
+		counting.getStructureForPdbId("1def");
+		assertEquals(4, loads.get());
+	}
 }
@@ -0,0 +1,127 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.structure.io;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link FixedColumnReader} against the parsing methods of the JDK.
+ */
+public class FixedColumnReaderTest {
+
+	private static final String LINE =
+			"HETATM 1964  CA AARG H 221A     -5.963 -16.715  27.669  0.50 28.59          FE  ";
+
+	private static FixedColumnReader reader(String line) {
+		FixedColumnReader reader = new FixedColumnReader();
+		reader.setLine(line);
+		return reader;
+	}
+
+	@Test
+	public void fields() {
+		FixedColumnReader reader = reader(LINE);
+		assertEquals(LINE.length(), reader.length());
+		assertEquals("HETATM", reader.getTrimmedField(0, 6));
+		assertEquals(" CA ", reader.getField(12, 16));
+		assertEquals("CA", reader.getTrimmedField(12, 16));
+		assertEquals('A', reader.charAt(16));
+		assertEquals("ARG", reader.getTrimmedField(17, 20));
+		assertEquals("H", reader.getField(21, 22));
+		assertEquals("", reader.getTrimmedField(66, 76));
+		assertEquals("FE", reader.getTrimmedField(76, 78));
+		assertEquals(1964, reader.parseInt(6, 11));
+		assertEquals(221, reader.parseInt(22, 26));
+		assertEquals(-5.963, reader.parseDouble(30, 38), 0.0);
+		assertEquals(-16.715, reader.parseDouble(38, 46), 0.0);
+		assertEquals(27.669, reader.parseDouble(46, 54), 0.0);
+		assertEquals(0.5f, reader.parseFloat(54, 60), 0.0f);
+		assertEquals(28.59f, reader.parseFloat(60, 66), 0.0f);
+
+		// names come from the pool, in any reader
+		assertSame(reader.getTrimmedField(17, 20), reader(LINE).getTrimmedField(17, 20));
+	}
+
+	@Test
+	public void sameAsJdk() {
+		Random random = new Random(19);
+		String[] fixed = { "0", "-0", "-0.000", "+1.5", "1.", ".25", "007", "1e3", "-2.5E-3", "NaN", "-Infinity",
+				"123456789", "-2147483648", "2147483647", "99999999999", "0.1234567890123456789", "12345678.9",
+				"3.4028236E38", "1.17549435E-38", "16777217", "0.30000001" };
+		for (String s : fixed) {
+			check("  " + s + " ");
+		}
+		for (int i = 0; i < 20000; i++) {
+			int digits = 1 + random.nextInt(12), point = random.nextInt(digits + 1);
+			StringBuilder sb = new StringBuilder();
+			if (random.nextBoolean()) {
+				sb.append('-');
+			}
+			for (int d = 0; d < digits; d++) {
+				if (d == point) {
+					sb.append('.');
+				}
+				sb.append((char) ('0' + random.nextInt(10)));
+			}
+			check(sb.toString());
+		}
+	}
+
+	private static void check(String field) {
+		FixedColumnReader reader = reader("|" + field + "|");
+		int end = field.length() + 1;
+		String trimmed = field.trim();
+		assertEquals(Double.doubleToLongBits(Double.parseDouble(trimmed)),
+				Double.doubleToLongBits(reader.parseDouble(1, end)));
+		assertEquals(field, Float.floatToIntBits(Float.parseFloat(trimmed)),
+				Float.floatToIntBits(reader.parseFloat(1, end)));
+		Integer expected;
+		try {
+			expected = Integer.parseInt(trimmed);
+		} catch (NumberFormatException e) {
+			expected = null;
+		}
+		try {
+			assertEquals(expected, Integer.valueOf(reader.parseInt(1, end)));
+		} catch (NumberFormatException e) {
+			assertNull(expected);
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void blankNumber() {
+		reader("ATOM          ").parseFloat(6, 12);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void notANumber() {
+		reader("ATOM  12a45").parseInt(6, 11);
+	}
+
+	@Test(expected = StringIndexOutOfBoundsException.class)
+	public void shortLine() {
+		reader("ATOM      1  N").parseDouble(30, 38);
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ */
+package org.biojava.nbio.structure.io;
+
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.Chain;
+import org.biojava.nbio.structure.Group;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.io.cif.CifFileConverter;
+import org.biojava.nbio.structure.io.mmcif.ChemCompGroupFactory;
+import org.biojava.nbio.structure.io.mmcif.ReducedChemCompProvider;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rcsb.cif.model.CifFile;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that building the models of multi-model files in parallel gives the structure of a sequential parse.
+ */
+public class TestParallelModelParsing {
+
+	private static final int MODELS = 5;
+
+	private static String ensemble;
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		ChemCompGroupFactory.setChemCompProvider(new ReducedChemCompProvider());
+
+		List<String> header = new ArrayList<>(), coordinates = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				TestParallelModelParsing.class.getResourceAsStream("/3cfy.pdb"), StandardCharsets.US_ASCII))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("ATOM") || line.startsWith("HETATM") || line.startsWith("TER")) {
+					coordinates.add(line);
+				} else if (coordinates.isEmpty()) {
+					header.add(line);
+				}
+			}
+		}
+		// models of different sizes, so that a model out of place shows
+		StringBuilder sb = new StringBuilder();
+		header.forEach(line -> sb.append(line).append('\n'));
+		for (int i = 1; i <= MODELS; i++) {
+			sb.append(String.format("MODEL     %4d%n", i));
+			coordinates.subList(0, coordinates.size() - 37 * i).forEach(line -> sb.append(line).append('\n'));
+			sb.append("ENDMDL\n");
+		}
+		sb.append("END\n");
+		ensemble = sb.toString();
+	}
+
+	private static Structure parsePdb(String pdb, boolean parallel) throws IOException {
+		FileParsingParameters params = new FileParsingParameters();
+		params.setParseModelsInParallel(parallel);
+		PDBFileParser parser = new PDBFileParser();
+		parser.setFileParsingParameters(params);
+		return parser.parsePDBFile(new ByteArrayInputStream(pdb.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	private static void assertSameModels(Structure expected, Structure actual) {
+		assertEquals(expected.nrModels(), actual.nrModels());
+		for (int m = 0; m < expected.nrModels(); m++) {
+			List<Chain> expectedChains = expected.getModel(m), actualChains = actual.getModel(m);
+			assertEquals(expectedChains.size(), actualChains.size());
+			for (int c = 0; c < expectedChains.size(); c++) {
+				Chain e = expectedChains.get(c), a = actualChains.get(c);
+				assertEquals(e.getId(), a.getId());
+				assertEquals(e.getName(), a.getName());
+				assertEquals(e.getAtomGroups().size(), a.getAtomGroups().size());
+				assertEquals(e.getSeqResGroups().size(), a.getSeqResGroups().size());
+				for (int g = 0; g < e.getAtomGroups().size(); g++) {
+					Group eg = e.getAtomGroup(g), ag = a.getAtomGroup(g);
+					assertEquals(eg.getResidueNumber(), ag.getResidueNumber());
+					assertEquals(eg.getPDBName(), ag.getPDBName());
+					assertEquals(eg.getAtoms().size(), ag.getAtoms().size());
+					for (int i = 0; i < eg.getAtoms().size(); i++) {
+						Atom ea = eg.getAtom(i), aa = ag.getAtom(i);
+						assertEquals(ea.getPDBserial(), aa.getPDBserial());
+						assertEquals(ea.getName(), aa.getName());
+						assertEquals(ea.getX(), aa.getX(), 0.0);
+						assertEquals(ea.getY(), aa.getY(), 0.0);
+						assertEquals(ea.getZ(), aa.getZ(), 0.0);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPdb() throws IOException {
+		Structure sequential = parsePdb(ensemble, false);
+		assertEquals(MODELS, sequential.nrModels());
+		assertSameModels(sequential, parsePdb(ensemble, true));
+	}
+
+	@Test
+	public void testPdbSingleModel() throws IOException {
+		String single = ensemble.substring(0, ensemble.indexOf("ENDMDL"));
+		assertSameModels(parsePdb(single, false), parsePdb(single, true));
+	}
+
+	@Test
+	public void testMmCif() throws IOException {
+		CifFile cifFile = CifFileConverter.toCifFile(parsePdb(ensemble, false));
+		FileParsingParameters sequential = new FileParsingParameters(), parallel = new FileParsingParameters();
+		parallel.setParseModelsInParallel(true);
+		Structure expected = CifFileConverter.fromCifFile(cifFile, sequential);
+		assertEquals(MODELS, expected.nrModels());
+		assertSameModels(expected, CifFileConverter.fromCifFile(cifFile, parallel));
+	}
+
+}
@@ -0,0 +1,152 @@
+package org.biojava.nbio.structure.io.cif;
+
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.Chain;
+import org.biojava.nbio.structure.Group;
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.StructureTools;
+import org.biojava.nbio.structure.io.FileParsingParameters;
+import org.biojava.nbio.structure.io.mmcif.ChemCompGroupFactory;
+import org.biojava.nbio.structure.io.mmcif.ReducedChemCompProvider;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rcsb.cif.CifIO;
+import org.rcsb.cif.model.CifFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class AtomSiteViewTest {
+    private static CifFile binaryCif;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        ChemCompGroupFactory.setChemCompProvider(new ReducedChemCompProvider());
+        InputStream inputStream = AtomSiteViewTest.class.getResourceAsStream("/4hhb.cif.gz");
+        Objects.requireNonNull(inputStream, "could not acquire test resource /4hhb.cif.gz");
+        CifFile cifFile = CifIO.readFromInputStream(new GZIPInputStream(inputStream));
+        binaryCif = CifIO.readFromInputStream(new ByteArrayInputStream(CifIO.writeBinary(cifFile)));
+    }
+
+    /**
+     * The view has the chains, residues and atoms of the structure built from the same file.
+     */
+    @Test
+    public void testSameAsStructure() {
+        FileParsingParameters params = new FileParsingParameters();
+        params.setAlignSeqRes(false);
+        Structure structure = CifFileConverter.fromCifFile(binaryCif, params);
+        AtomSiteView view = new AtomSiteView(binaryCif);
+
+        assertEquals(StructureTools.getAllAtomArray(structure).length, view.getAtomCount());
+        assertEquals(1, view.getModelCount());
+        List<Chain> chains = structure.getModel(0);
+        assertEquals(chains.size(), view.getChainCount());
+
+        float[] x = view.getX(), y = view.getY(), z = view.getZ();
+        int atomIndex = 0;
+        for (int c = 0; c < chains.size(); c++) {
+            Chain chain = chains.get(c);
+            assertEquals(chain.getId(), view.getChainId(c));
+            assertEquals(chain.getName(), view.getChainName(c));
+            List<Group> groups = chain.getAtomGroups();
+            int firstResidue = view.getChainStarts()[c];
+            assertEquals(groups.size(), view.getChainStarts()[c + 1] - firstResidue);
+            for (int g = 0; g < groups.size(); g++) {
+                Group group = groups.get(g);
+                int residue = firstResidue + g;
+                assertEquals(group.getResidueNumber(), view.getResidueNumber(residue));
+                assertEquals(group.getPDBName(), view.getResidueName(residue));
+                Group materialized = view.getGroup(residue);
+                assertEquals(group.getClass(), materialized.getClass());
+                assertEquals(group.getAtoms().size(), materialized.getAtoms().size());
+                for (Atom atom : group.getAtoms()) {
+                    assertEquals(residue, view.getResidueIndices()[atomIndex]);
+                    assertEquals(atom.getName(), view.getAtomName(atomIndex));
+                    assertEquals(atom.getElement(), view.getElement(atomIndex));
+                    assertEquals((float) atom.getX(), x[atomIndex], 0f);
+                    assertEquals((float) atom.getY(), y[atomIndex], 0f);
+                    assertEquals((float) atom.getZ(), z[atomIndex], 0f);
+                    assertEquals(atom.getCoordsAsPoint3d(), view.getAtom(atomIndex).getCoordsAsPoint3d());
+                    atomIndex++;
+                }
+            }
+        }
+        assertEquals(view.getAtomCount(), atomIndex);
+        assertEquals(view.getResidueCount(), view.getResidueIndices()[atomIndex - 1] + 1);
+    }
+
+    @Test
+    public void testSequenceAndCalpha() {
+        AtomSiteView view = new AtomSiteView(binaryCif);
+        assertEquals("A", view.getChainId(0));
+        assertTrue(view.getSequence(0).startsWith("VLSPADKTNVKAAWGKVGAHAGEYGAEALERMFLSFPTTKTYFPHF"));
+
+        int[] calphas = view.getAtomIndices(StructureTools.CA_ATOM_NAME);
+        assertEquals(574, calphas.length);
+        for (int atomIndex : calphas) {
+            assertEquals(StructureTools.CA_ATOM_NAME, view.getAtomName(atomIndex));
+        }
+
+        Chain chain = view.getChain(0);
+        assertEquals(141, chain.getAtomGroups().size());
+        assertEquals(view.getX()[calphas[0]], (float) chain.getAtomGroup(0).getAtom(StructureTools.CA_ATOM_NAME).getX(), 0f);
+    }
+
+    /**
+     * A label_asym_id whose atoms are not contiguous is one chain of the structure, but a chain per run in the view.
+     */
+    @Test
+    public void testInterleavedChains() throws IOException {
+        String mmCif = "data_TEST\n" +
+                "loop_\n" +
+                "_atom_site.group_PDB\n" +
+                "_atom_site.id\n" +
+                "_atom_site.type_symbol\n" +
+                "_atom_site.label_atom_id\n" +
+                "_atom_site.label_alt_id\n" +
+                "_atom_site.label_comp_id\n" +
+                "_atom_site.label_asym_id\n" +
+                "_atom_site.label_entity_id\n" +
+                "_atom_site.label_seq_id\n" +
+                "_atom_site.pdbx_PDB_ins_code\n" +
+                "_atom_site.Cartn_x\n" +
+                "_atom_site.Cartn_y\n" +
+                "_atom_site.Cartn_z\n" +
+                "_atom_site.occupancy\n" +
+                "_atom_site.B_iso_or_equiv\n" +
+                "_atom_site.auth_seq_id\n" +
+                "_atom_site.auth_comp_id\n" +
+                "_atom_site.auth_asym_id\n" +
+                "_atom_site.auth_atom_id\n" +
+                "_atom_site.pdbx_PDB_model_num\n" +
+                "ATOM 1 C CA . GLY A 1 1 ? 1.0 1.0 1.0 1.0 10.0 1 GLY A CA 1\n" +
+                "ATOM 2 C CA . ALA A 1 2 ? 2.0 2.0 2.0 1.0 10.0 2 ALA A CA 1\n" +
+                "ATOM 3 C CA . GLY B 2 1 ? 3.0 3.0 3.0 1.0 10.0 1 GLY B CA 1\n" +
+                "ATOM 4 C CA . SER A 1 3 ? 4.0 4.0 4.0 1.0 10.0 3 SER A CA 1\n";
+        CifFile cifFile = CifIO.readFromInputStream(new ByteArrayInputStream(mmCif.getBytes(StandardCharsets.US_ASCII)));
+
+        AtomSiteView view = new AtomSiteView(cifFile);
+        assertEquals(3, view.getChainCount());
+        assertArrayEquals(new int[] { 0, 3 }, view.getModelStarts());
+        assertArrayEquals(new int[] { 0, 2, 3, 4 }, view.getChainStarts());
+        assertEquals("A", view.getChainId(0));
+        assertEquals("B", view.getChainId(1));
+        assertEquals("A", view.getChainId(2));
+        assertEquals("GA", view.getSequence(0));
+        assertEquals("S", view.getSequence(2));
+
+        FileParsingParameters params = new FileParsingParameters();
+        params.setAlignSeqRes(false);
+        Structure structure = CifFileConverter.fromCifFile(cifFile, params);
+        assertEquals(2, structure.getModel(0).size());
+        assertEquals(3, structure.getPolyChain("A").getAtomGroups().size());
+    }
+}